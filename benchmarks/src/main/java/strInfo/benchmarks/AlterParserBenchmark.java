@@ -0,0 +1,40 @@
+package strInfo.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import strInfo.manager.SQLParserManager;
+import strInfo.parser.AlterParser;
+import strInfo.result.AlterStatement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * alter 解析器的基准测试，语料轮流覆盖 add、add index、drop、rename、change 等修改模式。
+ * <p>
+ * The benchmark of the alter parser. The corpus covers modification modes such as add, add index, drop, rename and change in turn.
+ *
+ * @author zhao
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AlterParserBenchmark {
+
+    private final static AlterParser ALTER_PARSER = AlterParser.getInstance();
+
+    private String[] alters;
+    private int index;
+
+    @Setup
+    public void setup() {
+        SQLParserManager.disableParseCache();
+        alters = Corpus.alters();
+    }
+
+    @Benchmark
+    public AlterStatement mixed() {
+        return ALTER_PARSER.parseSql(alters[index++ & (Corpus.SIZE - 1)]);
+    }
+}
@@ -0,0 +1,188 @@
+package strInfo.benchmarks;
+
+import java.util.Random;
+
+/**
+ * 基准测试使用的sql语句语料，所有语句都由固定种子的随机数生成，因此每一次运行得到的语料都是相同的，不同版本之间的结果可以直接比较。
+ * <p>
+ * The SQL statement corpus used by the benchmark. All statements are generated by random numbers with a fixed seed, so the corpus obtained by each run is the same, and the results between different versions can be directly compared.
+ *
+ * @author zhao
+ */
+public final class Corpus {
+
+    /**
+     * 短语句语料的数量，必须是2的幂，基准测试会按照位与的方式循环使用
+     */
+    public final static int SIZE = 1024;
+
+    private final static String[] TABLES = {"orders", "users", "products", "payments", "shipments", "reviews", "carts", "coupons"};
+    private final static String[] COLUMNS = {"id", "user_id", "status", "amount", "created_at", "name", "price", "quantity", "region", "score"};
+    private final static String[] TYPES = {"int", "bigint", "varchar(64)", "decimal(10, 2)", "datetime", "text", "tinyint(1)"};
+
+    private Corpus() {
+    }
+
+    /**
+     * @return 简短的 OLTP 查询语句，包含字段列表、where 条件、排序与分页
+     */
+    public static String[] oltpSelects() {
+        Random random = new Random(42);
+        String[] sqlArray = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            String table = pick(random, TABLES);
+            StringBuilder stringBuilder = new StringBuilder("select ");
+            int fields = 1 + random.nextInt(5);
+            for (int f = 0; f < fields; f++) {
+                if (f != 0) stringBuilder.append(", ");
+                stringBuilder.append(pick(random, COLUMNS));
+            }
+            stringBuilder.append(" from ").append(table)
+                    .append(" where ").append(pick(random, COLUMNS)).append(" = ").append(random.nextInt(100000));
+            if (random.nextBoolean()) {
+                stringBuilder.append(" and status in ('new', 'paid', 'shipped')");
+            }
+            if (random.nextBoolean()) {
+                stringBuilder.append(" order by ").append(pick(random, COLUMNS)).append(random.nextBoolean() ? " desc" : " asc");
+            }
+            stringBuilder.append(" limit ").append(1 + random.nextInt(100)).append(';');
+            sqlArray[i] = stringBuilder.toString();
+        }
+        return sqlArray;
+    }
+
+    /**
+     * @param depth 子查询嵌套的深度
+     * @return 在 from 子句中逐层嵌套子查询的语句
+     */
+    public static String deepSubQuery(int depth) {
+        String sql = "select id, amount from orders where amount > 100;";
+        for (int i = 0; i < depth; i++) {
+            sql = "select * from (" + sql + ") where level" + i + " = " + i + " order by id desc limit " + (i + 10) + ';';
+        }
+        return sql;
+    }
+
+    /**
+     * @param tables 连接的表数量
+     * @return 使用 join ... on 连接大量表的语句
+     */
+    public static String wideJoin(int tables) {
+        StringBuilder stringBuilder = new StringBuilder("select ");
+        for (int i = 0; i < tables; i++) {
+            if (i != 0) stringBuilder.append(", ");
+            stringBuilder.append('t').append(i).append(".id");
+        }
+        stringBuilder.append(" from t0");
+        for (int i = 1; i < tables; i++) {
+            stringBuilder.append(" join t").append(i).append(" on t").append(i - 1).append(".id = t").append(i).append(".parent_id");
+        }
+        return stringBuilder.append(" where t0.status = 'active' group by t0.id;").toString();
+    }
+
+    /**
+     * @param rows 数据的行数
+     * @return 一次插入大量数据的 insert 语句
+     */
+    public static String bulkInsert(int rows) {
+        Random random = new Random(7);
+        StringBuilder stringBuilder = new StringBuilder(rows * 48).append("insert into orders (id, user_id, status, amount, note) values ");
+        for (int i = 0; i < rows; i++) {
+            if (i != 0) stringBuilder.append(", ");
+            stringBuilder.append('(').append(i).append(", ").append(random.nextInt(100000))
+                    .append(", '").append(random.nextBoolean() ? "paid" : "new").append("', ")
+                    .append(random.nextInt(100000) / 100.0).append(", ")
+                    .append(random.nextInt(10) == 0 ? "NULL" : "'it''s, (" + random.nextInt(1000) + ")'").append(')');
+        }
+        return stringBuilder.append(';').toString();
+    }
+
+    /**
+     * @return 只插入几行数据的短 insert 语句
+     */
+    public static String[] oltpInserts() {
+        Random random = new Random(11);
+        String[] sqlArray = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            StringBuilder stringBuilder = new StringBuilder("insert into ").append(pick(random, TABLES)).append(" (id, name, price) values ");
+            int rows = 1 + random.nextInt(4);
+            for (int r = 0; r < rows; r++) {
+                if (r != 0) stringBuilder.append(", ");
+                stringBuilder.append('(').append(random.nextInt(100000)).append(", 'name").append(random.nextInt(1000)).append("', ").append(random.nextInt(10000) / 100.0).append(')');
+            }
+            sqlArray[i] = stringBuilder.append(';').toString();
+        }
+        return sqlArray;
+    }
+
+    /**
+     * @param columns 字段的数量
+     * @return 包含大量字段与表选项的建表语句
+     */
+    public static String longCreate(int columns) {
+        Random random = new Random(13);
+        StringBuilder stringBuilder = new StringBuilder("create table wide_table (");
+        for (int i = 0; i < columns; i++) {
+            stringBuilder.append("column_").append(i).append(' ').append(pick(random, TYPES));
+            if (random.nextBoolean()) stringBuilder.append(" not null");
+            if (random.nextInt(4) == 0) stringBuilder.append(" default '0'");
+            stringBuilder.append(", ");
+        }
+        return stringBuilder.append("primary key (column_0)) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;").toString();
+    }
+
+    /**
+     * @return 字段数量较少的建表语句
+     */
+    public static String[] shortCreates() {
+        Random random = new Random(17);
+        String[] sqlArray = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            StringBuilder stringBuilder = new StringBuilder("create table ").append(pick(random, TABLES)).append(i).append(" (");
+            int columns = 2 + random.nextInt(6);
+            for (int c = 0; c < columns; c++) {
+                if (c != 0) stringBuilder.append(", ");
+                stringBuilder.append(COLUMNS[c]).append(' ').append(pick(random, TYPES));
+            }
+            sqlArray[i] = stringBuilder.append(") ENGINE=InnoDB;").toString();
+        }
+        return sqlArray;
+    }
+
+    /**
+     * @return 覆盖 add、drop、rename、change 所有修改模式的 alter 语句
+     */
+    public static String[] alters() {
+        Random random = new Random(19);
+        String[] sqlArray = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            String table = pick(random, TABLES);
+            String column = pick(random, COLUMNS);
+            switch (random.nextInt(6)) {
+                case 0:
+                    sqlArray[i] = "alter table " + table + " add " + column + "_" + i + ' ' + pick(random, TYPES) + " not null default '0' comment 'generated column';";
+                    break;
+                case 1:
+                    sqlArray[i] = "alter table " + table + " add index idx_" + i + " (" + column + ", id);";
+                    break;
+                case 2:
+                    sqlArray[i] = "alter table " + table + " add unique uk_" + i + " (" + column + ");";
+                    break;
+                case 3:
+                    sqlArray[i] = "alter table " + table + " drop " + column + ';';
+                    break;
+                case 4:
+                    sqlArray[i] = "alter table " + table + " rename " + table + "_" + i + ';';
+                    break;
+                default:
+                    sqlArray[i] = "alter table " + table + " change " + column + ' ' + column + "_new " + pick(random, TYPES) + ';';
+                    break;
+            }
+        }
+        return sqlArray;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,47 @@
+package strInfo.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import strInfo.manager.SQLParserManager;
+import strInfo.parser.CreateParser;
+import strInfo.result.CreateStatement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * create 解析器的基准测试，覆盖字段较少的建表语句以及包含三百个字段的长建表语句。
+ * <p>
+ * The benchmark of the create parser, covering table creation statements with few fields and long table creation statements with three hundred fields.
+ *
+ * @author zhao
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CreateParserBenchmark {
+
+    private final static CreateParser CREATE_PARSER = CreateParser.getInstance();
+
+    private String[] shortDdl;
+    private String longDdl;
+    private int index;
+
+    @Setup
+    public void setup() {
+        SQLParserManager.disableParseCache();
+        shortDdl = Corpus.shortCreates();
+        longDdl = Corpus.longCreate(300);
+    }
+
+    @Benchmark
+    public CreateStatement shortDdl() {
+        return CREATE_PARSER.parseSql(shortDdl[index++ & (Corpus.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public CreateStatement longDdl() {
+        return CREATE_PARSER.parseSql(longDdl);
+    }
+}
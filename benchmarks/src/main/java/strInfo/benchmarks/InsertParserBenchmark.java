@@ -0,0 +1,58 @@
+package strInfo.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import strInfo.manager.SQLParserManager;
+import strInfo.parser.InsertParser;
+import strInfo.result.InsertStatement;
+import strInfo.result.Row;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * insert 解析器的基准测试，覆盖只有几行数据的短语句以及一次插入一万行数据的批量语句。
+ * <p>
+ * The benchmark of the insert parser, covering short statements with only a few rows and bulk statements inserting ten thousand rows at a time.
+ *
+ * @author zhao
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InsertParserBenchmark {
+
+    private final static InsertParser INSERT_PARSER = InsertParser.getInstance();
+
+    private String[] oltp;
+    private String bulk;
+    private int index;
+
+    @Setup
+    public void setup() {
+        SQLParserManager.disableParseCache();
+        oltp = Corpus.oltpInserts();
+        bulk = Corpus.bulkInsert(10000);
+    }
+
+    @Benchmark
+    public InsertStatement oltp() {
+        return INSERT_PARSER.parseSql(oltp[index++ & (Corpus.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public InsertStatement bulk() {
+        return INSERT_PARSER.parseSql(bulk);
+    }
+
+    @Benchmark
+    public void bulkRows(Blackhole blackhole) {
+        Iterator<Row> rows = INSERT_PARSER.parseSql(bulk).rows();
+        while (rows.hasNext()) {
+            blackhole.consume(rows.next().getCharSequence(0));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package strInfo.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import strInfo.manager.SQLParserManager;
+import strInfo.parser.SelectParser;
+import strInfo.result.SelectStatement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * select 解析器的基准测试，覆盖简短的 OLTP 查询、深层嵌套的子查询以及连接大量表的查询。
+ * <p>
+ * The benchmark of the select parser, covering short OLTP queries, deeply nested subqueries, and queries joining a large number of tables.
+ *
+ * @author zhao
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectParserBenchmark {
+
+    private final static SelectParser SELECT_PARSER = SelectParser.getInstance();
+
+    private String[] oltp;
+    private String deepSubQuery;
+    private String wideJoin;
+    private int index;
+
+    @Setup
+    public void setup() {
+        SQLParserManager.disableParseCache();
+        oltp = Corpus.oltpSelects();
+        deepSubQuery = Corpus.deepSubQuery(8);
+        wideJoin = Corpus.wideJoin(32);
+    }
+
+    @Benchmark
+    public SelectStatement oltp() {
+        return SELECT_PARSER.parseSql(oltp[index++ & (Corpus.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public void oltpWithDerivations(Blackhole blackhole) {
+        SelectStatement selectStatement = SELECT_PARSER.parseSql(oltp[index++ & (Corpus.SIZE - 1)]);
+        blackhole.consume(selectStatement.getTableList());
+        blackhole.consume(selectStatement.getWhereExpression());
+    }
+
+    @Benchmark
+    public SelectStatement deepSubQuery() {
+        return SELECT_PARSER.parseSql(deepSubQuery);
+    }
+
+    @Benchmark
+    public SelectStatement wideJoin() {
+        return SELECT_PARSER.parseSql(wideJoin);
+    }
+}
@@ -0,0 +1,91 @@
+package strInfo.columnar;
+
+/**
+ * 列式存储结构的父类，其中保存的是列的名称、行数以及表示每一行是否为 NULL 的位图。
+ * <p>
+ * The parent class of the columnar storage structure, which stores the name of the column, the number of rows, and the bitmap indicating whether each row is NULL.
+ *
+ * @author zhao
+ */
+public abstract class Column {
+
+    private final String name;
+    protected long[] nulls;
+    protected int size;
+
+    protected Column(String name, int capacity) {
+        this.name = name;
+        this.nulls = new long[(Math.max(capacity, 1) + 63) >>> 6];
+    }
+
+    /**
+     * @return 列的名称，如果 insert 语句中没有指定字段，列的名称是列的索引
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 列中的行数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row 行的索引
+     * @return 如果该行的值是 NULL，返回true
+     */
+    public boolean isNull(int row) {
+        return (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * @return 表示每一行是否为 NULL 的位图，第 i 行对应第 {@code i >>> 6} 个元素的第 {@code i & 63} 位
+     * <p>
+     * A bitmap indicating whether each row is NULL. Row i corresponds to bit {@code i & 63} of element {@code i >>> 6}
+     */
+    public long[] getNulls() {
+        return nulls;
+    }
+
+    /**
+     * @return 列的类型
+     */
+    public abstract ColumnType getType();
+
+    /**
+     * 确保列能够容纳指定数量的行，容量不足的时候会扩容。
+     */
+    protected void ensureCapacity(int capacity) {
+        if (capacity > nulls.length << 6) {
+            long[] newNulls = new long[Math.max(nulls.length << 1, (capacity + 63) >>> 6)];
+            System.arraycopy(nulls, 0, newNulls, 0, nulls.length);
+            nulls = newNulls;
+        }
+    }
+
+    /**
+     * 在列的末尾追加一个 NULL 值。
+     */
+    void appendNull() {
+        ensureCapacity(size + 1);
+        nulls[size >>> 6] |= 1L << size;
+        appendDefault();
+    }
+
+    /**
+     * 追加一个默认值，用于 NULL 值的占位。
+     */
+    abstract void appendDefault();
+
+    /**
+     * 在解码结束之后将所有数组的长度调整为实际的行数。
+     */
+    abstract void trim();
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{name=" + name + ", size=" + size + '}';
+    }
+}
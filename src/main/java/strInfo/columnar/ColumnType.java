@@ -0,0 +1,26 @@
+package strInfo.columnar;
+
+/**
+ * 列的类型提示，用于告诉解码器应该将 insert 语句中的每一个字段解码为哪一种列式存储结构。
+ * <p>
+ * The type hint of the column, which is used to tell the decoder which columnar storage structure each field in the insert statement should be decoded into.
+ *
+ * @author zhao
+ */
+public enum ColumnType {
+
+    /**
+     * 整数列，使用 long[] 存储
+     */
+    LONG,
+
+    /**
+     * 浮点数列，使用 double[] 存储
+     */
+    DOUBLE,
+
+    /**
+     * 字符串列，使用 UTF-8 编码的 byte[] 与偏移量数组存储
+     */
+    STRING
+}
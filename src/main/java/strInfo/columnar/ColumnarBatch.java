@@ -0,0 +1,81 @@
+package strInfo.columnar;
+
+/**
+ * 由 insert 语句解码出来的列式数据，其中每一列都使用原始类型的数组存储。
+ * <p>
+ * Columnar data decoded from the insert statement, in which each column is stored in an array of primitive types.
+ *
+ * @author zhao
+ */
+public final class ColumnarBatch {
+
+    private final Column[] columns;
+    private final int rowCount;
+
+    ColumnarBatch(Column[] columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @return 数据的行数
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return 数据的列数
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param index 列的索引
+     * @return 对应索引的列
+     */
+    public Column getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * @param name 列的名称
+     * @return 对应名称的列，如果不存在返回null
+     */
+    public Column getColumn(String name) {
+        for (Column column : columns) {
+            if (column.getName().equalsIgnoreCase(name)) return column;
+        }
+        return null;
+    }
+
+    /**
+     * @param index 列的索引
+     * @return 对应索引的整数列，如果该列不是整数列，会抛出 ClassCastException
+     */
+    public LongColumn getLongColumn(int index) {
+        return (LongColumn) columns[index];
+    }
+
+    /**
+     * @param index 列的索引
+     * @return 对应索引的浮点数列，如果该列不是浮点数列，会抛出 ClassCastException
+     */
+    public DoubleColumn getDoubleColumn(int index) {
+        return (DoubleColumn) columns[index];
+    }
+
+    /**
+     * @param index 列的索引
+     * @return 对应索引的字符串列，如果该列不是字符串列，会抛出 ClassCastException
+     */
+    public StringColumn getStringColumn(int index) {
+        return (StringColumn) columns[index];
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarBatch{rowCount=" + rowCount + ", columnCount=" + columns.length + '}';
+    }
+}
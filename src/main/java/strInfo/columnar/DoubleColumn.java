@@ -0,0 +1,63 @@
+package strInfo.columnar;
+
+import java.util.Arrays;
+
+/**
+ * 使用 double[] 存储的浮点数列。
+ * <p>
+ * Floating point column stored with double[].
+ *
+ * @author zhao
+ */
+public final class DoubleColumn extends Column {
+
+    private double[] values;
+
+    DoubleColumn(String name, int capacity) {
+        super(name, capacity);
+        this.values = new double[Math.max(capacity, 1)];
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.DOUBLE;
+    }
+
+    /**
+     * @param row 行的索引
+     * @return 该行的值，如果该行的值是 NULL，返回0
+     */
+    public double get(int row) {
+        return values[row];
+    }
+
+    /**
+     * @return 存储所有值的数组，数组的长度与行数相同
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        super.ensureCapacity(capacity);
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length << 1, capacity));
+        }
+    }
+
+    void append(double value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+    }
+
+    @Override
+    void appendDefault() {
+        values[size++] = 0;
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) values = Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,155 @@
+package strInfo.columnar;
+
+import strInfo.lexer.SQLLexer;
+import strInfo.result.InsertStatement;
+import strInfo.result.Row;
+
+import java.util.Iterator;
+
+/**
+ * insert 语句数据的列式解码器，按照列的类型提示将每一行数据直接解码到原始类型的数组中，数字会直接从原sql语句的字符中解析出来，不会产生子字符串与装箱对象。
+ * <p>
+ * Columnar decoder for insert statement data. According to the type hint of the column, each row of data is directly decoded into an array of primitive types. The numbers will be parsed directly from the characters of the original SQL statement, and no substring and boxed objects will be generated.
+ * <p>
+ * 解码器是无状态的，因此同一个解码器可以在多个线程中同时使用。
+ * <p>
+ * The decoder is stateless, so the same decoder can be used in multiple threads at the same time.
+ *
+ * @author zhao
+ */
+public final class InsertDecoder {
+
+    private final ColumnType[] types;
+
+    /**
+     * @param types 每一列的类型提示，顺序与 insert 语句中字段的顺序一致
+     */
+    public InsertDecoder(ColumnType... types) {
+        this.types = types.clone();
+    }
+
+    /**
+     * 使用指定的列类型解码一个 insert 语句中的所有数据。
+     * <p>
+     * Decode all data in an insert statement with the specified column type.
+     *
+     * @param insertStatement 需要被解码的 insert 语句
+     * @param types           每一列的类型提示，顺序与 insert 语句中字段的顺序一致
+     * @return 解码之后的列式数据
+     */
+    public static ColumnarBatch decode(InsertStatement insertStatement, ColumnType... types) {
+        return new InsertDecoder(types).decode(insertStatement);
+    }
+
+    /**
+     * 解码一个 insert 语句中的所有数据，每一行的字段数量必须与列类型的数量一致。
+     * <p>
+     * Decode all data in an insert statement. The number of fields in each row must be consistent with the number of column types.
+     *
+     * @param insertStatement 需要被解码的 insert 语句
+     * @return 解码之后的列式数据
+     */
+    public ColumnarBatch decode(InsertStatement insertStatement) {
+        String[] fieldNames = insertStatement.getFieldNames();
+        Column[] columns = new Column[types.length];
+        for (int i = 0; i < types.length; i++) {
+            String name = fieldNames.length == types.length ? fieldNames[i] : String.valueOf(i);
+            switch (types[i]) {
+                case LONG:
+                    columns[i] = new LongColumn(name, 16);
+                    break;
+                case DOUBLE:
+                    columns[i] = new DoubleColumn(name, 16);
+                    break;
+                default:
+                    columns[i] = new StringColumn(name, 16);
+                    break;
+            }
+        }
+        int rowCount = 0;
+        for (Iterator<Row> iterator = insertStatement.rows(); iterator.hasNext(); rowCount++) {
+            Row row = iterator.next();
+            if (row.size() != types.length) {
+                throw new RuntimeException("insert 语句中数据的字段数量与列类型的数量不一致。\nThe number of fields of data in the insert statement is inconsistent with the number of column types.\nERROR => row " + row.getIndex() + ": " + row);
+            }
+            CharSequence source = row.getSource();
+            for (int i = 0; i < columns.length; i++) {
+                int start = row.getStart(i);
+                int end = row.getEnd(i);
+                Column column = columns[i];
+                if (row.isNull(i)) {
+                    column.appendNull();
+                } else if (column instanceof LongColumn) {
+                    ((LongColumn) column).append(parseLong(source, start, end, row));
+                } else if (column instanceof DoubleColumn) {
+                    ((DoubleColumn) column).append(parseDouble(source, start, end, row));
+                } else {
+                    appendString((StringColumn) column, source, start, end);
+                }
+            }
+        }
+        for (Column column : columns) {
+            column.trim();
+        }
+        return new ColumnarBatch(columns, rowCount);
+    }
+
+    /**
+     * 直接从字符序列中解析一个整数，被引号包裹的数字也可以被解析。
+     */
+    private static long parseLong(CharSequence source, int start, int end, Row row) {
+        if (end - start >= 2 && (source.charAt(start) == '\'' || source.charAt(start) == '"')) {
+            start++;
+            end--;
+        }
+        try {
+            return SQLLexer.parseLong(source, start, end);
+        } catch (NumberFormatException e) {
+            throw numberError(source, start, end, row);
+        }
+    }
+
+    /**
+     * 直接从字符序列中解析一个浮点数，被引号包裹的数字也可以被解析。
+     */
+    private static double parseDouble(CharSequence source, int start, int end, Row row) {
+        if (end - start >= 2 && (source.charAt(start) == '\'' || source.charAt(start) == '"')) {
+            start++;
+            end--;
+        }
+        try {
+            return SQLLexer.parseDouble(source, start, end);
+        } catch (NumberFormatException e) {
+            throw numberError(source, start, end, row);
+        }
+    }
+
+    /**
+     * 将一个字段以 UTF-8 编码追加到字符串列中，被引号包裹的字段会去除引号并处理转义字符。
+     */
+    private static void appendString(StringColumn column, CharSequence source, int start, int end) {
+        column.startValue();
+        char quote = 0;
+        if (end - start >= 2 && (source.charAt(start) == '\'' || source.charAt(start) == '"')) {
+            quote = source.charAt(start);
+            start++;
+            end--;
+        }
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && i + 1 < end) {
+                    c = SQLLexer.unescape(source.charAt(++i));
+                } else if (c == quote && i + 1 < end && source.charAt(i + 1) == quote) {
+                    i++;
+                }
+            }
+            if (column.appendChar(c, i + 1 < end ? source.charAt(i + 1) : 0)) i++;
+        }
+        column.finishValue();
+    }
+
+    private static RuntimeException numberError(CharSequence source, int start, int end, Row row) {
+        return new RuntimeException("无法将字段解析为数字。\nUnable to parse field as number.\nERROR => row " + row.getIndex() + ": " + source.subSequence(start, end));
+    }
+}
@@ -0,0 +1,63 @@
+package strInfo.columnar;
+
+import java.util.Arrays;
+
+/**
+ * 使用 long[] 存储的整数列。
+ * <p>
+ * Integer column stored with long[].
+ *
+ * @author zhao
+ */
+public final class LongColumn extends Column {
+
+    private long[] values;
+
+    LongColumn(String name, int capacity) {
+        super(name, capacity);
+        this.values = new long[Math.max(capacity, 1)];
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.LONG;
+    }
+
+    /**
+     * @param row 行的索引
+     * @return 该行的值，如果该行的值是 NULL，返回0
+     */
+    public long get(int row) {
+        return values[row];
+    }
+
+    /**
+     * @return 存储所有值的数组，数组的长度与行数相同
+     */
+    public long[] getValues() {
+        return values;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        super.ensureCapacity(capacity);
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length << 1, capacity));
+        }
+    }
+
+    void append(long value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+    }
+
+    @Override
+    void appendDefault() {
+        values[size++] = 0;
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) values = Arrays.copyOf(values, size);
+    }
+}
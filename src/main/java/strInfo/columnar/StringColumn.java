@@ -0,0 +1,119 @@
+package strInfo.columnar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 使用偏移量编码存储的字符串列，所有字符串都以 UTF-8 编码连续的存储在同一个 byte[] 中，第 i 行的字符串位于 offsets[i] 与 offsets[i + 1] 之间。
+ * <p>
+ * A string column stored with offset encoding. All strings are stored continuously in the same byte[] with UTF-8 encoding. The string of row i is located between offsets[i] and offsets[i + 1].
+ *
+ * @author zhao
+ */
+public final class StringColumn extends Column {
+
+    private byte[] data;
+    private int[] offsets;
+    private int length;
+
+    StringColumn(String name, int capacity) {
+        super(name, capacity);
+        this.offsets = new int[Math.max(capacity, 1) + 1];
+        this.data = new byte[Math.max(capacity, 1) << 3];
+    }
+
+    @Override
+    public ColumnType getType() {
+        return ColumnType.STRING;
+    }
+
+    /**
+     * @param row 行的索引
+     * @return 该行的字符串，如果该行的值是 NULL，返回null
+     */
+    public String get(int row) {
+        if (isNull(row)) return null;
+        return new String(data, offsets[row], offsets[row + 1] - offsets[row], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return 以 UTF-8 编码连续存储所有字符串的字节数组，数组的长度与所有字符串的字节数之和相同
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * @return 每一行字符串在字节数组中的起始偏移量，数组的长度比行数多1，最后一个元素是字节数组的长度
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        super.ensureCapacity(capacity);
+        if (capacity + 1 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(offsets.length << 1, capacity + 1));
+        }
+    }
+
+    /**
+     * 开始追加一个新的字符串，之后通过 appendChar 函数追加字符串中的字符，通过 finishValue 函数结束追加。
+     */
+    void startValue() {
+        ensureCapacity(size + 1);
+    }
+
+    /**
+     * 将一个字符以 UTF-8 编码的形式追加到当前字符串中。
+     *
+     * @param c    需要被追加的字符
+     * @param next 下一个字符，用于处理代理对，如果没有下一个字符传入0
+     * @return 如果下一个字符作为代理对的低位被一起编码，返回true
+     */
+    boolean appendChar(char c, char next) {
+        ensureData(4);
+        if (c < 0x80) {
+            data[length++] = (byte) c;
+        } else if (c < 0x800) {
+            data[length++] = (byte) (0xC0 | (c >> 6));
+            data[length++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+            int codePoint = Character.toCodePoint(c, next);
+            data[length++] = (byte) (0xF0 | (codePoint >> 18));
+            data[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            data[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            data[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            return true;
+        } else if (Character.isSurrogate(c)) {
+            data[length++] = '?';
+        } else {
+            data[length++] = (byte) (0xE0 | (c >> 12));
+            data[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            data[length++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return false;
+    }
+
+    void finishValue() {
+        offsets[++size] = length;
+    }
+
+    @Override
+    void appendDefault() {
+        offsets[++size] = length;
+    }
+
+    private void ensureData(int count) {
+        if (length + count > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length << 1, length + count));
+        }
+    }
+
+    @Override
+    void trim() {
+        if (offsets.length != size + 1) offsets = Arrays.copyOf(offsets, size + 1);
+        if (data.length != length) data = Arrays.copyOf(data, length);
+    }
+}
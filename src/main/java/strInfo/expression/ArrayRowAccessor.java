@@ -0,0 +1,61 @@
+package strInfo.expression;
+
+import strInfo.lexer.SQLLexer;
+
+/**
+ * 以对象数组作为一行数据的访问器，适用于缓存中的行或者变更事件中的行，通过 setRow 切换当前行，因此同一个访问器可以被反复使用。
+ * <p>
+ * The accessor that uses an object array as a row of data is suitable for rows in the cache or rows in change events. The current row is switched through setRow, so the same accessor can be used repeatedly.
+ * <p>
+ * 数值字段需要是 Number 或者数字文本，文本字段如果不是 CharSequence，会使用 String.valueOf 转换为字符串。
+ * <p>
+ * Numeric fields need to be Number or numeric text. If the text field is not CharSequence, it will be converted to a string using String.valueOf.
+ *
+ * @author zhao
+ */
+public final class ArrayRowAccessor implements RowAccessor {
+
+    private Object[] row;
+
+    /**
+     * 切换访问器当前指向的行。
+     *
+     * @param row 一行数据，数组的索引就是字段的索引
+     * @return 当前访问器，便于直接传递给谓词
+     */
+    public ArrayRowAccessor setRow(Object[] row) {
+        this.row = row;
+        return this;
+    }
+
+    /**
+     * @return 访问器当前指向的行
+     */
+    public Object[] getRow() {
+        return row;
+    }
+
+    @Override
+    public boolean isNull(int column) {
+        return row[column] == null;
+    }
+
+    @Override
+    public double getDouble(int column) {
+        Object value = row[column];
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        CharSequence text = getCharSequence(column);
+        return SQLLexer.parseDouble(text, 0, text.length());
+    }
+
+    @Override
+    public boolean isNumber(int column) {
+        return row[column] instanceof Number;
+    }
+
+    @Override
+    public CharSequence getCharSequence(int column) {
+        Object value = row[column];
+        return value instanceof CharSequence ? (CharSequence) value : String.valueOf(value);
+    }
+}
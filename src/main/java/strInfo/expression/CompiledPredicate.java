@@ -0,0 +1,41 @@
+package strInfo.expression;
+
+import java.util.function.Predicate;
+
+/**
+ * 由 where 子句编译出来的谓词，字段已经在编译的时候被解析为索引，常量也已经被解析为数值或字符串，因此每一次判断都不会再进行任何解析，也不会产生新对象。
+ * <p>
+ * The predicate compiled from the where clause. The fields have been resolved into indexes at the time of compilation, and the constants have been resolved into numbers or strings, so each judgment will not be parsed any more, and no new objects will be generated.
+ * <p>
+ * 谓词是不可变的，可以在多个线程之间共享，也可以被反复的使用在任意数量的行上。
+ * <p>
+ * The predicate is immutable and can be shared among multiple threads. It can also be used repeatedly on any number of rows.
+ *
+ * @author zhao
+ */
+public final class CompiledPredicate implements Predicate<RowAccessor> {
+
+    private final Conditions.Condition condition;
+    private final String expression;
+
+    CompiledPredicate(Conditions.Condition condition, String expression) {
+        this.condition = condition;
+        this.expression = expression;
+    }
+
+    /**
+     * @param row 需要被判断的行
+     * @return 如果 where 子句在该行上的计算结果为 true，返回true，结果为 false 或 unknown（例如与 null 进行比较）的时候返回false
+     * <p>
+     * If the calculation result of the where clause on the row is true, return true. If the result is false or unknown (for example, compared with null), return false
+     */
+    @Override
+    public boolean test(RowAccessor row) {
+        return condition.evaluate(row) == Conditions.TRUE;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
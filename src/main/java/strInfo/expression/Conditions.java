@@ -0,0 +1,579 @@
+package strInfo.expression;
+
+import java.util.Arrays;
+
+/**
+ * 编译之后的谓词节点，每一个节点都是一个不可变的小对象，计算过程不会产生任何新对象。
+ * <p>
+ * The compiled predicate nodes. Each node is an immutable small object, and the calculation process does not produce any new objects.
+ * <p>
+ * 计算结果使用 SQL 的三值逻辑，与 null 进行比较的结果是 UNKNOWN，只有结果为 TRUE 的行才会被谓词接受。
+ * <p>
+ * The calculation result uses the three valued logic of SQL. The result of comparison with null is UNKNOWN. Only rows with a result of TRUE will be accepted by the predicate.
+ *
+ * @author zhao
+ */
+final class Conditions {
+
+    final static int FALSE = 0;
+    final static int TRUE = 1;
+    final static int UNKNOWN = 2;
+
+    private Conditions() {
+    }
+
+    static int of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    static boolean compare(int operator, int compare) {
+        switch (operator) {
+            case WhereExpression.EQ:
+                return compare == 0;
+            case WhereExpression.NE:
+                return compare != 0;
+            case WhereExpression.LT:
+                return compare < 0;
+            case WhereExpression.LE:
+                return compare <= 0;
+            case WhereExpression.GT:
+                return compare > 0;
+            default:
+                return compare >= 0;
+        }
+    }
+
+    static boolean compare(int operator, double left, double right) {
+        switch (operator) {
+            case WhereExpression.EQ:
+                return left == right;
+            case WhereExpression.NE:
+                return left != right;
+            case WhereExpression.LT:
+                return left < right;
+            case WhereExpression.LE:
+                return left <= right;
+            case WhereExpression.GT:
+                return left > right;
+            default:
+                return left >= right;
+        }
+    }
+
+    /**
+     * 按照字符的编码逐个比较两个字符序列，与 String.compareTo 的结果一致。
+     */
+    static int compareText(CharSequence left, CharSequence right) {
+        int leftLength = left.length();
+        int rightLength = right.length();
+        for (int i = 0, length = Math.min(leftLength, rightLength); i < length; i++) {
+            int compare = left.charAt(i) - right.charAt(i);
+            if (compare != 0) return compare;
+        }
+        return leftLength - rightLength;
+    }
+
+    /**
+     * @return 与 String.hashCode 相同的哈希值，不需要将字符序列转换为字符串
+     */
+    static int hash(CharSequence text) {
+        int h = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return h;
+    }
+
+    static boolean contentEquals(String text, CharSequence sequence) {
+        int length = text.length();
+        if (length != sequence.length()) return false;
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != sequence.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 谓词节点
+     */
+    static abstract class Condition {
+        /**
+         * @return TRUE、FALSE 或 UNKNOWN
+         */
+        abstract int evaluate(RowAccessor row);
+    }
+
+    /**
+     * 比较运算与谓词中的操作数，可能是字段、常量或者参数
+     */
+    static abstract class Operand {
+        abstract boolean isNull(RowAccessor row);
+
+        abstract double number(RowAccessor row);
+
+        abstract CharSequence text(RowAccessor row);
+    }
+
+    final static class ColumnOperand extends Operand {
+        final int column;
+
+        ColumnOperand(int column) {
+            this.column = column;
+        }
+
+        @Override
+        boolean isNull(RowAccessor row) {
+            return row.isNull(column);
+        }
+
+        @Override
+        double number(RowAccessor row) {
+            return row.getDouble(column);
+        }
+
+        @Override
+        CharSequence text(RowAccessor row) {
+            return row.getCharSequence(column);
+        }
+    }
+
+    final static class ConstantOperand extends Operand {
+        final boolean isNull;
+        /**
+         * 常量是否是数值常量，数值常量会使比较按照数值进行
+         */
+        final boolean numeric;
+        final double number;
+        final String text;
+
+        ConstantOperand(boolean isNull, boolean numeric, double number, String text) {
+            this.isNull = isNull;
+            this.numeric = numeric;
+            this.number = number;
+            this.text = text;
+        }
+
+        @Override
+        boolean isNull(RowAccessor row) {
+            return isNull;
+        }
+
+        @Override
+        double number(RowAccessor row) {
+            return number;
+        }
+
+        @Override
+        CharSequence text(RowAccessor row) {
+            return text;
+        }
+    }
+
+    /**
+     * 算术运算的结果，任意一个操作数是 null 或者除数为0的时候结果是 null
+     */
+    final static class ArithmeticOperand extends Operand {
+        private final Operand left;
+        private final int operator;
+        private final Operand right;
+
+        ArithmeticOperand(Operand left, int operator, Operand right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        boolean isNull(RowAccessor row) {
+            if (left.isNull(row) || right.isNull(row)) return true;
+            return (operator == WhereExpression.DIVIDE || operator == WhereExpression.MOD) && right.number(row) == 0;
+        }
+
+        @Override
+        double number(RowAccessor row) {
+            double leftNumber = left.number(row);
+            double rightNumber = right.number(row);
+            switch (operator) {
+                case WhereExpression.ADD:
+                    return leftNumber + rightNumber;
+                case WhereExpression.SUBTRACT:
+                    return leftNumber - rightNumber;
+                case WhereExpression.MULTIPLY:
+                    return leftNumber * rightNumber;
+                case WhereExpression.DIVIDE:
+                    return leftNumber / rightNumber;
+                default:
+                    return leftNumber % rightNumber;
+            }
+        }
+
+        @Override
+        CharSequence text(RowAccessor row) {
+            // 只有结果与字符串进行匹配的时候才会产生文本，整数结果不带小数部分
+            double number = number(row);
+            return number == (long) number ? Long.toString((long) number) : Double.toString(number);
+        }
+    }
+
+    final static class Constant extends Condition {
+        private final int value;
+
+        Constant(int value) {
+            this.value = value;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            return value;
+        }
+    }
+
+    final static class And extends Condition {
+        private final Condition[] conditions;
+
+        And(Condition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            int result = TRUE;
+            for (Condition condition : conditions) {
+                int value = condition.evaluate(row);
+                if (value == FALSE) return FALSE;
+                if (value == UNKNOWN) result = UNKNOWN;
+            }
+            return result;
+        }
+    }
+
+    final static class Or extends Condition {
+        private final Condition[] conditions;
+
+        Or(Condition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            int result = FALSE;
+            for (Condition condition : conditions) {
+                int value = condition.evaluate(row);
+                if (value == TRUE) return TRUE;
+                if (value == UNKNOWN) result = UNKNOWN;
+            }
+            return result;
+        }
+    }
+
+    final static class Not extends Condition {
+        private final Condition condition;
+
+        Not(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            int value = condition.evaluate(row);
+            return value == UNKNOWN ? UNKNOWN : TRUE - value;
+        }
+    }
+
+    /**
+     * 字段与数值常量的比较，是最常见的谓词，因此单独进行了特化
+     */
+    final static class ColumnNumberCompare extends Condition {
+        private final int column;
+        private final int operator;
+        private final double value;
+
+        ColumnNumberCompare(int column, int operator, double value) {
+            this.column = column;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (row.isNull(column)) return UNKNOWN;
+            return of(compare(operator, row.getDouble(column), value));
+        }
+    }
+
+    final static class NumberCompare extends Condition {
+        private final Operand left;
+        private final int operator;
+        private final Operand right;
+
+        NumberCompare(Operand left, int operator, Operand right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (left.isNull(row) || right.isNull(row)) return UNKNOWN;
+            return of(compare(operator, left.number(row), right.number(row)));
+        }
+    }
+
+    final static class TextCompare extends Condition {
+        private final Operand left;
+        private final int operator;
+        private final Operand right;
+
+        TextCompare(Operand left, int operator, Operand right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (left.isNull(row) || right.isNull(row)) return UNKNOWN;
+            if (operator == WhereExpression.EQ || operator == WhereExpression.NE) {
+                CharSequence leftText = left.text(row);
+                CharSequence rightText = right.text(row);
+                boolean equals = leftText.length() == rightText.length() && compareText(leftText, rightText) == 0;
+                return of(equals == (operator == WhereExpression.EQ));
+            }
+            return of(compare(operator, compareText(left.text(row), right.text(row))));
+        }
+    }
+
+    /**
+     * 两个类型未知的字段之间的比较，两个值都是数值时按照数值比较，否则按照文本比较。
+     */
+    final static class ColumnCompare extends Condition {
+        private final int left;
+        private final int operator;
+        private final int right;
+
+        ColumnCompare(int left, int operator, int right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (row.isNull(left) || row.isNull(right)) return UNKNOWN;
+            if (row.isNumber(left) && row.isNumber(right)) {
+                return of(compare(operator, row.getDouble(left), row.getDouble(right)));
+            }
+            CharSequence leftText = row.getCharSequence(left);
+            CharSequence rightText = row.getCharSequence(right);
+            if (operator == WhereExpression.EQ || operator == WhereExpression.NE) {
+                boolean equals = leftText.length() == rightText.length() && compareText(leftText, rightText) == 0;
+                return of(equals == (operator == WhereExpression.EQ));
+            }
+            return of(compare(operator, compareText(leftText, rightText)));
+        }
+    }
+
+    final static class NumberBetween extends Condition {
+        private final Operand operand;
+        private final Operand low;
+        private final Operand high;
+        private final boolean negated;
+
+        NumberBetween(Operand operand, Operand low, Operand high, boolean negated) {
+            this.operand = operand;
+            this.low = low;
+            this.high = high;
+            this.negated = negated;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (operand.isNull(row) || low.isNull(row) || high.isNull(row)) return UNKNOWN;
+            double value = operand.number(row);
+            return of((value >= low.number(row) && value <= high.number(row)) != negated);
+        }
+    }
+
+    final static class TextBetween extends Condition {
+        private final Operand operand;
+        private final Operand low;
+        private final Operand high;
+        private final boolean negated;
+
+        TextBetween(Operand operand, Operand low, Operand high, boolean negated) {
+            this.operand = operand;
+            this.low = low;
+            this.high = high;
+            this.negated = negated;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (operand.isNull(row) || low.isNull(row) || high.isNull(row)) return UNKNOWN;
+            CharSequence value = operand.text(row);
+            boolean between = compareText(value, low.text(row)) >= 0 && compareText(value, high.text(row)) <= 0;
+            return of(between != negated);
+        }
+    }
+
+    /**
+     * 数值 in 列表，列表中的数值已经排好序，使用二分查找
+     */
+    final static class NumberIn extends Condition {
+        private final Operand operand;
+        private final double[] values;
+        private final boolean hasNull;
+        private final boolean negated;
+
+        NumberIn(Operand operand, double[] values, boolean hasNull, boolean negated) {
+            this.operand = operand;
+            this.values = values;
+            this.hasNull = hasNull;
+            this.negated = negated;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (operand.isNull(row)) return UNKNOWN;
+            if (Arrays.binarySearch(values, operand.number(row)) >= 0) return of(!negated);
+            return hasNull ? UNKNOWN : of(negated);
+        }
+    }
+
+    /**
+     * 文本 in 列表，列表中的文本保存在开放寻址的哈希表中，查找的时候直接计算字符序列的哈希值，不需要创建字符串
+     */
+    final static class TextIn extends Condition {
+        private final Operand operand;
+        private final String[] slots;
+        private final int mask;
+        private final boolean hasNull;
+        private final boolean negated;
+
+        TextIn(Operand operand, String[] values, boolean hasNull, boolean negated) {
+            this.operand = operand;
+            int capacity = Integer.highestOneBit(Math.max(values.length, 1)) << 2;
+            this.slots = new String[capacity];
+            this.mask = capacity - 1;
+            for (String value : values) {
+                int index = value.hashCode() & mask;
+                while (slots[index] != null && !slots[index].equals(value)) index = (index + 1) & mask;
+                slots[index] = value;
+            }
+            this.hasNull = hasNull;
+            this.negated = negated;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (operand.isNull(row)) return UNKNOWN;
+            CharSequence text = operand.text(row);
+            for (int index = hash(text) & mask; slots[index] != null; index = (index + 1) & mask) {
+                if (contentEquals(slots[index], text)) return of(!negated);
+            }
+            return hasNull ? UNKNOWN : of(negated);
+        }
+    }
+
+    final static class IsNull extends Condition {
+        private final Operand operand;
+        private final boolean negated;
+
+        IsNull(Operand operand, boolean negated) {
+            this.operand = operand;
+            this.negated = negated;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            return of(operand.isNull(row) != negated);
+        }
+    }
+
+    /**
+     * 单独作为条件的操作数，非零的数值代表 TRUE
+     */
+    final static class Truth extends Condition {
+        private final Operand operand;
+
+        Truth(Operand operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (operand.isNull(row)) return UNKNOWN;
+            return of(operand.number(row) != 0);
+        }
+    }
+
+    /**
+     * like 匹配，模式在编译的时候被拆分为字符与通配符，匹配过程使用回溯到最近一个 % 的贪婪算法
+     */
+    final static class Like extends Condition {
+        private final static byte CHAR = 0;
+        private final static byte ONE = 1;
+        private final static byte ANY = 2;
+
+        private final Operand operand;
+        private final char[] chars;
+        private final byte[] types;
+        private final boolean negated;
+
+        /**
+         * @param escape 模式中的转义字符，转义字符之后的字符是普通字符，默认是反斜杠
+         */
+        Like(Operand operand, String pattern, char escape, boolean negated) {
+            this.operand = operand;
+            this.negated = negated;
+            char[] chars = new char[pattern.length()];
+            byte[] types = new byte[pattern.length()];
+            int length = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == escape && i + 1 < pattern.length()) {
+                    chars[length] = pattern.charAt(++i);
+                    types[length++] = CHAR;
+                } else if (c == '%') {
+                    // 连续的 % 与一个 % 的含义相同
+                    if (length == 0 || types[length - 1] != ANY) types[length++] = ANY;
+                } else {
+                    chars[length] = c;
+                    types[length++] = c == '_' ? ONE : CHAR;
+                }
+            }
+            this.chars = Arrays.copyOf(chars, length);
+            this.types = Arrays.copyOf(types, length);
+        }
+
+        @Override
+        int evaluate(RowAccessor row) {
+            if (operand.isNull(row)) return UNKNOWN;
+            return of(matches(operand.text(row)) != negated);
+        }
+
+        private boolean matches(CharSequence text) {
+            int length = text.length();
+            int p = 0;
+            int t = 0;
+            int anyP = -1;
+            int anyT = 0;
+            while (t < length) {
+                if (p < types.length && types[p] == ANY) {
+                    anyP = p++;
+                    anyT = t;
+                } else if (p < types.length && (types[p] == ONE || chars[p] == text.charAt(t))) {
+                    p++;
+                    t++;
+                } else if (anyP >= 0) {
+                    p = anyP + 1;
+                    t = ++anyT;
+                } else {
+                    return false;
+                }
+            }
+            while (p < types.length && types[p] == ANY) p++;
+            return p == types.length;
+        }
+    }
+}
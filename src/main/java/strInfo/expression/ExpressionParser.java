@@ -0,0 +1,540 @@
+package strInfo.expression;
+
+import strInfo.lexer.SQLKeywords;
+import strInfo.lexer.SQLLexer;
+
+import java.util.Arrays;
+
+/**
+ * where 与 on 子句的递归下降解析器，直接在原sql语句的区间上分词，并将节点写入平铺的数组中，优先级从低到高依次为 or、and、not、谓词、加减、乘除取余。
+ * <p>
+ * The recursive descent parser of the where and on clauses. It tokenizes directly on the interval of the original SQL statement and writes the nodes into flat arrays. The priority from low to high is or, and, not, predicate, addition and subtraction, multiplication, division and remainder.
+ * <p>
+ * 解析器是有状态的，每一个解析器对象只能解析一次。
+ * <p>
+ * The parser is stateful, and each parser object can only parse once.
+ *
+ * @author zhao
+ */
+final class ExpressionParser {
+
+    private final static int END = 0;
+    private final static int WORD = 1;
+    private final static int STRING = 2;
+    private final static int NUMBER = 3;
+    private final static int OPERATOR = 4;
+    private final static int LEFT_BRACKET = 5;
+    private final static int RIGHT_BRACKET = 6;
+    private final static int COMMA = 7;
+    private final static int PARAMETER = 8;
+    private final static int STAR = 9;
+    private final static int ARITHMETIC = 10;
+
+    private final CharSequence sql;
+    private final int end;
+    private int position;
+
+    private int token;
+    private int tokenStart;
+    private int tokenEnd;
+    private int tokenOperator;
+    private int tokenKeyword;
+    /**
+     * 上一个被消费的词的结束索引
+     */
+    private int previousEnd;
+
+    private byte[] kinds = new byte[16];
+    private byte[] operators = new byte[16];
+    private boolean[] negated = new boolean[16];
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int[] childStarts = new int[16];
+    private int[] childCounts = new int[16];
+    private int size;
+
+    private int[] children = new int[16];
+    private int childSize;
+
+    /**
+     * 尚未被父节点收集的子节点
+     */
+    private int[] stack = new int[16];
+    private int stackSize;
+
+    ExpressionParser(CharSequence sql, int start, int end) {
+        this.sql = sql;
+        this.position = start;
+        this.tokenEnd = start;
+        this.end = end;
+    }
+
+    WhereExpression parse() {
+        next();
+        int root = -1;
+        if (token != END) {
+            root = parseOr();
+            if (token != END) throw error("and/or");
+        }
+        return new WhereExpression(
+                sql, Arrays.copyOf(kinds, size), Arrays.copyOf(operators, size), Arrays.copyOf(negated, size),
+                Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), Arrays.copyOf(childStarts, size), Arrays.copyOf(childCounts, size),
+                Arrays.copyOf(children, childSize), root, size
+        );
+    }
+
+    private int parseOr() {
+        int first = parseAnd();
+        if (!isKeyword(SQLKeywords.OR)) return first;
+        int base = push(first);
+        while (isKeyword(SQLKeywords.OR)) {
+            next();
+            push(parseAnd());
+        }
+        return addNode(WhereExpression.OR, 0, false, starts[first], ends[stack[stackSize - 1]], base);
+    }
+
+    private int parseAnd() {
+        int first = parseNot();
+        if (!isKeyword(SQLKeywords.AND)) return first;
+        int base = push(first);
+        while (isKeyword(SQLKeywords.AND)) {
+            next();
+            push(parseNot());
+        }
+        return addNode(WhereExpression.AND, 0, false, starts[first], ends[stack[stackSize - 1]], base);
+    }
+
+    private int parseNot() {
+        if (!isKeyword(SQLKeywords.NOT)) return parsePredicate();
+        int start = tokenStart;
+        next();
+        int child = parseNot();
+        return addNode(WhereExpression.NOT, 0, false, start, ends[child], push(child));
+    }
+
+    private int parsePredicate() {
+        int left = parseArithmetic();
+        if (token == OPERATOR) {
+            int operator = tokenOperator;
+            next();
+            int right = parseArithmetic();
+            int base = push(left);
+            push(right);
+            return addNode(WhereExpression.COMPARE, operator, false, starts[left], ends[right], base);
+        }
+        if (isKeyword(SQLKeywords.IS)) {
+            next();
+            boolean not = isKeyword(SQLKeywords.NOT);
+            if (not) next();
+            if (!isKeyword(SQLKeywords.NULL)) throw error("null");
+            int end = tokenEnd;
+            next();
+            return addNode(WhereExpression.IS_NULL, 0, not, starts[left], end, push(left));
+        }
+        boolean not = false;
+        if (isKeyword(SQLKeywords.NOT)) {
+            not = true;
+            next();
+            if (!isKeyword(SQLKeywords.IN) && !isKeyword(SQLKeywords.BETWEEN) && !isKeyword(SQLKeywords.LIKE)) {
+                throw error("in/between/like");
+            }
+        }
+        if (isKeyword(SQLKeywords.IN)) {
+            next();
+            if (token != LEFT_BRACKET) throw error("(");
+            int base = push(left);
+            if (isSubQuery()) {
+                push(parseSubQuery());
+            } else {
+                next();
+                push(parseArithmetic());
+                while (token == COMMA) {
+                    next();
+                    push(parseArithmetic());
+                }
+                if (token != RIGHT_BRACKET) throw error(")");
+                next();
+            }
+            return addNode(WhereExpression.IN, 0, not, starts[left], previousEnd, base);
+        }
+        if (isKeyword(SQLKeywords.BETWEEN)) {
+            next();
+            int base = push(left);
+            push(parseArithmetic());
+            if (!isKeyword(SQLKeywords.AND)) throw error("and");
+            next();
+            int high = parseArithmetic();
+            push(high);
+            return addNode(WhereExpression.BETWEEN, 0, not, starts[left], ends[high], base);
+        }
+        if (isKeyword(SQLKeywords.LIKE)) {
+            next();
+            int pattern = parseArithmetic();
+            int base = push(left);
+            push(pattern);
+            if (!isKeyword(SQLKeywords.ESCAPE)) return addNode(WhereExpression.LIKE, 0, not, starts[left], ends[pattern], base);
+            next();
+            int escape = parseOperand();
+            push(escape);
+            return addNode(WhereExpression.LIKE, 0, not, starts[left], ends[escape], base);
+        }
+        return left;
+    }
+
+    /**
+     * 解析加减运算，运算是左结合的，例如 a - b + c 会被解析为 (a - b) + c。
+     */
+    private int parseArithmetic() {
+        int left = parseTerm();
+        while (token == ARITHMETIC && (tokenOperator == WhereExpression.ADD || tokenOperator == WhereExpression.SUBTRACT)) {
+            int operator = tokenOperator;
+            next();
+            int right = parseTerm();
+            int base = push(left);
+            push(right);
+            left = addNode(WhereExpression.ARITHMETIC, operator, false, starts[left], ends[right], base);
+        }
+        return left;
+    }
+
+    /**
+     * 解析乘除与取余运算，操作数之后的 * 是乘号。
+     */
+    private int parseTerm() {
+        int left = parseOperand();
+        while (token == STAR || (token == ARITHMETIC && tokenOperator != WhereExpression.ADD && tokenOperator != WhereExpression.SUBTRACT)) {
+            int operator = token == STAR ? WhereExpression.MULTIPLY : tokenOperator;
+            next();
+            int right = parseOperand();
+            int base = push(left);
+            push(right);
+            left = addNode(WhereExpression.ARITHMETIC, operator, false, starts[left], ends[right], base);
+        }
+        return left;
+    }
+
+    private int parseOperand() {
+        int start = tokenStart;
+        int end = tokenEnd;
+        switch (token) {
+            case WORD:
+                if (tokenKeyword == SQLKeywords.NULL) {
+                    next();
+                    return addNode(WhereExpression.NULL, 0, false, start, end, stackSize);
+                }
+                if (tokenKeyword == SQLKeywords.TRUE || tokenKeyword == SQLKeywords.FALSE) {
+                    next();
+                    return addNode(WhereExpression.BOOLEAN, 0, false, start, end, stackSize);
+                }
+                if (isOperatorKeyword(tokenKeyword)) throw error("operand");
+                next();
+                if (token == LEFT_BRACKET) return parseFunction(start);
+                return addNode(WhereExpression.COLUMN, 0, false, start, end, stackSize);
+            case STAR:
+                next();
+                return addNode(WhereExpression.COLUMN, 0, false, start, end, stackSize);
+            case STRING:
+                next();
+                return addNode(WhereExpression.STRING, 0, false, start, end, stackSize);
+            case NUMBER:
+                next();
+                return addNode(WhereExpression.NUMBER, 0, false, start, end, stackSize);
+            case PARAMETER:
+                next();
+                return addNode(WhereExpression.PARAMETER, 0, false, start, end, stackSize);
+            case LEFT_BRACKET:
+                if (isSubQuery()) return parseSubQuery();
+                next();
+                int inner = parseOr();
+                if (token != RIGHT_BRACKET) throw error(")");
+                if (kinds[inner] < WhereExpression.COLUMN || kinds[inner] == WhereExpression.ARITHMETIC) {
+                    // 括号中的逻辑表达式与算术表达式使用包含括号的区间，这样节点的文本就是完整的表达式
+                    starts[inner] = start;
+                    ends[inner] = tokenEnd;
+                }
+                next();
+                return inner;
+            default:
+                throw error("operand");
+        }
+    }
+
+    /**
+     * 解析函数调用的参数列表，当前词是参数列表的左括号。
+     */
+    private int parseFunction(int start) {
+        int base = stackSize;
+        if (isSubQuery()) {
+            push(parseSubQuery());
+            return addNode(WhereExpression.FUNCTION, 0, false, start, previousEnd, base);
+        }
+        next();
+        if (token != RIGHT_BRACKET) {
+            push(parseOr());
+            while (token == COMMA) {
+                next();
+                push(parseOr());
+            }
+            if (token != RIGHT_BRACKET) throw error(")");
+        }
+        int end = tokenEnd;
+        next();
+        return addNode(WhereExpression.FUNCTION, 0, false, start, end, base);
+    }
+
+    /**
+     * @return 如果当前的左括号之后是一个 select 语句，返回true
+     */
+    private boolean isSubQuery() {
+        int i = SQLLexer.skipWhitespace(sql, tokenEnd, end);
+        return SQLLexer.equalsIgnoreCase(sql, i, SQLLexer.wordEnd(sql, i, end), "select");
+    }
+
+    /**
+     * 将当前左括号中的子查询作为一个整体解析为子查询节点，并跳过对应的右括号。
+     */
+    private int parseSubQuery() {
+        int depth = 0;
+        int i = tokenStart;
+        while (i < end) {
+            char c = sql.charAt(i);
+            if (SQLLexer.isQuote(c)) {
+                i = SQLLexer.skipQuoted(sql, i, end);
+                if (i < 0) throw error("'");
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                break;
+            }
+            i++;
+        }
+        if (i >= end) throw error(")");
+        int start = SQLLexer.skipWhitespace(sql, tokenEnd, i);
+        int node = addNode(WhereExpression.SUBQUERY, 0, false, start, SQLLexer.trimEnd(sql, start, i), stackSize);
+        position = i;
+        next();
+        next();
+        return node;
+    }
+
+    private boolean isKeyword(int keyword) {
+        return token == WORD && tokenKeyword == keyword;
+    }
+
+    /**
+     * @return 如果解析词是连接谓词的关键字，不能作为操作数，返回true
+     */
+    private static boolean isOperatorKeyword(int keyword) {
+        return keyword == SQLKeywords.AND || keyword == SQLKeywords.OR || keyword == SQLKeywords.NOT || keyword == SQLKeywords.IN
+                || keyword == SQLKeywords.BETWEEN || keyword == SQLKeywords.IS || keyword == SQLKeywords.LIKE || keyword == SQLKeywords.ESCAPE;
+    }
+
+    /**
+     * @return 如果上一个词是一个操作数的结尾，返回true，此时之后的 + 与 - 是算术运算符而不是数字的符号
+     */
+    private boolean isAfterOperand() {
+        switch (token) {
+            case WORD:
+                return !isOperatorKeyword(tokenKeyword);
+            case STRING:
+            case NUMBER:
+            case PARAMETER:
+            case RIGHT_BRACKET:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 将一个子节点压入等待被收集的栈中。
+     *
+     * @return 压入之前栈的大小，也就是该子节点所属的父节点收集子节点的起点
+     */
+    private int push(int node) {
+        if (stackSize == stack.length) stack = Arrays.copyOf(stack, stackSize << 1);
+        stack[stackSize] = node;
+        return stackSize++;
+    }
+
+    /**
+     * 添加一个节点，栈中从 base 开始的所有节点都会成为新节点的子节点。
+     */
+    private int addNode(int kind, int operator, boolean not, int start, int end, int base) {
+        if (size == kinds.length) {
+            int capacity = size << 1;
+            kinds = Arrays.copyOf(kinds, capacity);
+            operators = Arrays.copyOf(operators, capacity);
+            negated = Arrays.copyOf(negated, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            childStarts = Arrays.copyOf(childStarts, capacity);
+            childCounts = Arrays.copyOf(childCounts, capacity);
+        }
+        int count = stackSize - base;
+        if (childSize + count > children.length) children = Arrays.copyOf(children, Math.max(children.length << 1, childSize + count));
+        System.arraycopy(stack, base, children, childSize, count);
+        stackSize = base;
+        kinds[size] = (byte) kind;
+        operators[size] = (byte) operator;
+        negated[size] = not;
+        starts[size] = start;
+        ends[size] = end;
+        childStarts[size] = childSize;
+        childCounts[size] = count;
+        childSize += count;
+        return size++;
+    }
+
+    /**
+     * 读取下一个词，词的类型与区间会被记录在解析器的字段中。
+     */
+    private void next() {
+        boolean afterOperand = isAfterOperand();
+        previousEnd = tokenEnd;
+        int i = SQLLexer.skipWhitespace(sql, position, end);
+        tokenStart = i;
+        tokenKeyword = -1;
+        if (i >= end || sql.charAt(i) == ';') {
+            token = END;
+            tokenEnd = position = i;
+            return;
+        }
+        char c = sql.charAt(i);
+        char next = i + 1 < end ? sql.charAt(i + 1) : 0;
+        switch (c) {
+            case '(':
+                setToken(LEFT_BRACKET, i + 1);
+                return;
+            case ')':
+                setToken(RIGHT_BRACKET, i + 1);
+                return;
+            case ',':
+                setToken(COMMA, i + 1);
+                return;
+            case '?':
+                setToken(PARAMETER, i + 1);
+                return;
+            case '*':
+                setToken(STAR, i + 1);
+                return;
+            case '\'':
+            case '"':
+                int quotedEnd = SQLLexer.skipQuoted(sql, i, end);
+                if (quotedEnd < 0) throw error(String.valueOf(c));
+                setToken(STRING, quotedEnd);
+                return;
+            case '=':
+                setOperator(WhereExpression.EQ, next == '=' ? i + 2 : i + 1);
+                return;
+            case '!':
+                if (next != '=') throw error("!=");
+                setOperator(WhereExpression.NE, i + 2);
+                return;
+            case '<':
+                if (next == '=') {
+                    setOperator(WhereExpression.LE, i + 2);
+                } else if (next == '>') {
+                    setOperator(WhereExpression.NE, i + 2);
+                } else {
+                    setOperator(WhereExpression.LT, i + 1);
+                }
+                return;
+            case '>':
+                if (next == '=') {
+                    setOperator(WhereExpression.GE, i + 2);
+                } else {
+                    setOperator(WhereExpression.GT, i + 1);
+                }
+                return;
+            case '/':
+                setArithmetic(WhereExpression.DIVIDE, i + 1);
+                return;
+            case '%':
+                setArithmetic(WhereExpression.MOD, i + 1);
+                return;
+            default:
+                break;
+        }
+        if ((c == '-' || c == '+') && (afterOperand || !(isDigit(next) || next == '.'))) {
+            setArithmetic(c == '-' ? WhereExpression.SUBTRACT : WhereExpression.ADD, i + 1);
+        } else if (isDigit(c) || ((c == '-' || c == '+' || c == '.') && (isDigit(next) || (next == '.' && c != '.')))) {
+            setToken(NUMBER, numberEnd(i));
+        } else if (SQLLexer.isWordChar(c) || c == '`') {
+            int wordEnd = identifierEnd(i);
+            setToken(WORD, wordEnd);
+            tokenKeyword = SQLKeywords.indexOf(sql, i, wordEnd);
+        } else {
+            throw error("operand");
+        }
+    }
+
+    private void setToken(int token, int tokenEnd) {
+        this.token = token;
+        this.tokenEnd = tokenEnd;
+        this.position = tokenEnd;
+    }
+
+    private void setOperator(int operator, int tokenEnd) {
+        setToken(OPERATOR, tokenEnd);
+        this.tokenOperator = operator;
+    }
+
+    private void setArithmetic(int operator, int tokenEnd) {
+        setToken(ARITHMETIC, tokenEnd);
+        this.tokenOperator = operator;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int numberEnd(int i) {
+        if (sql.charAt(i) == '-' || sql.charAt(i) == '+') i++;
+        while (i < end && isDigit(sql.charAt(i))) i++;
+        if (i < end && sql.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(sql.charAt(i))) i++;
+        }
+        if (i < end && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+            int exponent = i + 1;
+            if (exponent < end && (sql.charAt(exponent) == '-' || sql.charAt(exponent) == '+')) exponent++;
+            if (exponent < end && isDigit(sql.charAt(exponent))) {
+                i = exponent;
+                while (i < end && isDigit(sql.charAt(i))) i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * @return 标识符结束之后的索引，标识符可以带有使用 . 分隔的前缀，每一部分都可以被反引号包裹，例如 `t`.id 或 t.*
+     */
+    private int identifierEnd(int i) {
+        while (true) {
+            if (sql.charAt(i) == '`') {
+                i = SQLLexer.skipQuoted(sql, i, end);
+                if (i < 0) throw error("`");
+            } else {
+                i = SQLLexer.wordEnd(sql, i, end);
+            }
+            if (i + 1 < end && sql.charAt(i) == '.') {
+                char c = sql.charAt(i + 1);
+                if (c == '*') return i + 2;
+                if (SQLLexer.isWordChar(c) || c == '`') {
+                    i++;
+                    continue;
+                }
+            }
+            return i;
+        }
+    }
+
+    private RuntimeException error(String expected) {
+        int errorEnd = Math.min(end, tokenStart + 32);
+        return new RuntimeException("无法解析 where 子句中的表达式，期望的是 " + expected + "。\nUnable to parse the expression in the where clause, expected " + expected + ".\nERROR => " + tokenStart + ": " + sql.subSequence(tokenStart, Math.max(tokenStart, errorEnd)));
+    }
+}
@@ -0,0 +1,341 @@
+package strInfo.expression;
+
+import strInfo.columnar.ColumnType;
+import strInfo.lexer.SQLLexer;
+import strInfo.result.SelectStatement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * where 子句的谓词编译器，将表达式树编译为可以反复使用的 CompiledPredicate，字段名称会在编译的时候被解析为行中的索引。
+ * <p>
+ * The predicate compiler of the where clause compiles the expression tree into a reusable CompiledPredicate, and the field name will be resolved to the index in the row at the time of compilation.
+ * <p>
+ * 比较的方式也在编译的时候确定：只要比较的一方是数值常量、数值参数或者类型为数值的字段，就按照数值进行比较，否则按照字符的编码逐个比较文本。没有指定字段类型的时候，两个字段之间的比较会在计算的时候通过 RowAccessor.isNumber 决定比较的方式。带有表名前缀的字段在找不到完整名称的时候会使用去除前缀之后的名称查找。
+ * <p>
+ * The comparison method is also determined at the time of compilation: as long as one side of the comparison is a numeric constant, a numeric parameter or a field of numeric type, the comparison is made by numeric value; otherwise, the text is compared character by character. When the column types are not specified, the comparison between two fields decides the method through RowAccessor.isNumber at the time of calculation. When the full name of a field with a table name prefix cannot be found, the name after removing the prefix is used for searching.
+ * <p>
+ * 算术运算总是按照数值计算，任意一个操作数是 null 或者除数为0的时候结果是 null。编译器不支持函数与子查询，遇到它们的时候会抛出异常。
+ * <p>
+ * Arithmetic operations are always calculated by numeric value, and the result is null when any operand is null or the divisor is 0. The compiler does not support functions and subqueries, and an exception will be thrown when they are encountered.
+ *
+ * @author zhao
+ */
+public final class PredicateCompiler {
+
+    private final HashMap<String, Integer> columnIndexes;
+    private ColumnType[] columnTypes;
+    private Object[] parameters = new Object[0];
+
+    /**
+     * @param columns 行中所有字段的名称，名称在数组中的索引就是字段在行中的索引，名称不区分大小写
+     */
+    public PredicateCompiler(String... columns) {
+        this.columnIndexes = new HashMap<>(columns.length << 1);
+        for (int i = 0; i < columns.length; i++) {
+            this.columnIndexes.putIfAbsent(columns[i].toLowerCase(), i);
+        }
+    }
+
+    /**
+     * @param columnTypes 每一个字段的类型，顺序与字段名称一致，类型为数值的字段之间会按照数值进行比较
+     * @return 链式调用
+     */
+    public PredicateCompiler setColumnTypes(ColumnType... columnTypes) {
+        this.columnTypes = columnTypes.clone();
+        return this;
+    }
+
+    /**
+     * @param parameters 按照出现的顺序替换表达式中的 ? 占位符的参数，Number 类型的参数会被视为数值
+     * @return 链式调用
+     */
+    public PredicateCompiler setParameters(Object... parameters) {
+        this.parameters = parameters.clone();
+        return this;
+    }
+
+    /**
+     * 编译一个 select 语句的 where 子句。
+     *
+     * @param selectStatement 需要被编译 where 子句的语句
+     * @return 编译之后的谓词，如果语句中没有 where 子句，谓词会接受所有行
+     */
+    public CompiledPredicate compile(SelectStatement selectStatement) {
+        return compile(selectStatement.getWhereExpression());
+    }
+
+    /**
+     * 编译一个表达式树。
+     * <p>
+     * Compile an expression tree.
+     *
+     * @param whereExpression 需要被编译的表达式树
+     * @return 编译之后的谓词，如果表达式树中没有节点，谓词会接受所有行
+     */
+    public CompiledPredicate compile(WhereExpression whereExpression) {
+        int root = whereExpression.getRoot();
+        if (root < 0) return new CompiledPredicate(new Conditions.Constant(Conditions.TRUE), "true");
+        Compilation compilation = new Compilation(whereExpression);
+        Conditions.Condition condition = compilation.condition(root);
+        if (compilation.parameterIndex != parameters.length) {
+            throw new RuntimeException("参数的数量与占位符的数量不一致。\nThe number of parameters is inconsistent with the number of placeholders.\nERROR => " + parameters.length + " != " + compilation.parameterIndex);
+        }
+        return new CompiledPredicate(condition, whereExpression.getText(root));
+    }
+
+    /**
+     * 一次编译过程中的状态，主要是参数的消费位置。
+     */
+    private final class Compilation {
+        private final WhereExpression expression;
+        private int parameterIndex;
+
+        Compilation(WhereExpression expression) {
+            this.expression = expression;
+        }
+
+        Conditions.Condition condition(int node) {
+            int kind = expression.getKind(node);
+            switch (kind) {
+                case WhereExpression.AND:
+                case WhereExpression.OR: {
+                    Conditions.Condition[] conditions = new Conditions.Condition[expression.getChildCount(node)];
+                    for (int i = 0; i < conditions.length; i++) {
+                        conditions[i] = condition(expression.getChild(node, i));
+                    }
+                    return kind == WhereExpression.AND ? new Conditions.And(conditions) : new Conditions.Or(conditions);
+                }
+                case WhereExpression.NOT:
+                    return new Conditions.Not(condition(expression.getChild(node, 0)));
+                case WhereExpression.COMPARE:
+                    return compare(node);
+                case WhereExpression.IN:
+                    return in(node);
+                case WhereExpression.BETWEEN: {
+                    Conditions.Operand operand = operand(expression.getChild(node, 0));
+                    Conditions.Operand low = operand(expression.getChild(node, 1));
+                    Conditions.Operand high = operand(expression.getChild(node, 2));
+                    boolean numeric = isNumeric(operand) || isNumeric(low) || isNumeric(high);
+                    return numeric ? new Conditions.NumberBetween(operand, low, high, expression.isNegated(node))
+                            : new Conditions.TextBetween(operand, low, high, expression.isNegated(node));
+                }
+                case WhereExpression.LIKE: {
+                    Conditions.Operand operand = operand(expression.getChild(node, 0));
+                    int child = expression.getChild(node, 1);
+                    char escape = '\\';
+                    if (expression.getChildCount(node) > 2) {
+                        int escapeChild = expression.getChild(node, 2);
+                        Conditions.Operand escapeOperand = operand(escapeChild);
+                        if (!(escapeOperand instanceof Conditions.ConstantOperand)) throw unsupported(escapeChild);
+                        Conditions.ConstantOperand escapeConstant = (Conditions.ConstantOperand) escapeOperand;
+                        // 转义字符只能是一个字符
+                        if (escapeConstant.isNull || escapeConstant.text.length() != 1) throw unsupported(escapeChild);
+                        escape = escapeConstant.text.charAt(0);
+                    }
+                    if (expression.getKind(child) == WhereExpression.STRING) {
+                        // 模式中的 \% 与 \_ 需要原样交给 Like，否则它们会在去除引号的时候变为通配符
+                        String pattern = unquote(expression.getSource(), expression.getStart(child), expression.getEnd(child), escape);
+                        return new Conditions.Like(operand, pattern, escape, expression.isNegated(node));
+                    }
+                    Conditions.Operand pattern = operand(child);
+                    if (!(pattern instanceof Conditions.ConstantOperand)) throw unsupported(child);
+                    Conditions.ConstantOperand constant = (Conditions.ConstantOperand) pattern;
+                    if (constant.isNull) return new Conditions.Constant(Conditions.UNKNOWN);
+                    return new Conditions.Like(operand, constant.text, escape, expression.isNegated(node));
+                }
+                case WhereExpression.IS_NULL:
+                    return new Conditions.IsNull(operand(expression.getChild(node, 0)), expression.isNegated(node));
+                case WhereExpression.BOOLEAN:
+                    return new Conditions.Constant(isTrue(node) ? Conditions.TRUE : Conditions.FALSE);
+                case WhereExpression.NULL:
+                    return new Conditions.Constant(Conditions.UNKNOWN);
+                default:
+                    return new Conditions.Truth(operand(node));
+            }
+        }
+
+        private Conditions.Condition compare(int node) {
+            Conditions.Operand left = operand(expression.getChild(node, 0));
+            Conditions.Operand right = operand(expression.getChild(node, 1));
+            int operator = expression.getOperator(node);
+            if (!isNumeric(left) && !isNumeric(right)) {
+                if (columnTypes == null && left instanceof Conditions.ColumnOperand && right instanceof Conditions.ColumnOperand) {
+                    // 两个字段的类型都未知，只能在计算的时候根据值决定比较的方式
+                    return new Conditions.ColumnCompare(((Conditions.ColumnOperand) left).column, operator, ((Conditions.ColumnOperand) right).column);
+                }
+                return new Conditions.TextCompare(left, operator, right);
+            }
+            if (left instanceof Conditions.ColumnOperand && right instanceof Conditions.ConstantOperand && !((Conditions.ConstantOperand) right).isNull) {
+                return new Conditions.ColumnNumberCompare(((Conditions.ColumnOperand) left).column, operator, ((Conditions.ConstantOperand) right).number);
+            }
+            if (right instanceof Conditions.ColumnOperand && left instanceof Conditions.ConstantOperand && !((Conditions.ConstantOperand) left).isNull) {
+                // 将常量交换到右侧，比较运算符也需要随之翻转
+                return new Conditions.ColumnNumberCompare(((Conditions.ColumnOperand) right).column, flip(operator), ((Conditions.ConstantOperand) left).number);
+            }
+            return new Conditions.NumberCompare(left, operator, right);
+        }
+
+        private Conditions.Condition in(int node) {
+            Conditions.Operand operand = operand(expression.getChild(node, 0));
+            int count = expression.getChildCount(node) - 1;
+            Conditions.ConstantOperand[] constants = new Conditions.ConstantOperand[count];
+            boolean numeric = isNumeric(operand);
+            boolean hasNull = false;
+            for (int i = 0; i < count; i++) {
+                int child = expression.getChild(node, i + 1);
+                Conditions.Operand value = operand(child);
+                if (!(value instanceof Conditions.ConstantOperand)) throw unsupported(child);
+                constants[i] = (Conditions.ConstantOperand) value;
+                hasNull |= constants[i].isNull;
+                numeric |= isNumeric(value);
+            }
+            int size = 0;
+            if (numeric) {
+                double[] values = new double[count];
+                for (Conditions.ConstantOperand constant : constants) {
+                    if (!constant.isNull) values[size++] = constant.number;
+                }
+                values = Arrays.copyOf(values, size);
+                Arrays.sort(values);
+                return new Conditions.NumberIn(operand, values, hasNull, expression.isNegated(node));
+            }
+            String[] values = new String[count];
+            for (Conditions.ConstantOperand constant : constants) {
+                if (!constant.isNull) values[size++] = constant.text;
+            }
+            return new Conditions.TextIn(operand, Arrays.copyOf(values, size), hasNull, expression.isNegated(node));
+        }
+
+        private Conditions.Operand operand(int node) {
+            CharSequence source = expression.getSource();
+            int start = expression.getStart(node);
+            int end = expression.getEnd(node);
+            switch (expression.getKind(node)) {
+                case WhereExpression.COLUMN:
+                    return new Conditions.ColumnOperand(column(node));
+                case WhereExpression.NUMBER:
+                    return new Conditions.ConstantOperand(false, true, SQLLexer.parseDouble(source, start, end), expression.getText(node));
+                case WhereExpression.STRING: {
+                    String text = unquote(source, start, end, (char) 0);
+                    return new Conditions.ConstantOperand(false, false, toNumber(text), text);
+                }
+                case WhereExpression.BOOLEAN:
+                    return new Conditions.ConstantOperand(false, true, isTrue(node) ? 1 : 0, expression.getText(node));
+                case WhereExpression.ARITHMETIC: {
+                    Conditions.Operand left = operand(expression.getChild(node, 0));
+                    Conditions.Operand right = operand(expression.getChild(node, 1));
+                    return new Conditions.ArithmeticOperand(left, expression.getOperator(node), right);
+                }
+                case WhereExpression.NULL:
+                    return new Conditions.ConstantOperand(true, false, 0, null);
+                case WhereExpression.PARAMETER: {
+                    if (parameterIndex >= parameters.length) {
+                        throw new RuntimeException("参数的数量少于占位符的数量。\nThe number of parameters is less than the number of placeholders.\nERROR => " + parameters.length);
+                    }
+                    Object parameter = parameters[parameterIndex++];
+                    if (parameter == null) return new Conditions.ConstantOperand(true, false, 0, null);
+                    if (parameter instanceof Number) {
+                        return new Conditions.ConstantOperand(false, true, ((Number) parameter).doubleValue(), parameter.toString());
+                    }
+                    String text = parameter.toString();
+                    return new Conditions.ConstantOperand(false, false, toNumber(text), text);
+                }
+                default:
+                    throw unsupported(node);
+            }
+        }
+
+        /**
+         * @return 如果操作数在比较中应当被视为数值，返回true
+         */
+        private boolean isNumeric(Conditions.Operand operand) {
+            if (operand instanceof Conditions.ConstantOperand) return ((Conditions.ConstantOperand) operand).numeric;
+            if (operand instanceof Conditions.ArithmeticOperand) return true;
+            if (columnTypes == null) return false;
+            int column = ((Conditions.ColumnOperand) operand).column;
+            return column < columnTypes.length && columnTypes[column] != ColumnType.STRING;
+        }
+
+        private boolean isTrue(int node) {
+            return SQLLexer.equalsIgnoreCase(expression.getSource(), expression.getStart(node), expression.getEnd(node), "true");
+        }
+
+        private int column(int node) {
+            String name = stripQuotes(expression.getText(node)).toLowerCase();
+            Integer index = columnIndexes.get(name);
+            if (index == null) {
+                int dot = name.lastIndexOf('.');
+                if (dot >= 0) index = columnIndexes.get(name.substring(dot + 1));
+            }
+            if (index == null) {
+                throw new RuntimeException("where 子句中的字段不存在。\nThe field in the where clause does not exist.\nERROR => " + expression.getText(node));
+            }
+            return index;
+        }
+
+        private RuntimeException unsupported(int node) {
+            return new RuntimeException("谓词编译器不支持该表达式。\nThe predicate compiler does not support this expression.\nERROR => " + expression.getText(node));
+        }
+    }
+
+    private static int flip(int operator) {
+        switch (operator) {
+            case WhereExpression.LT:
+                return WhereExpression.GT;
+            case WhereExpression.LE:
+                return WhereExpression.GE;
+            case WhereExpression.GT:
+                return WhereExpression.LT;
+            case WhereExpression.GE:
+                return WhereExpression.LE;
+            default:
+                return operator;
+        }
+    }
+
+    /**
+     * @return 文本对应的数值，如果文本不是数字，返回 NaN，这样与之进行的数值比较都不会成立
+     */
+    private static double toNumber(String text) {
+        try {
+            return SQLLexer.parseDouble(text, 0, text.length());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * 去除字符串常量两端的引号，并处理其中的转义字符。
+     *
+     * @param escape 字符串作为 like 的模式时使用的转义字符，不是模式时为0；模式中的 \% 与 \_ 会保留反斜杠，由 Like 决定它们的含义
+     */
+    private static String unquote(CharSequence source, int start, int end, char escape) {
+        char quote = source.charAt(start);
+        StringBuilder stringBuilder = new StringBuilder(end - start - 2);
+        for (int i = start + 1, last = end - 1; i < last; i++) {
+            char c = source.charAt(i);
+            if (c == '\\' && i + 1 < last) {
+                c = source.charAt(++i);
+                if ((escape != 0 && (c == '%' || c == '_')) || (escape == '\\' && c == '\\')) {
+                    // 转义的反斜杠在模式中也需要再次转义，才不会把之后的通配符变为普通字符
+                    stringBuilder.append('\\');
+                } else {
+                    c = SQLLexer.unescape(c);
+                }
+            } else if (c == quote && i + 1 < last && source.charAt(i + 1) == quote) {
+                i++;
+            }
+            stringBuilder.append(c);
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * 去除标识符中每一部分两端的反引号，例如 `t`.`id` 会变为 t.id
+     */
+    private static String stripQuotes(String name) {
+        return name.indexOf('`') < 0 ? name : name.replace("`", "");
+    }
+}
@@ -0,0 +1,48 @@
+package strInfo.expression;
+
+/**
+ * 行数据的访问接口，编译之后的谓词通过该接口按照字段的索引读取一行数据，字段名称与索引的对应关系在编译的时候就已经确定了。
+ * <p>
+ * The access interface of row data. The compiled predicate reads a row of data through this interface according to the index of the field. The correspondence between the field name and the index has been determined at the time of compilation.
+ * <p>
+ * 为了让谓词的计算过程不产生新对象，实现类应当直接返回已经持有的数据，例如返回原sql语句中的一个区间视图，而不是每一次都创建新的字符串。
+ * <p>
+ * In order to prevent the calculation process of the predicate from producing new objects, the implementation class should directly return the data already held, such as returning an interval view in the original SQL statement, instead of creating a new string every time.
+ *
+ * @author zhao
+ */
+public interface RowAccessor {
+
+    /**
+     * @param column 字段的索引
+     * @return 如果字段的值是 null，返回true
+     */
+    boolean isNull(int column);
+
+    /**
+     * @param column 字段的索引
+     * @return 字段的数值，只有在字段与数值进行比较的时候才会被调用
+     * @throws NumberFormatException 字段的值不是一个数字
+     */
+    double getDouble(int column);
+
+    /**
+     * 在没有指定字段类型的时候，两个字段之间的比较会在计算的时候询问字段的值是否是数值，两个值都是数值时按照数值比较，否则按照文本比较。
+     * <p>
+     * When the column types are not specified, the comparison between two fields asks whether the values of the fields are numeric at the time of calculation. When both values are numeric, they are compared by numeric value, otherwise they are compared by text.
+     *
+     * @param column 字段的索引
+     * @return 如果字段的值是一个数值，返回true，默认实现返回false
+     */
+    default boolean isNumber(int column) {
+        return false;
+    }
+
+    /**
+     * @param column 字段的索引
+     * @return 字段的文本，只有在字段与字符串进行比较或匹配的时候才会被调用，返回的字符序列只需要在访问器切换到下一行之前有效，但不同字段返回的字符序列需要能够同时使用
+     * <p>
+     * The text of the field will only be called when the field is compared or matched with a string. The returned character sequence only needs to be valid until the accessor switches to the next row, but the character sequences returned by different fields need to be usable at the same time
+     */
+    CharSequence getCharSequence(int column);
+}
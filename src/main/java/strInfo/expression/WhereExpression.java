@@ -0,0 +1,346 @@
+package strInfo.expression;
+
+/**
+ * where 或 on 子句的表达式树，树中的所有节点都保存在几个平铺的数组中，节点使用数组下标表示，因此整棵树只需要几个数组对象，不会为每一个节点创建一个对象。
+ * <p>
+ * The expression tree of the where or on clause. All nodes in the tree are stored in several flat arrays, and the nodes are represented by array indexes, so the whole tree only needs a few array objects, and an object will not be created for each node.
+ * <p>
+ * 每一个节点都记录了它在原sql语句中的区间，因此可以在不重新分词的情况下获取到任意节点的原始文本；节点的子节点在子节点数组中是连续存放的，and 与 or 节点的子节点数量不限。
+ * <p>
+ * Each node records its interval in the original SQL statement, so the original text of any node can be obtained without re-tokenizing. The child nodes of a node are stored continuously in the child node array, and the number of child nodes of "and" and "or" nodes is unlimited.
+ * <p>
+ * 表达式树在构建完成之后是不可变的，因此可以在多个线程之间共享。
+ * <p>
+ * The expression tree is immutable after construction, so it can be shared among multiple threads.
+ *
+ * @author zhao
+ */
+public final class WhereExpression {
+
+    /**
+     * 逻辑与，子节点是所有的条件，数量不少于2
+     */
+    public final static int AND = 0;
+    /**
+     * 逻辑或，子节点是所有的条件，数量不少于2
+     */
+    public final static int OR = 1;
+    /**
+     * 逻辑非，唯一的子节点是被取反的条件
+     */
+    public final static int NOT = 2;
+    /**
+     * 比较运算，两个子节点分别是左右操作数，比较运算符可以通过 getOperator 获取
+     */
+    public final static int COMPARE = 3;
+    /**
+     * in 运算，第一个子节点是被判断的操作数，之后的子节点是列表中的所有元素或者一个子查询
+     */
+    public final static int IN = 4;
+    /**
+     * between 运算，三个子节点分别是被判断的操作数、下界与上界
+     */
+    public final static int BETWEEN = 5;
+    /**
+     * like 运算，两个子节点分别是被判断的操作数与匹配模式，带有 escape 的时候第三个子节点是转义字符
+     */
+    public final static int LIKE = 6;
+    /**
+     * is null 运算，唯一的子节点是被判断的操作数
+     */
+    public final static int IS_NULL = 7;
+    /**
+     * 字段，可以带有表名或别名前缀，例如 t.id
+     */
+    public final static int COLUMN = 8;
+    /**
+     * 被引号包裹的字符串常量，节点区间包含引号
+     */
+    public final static int STRING = 9;
+    /**
+     * 数值常量
+     */
+    public final static int NUMBER = 10;
+    /**
+     * null 常量
+     */
+    public final static int NULL = 11;
+    /**
+     * true 或 false 常量
+     */
+    public final static int BOOLEAN = 12;
+    /**
+     * 预编译语句中的占位符 ?
+     */
+    public final static int PARAMETER = 13;
+    /**
+     * 函数调用，子节点是函数的所有参数，函数名称的区间可以通过 getNameEnd 获取
+     */
+    public final static int FUNCTION = 14;
+    /**
+     * 被括号包裹的子查询，节点区间是括号中的 select 语句
+     */
+    public final static int SUBQUERY = 15;
+    /**
+     * 算术运算，两个子节点分别是左右操作数，算术运算符可以通过 getOperator 获取
+     */
+    public final static int ARITHMETIC = 16;
+
+    /**
+     * 比较运算符 =
+     */
+    public final static int EQ = 0;
+    /**
+     * 比较运算符 != 或 &lt;&gt;
+     */
+    public final static int NE = 1;
+    /**
+     * 比较运算符 &lt;
+     */
+    public final static int LT = 2;
+    /**
+     * 比较运算符 &lt;=
+     */
+    public final static int LE = 3;
+    /**
+     * 比较运算符 &gt;
+     */
+    public final static int GT = 4;
+    /**
+     * 比较运算符 &gt;=
+     */
+    public final static int GE = 5;
+    /**
+     * 算术运算符 +
+     */
+    public final static int ADD = 6;
+    /**
+     * 算术运算符 -
+     */
+    public final static int SUBTRACT = 7;
+    /**
+     * 算术运算符 *
+     */
+    public final static int MULTIPLY = 8;
+    /**
+     * 算术运算符 /
+     */
+    public final static int DIVIDE = 9;
+    /**
+     * 算术运算符 %
+     */
+    public final static int MOD = 10;
+
+    private final static String[] KIND_NAMES = {
+            "and", "or", "not", "compare", "in", "between", "like", "is null",
+            "column", "string", "number", "null", "boolean", "parameter", "function", "subquery", "arithmetic"
+    };
+    private final static String[] OPERATOR_NAMES = {"=", "!=", "<", "<=", ">", ">=", "+", "-", "*", "/", "%"};
+
+    private final CharSequence source;
+    private final byte[] kinds;
+    private final byte[] operators;
+    private final boolean[] negated;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] childStarts;
+    private final int[] childCounts;
+    private final int[] children;
+    private final int root;
+    private final int size;
+
+    WhereExpression(CharSequence source, byte[] kinds, byte[] operators, boolean[] negated, int[] starts, int[] ends,
+                    int[] childStarts, int[] childCounts, int[] children, int root, int size) {
+        this.source = source;
+        this.kinds = kinds;
+        this.operators = operators;
+        this.negated = negated;
+        this.starts = starts;
+        this.ends = ends;
+        this.childStarts = childStarts;
+        this.childCounts = childCounts;
+        this.children = children;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 将一个字符序列中的区间解析为表达式树。
+     * <p>
+     * Parse an interval in a character sequence into an expression tree.
+     *
+     * @param sql   包含表达式的字符序列，例如一个完整的 select 语句
+     * @param start 表达式的起始索引
+     * @param end   表达式的结束索引（不包含）
+     * @return 解析之后的表达式树，如果区间中没有任何表达式，返回的树中没有节点，其根节点为 -1
+     */
+    public static WhereExpression parse(CharSequence sql, int start, int end) {
+        return new ExpressionParser(sql, start, end).parse();
+    }
+
+    /**
+     * @param expression 需要被解析的表达式，例如 "a = 1 and b in (1, 2)"
+     * @return 解析之后的表达式树
+     */
+    public static WhereExpression parse(CharSequence expression) {
+        return parse(expression, 0, expression.length());
+    }
+
+    /**
+     * @return 所有节点区间所指向的字符序列
+     */
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /**
+     * @return 根节点的编号，如果表达式为空，返回 -1
+     */
+    public int getRoot() {
+        return root;
+    }
+
+    /**
+     * @return 表达式树中的节点数量，所有节点的编号都位于 [0, size) 区间内
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param node 节点编号
+     * @return 节点的类型，例如 WhereExpression.COMPARE
+     */
+    public int getKind(int node) {
+        return kinds[checkNode(node)];
+    }
+
+    /**
+     * @param node 比较运算或算术运算节点的编号
+     * @return 比较运算符或算术运算符，例如 WhereExpression.EQ 或 WhereExpression.ADD，对于其它类型的节点，返回 -1
+     */
+    public int getOperator(int node) {
+        int kind = kinds[checkNode(node)];
+        return kind == COMPARE || kind == ARITHMETIC ? operators[node] : -1;
+    }
+
+    /**
+     * @param node 节点编号
+     * @return 如果节点是被 not 修饰的 in、between、like 或 is not null 运算，返回true
+     * <p>
+     * If the node is an in, between, like or is not null operation modified by not, return true
+     */
+    public boolean isNegated(int node) {
+        return negated[checkNode(node)];
+    }
+
+    /**
+     * @param node 节点编号
+     * @return 节点在原sql语句中的起始索引
+     */
+    public int getStart(int node) {
+        return starts[checkNode(node)];
+    }
+
+    /**
+     * @param node 节点编号
+     * @return 节点在原sql语句中的结束索引（不包含）
+     */
+    public int getEnd(int node) {
+        return ends[checkNode(node)];
+    }
+
+    /**
+     * @param node 函数节点的编号
+     * @return 函数名称在原sql语句中的结束索引（不包含），名称的起始索引就是节点的起始索引
+     */
+    public int getNameEnd(int node) {
+        if (kinds[checkNode(node)] != FUNCTION) return ends[node];
+        int i = starts[node];
+        while (i < ends[node] && source.charAt(i) != '(' && source.charAt(i) > ' ') i++;
+        return i;
+    }
+
+    /**
+     * @param node 节点编号
+     * @return 节点在原sql语句中的文本
+     */
+    public String getText(int node) {
+        return source.subSequence(getStart(node), getEnd(node)).toString();
+    }
+
+    /**
+     * @param node 节点编号
+     * @return 节点的子节点数量
+     */
+    public int getChildCount(int node) {
+        return childCounts[checkNode(node)];
+    }
+
+    /**
+     * @param node  节点编号
+     * @param index 子节点在父节点中的索引
+     * @return 子节点的编号
+     */
+    public int getChild(int node, int index) {
+        if (index < 0 || index >= childCounts[checkNode(node)]) {
+            throw new IndexOutOfBoundsException("Child: " + index + ", Count: " + childCounts[node]);
+        }
+        return children[childStarts[node] + index];
+    }
+
+    /**
+     * @param kind 节点类型
+     * @return 节点类型的名称
+     */
+    public static String kindName(int kind) {
+        return KIND_NAMES[kind];
+    }
+
+    /**
+     * @param operator 比较运算符或算术运算符
+     * @return 运算符的符号
+     */
+    public static String operatorName(int operator) {
+        return OPERATOR_NAMES[operator];
+    }
+
+    private int checkNode(int node) {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException("Node: " + node + ", Size: " + size);
+        }
+        return node;
+    }
+
+    /**
+     * @return 使用前缀形式表示的表达式树，例如 (and (= a 1) (in b 1 2))
+     */
+    @Override
+    public String toString() {
+        if (root < 0) return "()";
+        StringBuilder stringBuilder = new StringBuilder();
+        append(stringBuilder, root);
+        return stringBuilder.toString();
+    }
+
+    private void append(StringBuilder stringBuilder, int node) {
+        int kind = kinds[node];
+        if (kind >= COLUMN && kind != FUNCTION && kind != ARITHMETIC) {
+            stringBuilder.append(source, starts[node], ends[node]);
+            return;
+        }
+        stringBuilder.append('(');
+        if (negated[node]) stringBuilder.append("not ");
+        if (kind == COMPARE || kind == ARITHMETIC) {
+            stringBuilder.append(OPERATOR_NAMES[operators[node]]);
+        } else if (kind == FUNCTION) {
+            stringBuilder.append(source, starts[node], getNameEnd(node));
+        } else {
+            stringBuilder.append(KIND_NAMES[kind]);
+        }
+        for (int i = 0; i < childCounts[node]; i++) {
+            append(stringBuilder.append(' '), children[childStarts[node] + i]);
+        }
+        stringBuilder.append(')');
+    }
+}
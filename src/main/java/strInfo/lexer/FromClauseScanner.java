@@ -0,0 +1,215 @@
+package strInfo.lexer;
+
+/**
+ * from 子句的表名扫描器，在 from 子句的区间上逐个找出表名与 as 之后的别名，不会产生任何子字符串。
+ * <p>
+ * The table name scanner of the from clause finds the table names and the aliases after as one by one on the interval of the from clause, and does not produce any substring.
+ * <p>
+ * 连接关键字不是表名；on 与 using 之后的连接条件属于 from 子句，但其中的内容不是表名，连接条件会持续到下一个连接关键字或者逗号；注释会被跳过，引号中的内容不会被拆分；括号中的内容（子查询、using 的字段列表）会被整体跳过，子查询之后的别名也不是表名。
+ * <p>
+ * Join keywords are not table names. The join conditions after on and using belong to the from clause, but their contents are not table names. A join condition lasts until the next join keyword or comma. Comments will be skipped, and the contents in quotes will not be split. The contents in brackets (sub queries, the field list of using) will be skipped as a whole, and the alias after a sub query is not a table name either.
+ *
+ * @author zhao
+ */
+public final class FromClauseScanner {
+
+    /**
+     * 扫描到的单词是一个表名
+     */
+    public final static int TABLE = 0;
+
+    /**
+     * 扫描到的单词是 as 之后的别名，它属于上一个表名
+     */
+    public final static int ALIAS = 1;
+
+    private CharSequence sql;
+    private int index;
+    private int end;
+    private int wordStart;
+    private int wordEnd;
+    private boolean isAs;
+    private boolean isCondition;
+    private boolean isDerived;
+    private SubQuerySpans subQueries;
+    private int subQuery;
+    private int nextSubQuery;
+
+    /**
+     * 开始扫描一个 from 子句的区间。
+     * <p>
+     * Start scanning the interval of a from clause.
+     *
+     * @param sql   包含 from 子句的sql语句
+     * @param start from 子句内容的起始索引
+     * @param end   from 子句内容的结束索引（不包含）
+     * @return 链式调用
+     */
+    public FromClauseScanner reset(CharSequence sql, int start, int end) {
+        return reset(sql, start, end, null, -1);
+    }
+
+    /**
+     * 开始扫描一个 from 子句的区间，已经由 SelectLexer.scanSubQueries 扫描过的子查询会被直接跳过，因此逐个扫描所有子查询的 from 子句的总耗时与sql语句的长度成正比。
+     * <p>
+     * Start scanning the interval of a from clause. The sub queries that have been scanned by SelectLexer.scanSubQueries will be skipped directly, so the total time of scanning the from clauses of all sub queries one by one is proportional to the length of the SQL statement.
+     *
+     * @param sql        包含 from 子句的sql语句
+     * @param start      from 子句内容的起始索引
+     * @param end        from 子句内容的结束索引（不包含）
+     * @param subQueries 已经扫描完成的子查询区间，为null时不跳过任何子查询
+     * @param subQuery   from 子句所在的语句中的第一个子查询的编号，位于 from 子句之前的子查询会被忽略，没有子查询时为 -1
+     * @return 链式调用
+     */
+    public FromClauseScanner reset(CharSequence sql, int start, int end, SubQuerySpans subQueries, int subQuery) {
+        if (subQueries == null || subQuery >= subQueries.size()) subQuery = -1;
+        while (subQuery >= 0 && subQueries.getOpen(subQuery) < start) {
+            subQuery = subQueries.getNext(subQuery);
+            if (subQuery >= subQueries.size()) subQuery = -1;
+        }
+        this.subQueries = subQueries;
+        this.subQuery = subQuery;
+        this.nextSubQuery = subQuery < 0 ? -1 : subQueries.getOpen(subQuery);
+        this.sql = sql;
+        this.index = start;
+        this.end = end;
+        this.wordStart = -1;
+        this.wordEnd = -1;
+        this.isAs = false;
+        this.isCondition = false;
+        this.isDerived = false;
+        return this;
+    }
+
+    /**
+     * 扫描下一个表名或别名，单词的区间可以通过 getStart 与 getEnd 获取。
+     * <p>
+     * Scan the next table name or alias. The interval of the word can be obtained through getStart and getEnd.
+     *
+     * @return TABLE 或 ALIAS，from 子句扫描结束的时候返回 -1
+     */
+    public int next() {
+        while (index < end) {
+            char c = sql.charAt(index);
+            if (SQLLexer.isWhitespace(c)) {
+                index++;
+                continue;
+            }
+            int next = SQLLexer.skipComment(sql, index, end);
+            if (next != index) {
+                index = next;
+                continue;
+            }
+            if (c == ',') {
+                index++;
+                isAs = isCondition = isDerived = false;
+                continue;
+            }
+            if (c == '(') {
+                // 已经扫描过的子查询直接跳到右括号之后，其它括号需要逐个字符跳过
+                index = index == nextSubQuery ? subQueries.getClose(subQuery) + 1 : skipBrackets(index);
+                while (nextSubQuery >= 0 && nextSubQuery < index) {
+                    subQuery = subQueries.getNext(subQuery);
+                    nextSubQuery = subQuery < subQueries.size() ? subQueries.getOpen(subQuery) : -1;
+                }
+                // 不在连接条件中的括号是子查询，之后的单词是它的别名
+                if (!isCondition) isDerived = true;
+                isAs = false;
+                continue;
+            }
+            if (c == ')') {
+                index++;
+                continue;
+            }
+            int start = index;
+            index = tokenEnd(index);
+            int word = SQLKeywords.indexOf(sql, start, index);
+            if (isJoin(word) && (index == end || sql.charAt(index) != '(')) {
+                isAs = isCondition = isDerived = false;
+            } else if (isCondition) {
+                continue;
+            } else if (word == SQLKeywords.ON || word == SQLKeywords.USING) {
+                isCondition = true;
+                isAs = isDerived = false;
+            } else if (word == SQLKeywords.AS) {
+                isAs = true;
+            } else if (isDerived) {
+                isAs = isDerived = false;
+            } else {
+                wordStart = start;
+                wordEnd = index;
+                if (isAs) {
+                    isAs = false;
+                    return ALIAS;
+                }
+                return TABLE;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return 上一次扫描到的表名或别名在sql语句中的起始索引
+     */
+    public int getStart() {
+        return wordStart;
+    }
+
+    /**
+     * @return 上一次扫描到的表名或别名在sql语句中的结束索引（不包含）
+     */
+    public int getEnd() {
+        return wordEnd;
+    }
+
+    private static boolean isJoin(int word) {
+        return word == SQLKeywords.JOIN || word == SQLKeywords.LEFT || word == SQLKeywords.RIGHT || word == SQLKeywords.INNER
+                || word == SQLKeywords.OUTER || word == SQLKeywords.CROSS || word == SQLKeywords.FULL;
+    }
+
+    /**
+     * @return 从指定位置开始的单词的结束索引，单词在空白、逗号、括号与注释处结束，引号中的内容属于单词
+     */
+    private int tokenEnd(int i) {
+        while (i < end) {
+            char c = sql.charAt(i);
+            if (SQLLexer.isWhitespace(c) || c == ',' || c == '(' || c == ')' || SQLLexer.skipComment(sql, i, end) != i) break;
+            if (SQLLexer.isQuote(c)) {
+                int next = SQLLexer.skipQuoted(sql, i, end);
+                if (next < 0) return end;
+                i = next;
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * @return 与指定位置的左括号匹配的右括号之后的索引，括号没有闭合的时候返回结束索引
+     */
+    private int skipBrackets(int i) {
+        int depth = 0;
+        while (i < end) {
+            char c = sql.charAt(i);
+            if (SQLLexer.isQuote(c)) {
+                int next = SQLLexer.skipQuoted(sql, i, end);
+                if (next < 0) return end;
+                i = next;
+                continue;
+            }
+            int next = SQLLexer.skipComment(sql, i, end);
+            if (next != i) {
+                i = next;
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return end;
+    }
+}
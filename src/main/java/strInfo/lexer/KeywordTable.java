@@ -0,0 +1,125 @@
+package strInfo.lexer;
+
+import java.util.Arrays;
+
+/**
+ * 关键字的完美哈希表，在构造的时候会寻找一个使所有关键字都不会发生冲突的哈希种子，因此每一次查找只需要计算一次哈希并比较一次关键字，查找过程不区分大小写，也不会产生任何新对象。
+ * <p>
+ * Perfect hash table of keywords. During construction, a hash seed will be found so that all keywords will not conflict, so each lookup only needs to calculate the hash once and compare the keywords once. The lookup process is case insensitive and does not produce any new objects.
+ *
+ * @author zhao
+ */
+public final class KeywordTable {
+
+    private final static int MAX_SEED = 1 << 16;
+
+    private final String[] keywords;
+    private final String[] slots;
+    private final int[] ids;
+    private final int mask;
+    private final int seed;
+
+    /**
+     * 使用关键字构建一个完美哈希表，关键字在数组中的索引就是其编号。
+     * <p>
+     * Use keywords to build a perfect hash table. The index of the keyword in the array is its number.
+     *
+     * @param keywords 所有的关键字，关键字不区分大小写，且不能重复
+     */
+    public KeywordTable(String... keywords) {
+        this.keywords = new String[keywords.length];
+        for (int i = 0; i < keywords.length; i++) {
+            this.keywords[i] = keywords[i].toLowerCase();
+        }
+        int capacity = Integer.highestOneBit(Math.max(keywords.length, 1)) << 2;
+        String[] slots = new String[capacity];
+        int[] ids = new int[capacity];
+        int seed = 1;
+        while (!fill(slots, ids, capacity - 1, seed)) {
+            if (++seed == MAX_SEED) {
+                // 当前容量下找不到完美哈希种子，扩大哈希表之后重新寻找
+                capacity <<= 1;
+                slots = new String[capacity];
+                ids = new int[capacity];
+                seed = 1;
+            }
+        }
+        this.slots = slots;
+        this.ids = ids;
+        this.mask = capacity - 1;
+        this.seed = seed;
+    }
+
+    /**
+     * 使用指定的种子将所有关键字放入哈希表，如果发生冲突返回false。
+     */
+    private boolean fill(String[] slots, int[] ids, int mask, int seed) {
+        Arrays.fill(slots, null);
+        for (int i = 0; i < keywords.length; i++) {
+            String keyword = keywords[i];
+            int index = hash(keyword, 0, keyword.length(), seed) & mask;
+            if (slots[index] != null) {
+                if (slots[index].equals(keyword)) {
+                    throw new RuntimeException("关键字表中存在重复的关键字。\nThere are duplicate keywords in the keyword table.\nERROR => " + keyword);
+                }
+                return false;
+            }
+            slots[index] = keyword;
+            ids[index] = i;
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence word, int start, int end, int seed) {
+        int h = seed * 0x9E3779B9;
+        for (int i = start; i < end; i++) {
+            h = (h ^ (word.charAt(i) | 0x20)) * 0x01000193;
+        }
+        return h ^ (h >>> 15);
+    }
+
+    /**
+     * 查找字符序列中的一个区间对应的关键字编号。
+     * <p>
+     * Find the keyword number corresponding to an interval in the character sequence.
+     *
+     * @param word  包含关键字的字符序列
+     * @param start 区间的起始索引
+     * @param end   区间的结束索引（不包含）
+     * @return 区间对应的关键字编号，如果区间不是关键字，返回 -1
+     */
+    public int indexOf(CharSequence word, int start, int end) {
+        int index = hash(word, start, end, seed) & mask;
+        String keyword = slots[index];
+        if (keyword == null || keyword.length() != end - start) return -1;
+        for (int i = 0, length = keyword.length(); i < length; i++) {
+            char k = keyword.charAt(i);
+            char c = word.charAt(start + i);
+            if (c != k && (k < 'a' || k > 'z' || (c | 0x20) != k)) return -1;
+        }
+        return ids[index];
+    }
+
+    /**
+     * @param word 需要被查找的单词
+     * @return 单词对应的关键字编号，如果单词不是关键字或为null，返回 -1
+     */
+    public int indexOf(CharSequence word) {
+        return word == null ? -1 : indexOf(word, 0, word.length());
+    }
+
+    /**
+     * @param id 关键字编号
+     * @return 编号对应的小写关键字
+     */
+    public String get(int id) {
+        return keywords[id];
+    }
+
+    /**
+     * @return 哈希表中关键字的数量
+     */
+    public int size() {
+        return keywords.length;
+    }
+}
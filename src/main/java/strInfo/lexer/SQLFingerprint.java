@@ -0,0 +1,234 @@
+package strInfo.lexer;
+
+/**
+ * sql语句的指纹对象，其中包含的是将sql语句中所有字面量替换为 "?" 之后得到的模板，以及模板的64位哈希值，字面量不同但结构相同的sql语句具有相同的指纹。
+ * <p>
+ * The fingerprint object of the SQL statement, which contains the template obtained by replacing all literals in the SQL statement with "?" and the 64 bit hash value of the template. SQL statements with different literals but the same structure have the same fingerprint.
+ * <p>
+ * 规范化的规则如下：数字与字符串字面量被替换为 "?"，由字面量组成的 IN 列表被折叠为 "(?)"，注释被删除，单词之间使用统一的空格分隔，未被反引号包裹的单词被转换为小写，末尾的分号被删除。
+ * <p>
+ * The normalization rules are as follows: numeric and string literals are replaced by "?", IN lists composed of literals are folded into "(?)", comments are deleted, words are separated by spaces in a uniform way, words not wrapped in back quotes are converted to lowercase, and the semicolon at the end is deleted.
+ *
+ * @author zhao
+ */
+public final class SQLFingerprint {
+
+    private final static long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private final static long FNV_PRIME = 0x100000001b3L;
+
+    private final long hash;
+    private final String template;
+
+    private SQLFingerprint(long hash, String template) {
+        this.hash = hash;
+        this.template = template;
+    }
+
+    /**
+     * 计算一个sql语句的指纹，只会从头到尾读取一次sql语句。
+     * <p>
+     * Calculate the fingerprint of an SQL statement. The SQL statement will only be read once from beginning to end.
+     *
+     * @param sql 需要被计算指纹的sql语句
+     * @return sql语句对应的指纹对象
+     */
+    public static SQLFingerprint of(CharSequence sql) {
+        final int end = sql.length();
+        StringBuilder template = new StringBuilder(end);
+        // 正在记录的 IN 列表在模板中的起始位置，以及列表中是否只出现了字面量与逗号
+        int inListStart = -1;
+        boolean inListLiteral = false;
+        int i = 0;
+        while (i < end) {
+            char c = sql.charAt(i);
+            if (SQLLexer.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int next = SQLLexer.skipComment(sql, i, end);
+            if (next != i) {
+                i = next;
+                continue;
+            }
+            if (c == '\'' || c == '"') {
+                next = SQLLexer.skipQuoted(sql, i, end);
+                separate(template, '?');
+                template.append('?');
+                i = next < 0 ? end : next;
+                continue;
+            }
+            if (isNumberStart(sql, i, end, template)) {
+                separate(template, '?');
+                template.append('?');
+                i = numberEnd(sql, c == '-' || c == '+' ? i + 1 : i, end);
+                continue;
+            }
+            inListLiteral &= c == ',' || c == ')';
+            if (c == '`') {
+                next = SQLLexer.skipQuoted(sql, i, end);
+                next = next < 0 ? end : next;
+                separate(template, c);
+                template.append(sql, i, next);
+            } else if (SQLLexer.isWordChar(c)) {
+                next = SQLLexer.wordEnd(sql, i, end);
+                separate(template, c);
+                for (int j = i; j < next; j++) {
+                    template.append(Character.toLowerCase(sql.charAt(j)));
+                }
+            } else if (isOperator(c)) {
+                next = i + 1;
+                while (next < end && isOperator(sql.charAt(next)) && !isNumberStart(sql, next, end, template)) next++;
+                separate(template, c);
+                template.append(sql, i, next);
+            } else {
+                next = i + 1;
+                if (c == '(') {
+                    inListStart = endsWithIn(template) ? template.length() + 2 : -1;
+                    inListLiteral = inListStart >= 0;
+                } else if (c == ')') {
+                    if (inListLiteral && template.length() > inListStart) {
+                        template.setLength(inListStart);
+                        template.append('?');
+                    }
+                    inListStart = -1;
+                    inListLiteral = false;
+                }
+                separate(template, c);
+                template.append(c);
+            }
+            i = next;
+        }
+        int length = template.length();
+        while (length > 0 && template.charAt(length - 1) == ';') length--;
+        template.setLength(length);
+        long hash = FNV_OFFSET_BASIS;
+        for (int j = 0; j < length; j++) {
+            char c = template.charAt(j);
+            hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return new SQLFingerprint(hash, template.toString());
+    }
+
+    /**
+     * 在追加下一个单词之前按照统一的规则追加空格，使模板与原sql语句中的空白无关：左括号与点之后，以及右括号、逗号、点与分号之前不会追加空格。
+     *
+     * @param template 正在构建的模板
+     * @param first    下一个单词的第一个字符
+     */
+    private static void separate(StringBuilder template, char first) {
+        int length = template.length();
+        if (length == 0 || first == ')' || first == ',' || first == '.' || first == ';') return;
+        char last = template.charAt(length - 1);
+        if (last != '(' && last != '.') template.append(' ');
+    }
+
+    private static boolean isOperator(char c) {
+        switch (c) {
+            case '<':
+            case '>':
+            case '=':
+            case '!':
+            case '|':
+            case '&':
+            case '+':
+            case '-':
+            case '*':
+            case '/':
+            case '%':
+            case '^':
+            case '~':
+            case ':':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return 如果模板以单独的 in 单词结尾，返回true，用于判断接下来的括号是否是 IN 列表
+     */
+    private static boolean endsWithIn(StringBuilder template) {
+        int length = template.length();
+        return length >= 2 && template.charAt(length - 1) == 'n' && template.charAt(length - 2) == 'i'
+                && (length == 2 || !SQLLexer.isWordChar(template.charAt(length - 3)));
+    }
+
+    /**
+     * 判断指定位置是否是一个数字字面量的开始，前面没有操作数的正负号会被视为数字的一部分。
+     */
+    private static boolean isNumberStart(CharSequence sql, int index, int end, StringBuilder template) {
+        char c = sql.charAt(index);
+        if (c == '-' || c == '+') {
+            if (index + 1 >= end || !isDigitStart(sql, index + 1, end)) return false;
+            int length = template.length();
+            if (length == 0) return true;
+            char last = template.charAt(length - 1);
+            return !(SQLLexer.isWordChar(last) || last == '?' || last == ')' || last == '`');
+        }
+        return isDigitStart(sql, index, end) && (index == 0 || !SQLLexer.isWordChar(sql.charAt(index - 1)));
+    }
+
+    private static boolean isDigitStart(CharSequence sql, int index, int end) {
+        char c = sql.charAt(index);
+        return (c >= '0' && c <= '9') || (c == '.' && index + 1 < end && sql.charAt(index + 1) >= '0' && sql.charAt(index + 1) <= '9');
+    }
+
+    /**
+     * @return 数字字面量结束之后的索引，支持小数、科学计数法以及十六进制
+     */
+    private static int numberEnd(CharSequence sql, int index, int end) {
+        int i = index;
+        while (i < end) {
+            char c = sql.charAt(i);
+            if (SQLLexer.isWordChar(c) || c == '.') {
+                i++;
+            } else if ((c == '-' || c == '+') && (sql.charAt(i - 1) | 0x20) == 'e' && !isHex(sql, index, i)) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isHex(CharSequence sql, int start, int end) {
+        return end - start > 1 && sql.charAt(start) == '0' && (sql.charAt(start + 1) | 0x20) == 'x';
+    }
+
+    /**
+     * @return 模板的64位 FNV-1a 哈希值，结构相同的sql语句具有相同的哈希值
+     * <p>
+     * The 64 bit FNV-1a hash value of the template. SQL statements with the same structure have the same hash value
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return 规范化之后的sql语句模板，其中所有的字面量都被替换为 "?"
+     * <p>
+     * Normalized SQL statement template, in which all literals are replaced by "?"
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SQLFingerprint)) return false;
+        SQLFingerprint that = (SQLFingerprint) o;
+        return hash == that.hash && template.equals(that.template);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(hash) + " " + template;
+    }
+}
@@ -0,0 +1,114 @@
+package strInfo.lexer;
+
+/**
+ * 所有解析器共用的解析词表，解析词的编号由一个在类加载时生成的完美哈希表分配，不同的解析词一定拥有不同的编号，不会像按照 hashCode 取余那样发生冲突。
+ * <p>
+ * The parsing word table shared by all parsers. The number of the parsing word is assigned by a perfect hash table generated when the class is loaded. Different parsing words must have different numbers, and there will be no conflict like taking the remainder according to the hashCode.
+ * <p>
+ * 查找过程直接作用于字符序列中的一个区间，不区分大小写，也不会产生任何新对象，因此解析器不需要先截取子字符串或转换大小写。
+ * <p>
+ * The lookup process directly acts on an interval in the character sequence, is case insensitive, and does not produce any new objects, so the parser does not need to intercept substrings or convert case first.
+ *
+ * @author zhao
+ */
+public final class SQLKeywords {
+
+    private final static KeywordTable KEYWORD_TABLE = new KeywordTable(
+            "select", "from", "where", "group", "order", "limit", "on", "asc", "desc",
+            "and", "or", "join", "left", "right", "inner", "outer", "cross", "full",
+            "not", "in", "between", "is", "null", "true", "false",
+            "insert", "table", "value", "values",
+            "create", "field", "option", "(", ")", ";", "like", "as",
+            "alter", "mod", "addINFO", "add", "drop", "rename", "change", "index", "primary", "unique", "using", "escape"
+    );
+
+    public final static int SELECT = KEYWORD_TABLE.indexOf("select");
+    public final static int FROM = KEYWORD_TABLE.indexOf("from");
+    public final static int WHERE = KEYWORD_TABLE.indexOf("where");
+    public final static int GROUP = KEYWORD_TABLE.indexOf("group");
+    public final static int ORDER = KEYWORD_TABLE.indexOf("order");
+    public final static int LIMIT = KEYWORD_TABLE.indexOf("limit");
+    public final static int ON = KEYWORD_TABLE.indexOf("on");
+    public final static int ASC = KEYWORD_TABLE.indexOf("asc");
+    public final static int DESC = KEYWORD_TABLE.indexOf("desc");
+    public final static int AND = KEYWORD_TABLE.indexOf("and");
+    public final static int OR = KEYWORD_TABLE.indexOf("or");
+    public final static int JOIN = KEYWORD_TABLE.indexOf("join");
+    public final static int LEFT = KEYWORD_TABLE.indexOf("left");
+    public final static int RIGHT = KEYWORD_TABLE.indexOf("right");
+    public final static int INNER = KEYWORD_TABLE.indexOf("inner");
+    public final static int OUTER = KEYWORD_TABLE.indexOf("outer");
+    public final static int CROSS = KEYWORD_TABLE.indexOf("cross");
+    public final static int FULL = KEYWORD_TABLE.indexOf("full");
+    public final static int NOT = KEYWORD_TABLE.indexOf("not");
+    public final static int IN = KEYWORD_TABLE.indexOf("in");
+    public final static int BETWEEN = KEYWORD_TABLE.indexOf("between");
+    public final static int IS = KEYWORD_TABLE.indexOf("is");
+    public final static int NULL = KEYWORD_TABLE.indexOf("null");
+    public final static int TRUE = KEYWORD_TABLE.indexOf("true");
+    public final static int FALSE = KEYWORD_TABLE.indexOf("false");
+    public final static int INSERT = KEYWORD_TABLE.indexOf("insert");
+    public final static int TABLE = KEYWORD_TABLE.indexOf("table");
+    public final static int VALUE = KEYWORD_TABLE.indexOf("value");
+    public final static int VALUES = KEYWORD_TABLE.indexOf("values");
+    public final static int CREATE = KEYWORD_TABLE.indexOf("create");
+    public final static int FIELD = KEYWORD_TABLE.indexOf("field");
+    public final static int OPTION = KEYWORD_TABLE.indexOf("option");
+    public final static int LEFT_BRACKET = KEYWORD_TABLE.indexOf("(");
+    public final static int RIGHT_BRACKET = KEYWORD_TABLE.indexOf(")");
+    public final static int SEMICOLON = KEYWORD_TABLE.indexOf(";");
+    public final static int LIKE = KEYWORD_TABLE.indexOf("like");
+    public final static int AS = KEYWORD_TABLE.indexOf("as");
+    public final static int ALTER = KEYWORD_TABLE.indexOf("alter");
+    public final static int MOD = KEYWORD_TABLE.indexOf("mod");
+    public final static int ADD_INFO = KEYWORD_TABLE.indexOf("addINFO");
+    public final static int ADD = KEYWORD_TABLE.indexOf("add");
+    public final static int DROP = KEYWORD_TABLE.indexOf("drop");
+    public final static int RENAME = KEYWORD_TABLE.indexOf("rename");
+    public final static int CHANGE = KEYWORD_TABLE.indexOf("change");
+    public final static int INDEX = KEYWORD_TABLE.indexOf("index");
+    public final static int PRIMARY = KEYWORD_TABLE.indexOf("primary");
+    public final static int UNIQUE = KEYWORD_TABLE.indexOf("unique");
+    public final static int USING = KEYWORD_TABLE.indexOf("using");
+    public final static int ESCAPE = KEYWORD_TABLE.indexOf("escape");
+
+    private SQLKeywords() {
+    }
+
+    /**
+     * 查找字符序列中的一个区间对应的解析词编号。
+     * <p>
+     * Find the parsing word number corresponding to an interval in the character sequence.
+     *
+     * @param sql   包含解析词的字符序列
+     * @param start 区间的起始索引
+     * @param end   区间的结束索引（不包含）
+     * @return 区间对应的解析词编号，如果区间不是解析词，返回 -1
+     */
+    public static int indexOf(CharSequence sql, int start, int end) {
+        return KEYWORD_TABLE.indexOf(sql, start, end);
+    }
+
+    /**
+     * @param sqlWord 需要被查找的解析词
+     * @return 解析词对应的编号，如果单词不是解析词或为null，返回 -1
+     */
+    public static int indexOf(CharSequence sqlWord) {
+        return KEYWORD_TABLE.indexOf(sqlWord);
+    }
+
+    /**
+     * @param id 解析词编号
+     * @return 编号对应的小写解析词
+     */
+    public static String get(int id) {
+        return KEYWORD_TABLE.get(id);
+    }
+
+    /**
+     * @return 解析词的数量，所有解析词的编号都位于 [0, size) 区间内
+     */
+    public static int size() {
+        return KEYWORD_TABLE.size();
+    }
+}
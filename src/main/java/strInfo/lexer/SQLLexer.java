@@ -0,0 +1,355 @@
+package strInfo.lexer;
+
+/**
+ * 字符级别的SQL词法工具类，其中提供的都是在字符序列上直接进行扫描的基础函数，扫描过程中不会产生任何字符串拷贝，引号与注释中的内容会被正确的跳过。
+ * <p>
+ * Character level SQL lexical tool class, which provides basic functions that scan directly on the character sequence. No string copy will be produced during scanning, and the contents in quotes and comments will be skipped correctly.
+ *
+ * @author zhao
+ */
+public final class SQLLexer {
+
+    /**
+     * 能够被精确表示为 double 的10的幂
+     */
+    private final static double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private SQLLexer() {
+    }
+
+    /**
+     * 获取到可以被语句对象长期引用的sql语句，字符串与 UTF-8 字节序列会被直接返回，其它可变的字符序列会被复制为字符串。解析器在入口处调用一次，之后建造的所有语句（包括子查询）都引用同一个副本。
+     * <p>
+     * Get the SQL statement that can be referenced by statement objects for a long time. Strings and UTF-8 byte sequences are returned directly, and other mutable character sequences are copied as strings. The parser calls it once at the entry, and all statements built later (including sub queries) reference the same copy.
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 不会再被修改的sql语句
+     */
+    public static CharSequence snapshot(CharSequence sql) {
+        return sql instanceof String || sql instanceof Utf8CharSequence ? sql : sql.toString();
+    }
+
+    /**
+     * @param c 需要被判断的字符
+     * @return 如果字符是正则表达式中 \s 所代表的空白字符，这里返回true
+     * <p>
+     * If the character is a blank character represented by \s in the regular expression, true is returned here
+     */
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0x0B;
+    }
+
+    /**
+     * @param c 需要被判断的字符
+     * @return 如果字符可以作为标识符或关键字的一部分，这里返回true，非ASCII字符一律被视为标识符的一部分
+     * <p>
+     * If the character can be part of an identifier or keyword, return true here. Non ASCII characters are all regarded as part of the identifier
+     */
+    public static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '$' || c > 0x7F;
+    }
+
+    /**
+     * @param c 需要被判断的字符
+     * @return 如果字符是引号（单引号、双引号、反引号）这里返回true
+     * <p>
+     * If the character is a quotation mark (single quotation mark, double quotation mark, back quotation mark), return true here
+     */
+    public static boolean isQuote(char c) {
+        return c == '\'' || c == '"' || c == '`';
+    }
+
+    /**
+     * 如果指定位置是一个注释的开始（"-- "、"#"、"/*"），则返回注释结束之后的索引，否则原样返回索引，与 MySQL 相同，"--" 之后必须跟随空白字符才会被视为注释。
+     * <p>
+     * If the specified position is the beginning of a comment ("-- ", "#", "/*"), the index after the end of the comment is returned; otherwise, the index is returned as is. As in MySQL, "--" must be followed by a blank character to be treated as a comment.
+     *
+     * @param sql   需要被扫描的sql语句
+     * @param index 扫描的起始索引
+     * @param end   扫描的结束索引（不包含）
+     * @return 注释之后的第一个索引位置
+     */
+    public static int skipComment(CharSequence sql, int index, int end) {
+        char c = sql.charAt(index);
+        if (c == '#' || (c == '-' && index + 1 < end && sql.charAt(index + 1) == '-' && (index + 2 == end || sql.charAt(index + 2) <= ' '))) {
+            int i = index + 1;
+            while (i < end && sql.charAt(i) != '\n') i++;
+            return i;
+        }
+        if (c == '/' && index + 1 < end && sql.charAt(index + 1) == '*') {
+            for (int i = index + 2; i + 1 < end; i++) {
+                if (sql.charAt(i) == '*' && sql.charAt(i + 1) == '/') return i + 2;
+            }
+            return end;
+        }
+        return index;
+    }
+
+    /**
+     * 跳过所有的空白字符与注释。
+     * <p>
+     * Skip all white space characters and comments.
+     *
+     * @param sql   需要被扫描的sql语句
+     * @param index 扫描的起始索引
+     * @param end   扫描的结束索引（不包含）
+     * @return 第一个不是空白与注释的字符索引，如果没有则返回end
+     */
+    public static int skipWhitespace(CharSequence sql, int index, int end) {
+        while (index < end) {
+            char c = sql.charAt(index);
+            if (isWhitespace(c)) {
+                index++;
+            } else {
+                int next = skipComment(sql, index, end);
+                if (next == index) return index;
+                index = next;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 跳过一个被引号包裹的字符串或标识符，支持反斜杠转义以及双写引号的转义方式。
+     * <p>
+     * Skip a string or identifier wrapped in quotation marks. Supports backslash escape and double quotation mark escape.
+     *
+     * @param sql   需要被扫描的sql语句
+     * @param index 开始引号所在的索引
+     * @param end   扫描的结束索引（不包含）
+     * @return 结束引号之后的索引，如果引号没有闭合，返回 -1
+     */
+    public static int skipQuoted(CharSequence sql, int index, int end) {
+        final char quote = sql.charAt(index);
+        int i = index + 1;
+        while (i < end) {
+            char c = sql.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < end && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 将字符串字面量中反斜杠之后的转义字符转换为其代表的字符，与 MySQL 的转义规则相同，无法识别的转义字符代表其自身。
+     * <p>
+     * Convert the escape character after the backslash in the string literal to the character it represents. The escape rules are the same as MySQL. Unrecognized escape characters represent themselves.
+     *
+     * @param c 反斜杠之后的字符
+     * @return 转义之后的字符
+     */
+    public static char unescape(char c) {
+        switch (c) {
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case '0':
+                return '\0';
+            case 'b':
+                return '\b';
+            case 'Z':
+                return 0x1A;
+            default:
+                return c;
+        }
+    }
+
+    /**
+     * @param sql   需要被扫描的sql语句
+     * @param index 单词的起始索引
+     * @param end   扫描的结束索引（不包含）
+     * @return 从起始索引开始的单词结束之后的索引
+     */
+    public static int wordEnd(CharSequence sql, int index, int end) {
+        while (index < end && isWordChar(sql.charAt(index))) index++;
+        return index;
+    }
+
+    /**
+     * 忽略大小写的比较字符序列中的一个区间与一个小写的关键字，比较过程不会产生新对象。
+     * <p>
+     * Compare an interval in the character sequence with a lowercase keyword, ignoring case. The comparison process will not produce new objects.
+     *
+     * @param sql       需要被比较的sql语句
+     * @param start     区间的起始索引
+     * @param end       区间的结束索引（不包含）
+     * @param lowerWord 全部由小写ASCII字母组成的关键字
+     * @return 如果区间与关键字相同，返回true
+     */
+    public static boolean equalsIgnoreCase(CharSequence sql, int start, int end, String lowerWord) {
+        int length = lowerWord.length();
+        if (end - start != length) return false;
+        for (int i = 0; i < length; i++) {
+            if ((sql.charAt(start + i) | 0x20) != lowerWord.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param sql   需要被扫描的sql语句
+     * @param start 区间的起始索引
+     * @param end   区间的结束索引（不包含）
+     * @return 去除区间末尾空白之后的结束索引
+     */
+    public static int trimEnd(CharSequence sql, int start, int end) {
+        while (end > start && isWhitespace(sql.charAt(end - 1))) end--;
+        return end;
+    }
+
+    /**
+     * 查找逗号分隔的列表中一个元素的结束位置，引号、注释以及括号中的逗号不会被视为分隔符。
+     * <p>
+     * Find the end position of an element in a comma separated list. Commas in quotes, comments and brackets will not be regarded as separators.
+     *
+     * @param sql   需要被扫描的sql语句
+     * @param index 元素的起始索引
+     * @param end   扫描的结束索引（不包含）
+     * @return 元素之后的第一个位于最外层的逗号或者多余的右括号的索引，如果都不存在，返回结束索引
+     */
+    public static int listItemEnd(CharSequence sql, int index, int end) {
+        int depth = 0;
+        while (index < end) {
+            char c = sql.charAt(index);
+            if (isQuote(c)) {
+                int next = skipQuoted(sql, index, end);
+                if (next < 0) return end;
+                index = next;
+                continue;
+            }
+            int next = skipComment(sql, index, end);
+            if (next != index) {
+                index = next;
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0) return index;
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                return index;
+            }
+            index++;
+        }
+        return end;
+    }
+
+    /**
+     * 直接从字符序列的区间中解析一个整数，不会产生子字符串。
+     * <p>
+     * Parse an integer directly from an interval of a character sequence without generating substrings.
+     *
+     * @param sql   包含数字的字符序列
+     * @param start 数字的起始索引
+     * @param end   数字的结束索引（不包含）
+     * @return 解析出来的整数
+     * @throws NumberFormatException 区间不是一个合法的整数或超出了 long 的范围
+     */
+    public static long parseLong(CharSequence sql, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (sql.charAt(i) == '-' || sql.charAt(i) == '+')) {
+            negative = sql.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) throw new NumberFormatException(sql.subSequence(start, end).toString());
+        // 使用负数累加，从而能够表示 Long.MIN_VALUE
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = sql.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) throw new NumberFormatException(sql.subSequence(start, end).toString());
+            result *= 10;
+            if (result < limit + digit) throw new NumberFormatException(sql.subSequence(start, end).toString());
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 直接从字符序列的区间中解析一个浮点数，有效数字不超过15位且指数不超过22的数字可以被精确的计算出来，其它数字会交给 Double.parseDouble 解析，从而保证结果总是被正确舍入的。
+     * <p>
+     * Parse a floating point number directly from an interval of a character sequence. Numbers with no more than 15 significant digits and an exponent of no more than 22 can be calculated exactly, and other numbers will be handed over to Double.parseDouble, so as to ensure that the result is always rounded correctly.
+     *
+     * @param sql   包含数字的字符序列
+     * @param start 数字的起始索引
+     * @param end   数字的结束索引（不包含）
+     * @return 解析出来的浮点数
+     * @throws NumberFormatException 区间不是一个合法的数字
+     */
+    public static double parseDouble(CharSequence sql, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (sql.charAt(i) == '-' || sql.charAt(i) == '+')) {
+            negative = sql.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < end; i++) {
+            char c = sql.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    if (seenPoint) exponent--;
+                    continue;
+                }
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (seenPoint) exponent--;
+                } else {
+                    // 超出 long 精度的数字交给 Double.parseDouble 处理
+                    digits++;
+                }
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) throw new NumberFormatException(sql.subSequence(start, end).toString());
+        if (i < end) {
+            char c = sql.charAt(i);
+            if (c != 'e' && c != 'E') throw new NumberFormatException(sql.subSequence(start, end).toString());
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (sql.charAt(i) == '-' || sql.charAt(i) == '+')) {
+                negativeExponent = sql.charAt(i) == '-';
+                i++;
+            }
+            if (i == end) throw new NumberFormatException(sql.subSequence(start, end).toString());
+            int value = 0;
+            for (; i < end; i++) {
+                int digit = sql.charAt(i) - '0';
+                if (digit < 0 || digit > 9) throw new NumberFormatException(sql.subSequence(start, end).toString());
+                if (value < 100000) value = value * 10 + digit;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (digits <= 15 && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(sql.subSequence(start, end).toString());
+    }
+}
@@ -0,0 +1,144 @@
+package strInfo.lexer;
+
+/**
+ * Select 语句的子句边界对象，由 SelectLexer 在一次扫描中填充，其中记录的是每一个子句在原sql语句中的起始与结束索引，不会保存任何子字符串。
+ * <p>
+ * The clause boundary object of the Select statement is filled by SelectLexer in one scan. It records the start and end index of each clause in the original SQL statement, and does not save any substring.
+ *
+ * @author zhao
+ */
+public final class SelectClauses {
+
+    public final static int SELECT = 0;
+    public final static int FROM = 1;
+    public final static int WHERE = 2;
+    public final static int GROUP = 3;
+    public final static int ORDER = 4;
+    public final static int LIMIT = 5;
+    final static int COUNT = 6;
+
+    private final int[] bounds = new int[COUNT << 1];
+    private boolean asc;
+    private int subQueryStart;
+    private int end;
+    private int errorIndex;
+    private String expected;
+
+    public SelectClauses() {
+        reset();
+    }
+
+    /**
+     * 将当前对象恢复到初始状态，以便在下一次扫描中复用。
+     * <p>
+     * Restore the current object to its initial state for reuse in the next scan.
+     */
+    public void reset() {
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = -1;
+        }
+        this.asc = true;
+        this.subQueryStart = -1;
+        this.end = -1;
+        this.errorIndex = -1;
+        this.expected = null;
+    }
+
+    /**
+     * @param clause 子句编号，例如 SelectClauses.WHERE
+     * @return 如果子句在sql语句中出现过，返回true
+     * <p>
+     * If the clause appears in the SQL statement, return true
+     */
+    public boolean has(int clause) {
+        return bounds[clause << 1] >= 0;
+    }
+
+    /**
+     * @param clause 子句编号，例如 SelectClauses.WHERE
+     * @return 子句内容在sql语句中的起始索引，如果子句不存在返回 -1
+     * <p>
+     * The starting index of the clause content in the SQL statement. If the clause does not exist, return - 1
+     */
+    public int getStart(int clause) {
+        return bounds[clause << 1];
+    }
+
+    /**
+     * @param clause 子句编号，例如 SelectClauses.WHERE
+     * @return 子句内容在sql语句中的结束索引（不包含），如果子句不存在返回 -1
+     * <p>
+     * The end index (excluding) of the clause content in the SQL statement. If the clause does not exist, return - 1
+     */
+    public int getEnd(int clause) {
+        return bounds[(clause << 1) + 1];
+    }
+
+    /**
+     * @return 如果 order 子句是正序排序或者没有指定排序方式，返回true
+     * <p>
+     * If the order clause is in positive order or no sort method is specified, return true
+     */
+    public boolean isAsc() {
+        return asc;
+    }
+
+    /**
+     * @return from 子句中第一个子查询语句的左括号索引，如果没有子查询返回 -1
+     * <p>
+     * The left parenthesis index of the first sub query statement in the from clause. If there is no sub query, return - 1
+     */
+    public int getSubQueryStart() {
+        return subQueryStart;
+    }
+
+    /**
+     * @return 扫描结束的位置，如果语句以分号结尾，这里是分号之后的索引
+     * <p>
+     * The position where the scan ends. If the statement ends with a semicolon, here is the index after the semicolon
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return 扫描失败时发生错误的索引，扫描成功时返回 -1
+     * <p>
+     * Index of error when scanning fails, return - 1 when scanning succeeds
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+    /**
+     * @return 扫描失败时期望出现的解析词
+     * <p>
+     * Parse words expected when scanning fails
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    void set(int clause, int start, int end) {
+        bounds[clause << 1] = start;
+        bounds[(clause << 1) + 1] = end;
+    }
+
+    void setAsc(boolean asc) {
+        this.asc = asc;
+    }
+
+    void setSubQueryStart(int subQueryStart) {
+        this.subQueryStart = subQueryStart;
+    }
+
+    void setEnd(int end) {
+        this.end = end;
+    }
+
+    boolean fail(int errorIndex, String expected) {
+        this.errorIndex = errorIndex;
+        this.expected = expected;
+        return false;
+    }
+}
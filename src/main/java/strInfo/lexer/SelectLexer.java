@@ -0,0 +1,273 @@
+package strInfo.lexer;
+
+import java.util.Arrays;
+
+/**
+ * Select 语句的手写词法扫描器，只需要从头到尾读取一次sql语句，就可以得到所有子句的边界，引号、注释以及括号中的内容不会被识别为解析词。
+ * <p>
+ * The handwritten lexical scanner of the Select statement only needs to read the SQL statement once from beginning to end to get the boundaries of all clauses. The contents in quotes, comments and brackets will not be recognized as parsing words.
+ *
+ * @author zhao
+ */
+public final class SelectLexer {
+
+    private final static int ASC = SelectClauses.COUNT;
+    private final static int DESC = SelectClauses.COUNT + 1;
+    private final static String[] CLAUSE_NAMES = {"select", "from", "where", "group", "order", "limit"};
+
+    /**
+     * 解析词编号到子句编号的映射，不属于 select 语句的解析词映射为 -1
+     */
+    private final static int[] CLAUSE_OF_KEYWORD = new int[SQLKeywords.size()];
+
+    static {
+        Arrays.fill(CLAUSE_OF_KEYWORD, -1);
+        CLAUSE_OF_KEYWORD[SQLKeywords.SELECT] = SelectClauses.SELECT;
+        CLAUSE_OF_KEYWORD[SQLKeywords.FROM] = SelectClauses.FROM;
+        CLAUSE_OF_KEYWORD[SQLKeywords.WHERE] = SelectClauses.WHERE;
+        CLAUSE_OF_KEYWORD[SQLKeywords.GROUP] = SelectClauses.GROUP;
+        CLAUSE_OF_KEYWORD[SQLKeywords.ORDER] = SelectClauses.ORDER;
+        CLAUSE_OF_KEYWORD[SQLKeywords.LIMIT] = SelectClauses.LIMIT;
+        CLAUSE_OF_KEYWORD[SQLKeywords.ASC] = ASC;
+        CLAUSE_OF_KEYWORD[SQLKeywords.DESC] = DESC;
+    }
+
+    private SelectLexer() {
+    }
+
+    /**
+     * 扫描一个select语句，并将每一个子句的边界写入到结果对象中。
+     * <p>
+     * Scan a select statement and write the boundary of each clause to the result object.
+     *
+     * @param sql     需要被扫描的sql语句
+     * @param start   扫描的起始索引
+     * @param end     扫描的结束索引（不包含），如果在此之前遇到了分号，扫描会在分号处结束
+     * @param clause  从哪一个子句开始扫描，例如 SelectClauses.SELECT 代表扫描完整的语句，SelectClauses.WHERE 代表从起始索引之后的第一个 where 子句开始扫描
+     * @param clauses 用于接收子句边界的结果对象，扫描之前会被重置
+     * @return 扫描成功返回true，扫描失败返回false，失败的位置与期望的解析词可以从结果对象中获取到
+     * <p>
+     * If the scan succeeds, it returns true. If the scan fails, it returns false. The failed location and the expected parsing words can be obtained from the result object
+     */
+    public static boolean scan(CharSequence sql, int start, int end, int clause, SelectClauses clauses) {
+        return scan(sql, start, end, clause, clauses, null, -1);
+    }
+
+    /**
+     * 扫描一个select语句，并将每一个子句的边界写入到结果对象中，已经由 scanSubQueries 扫描过的子查询会被整体跳过，因此逐个扫描所有子查询的总耗时与sql语句的长度成正比，而不是与长度和嵌套深度的乘积成正比。
+     * <p>
+     * Scan a select statement and write the boundary of each clause to the result object. The sub queries that have been scanned by scanSubQueries will be skipped as a whole, so the total time of scanning all sub queries one by one is proportional to the length of the SQL statement, rather than the product of the length and the nesting depth.
+     *
+     * @param sql        需要被扫描的sql语句
+     * @param start      扫描的起始索引
+     * @param end        扫描的结束索引（不包含），如果在此之前遇到了分号，扫描会在分号处结束
+     * @param clause     从哪一个子句开始扫描
+     * @param clauses    用于接收子句边界的结果对象，扫描之前会被重置
+     * @param subQueries 已经扫描完成的子查询区间，为null时不跳过任何子查询
+     * @param subQuery   扫描区间中的第一个子查询的编号，没有子查询时为 -1
+     * @return 扫描成功返回true，扫描失败返回false
+     */
+    public static boolean scan(CharSequence sql, int start, int end, int clause, SelectClauses clauses, SubQuerySpans subQueries, int subQuery) {
+        return scan(sql, start, end, clause, clauses, subQueries, subQuery, SelectClauses.LIMIT);
+    }
+
+    /**
+     * 扫描一个select语句，并在最后一个需要的子句结束的时候停止扫描，之后的子句不会被读取，此时结果对象中的语句结束索引就是停止扫描的位置。
+     * <p>
+     * Scan a select statement and stop scanning at the end of the last required clause. The following clauses will not be read. At this time, the statement end index in the result object is the position where the scan stopped.
+     *
+     * @param sql        需要被扫描的sql语句
+     * @param start      扫描的起始索引
+     * @param end        扫描的结束索引（不包含），如果在此之前遇到了分号，扫描会在分号处结束
+     * @param clause     从哪一个子句开始扫描
+     * @param clauses    用于接收子句边界的结果对象，扫描之前会被重置
+     * @param subQueries 已经扫描完成的子查询区间，为null时不跳过任何子查询
+     * @param subQuery   扫描区间中的第一个子查询的编号，没有子查询时为 -1
+     * @param lastClause 最后一个需要的子句，例如 SelectClauses.FROM 代表遇到 where 等之后的子句时停止扫描，SelectClauses.LIMIT 代表扫描完整的语句
+     * @return 扫描成功返回true，扫描失败返回false
+     */
+    public static boolean scan(CharSequence sql, int start, int end, int clause, SelectClauses clauses, SubQuerySpans subQueries, int subQuery, int lastClause) {
+        clauses.reset();
+        int nextSubQuery = subQuery < 0 || subQueries == null || subQuery >= subQueries.size() ? -1 : subQueries.getOpen(subQuery);
+        int current = -1;
+        int seek = clause;
+        int contentStart = -1;
+        int depth = 0;
+        // order 子句中位于最后的 asc/desc 词的位置
+        int direction = -1;
+        boolean directionAsc = true;
+        int i = start;
+        while (i < end) {
+            char c = sql.charAt(i);
+            if (SQLLexer.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int next = SQLLexer.skipComment(sql, i, end);
+            if (next != i) {
+                i = next;
+                continue;
+            }
+            if (SQLLexer.isQuote(c)) {
+                next = SQLLexer.skipQuoted(sql, i, end);
+                if (next < 0) return clauses.fail(i, String.valueOf(c));
+                direction = -1;
+                i = next;
+                continue;
+            }
+            if (SQLLexer.isWordChar(c)) {
+                next = SQLLexer.wordEnd(sql, i, end);
+                int word = depth == 0 && (i == start || sql.charAt(i - 1) != '.') ? wordOf(sql, i, next) : -1;
+                if (word >= seek && word < SelectClauses.COUNT) {
+                    if (word > lastClause) {
+                        // 之后的子句都不需要，当前子句的结束位置就是扫描的结束位置
+                        if (!close(sql, current, contentStart, i, direction, directionAsc, clauses)) return false;
+                        clauses.setEnd(i);
+                        return finish(clause, start, clauses);
+                    }
+                    int contentFrom = next;
+                    if (word == SelectClauses.GROUP || word == SelectClauses.ORDER) {
+                        int by = SQLLexer.skipWhitespace(sql, next, end);
+                        contentFrom = SQLLexer.wordEnd(sql, by, end);
+                        if (!SQLLexer.equalsIgnoreCase(sql, by, contentFrom, "by")) return clauses.fail(by, "by");
+                    }
+                    if (!close(sql, current, contentStart, i, direction, directionAsc, clauses)) return false;
+                    current = word;
+                    seek = word + 1;
+                    direction = -1;
+                    contentStart = word == SelectClauses.FROM ? contentFrom : SQLLexer.skipWhitespace(sql, contentFrom, end);
+                    i = contentFrom;
+                    continue;
+                }
+                if (current == SelectClauses.ORDER && (word == ASC || word == DESC)) {
+                    direction = i;
+                    directionAsc = word == ASC;
+                } else {
+                    direction = -1;
+                }
+                i = next;
+                continue;
+            }
+            if (i == nextSubQuery) {
+                // 子查询中的内容不会影响当前语句的子句边界，直接跳到右括号之后
+                if (depth == 0 && current == SelectClauses.FROM && clauses.getSubQueryStart() < 0) {
+                    clauses.setSubQueryStart(i);
+                }
+                i = subQueries.getClose(subQuery) + 1;
+                subQuery = subQueries.getNext(subQuery);
+                nextSubQuery = subQuery < subQueries.size() ? subQueries.getOpen(subQuery) : -1;
+                direction = -1;
+                continue;
+            }
+            if (c == '(') {
+                if (depth == 0 && current == SelectClauses.FROM && clauses.getSubQueryStart() < 0) {
+                    int word = SQLLexer.skipWhitespace(sql, i + 1, end);
+                    if (SQLLexer.equalsIgnoreCase(sql, word, SQLLexer.wordEnd(sql, word, end), "select")) {
+                        clauses.setSubQueryStart(i);
+                    }
+                }
+                depth++;
+            } else if (c == ')') {
+                if (depth > 0) depth--;
+            } else if (c == ';' && depth == 0) {
+                if (!close(sql, current, contentStart, i, direction, directionAsc, clauses)) return false;
+                clauses.setEnd(i + 1);
+                return finish(clause, start, clauses);
+            }
+            direction = -1;
+            i++;
+        }
+        if (!close(sql, current, contentStart, end, direction, directionAsc, clauses)) return false;
+        clauses.setEnd(end);
+        return finish(clause, start, clauses);
+    }
+
+    /**
+     * 通过括号深度扫描sql语句中的所有子查询，只需要读取一次sql语句，就可以得到任意嵌套深度的子查询区间，引号与注释中的括号不会被计算，不以 select 开头的括号（例如函数调用）只会改变括号深度。
+     * <p>
+     * Scan all sub queries in the SQL statement through the bracket depth. You only need to read the SQL statement once to get the sub query spans of any nesting depth. The brackets in quotes and comments will not be counted. Brackets that do not begin with select (such as function calls) will only change the bracket depth.
+     *
+     * @param sql   需要被扫描的sql语句
+     * @param start 扫描的起始索引
+     * @param end   扫描的结束索引（不包含），如果在此之前遇到了最外层的分号或者多余的右括号，扫描会在此处结束
+     * @param spans 用于接收子查询区间的结果对象，扫描之前会被重置
+     * @return 扫描成功返回true，如果存在没有闭合的子查询返回false，失败的位置与期望的字符可以从结果对象中获取到
+     * <p>
+     * If the scan succeeds, it returns true. If there is an unclosed sub query, it returns false. The failed location and the expected characters can be obtained from the result object
+     */
+    public static boolean scanSubQueries(CharSequence sql, int start, int end, SubQuerySpans spans) {
+        spans.reset();
+        int depth = 0;
+        // 最内层的尚未闭合的子查询编号
+        int current = -1;
+        int i = start;
+        while (i < end) {
+            char c = sql.charAt(i);
+            int next = SQLLexer.skipComment(sql, i, end);
+            if (next != i) {
+                i = next;
+                continue;
+            }
+            if (SQLLexer.isQuote(c)) {
+                next = SQLLexer.skipQuoted(sql, i, end);
+                if (next < 0) return spans.fail(i, String.valueOf(c));
+                i = next;
+                continue;
+            }
+            if (c == '(') {
+                int word = SQLLexer.skipWhitespace(sql, i + 1, end);
+                if (SQLLexer.equalsIgnoreCase(sql, word, SQLLexer.wordEnd(sql, word, end), "select")) {
+                    current = spans.open(i, depth, current);
+                }
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0) break;
+                depth--;
+                if (current >= 0 && spans.getDepth(current) == depth) {
+                    current = spans.close(current, i);
+                }
+            } else if (c == ';' && depth == 0) {
+                break;
+            }
+            i++;
+        }
+        return current < 0 || spans.fail(spans.getOpen(current), ")");
+    }
+
+    /**
+     * 结束一个正在扫描的子句，并记录子句的边界，from 子句会保留原始的空白，其它子句会去除末尾的空白。
+     */
+    private static boolean close(CharSequence sql, int current, int contentStart, int index, int direction, boolean directionAsc, SelectClauses clauses) {
+        if (current < 0) return true;
+        if (current == SelectClauses.FROM) {
+            clauses.set(SelectClauses.FROM, contentStart, index);
+            return true;
+        }
+        int contentEnd;
+        if (current == SelectClauses.ORDER && direction >= 0) {
+            contentEnd = direction;
+            clauses.setAsc(directionAsc);
+        } else {
+            contentEnd = SQLLexer.trimEnd(sql, contentStart, index);
+        }
+        if (contentEnd <= contentStart) return clauses.fail(contentStart, CLAUSE_NAMES[current]);
+        clauses.set(current, contentStart, contentEnd);
+        return true;
+    }
+
+    private static boolean finish(int clause, int start, SelectClauses clauses) {
+        if (clause == SelectClauses.SELECT) {
+            if (!clauses.has(SelectClauses.SELECT)) return clauses.fail(start, "select");
+            if (!clauses.has(SelectClauses.FROM)) return clauses.fail(clauses.getEnd(SelectClauses.SELECT), "from");
+        }
+        return true;
+    }
+
+    /**
+     * @return 单词对应的子句编号，如果单词不是 select 语句中的解析词，返回 -1
+     */
+    private static int wordOf(CharSequence sql, int start, int end) {
+        int id = SQLKeywords.indexOf(sql, start, end);
+        return id < 0 ? -1 : CLAUSE_OF_KEYWORD[id];
+    }
+}
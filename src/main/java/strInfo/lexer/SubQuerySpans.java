@@ -0,0 +1,154 @@
+package strInfo.lexer;
+
+import java.util.Arrays;
+
+/**
+ * 子查询区间对象，由 SelectLexer 在一次扫描中填充，其中按照左括号出现的顺序（先序）记录了每一个子查询的左右括号索引，任意嵌套深度的子查询都会被记录，不会保存任何子字符串。
+ * <p>
+ * The sub query span object is filled by SelectLexer in one scan. It records the left and right parenthesis index of each sub query in the order in which the left parenthesis appears (pre order). Sub queries of any nesting depth will be recorded, and no substring will be saved.
+ * <p>
+ * 由于区间是按照先序记录的，一个子查询内部的所有子查询都紧跟在它之后，因此子查询 i 的直接子查询可以通过 {@code for (int j = i + 1; j < getNext(i); j = getNext(j))} 遍历，所有最外层的子查询可以通过 {@code for (int j = 0; j < size(); j = getNext(j))} 遍历。
+ * <p>
+ * Because the spans are recorded in pre order, all sub queries inside a sub query follow it immediately, so the direct sub queries of sub query i can be traversed through {@code for (int j = i + 1; j < getNext(i); j = getNext(j))}, and all the outermost sub queries can be traversed through {@code for (int j = 0; j < size(); j = getNext(j))}.
+ *
+ * @author zhao
+ */
+public final class SubQuerySpans {
+
+    private int[] opens = new int[8];
+    private int[] closes = new int[8];
+    private int[] nexts = new int[8];
+    private int[] depths = new int[8];
+    private int[] parents = new int[8];
+    private int size;
+    private int errorIndex;
+    private String expected;
+
+    public SubQuerySpans() {
+        reset();
+    }
+
+    /**
+     * 将当前对象恢复到初始状态，以便在下一次扫描中复用。
+     * <p>
+     * Restore the current object to its initial state for reuse in the next scan.
+     */
+    public void reset() {
+        this.size = 0;
+        this.errorIndex = -1;
+        this.expected = null;
+    }
+
+    /**
+     * @return 扫描到的子查询数量
+     * <p>
+     * Number of sub queries scanned
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index 子查询的编号
+     * @return 子查询的左括号在sql语句中的索引
+     * <p>
+     * Index of the left parenthesis of the sub query in the SQL statement
+     */
+    public int getOpen(int index) {
+        return opens[index];
+    }
+
+    /**
+     * @param index 子查询的编号
+     * @return 子查询的右括号在sql语句中的索引
+     * <p>
+     * Index of the right parenthesis of the sub query in the SQL statement
+     */
+    public int getClose(int index) {
+        return closes[index];
+    }
+
+    /**
+     * @param index 子查询的编号
+     * @return 在该子查询之后、且不位于该子查询内部的第一个子查询的编号
+     * <p>
+     * The number of the first sub query after this sub query that is not inside it
+     */
+    public int getNext(int index) {
+        return nexts[index];
+    }
+
+    /**
+     * @param index 子查询的编号
+     * @return 直接包含该子查询的子查询编号，最外层的子查询返回 -1
+     * <p>
+     * The number of the sub query directly containing this sub query, and the outermost sub query returns - 1
+     */
+    public int getParent(int index) {
+        return parents[index];
+    }
+
+    /**
+     * @return 扫描失败时发生错误的索引，扫描成功时返回 -1
+     * <p>
+     * Index of error when scanning fails, return - 1 when scanning succeeds
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+    /**
+     * @return 扫描失败时期望出现的字符
+     * <p>
+     * Characters expected when scanning fails
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * 记录一个子查询的左括号。
+     *
+     * @param open   左括号的索引
+     * @param depth  左括号所在的括号深度
+     * @param parent 包含该子查询的子查询编号，最外层的子查询为 -1
+     * @return 新子查询的编号
+     */
+    int open(int open, int depth, int parent) {
+        if (size == opens.length) {
+            int capacity = size << 1;
+            opens = Arrays.copyOf(opens, capacity);
+            closes = Arrays.copyOf(closes, capacity);
+            nexts = Arrays.copyOf(nexts, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+        }
+        opens[size] = open;
+        depths[size] = depth;
+        parents[size] = parent;
+        return size++;
+    }
+
+    /**
+     * 记录一个子查询的右括号，此时该子查询内部的所有子查询都已经被记录。
+     *
+     * @param index 子查询的编号
+     * @param close 右括号的索引
+     * @return 包含该子查询的子查询编号，最外层的子查询为 -1
+     */
+    int close(int index, int close) {
+        closes[index] = close;
+        nexts[index] = size;
+        return parents[index];
+    }
+
+    int getDepth(int index) {
+        return depths[index];
+    }
+
+    boolean fail(int errorIndex, String expected) {
+        this.errorIndex = errorIndex;
+        this.expected = expected;
+        return false;
+    }
+}
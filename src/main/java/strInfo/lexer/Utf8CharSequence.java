@@ -0,0 +1,110 @@
+package strInfo.lexer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 直接建立在 UTF-8 字节上的字符序列，解析器可以在不解码的情况下扫描sql语句中的关键字结构，只有在从语句对象中读取表名、字段或字面量的时候，对应区间的字节才会被解码为字符串。
+ * <p>
+ * A character sequence built directly on UTF-8 bytes. The parser can scan the keyword structure in the SQL statement without decoding. Only when the table name, field or literal is read from the statement object, the bytes of the corresponding interval will be decoded into a string.
+ * <p>
+ * 字节与字符一一对应的前提是所有字节都是 ASCII 字符，因此 of 函数会先检查一次字节，包含非 ASCII 字符的sql语句会被完整解码为字符串，以保证字符索引的正确性。
+ * <p>
+ * The premise of one-to-one correspondence between bytes and characters is that all bytes are ASCII characters, so the of function will check the bytes once first, and the SQL statement containing non ASCII characters will be fully decoded into a string to ensure the correctness of the character index.
+ * <p>
+ * 该序列以及由它解析出来的语句对象会直接引用传入的字节，在语句对象不再被使用之前，调用者不能修改或复用这些字节。
+ * <p>
+ * This sequence and the statement object parsed from it will directly reference the incoming bytes. The caller cannot modify or reuse these bytes until the statement object is no longer used.
+ *
+ * @author zhao
+ */
+public final class Utf8CharSequence implements CharSequence {
+
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    private Utf8CharSequence(byte[] bytes, ByteBuffer buffer, int offset, int length) {
+        this.bytes = bytes;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * 将字节数组中的一段 UTF-8 编码的sql语句包装为字符序列。
+     * <p>
+     * Wrap a UTF-8 encoded SQL statement in a byte array as a character sequence.
+     *
+     * @param bytes  包含sql语句的字节数组
+     * @param offset sql语句在数组中的起始索引
+     * @param length sql语句的字节数量
+     * @return 如果所有字节都是 ASCII 字符，返回直接引用字节数组的字符序列，否则返回解码之后的字符串
+     */
+    public static CharSequence of(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length) {
+            throw new IndexOutOfBoundsException("offset = " + offset + ", length = " + length + ", bytes.length = " + bytes.length);
+        }
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (bytes[i] < 0) return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+        return new Utf8CharSequence(bytes, null, offset, length);
+    }
+
+    /**
+     * 将缓冲区中从 position 到 limit 的 UTF-8 编码的sql语句包装为字符序列，缓冲区的 position 与 limit 不会被修改。
+     * <p>
+     * Wrap the UTF-8 encoded SQL statement from position to limit in the buffer as a character sequence. The position and limit of the buffer will not be modified.
+     *
+     * @param buffer 包含sql语句的缓冲区，可以是堆缓冲区，也可以是直接缓冲区
+     * @return 如果所有字节都是 ASCII 字符，返回直接引用缓冲区的字符序列，否则返回解码之后的字符串
+     */
+    public static CharSequence of(ByteBuffer buffer) {
+        int position = buffer.position();
+        int length = buffer.remaining();
+        if (buffer.hasArray()) {
+            return of(buffer.array(), buffer.arrayOffset() + position, length);
+        }
+        for (int i = position, end = position + length; i < end; i++) {
+            if (buffer.get(i) < 0) return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+        }
+        return new Utf8CharSequence(null, buffer.duplicate(), position, length);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return (char) (bytes != null ? bytes[offset + index] : buffer.get(offset + index));
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException("start = " + start + ", end = " + end + ", length = " + length);
+        }
+        return new Utf8CharSequence(bytes, buffer, offset + start, end - start);
+    }
+
+    /**
+     * @return 解码之后的字符串，每一次调用都会重新解码
+     */
+    @Override
+    public String toString() {
+        if (bytes != null) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) buffer.get(offset + i);
+        }
+        return new String(chars);
+    }
+}
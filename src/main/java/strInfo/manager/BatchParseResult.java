@@ -0,0 +1,174 @@
+package strInfo.manager;
+
+import strInfo.parser.SQLParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 批量解析的结果对象，其中按照输入的顺序保存了每一个sql语句的解析结果，解析失败的语句对应的结果为null，同时会记录下解析失败的异常对象。
+ * <p>
+ * The result object of batch parsing, in which the parsing results of each SQL statement are saved in the order of input. The result corresponding to the failed statement is null, and the exception object of the failed parsing will be recorded at the same time.
+ *
+ * @param <StatementType> 解析器返回的的结果对象类型
+ * @author zhao
+ */
+public final class BatchParseResult<StatementType> {
+
+    /**
+     * 一个并行任务最少需要解析的语句数量，低于该数量的任务不会再被拆分
+     */
+    private final static int THRESHOLD = 64;
+
+    private final Object[] statements;
+    private final RuntimeException[] errors;
+    private final int errorCount;
+
+    private BatchParseResult(Object[] statements, RuntimeException[] errors) {
+        this.statements = statements;
+        this.errors = errors;
+        int errorCount = 0;
+        for (RuntimeException error : errors) {
+            if (error != null) errorCount++;
+        }
+        this.errorCount = errorCount;
+    }
+
+    /**
+     * 在线程池中并行的解析所有sql语句。
+     *
+     * @param forkJoinPool 执行解析任务的线程池
+     * @param sqlParser    解析所有语句使用的解析器，为null的时候会按照语句的第一个关键字选择解析器
+     * @param sqlArray     需要被解析的所有sql语句
+     * @return 与输入顺序一致的批量解析结果
+     */
+    static <StatementType> BatchParseResult<StatementType> parse(ForkJoinPool forkJoinPool, SQLParser<StatementType, ?> sqlParser, CharSequence[] sqlArray) {
+        Object[] statements = new Object[sqlArray.length];
+        RuntimeException[] errors = new RuntimeException[sqlArray.length];
+        forkJoinPool.invoke(new ParseTask(sqlParser, sqlArray, statements, errors, 0, sqlArray.length));
+        return new BatchParseResult<>(statements, errors);
+    }
+
+    /**
+     * @return 本次批量解析的语句数量
+     */
+    public int size() {
+        return statements.length;
+    }
+
+    /**
+     * @param index 语句在输入中的索引
+     * @return 语句的解析结果，如果语句解析失败，返回null
+     */
+    @SuppressWarnings("unchecked")
+    public StatementType get(int index) {
+        return (StatementType) statements[index];
+    }
+
+    /**
+     * @param index 语句在输入中的索引
+     * @return 语句解析失败时的异常对象，如果语句解析成功，返回null
+     */
+    public RuntimeException getError(int index) {
+        return errors[index];
+    }
+
+    /**
+     * @param index 语句在输入中的索引
+     * @return 如果语句解析成功，返回true
+     */
+    public boolean isSuccess(int index) {
+        return errors[index] == null;
+    }
+
+    /**
+     * @return 解析失败的语句数量
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return 所有解析失败的语句在输入中的索引，按照从小到大的顺序排列
+     */
+    public int[] getErrorIndexes() {
+        int[] indexes = new int[errorCount];
+        for (int i = 0, j = 0; j < errorCount; i++) {
+            if (errors[i] != null) indexes[j++] = i;
+        }
+        return indexes;
+    }
+
+    /**
+     * @return 与输入顺序一致的所有解析结果组成的不可修改列表，解析失败的位置为null
+     * <p>
+     * An unmodifiable list composed of all parsing results consistent with the input order. The position where parsing fails is null
+     */
+    @SuppressWarnings("unchecked")
+    public List<StatementType> getStatements() {
+        return (List<StatementType>) Collections.unmodifiableList(Arrays.asList(statements));
+    }
+
+    /**
+     * @return 所有解析成功的结果组成的列表，顺序与输入顺序一致
+     */
+    @SuppressWarnings("unchecked")
+    public List<StatementType> getSuccessStatements() {
+        ArrayList<StatementType> arrayList = new ArrayList<>(statements.length - errorCount);
+        for (int i = 0; i < statements.length; i++) {
+            if (errors[i] == null) arrayList.add((StatementType) statements[i]);
+        }
+        return arrayList;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchParseResult{size=" + size() + ", errorCount=" + errorCount + '}';
+    }
+
+    /**
+     * 按照索引区间拆分的并行解析任务，每一个任务只会写入自己区间内的结果，因此不需要任何同步。
+     */
+    private final static class ParseTask extends RecursiveAction {
+        private final static long serialVersionUID = 1L;
+        private final SQLParser<?, ?> sqlParser;
+        private final CharSequence[] sqlArray;
+        private final Object[] statements;
+        private final RuntimeException[] errors;
+        private final int start;
+        private final int end;
+
+        ParseTask(SQLParser<?, ?> sqlParser, CharSequence[] sqlArray, Object[] statements, RuntimeException[] errors, int start, int end) {
+            this.sqlParser = sqlParser;
+            this.sqlArray = sqlArray;
+            this.statements = statements;
+            this.errors = errors;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                invokeAll(
+                        new ParseTask(sqlParser, sqlArray, statements, errors, start, middle),
+                        new ParseTask(sqlParser, sqlArray, statements, errors, middle, end)
+                );
+                return;
+            }
+            for (int i = start; i < end; i++) {
+                CharSequence sql = sqlArray[i];
+                try {
+                    statements[i] = sqlParser == null ? SQLParserManager.parse(sql) : sqlParser.parseSql(sql.toString());
+                } catch (RuntimeException e) {
+                    errors[i] = e;
+                }
+            }
+        }
+    }
+}
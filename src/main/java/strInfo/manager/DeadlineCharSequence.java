@@ -0,0 +1,62 @@
+package strInfo.manager;
+
+import strInfo.parser.ParseBudgetExceededException;
+
+/**
+ * 在被读取的时候检查截止时间的字符序列，正则表达式匹配的时候会不断的读取字符，因此回溯严重的匹配过程会在超过截止时间之后的下一次检查中被中断。
+ * <p>
+ * A character sequence that checks the deadline when it is read. When the regular expression matches, it will continuously read characters, so the matching process with serious backtracking will be interrupted in the next check after the deadline is exceeded.
+ * <p>
+ * 为了让读取的开销足够低，每读取 CHECK_INTERVAL 个字符才会获取一次系统时间。
+ * <p>
+ * In order to make the reading cost low enough, the system time will be obtained only once every CHECK_INTERVAL characters are read.
+ *
+ * @author zhao
+ */
+final class DeadlineCharSequence implements CharSequence {
+
+    private final static int CHECK_INTERVAL = 4096;
+
+    private final CharSequence source;
+    private final long deadline;
+    private final long timeoutNanos;
+    private int countdown = CHECK_INTERVAL;
+
+    /**
+     * @param source       被包装的sql语句
+     * @param deadline     截止时间，与 System.nanoTime 的返回值使用相同的时间基准
+     * @param timeoutNanos 截止时间对应的超时时长，只用于错误信息
+     */
+    DeadlineCharSequence(CharSequence source, long deadline, long timeoutNanos) {
+        this.source = source;
+        this.deadline = deadline;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    @Override
+    public int length() {
+        return source.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (--countdown == 0) {
+            countdown = CHECK_INTERVAL;
+            if (System.nanoTime() - deadline > 0) {
+                throw new ParseBudgetExceededException(source, index, "deadline " + timeoutNanos / 1000000 + " ms");
+            }
+        }
+        return source.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        // 子序列只会被用于获取匹配到的分组，此时匹配已经结束，直接返回原序列的子序列即可
+        return source.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+}
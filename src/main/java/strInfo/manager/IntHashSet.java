@@ -0,0 +1,142 @@
+package strInfo.manager;
+
+import java.util.Arrays;
+
+/**
+ * 只保存非负整数的开放寻址哈希集合，元素直接保存在 int 数组中，不会产生任何包装对象。
+ * <p>
+ * An open addressing hash set that only stores non negative integers. The elements are directly stored in the int array, and no wrapper object will be generated.
+ * <p>
+ * 写入操作需要加锁，读取操作不需要加锁：写入者先修改数组中的元素，再写入 volatile 的元素数量，读取者先读取元素数量，因此在读取开始之前完成的写入一定可见。扩容的时候会创建一个新数组并整体发布，旧数组不会再被修改，正在读取旧数组的读取者看到的是扩容之前的快照。
+ * <p>
+ * Write operations need to be locked, and read operations do not need to be locked: the writer first modifies the elements in the array, and then writes the volatile number of elements. The reader first reads the number of elements, so the writes completed before the start of reading must be visible. When expanding, a new array will be created and published as a whole. The old array will not be modified any more. Readers who are reading the old array will see a snapshot before the expansion.
+ *
+ * @author zhao
+ */
+final class IntHashSet {
+
+    private final static int EMPTY = -1;
+    private final static int REMOVED = -2;
+    private final static int[] NO_VALUES = new int[0];
+
+    private volatile int[] slots;
+    private volatile int size;
+    /**
+     * 已经被元素或者删除标记占用的位置数量，只会在锁中被访问
+     */
+    private int used;
+
+    IntHashSet() {
+        this.slots = newSlots(8);
+    }
+
+    /**
+     * @param value 需要被添加的非负整数
+     * @return 如果集合中原本不存在该整数，返回true
+     */
+    synchronized boolean add(int value) {
+        int[] slots = this.slots;
+        if ((used + 1) << 1 > slots.length) {
+            // 负载因子达到二分之一的时候扩容，删除标记会在扩容的时候被清除
+            slots = rehash(slots, Math.max(8, Integer.highestOneBit(size + 1) << 2));
+            this.slots = slots;
+            this.used = this.size;
+        }
+        int mask = slots.length - 1;
+        int insert = -1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == value) return false;
+            if (slot == REMOVED) {
+                if (insert < 0) insert = i;
+            } else if (slot == EMPTY) {
+                if (insert < 0) {
+                    insert = i;
+                    used++;
+                }
+                break;
+            }
+        }
+        slots[insert] = value;
+        size = size + 1;
+        return true;
+    }
+
+    /**
+     * @param value 需要被删除的非负整数
+     * @return 如果集合中存在该整数，返回true
+     */
+    synchronized boolean remove(int value) {
+        int[] slots = this.slots;
+        int mask = slots.length - 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == EMPTY) return false;
+            if (slot == value) {
+                slots[i] = REMOVED;
+                size = size - 1;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param value 需要被查找的非负整数
+     * @return 集合中是否存在该整数，查找过程不需要加锁
+     */
+    boolean contains(int value) {
+        if (size == 0) return false;
+        int[] slots = this.slots;
+        int mask = slots.length - 1;
+        for (int i = hash(value) & mask, probes = 0; probes < slots.length; i = (i + 1) & mask, probes++) {
+            int slot = slots[i];
+            if (slot == value) return true;
+            if (slot == EMPTY) return false;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return 集合中所有整数组成的新数组，读取过程不需要加锁，与读取同时进行的写入可能可见也可能不可见
+     */
+    int[] toArray() {
+        int size = this.size;
+        if (size == 0) return NO_VALUES;
+        int[] slots = this.slots;
+        int[] values = new int[size];
+        int count = 0;
+        for (int slot : slots) {
+            if (slot < 0) continue;
+            if (count == values.length) values = Arrays.copyOf(values, count << 1);
+            values[count++] = slot;
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    private static int[] rehash(int[] slots, int capacity) {
+        int[] newSlots = newSlots(capacity);
+        int mask = capacity - 1;
+        for (int value : slots) {
+            if (value < 0) continue;
+            int i = hash(value) & mask;
+            while (newSlots[i] != EMPTY) i = (i + 1) & mask;
+            newSlots[i] = value;
+        }
+        return newSlots;
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
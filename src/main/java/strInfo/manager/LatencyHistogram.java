@@ -0,0 +1,142 @@
+package strInfo.manager;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的耗时直方图，以纳秒为单位记录耗时，桶的划分方式与 HdrHistogram 相同：每一个2的幂区间被均分为16个子桶，因此任意分位数的相对误差都不会超过 1/16。
+ * <p>
+ * Lock free latency histogram, which records latency in nanoseconds. The buckets are divided in the same way as HdrHistogram: each power of 2 interval is equally divided into 16 sub buckets, so the relative error of any percentile will not exceed 1/16.
+ * <p>
+ * 每一个桶都是一个 LongAdder，多个线程同时记录的时候不会互相竞争同一个计数器，超过约18分钟的耗时会被记录在最后一个桶中。
+ * <p>
+ * Each bucket is a LongAdder. When multiple threads record at the same time, they will not compete for the same counter. Latency exceeding about 18 minutes will be recorded in the last bucket.
+ *
+ * @author zhao
+ */
+public final class LatencyHistogram {
+
+    private final static int SUB_BUCKET_BITS = 4;
+    private final static int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * 能够被精确区分的最大耗时的二进制位数，2^40 纳秒约等于18分钟
+     */
+    private final static int MAX_EXPONENT = 40;
+    private final static int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos 耗时的纳秒数
+     * @return 耗时所在的桶的索引
+     */
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKET_COUNT) return nanos < 0 ? 0 : (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent >= MAX_EXPONENT) return BUCKET_COUNT - 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) (nanos >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * @param bucket 桶的索引
+     * @return 桶中能够记录的最大耗时
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) return bucket;
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        return ((long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT + 1) << shift) - 1;
+    }
+
+    /**
+     * 记录一次耗时。
+     * <p>
+     * Record a latency.
+     *
+     * @param nanos 耗时的纳秒数
+     */
+    public void record(long nanos) {
+        buckets[bucketOf(nanos)].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * @return 记录的耗时数量
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return 所有耗时的总和，单位是纳秒
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return 最大的耗时，单位是纳秒
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return 平均耗时，单位是纳秒，如果还没有记录过耗时，返回0
+     */
+    public double getMeanNanos() {
+        long count = this.count.sum();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * 计算耗时的分位数，并发记录的时候得到的是一个近似值，返回的是分位数所在的桶的上界，且不会超过记录过的最大耗时。
+     * <p>
+     * Calculate the percentile of latency. An approximate value is obtained during concurrent recording. The upper bound of the bucket where the percentile is located is returned and will not exceed the maximum latency recorded.
+     *
+     * @param percentile 分位数，取值范围是 [0, 100]
+     * @return 分位数对应的耗时，单位是纳秒，如果还没有记录过耗时，返回0
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new RuntimeException("分位数必须在 0 到 100 之间。\nThe percentile must be between 0 and 100.\nERROR => " + percentile);
+        }
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts[i] = buckets[i].sum();
+        }
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long max = maxNanos.get();
+        for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+            if ((rank -= counts[i]) <= 0) return Math.min(upperBoundOf(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * 清空所有记录过的耗时，与 record 同时调用的时候，正在记录的耗时可能会部分保留。
+     * <p>
+     * Clear all recorded latency. When called with record at the same time, the latency being recorded may be partially retained.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+}
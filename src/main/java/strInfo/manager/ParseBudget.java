@@ -0,0 +1,108 @@
+package strInfo.manager;
+
+import strInfo.parser.ParseBudgetExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 解析预算，限制了一次 parseSql 调用能够处理的最大sql语句长度与最长耗时，用于防止超长或者畸形的语句在正则表达式的回溯中长时间占用线程。
+ * <p>
+ * The parsing budget limits the maximum SQL statement length and the maximum time that a parseSql call can process. It is used to prevent super long or malformed statements from occupying threads for a long time in the backtracking of regular expressions.
+ * <p>
+ * 预算通过 SQLParserManager.setParseBudget 设置，长度会在解析开始之前检查，截止时间则由解析器在正则匹配的过程中通过 guard 包装出来的字符序列检查，超出预算的解析会抛出 ParseBudgetExceededException。
+ * <p>
+ * The budget is set through SQLParserManager.setParseBudget. The length will be checked before parsing starts, and the deadline will be checked by the character sequence wrapped by guard during regular matching by the parser. Parsing exceeding the budget will throw ParseBudgetExceededException.
+ *
+ * @author zhao
+ */
+public final class ParseBudget {
+
+    /**
+     * 当前线程正在进行的解析的截止时间，0 代表当前线程没有受预算限制的解析
+     */
+    private final static ThreadLocal<long[]> DEADLINE = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final int maxLength;
+    private final long timeoutNanos;
+
+    private ParseBudget(int maxLength, long timeoutNanos) {
+        if (maxLength <= 0 || timeoutNanos <= 0) {
+            throw new RuntimeException("解析预算的最大长度与超时时长都必须大于0。\nBoth the maximum length and the timeout of the parsing budget must be greater than 0.\nERROR => maxLength=" + maxLength + ", timeoutNanos=" + timeoutNanos);
+        }
+        this.maxLength = maxLength;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * 创建一个解析预算。
+     * <p>
+     * Create a parsing budget.
+     *
+     * @param maxLength 允许被解析的sql语句的最大长度，不需要限制长度的时候可以设置为 Integer.MAX_VALUE
+     * @param timeout   一次 parseSql 调用允许的最长耗时
+     * @param timeUnit  最长耗时的单位
+     * @return 解析预算对象
+     */
+    public static ParseBudget of(int maxLength, long timeout, TimeUnit timeUnit) {
+        return new ParseBudget(maxLength, timeUnit.toNanos(timeout));
+    }
+
+    /**
+     * 包装被正则表达式匹配的sql语句，如果当前线程正在进行受预算限制的解析，返回的字符序列会在被读取的时候检查截止时间，否则直接返回sql语句本身。
+     * <p>
+     * Wrap the SQL statement matched by the regular expression. If the current thread is performing parsing limited by the budget, the returned character sequence will check the deadline when it is read, otherwise the SQL statement itself will be returned directly.
+     *
+     * @param sql 需要被正则表达式匹配的sql语句
+     * @return 能够被传递给 Pattern.matcher 的字符序列
+     */
+    public static CharSequence guard(CharSequence sql) {
+        ParseBudget parseBudget = SQLParserManager.getParseBudget();
+        if (parseBudget == null || sql == null) return sql;
+        long deadline = DEADLINE.get()[0];
+        return deadline == 0 ? sql : new DeadlineCharSequence(sql, deadline, parseBudget.timeoutNanos);
+    }
+
+    /**
+     * 检查sql语句的长度，并在当前线程没有进行中的解析时设置截止时间。
+     *
+     * @param sql 即将被解析的sql语句
+     * @return 如果设置了截止时间，返回true，解析结束之后需要调用 finish 清除截止时间
+     */
+    boolean start(CharSequence sql) {
+        if (sql != null && sql.length() > maxLength) {
+            throw new ParseBudgetExceededException(sql, maxLength, "length <= " + maxLength);
+        }
+        long[] deadline = DEADLINE.get();
+        if (deadline[0] != 0) return false;
+        // 0 被用来表示没有截止时间，因此需要避开这个值
+        deadline[0] = (System.nanoTime() + timeoutNanos) | 1;
+        return true;
+    }
+
+    /**
+     * 清除当前线程的截止时间。
+     */
+    static void finish() {
+        DEADLINE.get()[0] = 0;
+    }
+
+    /**
+     * @return 允许被解析的sql语句的最大长度
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @param timeUnit 返回值的时间单位
+     * @return 一次 parseSql 调用允许的最长耗时
+     */
+    public long getTimeout(TimeUnit timeUnit) {
+        return timeUnit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "ParseBudget{maxLength=" + maxLength + ", timeoutMillis=" + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + '}';
+    }
+}
@@ -0,0 +1,233 @@
+package strInfo.manager;
+
+import strInfo.result.AlterStatement;
+import strInfo.result.CreateStatement;
+import strInfo.result.InsertStatement;
+import strInfo.result.SelectStatement;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * sql语句解析结果的有界缓存，以解析器名称与sql语句作为键，缓存的是不可变的语句对象，重复解析同一个sql语句的时候只需要一次哈希查找。
+ * <p>
+ * Bounded cache of SQL statement parsing results. The parser name and SQL statement are used as the key, and the cached objects are immutable statement objects. Only one hash lookup is required when parsing the same SQL statement repeatedly.
+ * <p>
+ * 缓存使用 CLOCK（二次机会）算法近似 LRU 淘汰，读取操作不需要加锁，只会在第一次命中的时候设置访问标记，写入与淘汰操作在同一把锁中进行。
+ * <p>
+ * The cache uses the CLOCK (second chance) algorithm to approximate LRU eviction. Read operations do not need locks and only set the access flag on the first hit. Write and eviction operations are performed in the same lock.
+ *
+ * @author zhao
+ */
+public final class ParseCache {
+
+    /**
+     * 内置解析器的名称与其解析结果的类型，只有这些类型的对象是不可变的，它们的子类可能是可变的对象，因此不会被缓存
+     */
+    private final static HashMap<String, Class<?>> STATEMENT_TYPES = new HashMap<>();
+
+    static {
+        STATEMENT_TYPES.put("select", SelectStatement.class);
+        STATEMENT_TYPES.put("insert", InsertStatement.class);
+        STATEMENT_TYPES.put("create", CreateStatement.class);
+        STATEMENT_TYPES.put("alter", AlterStatement.class);
+    }
+
+    private final ConcurrentHashMap<Key, Node> map;
+    private final ArrayDeque<Node> clock;
+    private final int maximumSize;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maximumSize 缓存中最多可以保存的解析结果数量
+     */
+    ParseCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new RuntimeException("解析结果缓存的容量必须大于0。\nThe capacity of the parsing result cache must be greater than 0.\nERROR => " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.map = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+        this.clock = new ArrayDeque<>(Math.min(maximumSize, 1 << 16));
+    }
+
+    /**
+     * 从缓存中获取到解析结果。
+     * <p>
+     * Get the parsing result from the cache.
+     *
+     * @param parserName 解析器的名称
+     * @param sql        被解析的sql语句
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 缓存中的解析结果，如果不存在返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <StatementType> StatementType get(String parserName, String sql) {
+        Node node = map.get(new Key(parserName, sql));
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hitCount.increment();
+        return (StatementType) node.value;
+    }
+
+    /**
+     * 将解析结果放入缓存，如果缓存已满，会淘汰最近没有被访问过的解析结果。只有 select insert create alter 四个内置解析器的结果类型会被缓存，其它对象会被忽略，因此缓存中不会出现可变的或者类型错误的对象。
+     * <p>
+     * Put the parsing result into the cache. If the cache is full, the parsing result that has not been accessed recently will be eliminated. Only the result types of the four built-in parsers select, insert, create and alter are cached, other objects are ignored, so there will be no mutable or wrongly typed objects in the cache.
+     *
+     * @param parserName 解析器的名称
+     * @param sql        被解析的sql语句
+     * @param statement  解析结果，类型必须与解析器名称对应的内置解析器的结果类型完全相同
+     */
+    public void put(String parserName, String sql, Object statement) {
+        if (sql == null || statement == null) return;
+        // 缓存是可选的，不能让解析失败，因此类型不符的解析结果只是不会被缓存
+        if (statement.getClass() != STATEMENT_TYPES.get(parserName)) return;
+        Key key = new Key(parserName, sql);
+        Node node = new Node(key, statement);
+        synchronized (clock) {
+            if (map.putIfAbsent(key, node) != null) return;
+            clock.addLast(node);
+            while (clock.size() > maximumSize) {
+                Node victim = clock.pollFirst();
+                if (victim.referenced) {
+                    victim.referenced = false;
+                    clock.addLast(victim);
+                } else {
+                    map.remove(victim.key, victim);
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 将指定解析器的所有解析结果从缓存中移除，在解析器被注册或注销的时候调用。
+     * <p>
+     * Remove all parsing results of the specified parser from the cache. Called when the parser is registered or unregistered.
+     *
+     * @param parserName 解析器的名称
+     */
+    public void invalidate(String parserName) {
+        synchronized (clock) {
+            Iterator<Node> iterator = clock.iterator();
+            while (iterator.hasNext()) {
+                Node node = iterator.next();
+                if (node.key.parserName.equals(parserName)) {
+                    iterator.remove();
+                    map.remove(node.key, node);
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空缓存中的所有解析结果，统计数据不会被清空。
+     * <p>
+     * Clear all parsing results in the cache. Statistics will not be cleared.
+     */
+    public void clear() {
+        synchronized (clock) {
+            clock.clear();
+            map.clear();
+        }
+    }
+
+    /**
+     * @return 缓存中当前保存的解析结果数量
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * @return 缓存中最多可以保存的解析结果数量
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return 缓存命中的次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return 缓存未命中的次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return 因为容量不足而被淘汰的解析结果数量
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return 缓存的命中率，如果还没有发生过查找，返回 1.0
+     * <p>
+     * The hit rate of the cache. If no search has occurred, return 1.0
+     */
+    public double getHitRate() {
+        long hit = hitCount.sum();
+        long total = hit + missCount.sum();
+        return total == 0 ? 1.0 : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseCache{size=" + size() + ", maximumSize=" + maximumSize +
+                ", hitCount=" + getHitCount() + ", missCount=" + getMissCount() +
+                ", evictionCount=" + getEvictionCount() + '}';
+    }
+
+    private final static class Key {
+        private final String parserName;
+        private final String sql;
+        private final int hash;
+
+        Key(String parserName, String sql) {
+            this.parserName = parserName;
+            this.sql = sql;
+            this.hash = sql.hashCode() * 31 + parserName.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return hash == key.hash && sql.equals(key.sql) && parserName.equals(key.parserName);
+        }
+    }
+
+    private final static class Node {
+        private final Key key;
+        private final Object value;
+        private volatile boolean referenced;
+
+        Node(Key key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package strInfo.manager;
+
+/**
+ * 解析过程的 Java Flight Recorder 事件入口，Java 8 中没有可以使用的 JFR 接口，因此这个版本中所有的函数都不做任何事情，Java 11 及以上的版本会使用多版本 jar 中 META-INF/versions/11 目录下的实现。
+ * <p>
+ * The Java Flight Recorder event entry of the parsing process. There is no JFR interface available in Java 8, so all functions in this version do nothing. Java 11 and above will use the implementation under the META-INF/versions/11 directory in the multi release jar.
+ *
+ * @author zhao
+ */
+final class ParseEvents {
+
+    private ParseEvents() {
+    }
+
+    /**
+     * @return 开始计时的事件对象，如果 JFR 没有在记录解析事件，返回null
+     */
+    static Object begin() {
+        return null;
+    }
+
+    /**
+     * 结束计时并提交事件。
+     *
+     * @param parseEvent 由 begin 返回的事件对象
+     * @param parserName 执行解析的解析器名称
+     * @param sql        被解析的sql语句
+     * @param statement  解析结果，解析失败的时候为null
+     */
+    static void commit(Object parseEvent, String parserName, CharSequence sql, Object statement) {
+    }
+}
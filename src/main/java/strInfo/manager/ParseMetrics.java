@@ -0,0 +1,139 @@
+package strInfo.manager;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 解析活动的统计数据，其中按照解析器名称保存了调用次数、失败次数、解析的字符数量与耗时直方图，同时保存了耗时最长的若干次调用。
+ * <p>
+ * Statistics of parsing activities, in which the number of calls, the number of failures, the number of characters parsed and the latency histogram are saved according to the parser name, and the longest calls are saved at the same time.
+ * <p>
+ * 统计默认是关闭的，通过 SQLParserManager.enableParseMetrics 启用，关闭的时候解析器只需要读取一次 volatile 字段。记录操作是无锁的，只有耗时超过最慢调用蓄水池中最短耗时的调用才会进入同步块。
+ * <p>
+ * Statistics are closed by default and enabled through SQLParserManager.enableParseMetrics. When closed, the parser only needs to read the volatile field once. Recording is lock free. Only calls whose latency exceeds the shortest latency in the slowest call reservoir will enter the synchronization block.
+ *
+ * @author zhao
+ */
+public final class ParseMetrics implements ParseMetricsMXBean {
+
+    /**
+     * 统计数据在平台 MBeanServer 中注册的名称
+     */
+    public final static String OBJECT_NAME = "strInfo:type=ParseMetrics";
+
+    private final ConcurrentHashMap<String, ParserMetrics> parsers = new ConcurrentHashMap<>(8);
+    /**
+     * 按照耗时从长到短排序的最慢调用蓄水池
+     */
+    private final SlowParse[] slowest;
+    /**
+     * 进入最慢调用蓄水池需要超过的耗时，蓄水池没有装满的时候是 -1
+     */
+    private volatile long slowestThreshold = -1;
+    private int slowestSize;
+
+    /**
+     * @param slowestCapacity 最慢调用蓄水池的容量
+     */
+    ParseMetrics(int slowestCapacity) {
+        if (slowestCapacity <= 0) {
+            throw new RuntimeException("最慢调用蓄水池的容量必须大于0。\nThe capacity of the slowest call reservoir must be greater than 0.\nERROR => " + slowestCapacity);
+        }
+        this.slowest = new SlowParse[slowestCapacity];
+    }
+
+    /**
+     * 记录一次 parseSql 调用，由解析器在解析结束之后调用。
+     * <p>
+     * Record a parseSql call, which is called by the parser after parsing.
+     *
+     * @param parserName 执行解析的解析器名称
+     * @param sql        被解析的sql语句
+     * @param nanos      调用的耗时，单位是纳秒
+     * @param failed     如果调用抛出了异常，为true
+     */
+    public void record(String parserName, CharSequence sql, long nanos, boolean failed) {
+        ParserMetrics parserMetrics = parsers.get(parserName);
+        if (parserMetrics == null) {
+            parserMetrics = parsers.computeIfAbsent(parserName, ParserMetrics::new);
+        }
+        parserMetrics.record(sql == null ? 0 : sql.length(), nanos, failed);
+        if (nanos > slowestThreshold) {
+            offerSlowest(new SlowParse(parserName, sql == null ? null : sql.toString(), nanos, System.currentTimeMillis(), failed));
+        }
+    }
+
+    private synchronized void offerSlowest(SlowParse slowParse) {
+        int index = slowestSize < slowest.length ? slowestSize++ : slowest.length - 1;
+        if (slowest[index] != null && slowest[index].getNanos() >= slowParse.getNanos()) return;
+        // 插入排序，被挤出蓄水池的是耗时最短的调用
+        while (index > 0 && slowest[index - 1].getNanos() < slowParse.getNanos()) {
+            slowest[index] = slowest[index - 1];
+            index--;
+        }
+        slowest[index] = slowParse;
+        if (slowestSize == slowest.length) {
+            slowestThreshold = slowest[slowestSize - 1].getNanos();
+        }
+    }
+
+    /**
+     * @param parserName 解析器的名称
+     * @return 指定解析器的统计数据，如果该解析器还没有被调用过，返回null
+     */
+    public ParserMetrics getParserMetrics(String parserName) {
+        return parsers.get(parserName);
+    }
+
+    @Override
+    public String[] getParserNames() {
+        return parsers.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public long getCallCount() {
+        long callCount = 0;
+        for (ParserMetrics parserMetrics : parsers.values()) {
+            callCount += parserMetrics.getCallCount();
+        }
+        return callCount;
+    }
+
+    @Override
+    public long getFailureCount() {
+        long failureCount = 0;
+        for (ParserMetrics parserMetrics : parsers.values()) {
+            failureCount += parserMetrics.getFailureCount();
+        }
+        return failureCount;
+    }
+
+    @Override
+    public ParserMetrics[] getParsers() {
+        return parsers.values().toArray(new ParserMetrics[0]);
+    }
+
+    @Override
+    public synchronized SlowParse[] getSlowestParses() {
+        SlowParse[] slowParses = new SlowParse[slowestSize];
+        System.arraycopy(slowest, 0, slowParses, 0, slowestSize);
+        return slowParses;
+    }
+
+    @Override
+    public void reset() {
+        for (ParserMetrics parserMetrics : parsers.values()) {
+            parserMetrics.reset();
+        }
+        synchronized (this) {
+            Arrays.fill(slowest, null);
+            slowestSize = 0;
+            slowestThreshold = -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParseMetrics{callCount=" + getCallCount() + ", failureCount=" + getFailureCount() + ", parsers=" + parsers.values() + '}';
+    }
+}
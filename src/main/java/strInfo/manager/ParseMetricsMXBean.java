@@ -0,0 +1,43 @@
+package strInfo.manager;
+
+/**
+ * 解析统计数据的 JMX 管理接口，启用解析统计之后，管理者会以 strInfo:type=ParseMetrics 为名称将统计数据注册到平台 MBeanServer 中，可以使用 JConsole 等工具查看。
+ * <p>
+ * JMX management interface of parsing statistics. After enabling parsing statistics, the manager will register the statistics in the platform MBeanServer with the name strInfo:type=ParseMetrics, which can be viewed by tools such as JConsole.
+ *
+ * @author zhao
+ */
+public interface ParseMetricsMXBean {
+
+    /**
+     * @return 所有被调用过的解析器名称
+     */
+    String[] getParserNames();
+
+    /**
+     * @return 所有解析器的 parseSql 被调用的次数总和
+     */
+    long getCallCount();
+
+    /**
+     * @return 所有解析器的 parseSql 抛出异常的次数总和
+     */
+    long getFailureCount();
+
+    /**
+     * @return 每一个解析器的统计数据
+     */
+    ParserMetrics[] getParsers();
+
+    /**
+     * @return 从启用统计或上一次重置开始，耗时最长的 parseSql 调用，按照耗时从长到短排序
+     */
+    SlowParse[] getSlowestParses();
+
+    /**
+     * 清空所有的统计数据。
+     * <p>
+     * Clear all statistics.
+     */
+    void reset();
+}
@@ -0,0 +1,98 @@
+package strInfo.manager;
+
+import strInfo.result.CreateStatement;
+import strInfo.result.SelectStatement;
+
+/**
+ * 一次 parseSql 调用的观测对象，负责将调用记录到解析统计与 JFR 事件中，只有在解析统计启用或者 JFR 正在记录解析事件的时候才会被创建。
+ * <p>
+ * The observation object of a parseSql call is responsible for recording the call in the parsing statistics and JFR events. It will only be created when the parsing statistics are enabled or JFR is recording parsing events.
+ * <p>
+ * 解析器的使用方式如下，没有任何观测的时候，解析器只需要读取一次 volatile 字段与一次 JFR 事件的启用标记。
+ * <p>
+ * The parser is used as follows. When there is no observation, the parser only needs to read the volatile field and the enable flag of the JFR event once.
+ * <pre>
+ * ParseProbe parseProbe = ParseProbe.start(name, sql);
+ * if (parseProbe == null) return parse(sql);
+ * StatementType statement = null;
+ * try {
+ *     return statement = parse(sql);
+ * } finally {
+ *     parseProbe.end(statement);
+ * }
+ * </pre>
+ *
+ * @author zhao
+ */
+public final class ParseProbe {
+
+    private final ParseMetrics parseMetrics;
+    private final Object parseEvent;
+    private final boolean ownsDeadline;
+    private final String parserName;
+    private final CharSequence sql;
+    private final long startTime;
+
+    private ParseProbe(ParseMetrics parseMetrics, Object parseEvent, boolean ownsDeadline, String parserName, CharSequence sql) {
+        this.parseMetrics = parseMetrics;
+        this.parseEvent = parseEvent;
+        this.ownsDeadline = ownsDeadline;
+        this.parserName = parserName;
+        this.sql = sql;
+        this.startTime = parseMetrics == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * 开始观测一次 parseSql 调用，如果设置了解析预算，会在这里检查sql语句的长度并开始计算截止时间。
+     * <p>
+     * Start observing a parseSql call. If the parsing budget is set, the length of the SQL statement will be checked here and the deadline will be calculated.
+     *
+     * @param parserName 执行解析的解析器名称
+     * @param sql        被解析的sql语句
+     * @return 观测对象，如果解析统计没有启用、JFR 没有在记录解析事件且没有设置解析预算，返回null
+     * @throws strInfo.parser.ParseBudgetExceededException sql语句的长度超过了解析预算
+     */
+    public static ParseProbe start(String parserName, CharSequence sql) {
+        ParseMetrics parseMetrics = SQLParserManager.getParseMetrics();
+        ParseBudget parseBudget = SQLParserManager.getParseBudget();
+        Object parseEvent = ParseEvents.begin();
+        if (parseMetrics == null && parseEvent == null && parseBudget == null) return null;
+        return new ParseProbe(parseMetrics, parseEvent, parseBudget != null && parseBudget.start(sql), parserName, sql);
+    }
+
+    /**
+     * 结束观测，清除截止时间，并将调用记录到解析统计与 JFR 事件中。
+     * <p>
+     * End the observation, clear the deadline, and record the call in the parsing statistics and JFR events.
+     *
+     * @param statement 解析结果，解析器抛出异常的时候为null
+     */
+    public void end(Object statement) {
+        if (ownsDeadline) {
+            ParseBudget.finish();
+        }
+        if (parseMetrics != null) {
+            parseMetrics.record(parserName, sql, System.nanoTime() - startTime, statement == null);
+        }
+        if (parseEvent != null) {
+            ParseEvents.commit(parseEvent, parserName, sql, statement);
+        }
+    }
+
+    /**
+     * @param statement 解析结果
+     * @return 语句中子查询嵌套的深度，没有子查询的语句返回0
+     */
+    static int subQueryDepth(Object statement) {
+        if (statement instanceof CreateStatement) {
+            SelectStatement selectStatement = ((CreateStatement) statement).getSelectStatement();
+            return selectStatement == null ? 0 : subQueryDepth(selectStatement) + 1;
+        }
+        if (!(statement instanceof SelectStatement)) return 0;
+        int depth = 0;
+        for (SelectStatement subQuery : ((SelectStatement) statement).getSubQueryList()) {
+            depth = Math.max(depth, subQueryDepth(subQuery) + 1);
+        }
+        return depth;
+    }
+}
@@ -0,0 +1,135 @@
+package strInfo.manager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个解析器的统计数据，其中包含调用次数、失败次数、解析的字符数量以及 parseSql 的耗时直方图，所有计数器都是无锁的。
+ * <p>
+ * Statistics of a single parser, including the number of calls, the number of failures, the number of characters parsed and the latency histogram of parseSql. All counters are lock free.
+ *
+ * @author zhao
+ */
+public final class ParserMetrics {
+
+    private final String name;
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder characterCount = new LongAdder();
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    ParserMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 记录一次 parseSql 调用。
+     *
+     * @param characters 被解析的sql语句的字符数量
+     * @param nanos      调用的耗时，单位是纳秒
+     * @param failed     如果调用抛出了异常，为true
+     */
+    void record(int characters, long nanos, boolean failed) {
+        latencyHistogram.record(nanos);
+        characterCount.add(characters);
+        if (failed) failureCount.increment();
+    }
+
+    /**
+     * @return 解析器的名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return parseSql 被调用的次数，包括失败的调用与命中缓存的调用
+     */
+    public long getCallCount() {
+        return latencyHistogram.getCount();
+    }
+
+    /**
+     * @return parseSql 抛出异常的次数
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * @return 所有被解析的sql语句的字符数量总和
+     */
+    public long getCharacterCount() {
+        return characterCount.sum();
+    }
+
+    /**
+     * @return parseSql 的总耗时，单位是纳秒
+     */
+    public long getTotalNanos() {
+        return latencyHistogram.getTotalNanos();
+    }
+
+    /**
+     * @return parseSql 的平均耗时，单位是纳秒
+     */
+    public double getMeanNanos() {
+        return latencyHistogram.getMeanNanos();
+    }
+
+    /**
+     * @return parseSql 耗时的中位数，单位是纳秒
+     */
+    public long getMedianNanos() {
+        return latencyHistogram.getPercentileNanos(50);
+    }
+
+    /**
+     * @return parseSql 耗时的 90 分位数，单位是纳秒
+     */
+    public long getP90Nanos() {
+        return latencyHistogram.getPercentileNanos(90);
+    }
+
+    /**
+     * @return parseSql 耗时的 99 分位数，单位是纳秒
+     */
+    public long getP99Nanos() {
+        return latencyHistogram.getPercentileNanos(99);
+    }
+
+    /**
+     * @return parseSql 耗时的 99.9 分位数，单位是纳秒
+     */
+    public long getP999Nanos() {
+        return latencyHistogram.getPercentileNanos(99.9);
+    }
+
+    /**
+     * @return parseSql 的最大耗时，单位是纳秒
+     */
+    public long getMaxNanos() {
+        return latencyHistogram.getMaxNanos();
+    }
+
+    /**
+     * @param percentile 分位数，取值范围是 [0, 100]
+     * @return parseSql 耗时的任意分位数，单位是纳秒
+     */
+    public long percentileNanos(double percentile) {
+        return latencyHistogram.getPercentileNanos(percentile);
+    }
+
+    /**
+     * 清空当前解析器的所有统计数据。
+     */
+    void reset() {
+        latencyHistogram.reset();
+        failureCount.reset();
+        characterCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ParserMetrics{name=" + name + ", callCount=" + getCallCount() + ", failureCount=" + getFailureCount() +
+                ", meanNanos=" + (long) getMeanNanos() + ", p99Nanos=" + getP99Nanos() + ", maxNanos=" + getMaxNanos() + '}';
+    }
+}
@@ -1,9 +1,29 @@
 package strInfo.manager;
 
+import strInfo.lexer.KeywordTable;
+import strInfo.lexer.SQLLexer;
+import strInfo.lexer.Utf8CharSequence;
+import strInfo.parser.AlterParser;
+import strInfo.parser.CreateParser;
+import strInfo.parser.InsertParser;
+import strInfo.parser.ParseResult;
+import strInfo.parser.SQLListener;
 import strInfo.parser.SQLParser;
+import strInfo.parser.SelectParser;
+import strInfo.parser.StatementPart;
+import strInfo.parser.UnsupportedStatementException;
 import strInfo.result.Builder;
 
-import java.util.HashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 /**
  * SQL解析库的管理者类，其中存储的都是全局唯一的数据解析组件，针对使用过的解析器，在这里都会有存储。
@@ -16,7 +36,21 @@ public final class SQLParserManager {
 
     public final static float VERSION = 1.1f;
 
-    private final static HashMap<String, SQLParser<?, ?>> hashMap = new HashMap<>(8);
+    private final static ConcurrentHashMap<String, SQLParser<?, ?>> hashMap = new ConcurrentHashMap<>(8);
+    /**
+     * 注册、注销解析器以及构建路由表时使用的锁，读取解析器与路由表的时候不需要加锁
+     */
+    private final static Object LOCK = new Object();
+    /**
+     * 启用解析统计时最慢调用蓄水池的默认容量
+     */
+    private final static int DEFAULT_SLOWEST_CAPACITY = 16;
+    private static volatile ParseCache parseCache;
+    private static volatile ParseMetrics parseMetrics;
+    private static volatile ParseBudget parseBudget;
+    private static volatile Router router;
+    private static volatile ForkJoinPool batchPool;
+    private static boolean defaultRegistered;
 
     /**
      * 将一个解析组件注册到管理者中，注册之后可以通过 getSQLParserByName 函数获取到对应名称的解析器对象。
@@ -26,7 +60,32 @@ public final class SQLParserManager {
      * @param sqlParser 需要被注册的解析器对象
      */
     public static void register(SQLParser<?, ?> sqlParser) {
-        hashMap.put(sqlParser.getName(), sqlParser);
+        synchronized (LOCK) {
+            hashMap.put(sqlParser.getName(), sqlParser);
+            router = null;
+        }
+        ParseCache parseCache = SQLParserManager.parseCache;
+        if (parseCache != null) parseCache.invalidate(sqlParser.getName());
+    }
+
+    /**
+     * 如果管理者中还没有同名的解析组件，就将解析组件注册到管理者中，该操作是原子的，多个线程同时注册同名组件时只会有一个组件注册成功。
+     * <p>
+     * If there is no resolution component with the same name in the manager, register the resolution component in the manager. This operation is atomic. When multiple threads register components with the same name at the same time, only one component will be registered successfully.
+     *
+     * @param sqlParser                    需要被注册的解析器对象
+     * @param <StatementType>              解析器返回的的结果对象类型
+     * @param <CreateStatementBuilderType> 解析器建造结果对象使用的建造者类
+     * @return 最终在管理者中注册的解析器对象，如果已经存在同名组件，返回的是已经存在的组件
+     */
+    @SuppressWarnings("unchecked")
+    public static <StatementType, CreateStatementBuilderType extends Builder<?>> SQLParser<StatementType, CreateStatementBuilderType> registerIfAbsent(SQLParser<StatementType, CreateStatementBuilderType> sqlParser) {
+        synchronized (LOCK) {
+            SQLParser<?, ?> exists = hashMap.putIfAbsent(sqlParser.getName(), sqlParser);
+            if (exists != null) return (SQLParser<StatementType, CreateStatementBuilderType>) exists;
+            router = null;
+            return sqlParser;
+        }
     }
 
     /**
@@ -53,6 +112,414 @@ public final class SQLParserManager {
      * @return 被注销的组件对象
      */
     public static SQLParser<?, ?> unRegisterByName(String sqlParserName) {
-        return hashMap.remove(sqlParserName);
+        SQLParser<?, ?> sqlParser;
+        synchronized (LOCK) {
+            sqlParser = hashMap.remove(sqlParserName);
+            router = null;
+        }
+        ParseCache parseCache = SQLParserManager.parseCache;
+        if (parseCache != null) parseCache.invalidate(sqlParserName);
+        return sqlParser;
+    }
+
+    /**
+     * 解析任意一个sql语句，该函数会跳过sql语句开头的空白与注释，使用完美哈希表识别出第一个关键字，并直接交由名称与关键字相同的解析器进行解析，不需要逐个尝试解析器。
+     * <p>
+     * Parse any SQL statement. This function will skip the blanks and comments at the beginning of the SQL statement, use the perfect hash table to identify the first keyword, and directly hand it over to the parser with the same name as the keyword for parsing, without trying the parsers one by one.
+     *
+     * @param sql             需要被解析的sql语句
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 解析之后的sql语句对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <StatementType> StatementType parse(CharSequence sql) {
+        int length = sql.length();
+        int start = SQLLexer.skipWhitespace(sql, 0, length);
+        int end = SQLLexer.wordEnd(sql, start, length);
+        SQLParser<?, ?> sqlParser = getRouter().route(sql, start, end);
+        if (sqlParser == null) {
+            throw new UnsupportedStatementException(sql.toString(), start, sql.subSequence(start, end).toString());
+        }
+        return (StatementType) sqlParser.parseSql(statementOf(sql, start, length));
+    }
+
+    /**
+     * 部分解析任意一个sql语句，只有被请求的部分会被填充到语句对象中，例如读写分离的路由可以只请求 TABLE，通过返回的语句对象的类型判断读写，通过表名判断路由。
+     * <p>
+     * Partially parse any SQL statement. Only the requested parts will be filled into the statement object. For example, the routing of read-write separation can only request TABLE, judge read-write by the type of the returned statement object, and judge routing by the table name.
+     *
+     * @param sql             需要被解析的sql语句
+     * @param parts           需要被填充到语句对象中的部分
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 只包含被请求部分的sql语句对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <StatementType> StatementType parse(CharSequence sql, EnumSet<StatementPart> parts) {
+        int length = sql.length();
+        int start = SQLLexer.skipWhitespace(sql, 0, length);
+        int end = SQLLexer.wordEnd(sql, start, length);
+        SQLParser<?, ?> sqlParser = getRouter().route(sql, start, end);
+        if (sqlParser == null) {
+            throw new UnsupportedStatementException(sql.toString(), start, sql.subSequence(start, end).toString());
+        }
+        return (StatementType) sqlParser.parseSql(statementOf(sql, start, length), parts);
+    }
+
+    /**
+     * 以推送的方式解析任意一个sql语句，识别出的子句会直接提供给监听器，监听器可以通过返回false提前结束解析，内置的 select 与 insert 解析器不会建造任何语句对象。
+     * <p>
+     * Parse any SQL statement in a push mode. The recognized clauses will be directly provided to the listener. The listener can end the parsing early by returning false. The built-in select and insert parsers will not build any statement object.
+     *
+     * @param sql      需要被解析的sql语句
+     * @param listener 接收子句的监听器，其中的区间指向的是去掉开头的空白与注释之后的sql语句
+     * @return 如果整个sql语句都被解析完毕，返回true，如果监听器提前结束了解析，返回false
+     * <p>
+     * If the entire SQL statement is parsed, it returns true. If the listener ends parsing early, it returns false
+     */
+    public static boolean parse(CharSequence sql, SQLListener listener) {
+        int length = sql.length();
+        int start = SQLLexer.skipWhitespace(sql, 0, length);
+        int end = SQLLexer.wordEnd(sql, start, length);
+        SQLParser<?, ?> sqlParser = getRouter().route(sql, start, end);
+        if (sqlParser == null) {
+            throw new UnsupportedStatementException(sql.toString(), start, sql.subSequence(start, end).toString());
+        }
+        return sqlParser.parseSql(start == 0 ? sql : sql.subSequence(start, length), listener);
+    }
+
+    /**
+     * 解析字节数组中一段 UTF-8 编码的sql语句，只由 ASCII 字符组成的sql语句不会被解码，语句对象中的子句会在被读取的时候才解码，语句对象会直接引用字节数组，在语句对象不再被使用之前，调用者不能修改或复用这些字节。
+     * <p>
+     * Parse a UTF-8 encoded SQL statement in a byte array. SQL statements composed only of ASCII characters will not be decoded, and the clauses in the statement object will be decoded only when they are read. The statement object will directly reference the byte array. The caller cannot modify or reuse these bytes until the statement object is no longer used.
+     *
+     * @param sql             包含sql语句的字节数组
+     * @param offset          sql语句在数组中的起始索引
+     * @param length          sql语句的字节数量
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 解析之后的sql语句对象
+     */
+    public static <StatementType> StatementType parse(byte[] sql, int offset, int length) {
+        return parse(Utf8CharSequence.of(sql, offset, length));
+    }
+
+    /**
+     * 解析缓冲区中从 position 到 limit 的 UTF-8 编码的sql语句，缓冲区的 position 与 limit 不会被修改，其它规则与 parse(byte[], int, int) 相同。
+     * <p>
+     * Parse the UTF-8 encoded SQL statement from position to limit in the buffer. The position and limit of the buffer will not be modified. Other rules are the same as parse(byte[], int, int).
+     *
+     * @param sql             包含sql语句的缓冲区
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 解析之后的sql语句对象
+     */
+    public static <StatementType> StatementType parse(ByteBuffer sql) {
+        return parse(Utf8CharSequence.of(sql));
+    }
+
+    /**
+     * 解析任意一个sql语句，与 parse 不同的是，解析失败的时候不会抛出异常，而是将失败的原因作为结果返回，没有对应解析器的语句不会创建任何异常对象以外的开销。
+     * <p>
+     * Parse any SQL statement. Unlike parse, when parsing fails, no exception will be thrown, but the reason for the failure will be returned as the result. Statements without corresponding parsers will not incur any overhead other than creating an exception object.
+     *
+     * @param sql             需要被解析的sql语句
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 解析结果，其中包含解析出来的语句对象或者解析失败的原因
+     */
+    @SuppressWarnings("unchecked")
+    public static <StatementType> ParseResult<StatementType> tryParse(CharSequence sql) {
+        int length = sql.length();
+        int start = SQLLexer.skipWhitespace(sql, 0, length);
+        int end = SQLLexer.wordEnd(sql, start, length);
+        SQLParser<?, ?> sqlParser = getRouter().route(sql, start, end);
+        if (sqlParser == null) {
+            return ParseResult.failure(new UnsupportedStatementException(sql.toString(), start, sql.subSequence(start, end).toString()));
+        }
+        return (ParseResult<StatementType>) sqlParser.tryParseSql(statementOf(sql, start, length));
+    }
+
+    /**
+     * 解析字节数组中一段 UTF-8 编码的sql语句，解析失败的时候不会抛出异常，而是将失败的原因作为结果返回，其它规则与 parse(byte[], int, int) 相同。
+     * <p>
+     * Parse a UTF-8 encoded SQL statement in a byte array. When parsing fails, no exception will be thrown, but the reason for the failure will be returned as the result. Other rules are the same as parse(byte[], int, int).
+     *
+     * @param sql             包含sql语句的字节数组
+     * @param offset          sql语句在数组中的起始索引
+     * @param length          sql语句的字节数量
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 解析结果，其中包含解析出来的语句对象或者解析失败的原因
+     */
+    public static <StatementType> ParseResult<StatementType> tryParse(byte[] sql, int offset, int length) {
+        return tryParse(Utf8CharSequence.of(sql, offset, length));
+    }
+
+    /**
+     * 解析缓冲区中从 position 到 limit 的 UTF-8 编码的sql语句，解析失败的时候不会抛出异常，而是将失败的原因作为结果返回，其它规则与 parse(ByteBuffer) 相同。
+     * <p>
+     * Parse the UTF-8 encoded SQL statement from position to limit in the buffer. When parsing fails, no exception will be thrown, but the reason for the failure will be returned as the result. Other rules are the same as parse(ByteBuffer).
+     *
+     * @param sql             包含sql语句的缓冲区
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 解析结果，其中包含解析出来的语句对象或者解析失败的原因
+     */
+    public static <StatementType> ParseResult<StatementType> tryParse(ByteBuffer sql) {
+        return tryParse(Utf8CharSequence.of(sql));
+    }
+
+    /**
+     * 截取去掉开头的空白与注释之后的sql语句，UTF-8 字节序列会保持原样交给解析器，其它字符序列会被转换为字符串，以便使用解析结果缓存。
+     *
+     * @param sql    完整的sql语句
+     * @param start  第一个关键字的起始索引
+     * @param length sql语句的长度
+     * @return 需要交给解析器的sql语句
+     */
+    private static CharSequence statementOf(CharSequence sql, int start, int length) {
+        CharSequence statement = start == 0 ? sql : sql.subSequence(start, length);
+        return statement instanceof Utf8CharSequence ? statement : statement.toString();
+    }
+
+    /**
+     * 按照sql语句的第一个关键字获取到能够解析该语句的解析器，语句开头的空白与注释会被跳过。
+     * <p>
+     * Get the parser that can parse the statement according to the first keyword of the SQL statement. The blanks and comments at the beginning of the statement will be skipped.
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 名称与语句第一个关键字相同的解析器，如果没有对应的解析器，返回null
+     */
+    public static SQLParser<?, ?> getSQLParserBySql(CharSequence sql) {
+        int length = sql.length();
+        int start = SQLLexer.skipWhitespace(sql, 0, length);
+        return getRouter().route(sql, start, SQLLexer.wordEnd(sql, start, length));
+    }
+
+    /**
+     * 使用批量解析线程池并行的解析所有的sql语句，每一个sql语句都会按照第一个关键字交由对应的解析器解析，单个语句的解析错误不会中断整个批次。
+     * <p>
+     * Use the batch parsing thread pool to parse all SQL statements in parallel. Each SQL statement will be parsed by the corresponding parser according to the first keyword. The parsing error of a single statement will not interrupt the entire batch.
+     *
+     * @param sqlList         需要被解析的所有sql语句
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 与输入顺序一致的批量解析结果，其中包含每一个语句的解析结果或解析错误
+     */
+    public static <StatementType> BatchParseResult<StatementType> parseAll(List<? extends CharSequence> sqlList) {
+        return BatchParseResult.parse(getBatchPool(), null, sqlList.toArray(new CharSequence[0]));
+    }
+
+    /**
+     * 使用批量解析线程池并行的解析流中的所有sql语句，解析结果的顺序与流中元素的顺序一致。
+     * <p>
+     * Use the batch parsing thread pool to parse all SQL statements in the stream in parallel. The order of parsing results is consistent with the order of elements in the stream.
+     *
+     * @param sqlStream       需要被解析的所有sql语句组成的流
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 与输入顺序一致的批量解析结果，其中包含每一个语句的解析结果或解析错误
+     */
+    public static <StatementType> BatchParseResult<StatementType> parseAll(Stream<? extends CharSequence> sqlStream) {
+        return BatchParseResult.parse(getBatchPool(), null, sqlStream.toArray(CharSequence[]::new));
+    }
+
+    /**
+     * 使用指定的解析器与批量解析线程池并行的解析所有的sql语句，单个语句的解析错误不会中断整个批次。
+     * <p>
+     * Use the specified parser and batch parsing thread pool to parse all SQL statements in parallel. The parsing error of a single statement will not interrupt the entire batch.
+     *
+     * @param sqlParser       用于解析所有语句的解析器
+     * @param sqlList         需要被解析的所有sql语句
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 与输入顺序一致的批量解析结果，其中包含每一个语句的解析结果或解析错误
+     */
+    public static <StatementType> BatchParseResult<StatementType> parseAll(SQLParser<StatementType, ?> sqlParser, List<? extends CharSequence> sqlList) {
+        return BatchParseResult.parse(getBatchPool(), sqlParser, sqlList.toArray(new CharSequence[0]));
+    }
+
+    /**
+     * 使用指定的解析器与批量解析线程池并行的解析流中的所有sql语句，解析结果的顺序与流中元素的顺序一致。
+     * <p>
+     * Use the specified parser and batch parsing thread pool to parse all SQL statements in the stream in parallel. The order of parsing results is consistent with the order of elements in the stream.
+     *
+     * @param sqlParser       用于解析所有语句的解析器
+     * @param sqlStream       需要被解析的所有sql语句组成的流
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 与输入顺序一致的批量解析结果，其中包含每一个语句的解析结果或解析错误
+     */
+    public static <StatementType> BatchParseResult<StatementType> parseAll(SQLParser<StatementType, ?> sqlParser, Stream<? extends CharSequence> sqlStream) {
+        return BatchParseResult.parse(getBatchPool(), sqlParser, sqlStream.toArray(CharSequence[]::new));
+    }
+
+    /**
+     * 设置批量解析使用的线程池，如果不设置，批量解析会使用 ForkJoinPool.commonPool()。
+     * <p>
+     * Set the thread pool used for batch parsing. If not set, batch parsing will use ForkJoinPool.commonPool().
+     *
+     * @param forkJoinPool 批量解析使用的线程池，设置为null代表使用公共线程池
+     */
+    public static void setBatchPool(ForkJoinPool forkJoinPool) {
+        SQLParserManager.batchPool = forkJoinPool;
+    }
+
+    /**
+     * @return 批量解析使用的线程池
+     */
+    public static ForkJoinPool getBatchPool() {
+        ForkJoinPool forkJoinPool = SQLParserManager.batchPool;
+        return forkJoinPool == null ? ForkJoinPool.commonPool() : forkJoinPool;
+    }
+
+    /**
+     * @return 由当前所有已注册的解析器构建出来的路由表，解析器发生变化之后会重新构建
+     */
+    private static Router getRouter() {
+        Router router = SQLParserManager.router;
+        if (router != null) return router;
+        synchronized (LOCK) {
+            router = SQLParserManager.router;
+            if (router == null) {
+                if (!defaultRegistered) {
+                    // 第一次路由之前确保内置的解析器都已经注册到管理者中，之后被注销的内置解析器不会再被自动注册
+                    defaultRegistered = true;
+                    SelectParser.getInstance();
+                    InsertParser.getInstance();
+                    CreateParser.getInstance();
+                    AlterParser.getInstance();
+                }
+                router = new Router(hashMap.values().toArray(new SQLParser<?, ?>[0]));
+                SQLParserManager.router = router;
+            }
+            return router;
+        }
+    }
+
+    /**
+     * 启用解析结果缓存，启用之后，所有解析器的 parseSql 函数在解析相同的sql语句时会直接返回缓存中的语句对象，如果缓存已经启用，之前缓存的结果会被丢弃。
+     * <p>
+     * Enable the parsing result cache. After enabling, the parseSql function of all parsers will directly return the statement object in the cache when parsing the same SQL statement. If the cache has been enabled, the previously cached results will be discarded.
+     *
+     * @param maximumSize 缓存中最多可以保存的解析结果数量
+     * @return 被启用的缓存对象，可以通过该对象获取到命中、未命中与淘汰的统计数据
+     */
+    public static ParseCache enableParseCache(int maximumSize) {
+        ParseCache parseCache = new ParseCache(maximumSize);
+        SQLParserManager.parseCache = parseCache;
+        return parseCache;
+    }
+
+    /**
+     * 关闭解析结果缓存，关闭之后每一次调用 parseSql 都会重新解析sql语句。
+     * <p>
+     * Close the parsing result cache. After closing, each call to parseSql will re-parse the SQL statement.
+     */
+    public static void disableParseCache() {
+        SQLParserManager.parseCache = null;
+    }
+
+    /**
+     * @return 当前正在使用的解析结果缓存，如果没有启用缓存，返回null
+     * <p>
+     * The parsing result cache currently in use. If the cache is not enabled, null is returned
+     */
+    public static ParseCache getParseCache() {
+        return SQLParserManager.parseCache;
+    }
+
+    /**
+     * 启用解析统计，启用之后所有解析器的 parseSql 调用都会被记录到统计数据中，统计数据同时会以 strInfo:type=ParseMetrics 为名称注册到平台 MBeanServer 中，如果统计已经启用，之前的统计数据会被丢弃。
+     * <p>
+     * Enable parsing statistics. After enabling, all parseSql calls of the parser will be recorded in the statistics, and the statistics will be registered in the platform MBeanServer with the name strInfo:type=ParseMetrics. If the statistics have been enabled, the previous statistics will be discarded.
+     *
+     * @return 被启用的统计数据对象
+     */
+    public static ParseMetrics enableParseMetrics() {
+        return enableParseMetrics(DEFAULT_SLOWEST_CAPACITY);
+    }
+
+    /**
+     * 启用解析统计，并指定最慢调用蓄水池的容量。
+     * <p>
+     * Enable parsing statistics and specify the capacity of the slowest call reservoir.
+     *
+     * @param slowestCapacity 最多保存多少次耗时最长的调用
+     * @return 被启用的统计数据对象
+     */
+    public static ParseMetrics enableParseMetrics(int slowestCapacity) {
+        ParseMetrics parseMetrics = new ParseMetrics(slowestCapacity);
+        synchronized (LOCK) {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            try {
+                ObjectName objectName = new ObjectName(ParseMetrics.OBJECT_NAME);
+                if (mBeanServer.isRegistered(objectName)) mBeanServer.unregisterMBean(objectName);
+                mBeanServer.registerMBean(parseMetrics, objectName);
+            } catch (JMException e) {
+                throw new RuntimeException("无法将解析统计注册到 MBeanServer 中。\nUnable to register parsing statistics with MBeanServer.\nERROR => " + e, e);
+            }
+            SQLParserManager.parseMetrics = parseMetrics;
+        }
+        return parseMetrics;
+    }
+
+    /**
+     * 关闭解析统计，同时将统计数据从平台 MBeanServer 中注销，关闭之后 parseSql 不会再进行计时。
+     * <p>
+     * Close the parsing statistics and unregister the statistics from the platform MBeanServer. After closing, parseSql will no longer be timed.
+     */
+    public static void disableParseMetrics() {
+        synchronized (LOCK) {
+            if (SQLParserManager.parseMetrics == null) return;
+            SQLParserManager.parseMetrics = null;
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            try {
+                ObjectName objectName = new ObjectName(ParseMetrics.OBJECT_NAME);
+                if (mBeanServer.isRegistered(objectName)) mBeanServer.unregisterMBean(objectName);
+            } catch (JMException e) {
+                throw new RuntimeException("无法将解析统计从 MBeanServer 中注销。\nUnable to unregister parsing statistics from MBeanServer.\nERROR => " + e, e);
+            }
+        }
+    }
+
+    /**
+     * @return 当前正在使用的解析统计，如果没有启用统计，返回null
+     * <p>
+     * The parsing statistics currently in use. If statistics are not enabled, null is returned
+     */
+    public static ParseMetrics getParseMetrics() {
+        return SQLParserManager.parseMetrics;
+    }
+
+    /**
+     * 设置所有解析器共用的解析预算，超出预算的 parseSql 调用会快速失败并抛出 ParseBudgetExceededException。
+     * <p>
+     * Set the parsing budget shared by all parsers. A parseSql call that exceeds the budget will fail quickly and throw ParseBudgetExceededException.
+     *
+     * @param parseBudget 解析预算，设置为null代表不限制
+     */
+    public static void setParseBudget(ParseBudget parseBudget) {
+        SQLParserManager.parseBudget = parseBudget;
+    }
+
+    /**
+     * @return 当前正在使用的解析预算，如果没有设置预算，返回null
+     */
+    public static ParseBudget getParseBudget() {
+        return SQLParserManager.parseBudget;
+    }
+
+    /**
+     * 将语句的第一个关键字映射到解析器的路由表，关键字就是解析器的名称。
+     */
+    private final static class Router {
+        private final KeywordTable keywordTable;
+        private final SQLParser<?, ?>[] sqlParsers;
+
+        Router(SQLParser<?, ?>[] sqlParsers) {
+            String[] names = new String[sqlParsers.length];
+            for (int i = 0; i < sqlParsers.length; i++) {
+                names[i] = sqlParsers[i].getName();
+            }
+            this.keywordTable = new KeywordTable(names);
+            this.sqlParsers = sqlParsers;
+        }
+
+        SQLParser<?, ?> route(CharSequence sql, int start, int end) {
+            int id = keywordTable.indexOf(sql, start, end);
+            return id < 0 ? null : sqlParsers[id];
+        }
     }
 }
@@ -0,0 +1,65 @@
+package strInfo.manager;
+
+/**
+ * 一次耗时较长的 parseSql 调用，由解析统计数据中的最慢调用蓄水池保存。
+ * <p>
+ * A long time parseSql call, which is saved by the slowest call reservoir in the parsing statistics.
+ *
+ * @author zhao
+ */
+public final class SlowParse {
+
+    private final String parserName;
+    private final String sql;
+    private final long nanos;
+    private final long timestamp;
+    private final boolean failed;
+
+    SlowParse(String parserName, String sql, long nanos, long timestamp, boolean failed) {
+        this.parserName = parserName;
+        this.sql = sql;
+        this.nanos = nanos;
+        this.timestamp = timestamp;
+        this.failed = failed;
+    }
+
+    /**
+     * @return 执行解析的解析器名称
+     */
+    public String getParserName() {
+        return parserName;
+    }
+
+    /**
+     * @return 被解析的sql语句
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return 解析的耗时，单位是纳秒
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return 解析结束时的毫秒时间戳
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return 如果解析抛出了异常，返回true
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "SlowParse{parserName=" + parserName + ", nanos=" + nanos + ", failed=" + failed + ", sql=" + sql + '}';
+    }
+}
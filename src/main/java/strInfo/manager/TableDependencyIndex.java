@@ -0,0 +1,190 @@
+package strInfo.manager;
+
+import strInfo.lexer.FromClauseScanner;
+import strInfo.lexer.SelectClauses;
+import strInfo.lexer.SelectLexer;
+import strInfo.lexer.SubQuerySpans;
+import strInfo.result.SelectStatement;
+import strInfo.result.Statement;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 表名到语句编号的并发倒排索引，用于查询结果缓存的失效：缓存一个 select 语句的结果时使用语句编号注册该语句，insert 或 alter 等语句修改一个表的时候，就可以查找到所有读取了该表的语句编号。
+ * <p>
+ * The concurrent inverted index from table names to statement IDs, which is used for the invalidation of the query result cache: when caching the result of a select statement, register the statement with the statement ID. When an insert or alter statement modifies a table, all the statement IDs that read the table can be found.
+ * <p>
+ * 每一个表名对应一个只保存 int 的哈希集合，查找操作不需要加锁，注册与注销操作只会锁住同一个表名对应的集合，因此可以容纳数百万个语句编号。表名在索引中会被去除首尾空白与反引号并转换为小写。
+ * <p>
+ * Each table name corresponds to a hash set that only stores int. The lookup operation does not need to be locked, and the registration and unregistration operations will only lock the set corresponding to the same table name, so millions of statement IDs can be accommodated. Table names in the index will be stripped of the leading and trailing blanks and backquotes and converted to lowercase.
+ *
+ * @author zhao
+ */
+public final class TableDependencyIndex {
+
+    private final static int[] NO_STATEMENTS = new int[0];
+
+    private final ConcurrentHashMap<String, IntHashSet> index = new ConcurrentHashMap<>();
+
+    /**
+     * 注册一个 select 语句读取的所有表，表名来自语句的sql中所有 select 的 from 子句，其中包括 where 子句与查询字段中的子查询，以及语句与所有嵌套子查询的 getTables 与 getTablesByRealName。
+     * <p>
+     * Register all the tables read by a select statement. The table names come from the from clauses of all selects in the SQL of the statement, including the sub queries in the where clause and in the query fields, as well as getTables and getTablesByRealName of the statement and all nested sub queries.
+     *
+     * @param statementId     语句编号，必须是非负整数，通常是查询结果缓存中的条目编号
+     * @param selectStatement 需要被注册的 select 语句
+     */
+    public void register(int statementId, SelectStatement selectStatement) {
+        checkStatementId(statementId);
+        for (String table : tablesOf(selectStatement)) {
+            index.compute(table, (key, statements) -> {
+                if (statements == null) statements = new IntHashSet();
+                statements.add(statementId);
+                return statements;
+            });
+        }
+    }
+
+    /**
+     * 注销一个 select 语句，该语句读取的表与注册时相同，没有任何语句编号的表会从索引中删除。
+     * <p>
+     * Unregister a select statement. The tables read by the statement are the same as those at the time of registration. Tables without any statement ID will be deleted from the index.
+     *
+     * @param statementId     注册时使用的语句编号
+     * @param selectStatement 注册时使用的 select 语句
+     */
+    public void unregister(int statementId, SelectStatement selectStatement) {
+        checkStatementId(statementId);
+        for (String table : tablesOf(selectStatement)) {
+            index.computeIfPresent(table, (key, statements) -> {
+                statements.remove(statementId);
+                return statements.size() == 0 ? null : statements;
+            });
+        }
+    }
+
+    /**
+     * 查找所有读取了指定表的语句编号，查找过程不需要加锁。
+     * <p>
+     * Find all the statement IDs that read the specified table. The lookup process does not need to be locked.
+     *
+     * @param tableName 表名
+     * @return 所有读取了该表的语句编号组成的新数组，没有语句读取该表的时候返回空数组
+     */
+    public int[] getStatementIds(String tableName) {
+        if (tableName == null) return NO_STATEMENTS;
+        IntHashSet statements = index.get(normalize(tableName));
+        return statements == null ? NO_STATEMENTS : statements.toArray();
+    }
+
+    /**
+     * 查找所有受到一个修改语句影响的语句编号，例如 InsertParser 或 AlterParser 解析出来的语句对象，修改的表来自语句对象的 getTableName。
+     * <p>
+     * Find all the statement IDs affected by a modification statement, such as the statement object parsed by InsertParser or AlterParser. The modified table comes from getTableName of the statement object.
+     *
+     * @param statement 修改表的语句对象
+     * @return 所有读取了被修改的表的语句编号组成的新数组
+     */
+    public int[] getAffectedStatementIds(Statement statement) {
+        return getStatementIds(statement.getTableName());
+    }
+
+    /**
+     * @param tableName   表名
+     * @param statementId 语句编号
+     * @return 指定的语句是否读取了指定的表，查找过程不需要加锁
+     */
+    public boolean contains(String tableName, int statementId) {
+        IntHashSet statements = tableName == null ? null : index.get(normalize(tableName));
+        return statements != null && statements.contains(statementId);
+    }
+
+    /**
+     * @return 索引中至少被一个语句读取的表的数量
+     */
+    public int getTableCount() {
+        return index.size();
+    }
+
+    /**
+     * 清空索引中的所有表与语句编号。
+     * <p>
+     * Clear all tables and statement IDs in the index.
+     */
+    public void clear() {
+        index.clear();
+    }
+
+    /**
+     * 收集 select 语句以及所有嵌套子查询读取的表，子查询使用栈逐层展开，不会递归。
+     */
+    private static HashSet<String> tablesOf(SelectStatement selectStatement) {
+        HashSet<String> tables = new HashSet<>();
+        String sql = selectStatement.getSqlStr();
+        if (sql != null) addTables(tables, sql);
+        ArrayDeque<SelectStatement> pending = new ArrayDeque<>();
+        pending.push(selectStatement);
+        while (!pending.isEmpty()) {
+            SelectStatement current = pending.pop();
+            for (String table : current.getTableList()) {
+                addTable(tables, table);
+            }
+            for (String table : current.getRealNameList()) {
+                // 别名之前没有表名的时候，真名是占位的 "null"
+                if (!"null".equals(table)) addTable(tables, table);
+            }
+            for (SelectStatement subQuery : current.getSubQueryList()) {
+                pending.push(subQuery);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * 扫描sql语句中的所有子查询区间，并收集最外层的语句与每一个子查询的 from 子句中的表名，子查询列表只包含 from 子句中第一个子查询之后的子查询，因此这里直接从sql语句中查找。每一个子查询只会被读取一次，无法扫描的语句或子查询会被跳过。
+     */
+    private static void addTables(HashSet<String> tables, String sql) {
+        SubQuerySpans subQueries = new SubQuerySpans();
+        if (!SelectLexer.scanSubQueries(sql, 0, sql.length(), subQueries)) subQueries.reset();
+        SelectClauses clauses = new SelectClauses();
+        FromClauseScanner fromClauseScanner = new FromClauseScanner();
+        // 编号为 -1 的是最外层的语句
+        for (int index = -1; index < subQueries.size(); index++) {
+            int start = index < 0 ? 0 : subQueries.getOpen(index) + 1;
+            int end = index < 0 ? sql.length() : subQueries.getClose(index);
+            int next = index < 0 ? subQueries.size() : subQueries.getNext(index);
+            int firstChild = index + 1 < next ? index + 1 : -1;
+            if (!SelectLexer.scan(sql, start, end, SelectClauses.SELECT, clauses, subQueries, firstChild)) continue;
+            fromClauseScanner.reset(sql, clauses.getStart(SelectClauses.FROM), clauses.getEnd(SelectClauses.FROM), subQueries, firstChild);
+            for (int kind = fromClauseScanner.next(); kind >= 0; kind = fromClauseScanner.next()) {
+                if (kind == FromClauseScanner.TABLE) {
+                    addTable(tables, sql.substring(fromClauseScanner.getStart(), fromClauseScanner.getEnd()));
+                }
+            }
+        }
+    }
+
+    private static void addTable(HashSet<String> tables, String table) {
+        String name = normalize(table);
+        if (!name.isEmpty()) tables.add(name);
+    }
+
+    /**
+     * @return 去除首尾空白与反引号并转换为小写之后的表名
+     */
+    private static String normalize(String tableName) {
+        int start = 0;
+        int end = tableName.length();
+        while (start < end && (tableName.charAt(start) <= ' ' || tableName.charAt(start) == '`')) start++;
+        while (end > start && (tableName.charAt(end - 1) <= ' ' || tableName.charAt(end - 1) == '`')) end--;
+        return tableName.substring(start, end).toLowerCase();
+    }
+
+    private static void checkStatementId(int statementId) {
+        if (statementId < 0) {
+            throw new RuntimeException("语句编号必须是非负整数。\nThe statement ID must be a non negative integer.\nERROR => " + statementId);
+        }
+    }
+}
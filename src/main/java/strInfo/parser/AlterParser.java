@@ -1,5 +1,10 @@
 package strInfo.parser;
 
+import strInfo.lexer.SQLKeywords;
+import strInfo.lexer.SQLLexer;
+import strInfo.manager.ParseBudget;
+import strInfo.manager.ParseCache;
+import strInfo.manager.ParseProbe;
 import strInfo.manager.SQLParserManager;
 import strInfo.result.AlterStatement;
 import strInfo.result.AlterStatementBuilder;
@@ -17,6 +22,17 @@ import java.util.regex.Pattern;
 public class AlterParser implements SQLParser<AlterStatement, AlterStatementBuilder> {
 
     private final static String Name = "alter";
+    private final static int ALTER_STATE = 1;
+    private final static int ADD_STATE = 2;
+    private final static int DROP_STATE = 3;
+    private final static int RENAME_STATE = 4;
+    private final static int CHANGE_STATE = 5;
+    private final static ParseStateTable STATES = new ParseStateTable()
+            .map(AlterStatement.ALTER_WORD, ALTER_STATE)
+            .map(AlterStatement.ADD_WORD, ADD_STATE)
+            .map(AlterStatement.DROP_WORD, DROP_STATE)
+            .map(AlterStatement.RENAME_WORD, RENAME_STATE)
+            .map(AlterStatement.CHANGE_WORD, CHANGE_STATE);
 
     /**
      * alter 数据提取，其中第1个括号中存储的是修改的表名，第2个括号是修改模式(解析词)
@@ -63,8 +79,7 @@ public class AlterParser implements SQLParser<AlterStatement, AlterStatementBuil
     public static AlterParser getInstance() {
         SQLParser<AlterStatement, AlterStatementBuilder> sqlParserByName = SQLParserManager.getSQLParserByName(AlterParser.Name);
         if (sqlParserByName == null) {
-            sqlParserByName = new AlterParser();
-            SQLParserManager.register(sqlParserByName);
+            sqlParserByName = SQLParserManager.registerIfAbsent(new AlterParser());
         }
         return (AlterParser) sqlParserByName;
     }
@@ -88,7 +103,63 @@ public class AlterParser implements SQLParser<AlterStatement, AlterStatementBuil
      */
     @Override
     public AlterStatement parseSql(String sql) {
-        return parseSqlByWord(AlterStatement.builder(), 0, sql, "alter");
+        return parseSql((CharSequence) sql);
+    }
+
+    /**
+     * 开始解析一个以字符序列表示的sql语句，解析直接在字符序列上进行，不会复制sql语句，只有字符串形式的sql语句会使用解析结果缓存。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    @Override
+    public AlterStatement parseSql(CharSequence sql) {
+        sql = SQLLexer.snapshot(sql);
+        ParseProbe parseProbe = ParseProbe.start(AlterParser.Name, sql);
+        if (parseProbe == null) {
+            return parseSqlCached(sql);
+        }
+        AlterStatement statement = null;
+        try {
+            return statement = parseSqlCached(sql);
+        } finally {
+            parseProbe.end(statement);
+        }
+    }
+
+    /**
+     * 解析一个sql语句，如果启用了解析结果缓存，会优先从缓存中获取解析结果。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    private AlterStatement parseSqlCached(CharSequence sql) {
+        ParseCache parseCache = SQLParserManager.getParseCache();
+        // 子类可能修改了解析器名称或者解析结果，因此只有内置解析器自身会使用缓存
+        if (parseCache == null || !(sql instanceof String) || this.getClass() != AlterParser.class) {
+            return parseWithSession(sql);
+        }
+        AlterStatement statement = parseCache.get(this.getName(), (String) sql);
+        if (statement == null) {
+            statement = parseWithSession(sql);
+            parseCache.put(this.getName(), (String) sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * 使用当前线程的解析会话中的建造者解析一个sql语句，解析结束之后建造者会被重置，不会继续持有sql语句。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    private AlterStatement parseWithSession(CharSequence sql) {
+        AlterStatementBuilder alterStatementBuilder = ParserSession.current().alterBuilder();
+        try {
+            return parse(alterStatementBuilder, 0, sql, "alter");
+        } finally {
+            alterStatementBuilder.reset();
+        }
     }
 
     /**
@@ -102,96 +173,120 @@ public class AlterParser implements SQLParser<AlterStatement, AlterStatementBuil
      */
     @Override
     public AlterStatement parseSqlByWord(AlterStatementBuilder StatementBuilder, int startIndex, String sql, String sqlWord) {
-        if (";".equals(sqlWord)) {
-            return StatementBuilder.create();
-        }
-        int wordNum = AlterStatement.getWordNum(sqlWord, AlterStatement.hashNum);
-        if (wordNum == AlterStatement.ALTER_WORD) {
-            Matcher matcher = ALTER_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                String mod = matcher.group(2);
-                return parseSqlByWord(
-                        StatementBuilder.setAlterStr(matcher.group().substring(5)).setSql(sql).setMod(mod).setTableName(matcher.group(1)),
-                        5, sql, mod
-                );
-            }
-            throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-        } else if (wordNum == AlterStatement.ADD_WORD) {
-            Matcher matcher = ADD_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                String addInFo = matcher.group(1);
-                // 获取到add的模式
-                int addWordNum = AlterStatement.getWordNum(addInFo, AlterStatement.hashNum);
-                if (addWordNum == AlterStatement.INDEX_WORD) {
-                    // 这种情况下代表添加的是索引
-                    Matcher matcher1 = ADD_INFO_PATTERN.matcher(sql);
-                    if (matcher1.find(startIndex)) {
-                        // 匹配到了正确的add语法
-                        return parseSqlByWord(
-                                StatementBuilder
-                                        .setAddStr(matcher.group() + ' ' + matcher1.group())
-                                        .setAddINFO(addInFo).setIndexName(matcher1.group(1)).setFieldStr(matcher1.group(2)),
-                                matcher1.end(), sql, ";"
-                        );
+        return parse(StatementBuilder, startIndex, sql, sqlWord);
+    }
+
+    /**
+     * 从指定的解析词开始运行解析状态机，直到到达结束状态
+     *
+     * @param StatementBuilder 累计的sql语句结果的建造类
+     * @param startIndex       解析词开始出现的索引位置
+     * @param sql              完整的sql语句
+     * @param sqlWord          需要被解析的sql解析词
+     * @return 解析之后的sql语句
+     */
+    private AlterStatement parse(AlterStatementBuilder StatementBuilder, int startIndex, CharSequence sql, String sqlWord) {
+        int state = STATES.stateOf(sqlWord);
+        int index = startIndex;
+        while (true) {
+            Matcher matcher;
+            switch (state) {
+                case ParseStateTable.END:
+                    return StatementBuilder.create();
+                case ALTER_STATE:
+                    matcher = ParserSession.current().matcher(ALTER_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new SQLSyntaxException(sql, index, sqlWord);
                     }
-                    throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-                } else if (addWordNum == AlterStatement.UNIQUE_WORD || addWordNum == AlterStatement.PRIMARY_WORD) {
-                    // 这种情况下代表添加的是约束，只需要取第二括号的内容
-                    Matcher matcher1 = ADD_INFO_PATTERN.matcher(sql);
-                    if (matcher1.find(startIndex)) {
-                        return parseSqlByWord(
-                                StatementBuilder
-                                        .setAddStr(matcher.group() + ' ' + matcher1.group())
-                                        .setAddINFO(addInFo).setFieldStr(matcher1.group(2)),
-                                matcher1.end(), sql, ";"
-                        );
-                    } else {
-                        throw new RuntimeException("add 约束子句解析错误。\nError parsing add constraint clause.\nERROR SQL => " + sql.substring(startIndex));
+                    StatementBuilder.setSql(sql).setAlterStr(matcher.start() + 5, matcher.end()).setMod(matcher.start(2), matcher.end(2)).setTableName(matcher.start(1), matcher.end(1));
+                    index = 5;
+                    state = STATES.stateOf(sql, matcher.start(2), matcher.end(2));
+                    break;
+                case ADD_STATE:
+                    matcher = ParserSession.current().matcher(ADD_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new SQLSyntaxException(sql, index, "add <definition>");
                     }
-                } else {
-                    // 这种情况代表的是添加的列
-                    Matcher matcher1 = ADD_COLUMN_PATTERN.matcher(sql);
-                    if (matcher1.find(startIndex)) {
-                        return parseSqlByWord(
-                                StatementBuilder
-                                        .setAddStr(matcher1.group())
-                                        .setAddINFO("field").setFieldStr(matcher1.group(1)),
-                                matcher1.end(), sql, ";"
-                        );
-                    } else {
-                        throw new RuntimeException("add 字段子句解析错误。\nParsing error of add field clause.\nERROR SQL => " + sql.substring(startIndex));
+                    index = parseAdd(StatementBuilder, matcher, index, sql);
+                    state = ParseStateTable.END;
+                    break;
+                case RENAME_STATE:
+                    matcher = ParserSession.current().matcher(RENAME_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new SQLSyntaxException(sql, index, "rename");
                     }
-                }
-            } else {
-                throw new RuntimeException("add 子句的语法发生了错误!!!\nError occurred in syntax of add clause!!!\nERROR SQL => " + sql.substring(startIndex));
-            }
-        } else if (wordNum == AlterStatement.RENAME_WORD) {
-            Matcher matcher = RENAME_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(
-                        StatementBuilder.setRenameStr(matcher.group(1)), matcher.end(), sql, ";"
-                );
+                    StatementBuilder.setRenameStr(matcher.start(1), matcher.end(1));
+                    index = matcher.end();
+                    state = ParseStateTable.END;
+                    break;
+                case DROP_STATE:
+                    matcher = ParserSession.current().matcher(DROP_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new SQLSyntaxException(sql, index, "drop");
+                    }
+                    StatementBuilder.setDropStr(matcher.start(1), matcher.end(1)).setFieldStr(matcher.start(1), matcher.end(1));
+                    index = matcher.end();
+                    state = ParseStateTable.END;
+                    break;
+                case CHANGE_STATE:
+                    matcher = ParserSession.current().matcher(CHANGE_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new SQLSyntaxException(sql, index, "change");
+                    }
+                    StatementBuilder.setChangeStr(matcher.start(2), matcher.end(2)).setFieldStr(matcher.start(1), matcher.end(1));
+                    index = matcher.end();
+                    state = ParseStateTable.END;
+                    break;
+                default:
+                    throw new IllegalParseWordException(sql, sqlWord);
             }
-            throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-        } else if (wordNum == AlterStatement.DROP_WORD) {
-            Matcher matcher = DROP_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                String dropCol = matcher.group(1);
-                return parseSqlByWord(
-                        StatementBuilder.setDropStr(dropCol).setFieldStr(dropCol), matcher.end(), sql, ";"
-                );
+        }
+    }
+
+    /**
+     * 解析 add 子句，add 之后的第一个单词决定了添加的是索引、约束还是列
+     *
+     * @param StatementBuilder 累计的sql语句结果的建造类
+     * @param matcher          已经匹配到 add 子句的 Matcher，其中第1个括号是 add 之后的第一个单词
+     * @param startIndex       add 解析词开始出现的索引位置
+     * @param sql              完整的sql语句
+     * @return add 子句结束的索引位置
+     */
+    private static int parseAdd(AlterStatementBuilder StatementBuilder, Matcher matcher, int startIndex, CharSequence sql) {
+        String addInFo = matcher.group(1);
+        // 获取到add的模式
+        int addWordNum = SQLKeywords.indexOf(sql, matcher.start(1), matcher.end(1));
+        if (addWordNum == AlterStatement.INDEX_WORD) {
+            // 这种情况下代表添加的是索引
+            Matcher matcher1 = ParserSession.current().matcher(ADD_INFO_PATTERN, ParseBudget.guard(sql));
+            if (!matcher1.find(startIndex)) {
+                throw new SQLSyntaxException(sql, startIndex, "add");
             }
-            throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-        } else if (wordNum == AlterStatement.CHANGE_WORD) {
-            Matcher matcher = CHANGE_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(
-                        StatementBuilder.setChangeStr(matcher.group(2)).setFieldStr(matcher.group(1)), matcher.end(), sql, ";"
-                );
+            // 匹配到了正确的add语法
+            StatementBuilder
+                    .setAddStr(matcher.group() + ' ' + matcher1.group())
+                    .setAddINFO(addInFo).setIndexName(matcher1.start(1), matcher1.end(1)).setFieldStr(matcher1.start(2), matcher1.end(2));
+            return matcher1.end();
+        } else if (addWordNum == AlterStatement.UNIQUE_WORD || addWordNum == AlterStatement.PRIMARY_WORD) {
+            // 这种情况下代表添加的是约束，只需要取第二括号的内容
+            Matcher matcher1 = ParserSession.current().matcher(ADD_INFO_PATTERN, ParseBudget.guard(sql));
+            if (!matcher1.find(startIndex)) {
+                throw new SQLSyntaxException(sql, matcher.end(), "<name> (<fields>);");
             }
-            throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
+            StatementBuilder
+                    .setAddStr(matcher.group() + ' ' + matcher1.group())
+                    .setAddINFO(addInFo).setFieldStr(matcher1.start(2), matcher1.end(2));
+            return matcher1.end();
         } else {
-            throw new RuntimeException("错误的解析词：" + sqlWord);
+            // 这种情况代表的是添加的列
+            Matcher matcher1 = ParserSession.current().matcher(ADD_COLUMN_PATTERN, ParseBudget.guard(sql));
+            if (!matcher1.find(startIndex)) {
+                throw new SQLSyntaxException(sql, matcher.end(), ";");
+            }
+            StatementBuilder
+                    .setAddStr(matcher1.start(), matcher1.end())
+                    .setAddINFO("field").setFieldStr(matcher1.start(1), matcher1.end(1));
+            return matcher1.end();
         }
     }
 }
@@ -1,9 +1,13 @@
 package strInfo.parser;
 
+import strInfo.lexer.SQLKeywords;
+import strInfo.lexer.SQLLexer;
+import strInfo.manager.ParseBudget;
+import strInfo.manager.ParseCache;
+import strInfo.manager.ParseProbe;
 import strInfo.manager.SQLParserManager;
 import strInfo.result.CreateStatement;
 import strInfo.result.CreateStatementBuilder;
-import strInfo.result.Statement;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -18,6 +22,17 @@ import java.util.regex.Pattern;
 public class CreateParser implements SQLParser<CreateStatement, CreateStatementBuilder> {
 
     private final static String Name = "create";
+    private final static int CREATE_STATE = 1;
+    private final static int FIELD_STATE = 2;
+    private final static int LIKE_STATE = 3;
+    private final static int OPTIONS_STATE = 4;
+    private final static int AS_STATE = 5;
+    private final static ParseStateTable STATES = new ParseStateTable()
+            .map(CreateStatement.CREATE_WORD, CREATE_STATE)
+            .map(CreateStatement.LEFT_BRACKET_WORD, FIELD_STATE)
+            .map(CreateStatement.LIKE_WORD, LIKE_STATE)
+            .map(CreateStatement.RIGHT_BRACKET_WORD, OPTIONS_STATE)
+            .map(CreateStatement.AS_WORD, AS_STATE);
 
     /**
      * create 表解析，其中第一个括号是表类型，第二个括号是表名，第三个括号是下一个解析词
@@ -54,8 +69,7 @@ public class CreateParser implements SQLParser<CreateStatement, CreateStatementB
     public static CreateParser getInstance() {
         SQLParser<CreateStatement, CreateStatementBuilder> sqlParserByName = SQLParserManager.getSQLParserByName(CreateParser.Name);
         if (sqlParserByName == null) {
-            sqlParserByName = new CreateParser();
-            SQLParserManager.register(sqlParserByName);
+            sqlParserByName = SQLParserManager.registerIfAbsent(new CreateParser());
         }
         return (CreateParser) sqlParserByName;
     }
@@ -78,7 +92,63 @@ public class CreateParser implements SQLParser<CreateStatement, CreateStatementB
      */
     @Override
     public CreateStatement parseSql(String sql) {
-        return parseSqlByWord(CreateStatement.builder(), 0, sql, "create");
+        return parseSql((CharSequence) sql);
+    }
+
+    /**
+     * 开始解析一个以字符序列表示的sql语句，解析直接在字符序列上进行，不会复制sql语句，只有字符串形式的sql语句会使用解析结果缓存。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    @Override
+    public CreateStatement parseSql(CharSequence sql) {
+        sql = SQLLexer.snapshot(sql);
+        ParseProbe parseProbe = ParseProbe.start(CreateParser.Name, sql);
+        if (parseProbe == null) {
+            return parseSqlCached(sql);
+        }
+        CreateStatement statement = null;
+        try {
+            return statement = parseSqlCached(sql);
+        } finally {
+            parseProbe.end(statement);
+        }
+    }
+
+    /**
+     * 解析一个sql语句，如果启用了解析结果缓存，会优先从缓存中获取解析结果。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    private CreateStatement parseSqlCached(CharSequence sql) {
+        ParseCache parseCache = SQLParserManager.getParseCache();
+        // 子类可能修改了解析器名称或者解析结果，因此只有内置解析器自身会使用缓存
+        if (parseCache == null || !(sql instanceof String) || this.getClass() != CreateParser.class) {
+            return parseWithSession(sql);
+        }
+        CreateStatement statement = parseCache.get(this.getName(), (String) sql);
+        if (statement == null) {
+            statement = parseWithSession(sql);
+            parseCache.put(this.getName(), (String) sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * 使用当前线程的解析会话中的建造者解析一个sql语句，解析结束之后建造者会被重置，不会继续持有sql语句。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    private CreateStatement parseWithSession(CharSequence sql) {
+        CreateStatementBuilder createStatementBuilder = ParserSession.current().createBuilder();
+        try {
+            return parse(createStatementBuilder, 0, sql, "create");
+        } finally {
+            createStatementBuilder.reset();
+        }
     }
 
 
@@ -93,59 +163,133 @@ public class CreateParser implements SQLParser<CreateStatement, CreateStatementB
      */
     @Override
     public CreateStatement parseSqlByWord(CreateStatementBuilder createStatementBuilder, int startIndex, String sql, String sqlWord) {
-        if (";".equals(sqlWord)) {
-            return createStatementBuilder.create();
-        }
-        int wordNum = Statement.getWordNum(sqlWord.toLowerCase(), CreateStatement.hashNum);
-        if (wordNum == CreateStatement.CREATE_WORD) {
-            Matcher matcher = TABLE_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(
-                        createStatementBuilder
-                                .setSQL(sql)
-                                .setCreateStr(matcher.group())
-                                .setTemporary(!matcher.group(1).equalsIgnoreCase("table"))
-                                .setTableName(matcher.group(2)),
-                        matcher.end(), sql, matcher.group(3)
-                );
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-            }
-        } else if (wordNum == CreateStatement.LEFT_BRACKET_WORD) {
-            Matcher matcher = FIELD_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(createStatementBuilder.setFieldStr(matcher.group(0)), matcher.end(), sql, ")");
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-            }
-        } else if (wordNum == CreateStatement.LIKE_WORD) {
-            Matcher matcher = LIKE_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(createStatementBuilder.setLikeStr(matcher.group(0)), matcher.end(), sql, matcher.group(1));
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-            }
-        } else if (wordNum == CreateStatement.RIGHT_BRACKET_WORD) {
-            if (startIndex < sql.length()) {
-                if (";".equals(sql.substring(startIndex + 1).trim())) {
-                    return parseSqlByWord(createStatementBuilder, startIndex, sql, ";");
-                } else {
-                    Matcher matcher = OPTIONS_PATTERN.matcher(sql);
-                    if (matcher.find(startIndex)) {
-                        return parseSqlByWord(createStatementBuilder.setOptionsStr(matcher.group(0)), matcher.end(), sql, matcher.group(1));
+        return parse(createStatementBuilder, startIndex, sql, sqlWord);
+    }
+
+    /**
+     * 从指定的解析词开始运行解析状态机，直到到达结束状态
+     *
+     * @param createStatementBuilder 累计的sql语句结果的建造类
+     * @param startIndex             解析词开始出现的索引位置
+     * @param sql                    完整的sql语句
+     * @param sqlWord                需要被解析的sql解析词
+     * @return 解析之后的sql语句
+     */
+    private CreateStatement parse(CreateStatementBuilder createStatementBuilder, int startIndex, CharSequence sql, String sqlWord) {
+        int state = STATES.stateOf(sqlWord);
+        int index = startIndex;
+        while (true) {
+            Matcher matcher;
+            switch (state) {
+                case ParseStateTable.END:
+                    return createStatementBuilder.create();
+                case CREATE_STATE:
+                    matcher = ParserSession.current().matcher(TABLE_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw headError(sql, index);
                     }
-                }
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-            }
-        } else if (wordNum == CreateStatement.AS_WORD) {
-            Matcher matcher = AS_PATTERN.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(
-                        createStatementBuilder.setSelectStatement(SelectParser.getInstance().parseSql(matcher.group(1))),
-                        matcher.end(), sql, ";"
-                );
+                    createStatementBuilder
+                            .setSQL(sql)
+                            .setCreateStr(matcher.start(), matcher.end())
+                            .setTemporary(SQLKeywords.indexOf(sql, matcher.start(1), matcher.end(1)) != CreateStatement.TABLE_WORD)
+                            .setTableName(matcher.start(2), matcher.end(2));
+                    index = matcher.end();
+                    state = STATES.stateOf(sql, matcher.start(3), matcher.end(3));
+                    break;
+                case FIELD_STATE:
+                    matcher = ParserSession.current().matcher(FIELD_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new SQLSyntaxException(sql, index, "(");
+                    }
+                    createStatementBuilder.setFieldStr(matcher.start(), matcher.end());
+                    index = matcher.end();
+                    state = OPTIONS_STATE;
+                    break;
+                case LIKE_STATE:
+                    matcher = ParserSession.current().matcher(LIKE_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new SQLSyntaxException(sql, index, "like");
+                    }
+                    createStatementBuilder.setLikeStr(matcher.start(), matcher.end());
+                    index = matcher.end();
+                    state = STATES.stateOf(sql, matcher.start(1), matcher.end(1));
+                    break;
+                case OPTIONS_STATE:
+                    if (index >= sql.length()) {
+                        throw new IllegalParseWordException(sql, ")");
+                    }
+                    if (isStatementEnd(sql, index + 1)) {
+                        state = ParseStateTable.END;
+                        break;
+                    }
+                    matcher = ParserSession.current().matcher(OPTIONS_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new SQLSyntaxException(sql, index, ")");
+                    }
+                    createStatementBuilder.setOptionsStr(matcher.start(), matcher.end());
+                    index = matcher.end();
+                    state = STATES.stateOf(sql, matcher.start(1), matcher.end(1));
+                    break;
+                case AS_STATE:
+                    matcher = ParserSession.current().matcher(AS_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find(index)) {
+                        throw new IllegalParseWordException(sql, "as");
+                    }
+                    // 子查询在完整的sql语句中原地解析，不会截取子字符串，也不会递归进入 select 解析器的 parseSql
+                    createStatementBuilder.setSelectStatement(SelectParser.getInstance().parseSelect(sql, matcher.start(1), matcher.end(1)));
+                    index = matcher.end();
+                    state = ParseStateTable.END;
+                    break;
+                default:
+                    throw new IllegalParseWordException(sql, sqlWord);
             }
         }
-        throw new RuntimeException("错误的解析词：" + sqlWord);
+    }
+
+    /**
+     * 在 create 语句的头部无法匹配的时候，按照 {@code create [temporary] table <table> (|like|as} 的顺序逐个检查，找到第一个不符合语法的位置与期望的解析词
+     *
+     * @param sql   头部无法匹配的sql语句
+     * @param index 检查的起始索引
+     * @return 包含失败位置与期望解析词的语法异常
+     */
+    private static SQLSyntaxException headError(CharSequence sql, int index) {
+        int end = sql.length();
+        int word = SQLLexer.skipWhitespace(sql, index, end);
+        int i = SQLLexer.wordEnd(sql, word, end);
+        if (!SQLLexer.equalsIgnoreCase(sql, word, i, "create")) return new SQLSyntaxException(sql, word, "create");
+        word = SQLLexer.skipWhitespace(sql, i, end);
+        i = SQLLexer.wordEnd(sql, word, end);
+        if (SQLLexer.equalsIgnoreCase(sql, word, i, "temporary")) {
+            word = SQLLexer.skipWhitespace(sql, i, end);
+            i = SQLLexer.wordEnd(sql, word, end);
+        }
+        if (!SQLLexer.equalsIgnoreCase(sql, word, i, "table")) return new SQLSyntaxException(sql, word, "table");
+        int tableStart = SQLLexer.skipWhitespace(sql, i, end);
+        i = tableStart;
+        while (i < end && !SQLLexer.isWhitespace(sql.charAt(i)) && sql.charAt(i) != '(' && sql.charAt(i) != ';') i++;
+        if (i == tableStart) return new SQLSyntaxException(sql, tableStart, "<table>");
+        // 表名之后需要是字段列表、like 或者 as
+        word = SQLLexer.skipWhitespace(sql, i, end);
+        i = SQLLexer.wordEnd(sql, word, end);
+        if (word == end || (sql.charAt(word) != '(' && !SQLLexer.equalsIgnoreCase(sql, word, i, "like") && !SQLLexer.equalsIgnoreCase(sql, word, i, "as"))) {
+            return new SQLSyntaxException(sql, word, "(");
+        }
+        return new SQLSyntaxException(sql, tableStart, "<table>");
+    }
+
+    /**
+     * @param sql   完整的sql语句
+     * @param index 检查的起始索引
+     * @return 如果从起始索引开始的剩余部分去掉首尾空白之后只剩下一个分号，返回true
+     */
+    private static boolean isStatementEnd(CharSequence sql, int index) {
+        int length = sql.length();
+        while (index < length && sql.charAt(index) <= ' ') index++;
+        if (index == length || sql.charAt(index) != ';') return false;
+        while (++index < length) {
+            if (sql.charAt(index) > ' ') return false;
+        }
+        return true;
     }
 }
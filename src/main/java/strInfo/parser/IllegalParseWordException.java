@@ -0,0 +1,26 @@
+package strInfo.parser;
+
+/**
+ * 调用 parseSqlByWord 时传入了解析器不认识的解析词时抛出的异常，这种异常通常是由扩展解析器时的错误造成的，而不是sql语句本身的错误。
+ * <p>
+ * The exception thrown when the parsing word that the parser does not know is passed in when calling parseSqlByWord. This exception is usually caused by an error when extending the parser, not by an error in the SQL statement itself.
+ *
+ * @author zhao
+ */
+public class IllegalParseWordException extends SQLParseException {
+
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * @param sql     正在被解析的sql语句
+     * @param sqlWord 解析器不认识的解析词
+     */
+    public IllegalParseWordException(CharSequence sql, String sqlWord) {
+        super(sql, -1, sqlWord);
+    }
+
+    @Override
+    public String getMessage() {
+        return "错误的解析词：" + getExpected();
+    }
+}
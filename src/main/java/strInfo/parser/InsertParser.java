@@ -1,9 +1,15 @@
 package strInfo.parser;
 
+import strInfo.lexer.SQLKeywords;
+import strInfo.lexer.SQLLexer;
+import strInfo.manager.ParseBudget;
+import strInfo.manager.ParseCache;
+import strInfo.manager.ParseProbe;
 import strInfo.manager.SQLParserManager;
 import strInfo.result.InsertStatement;
 import strInfo.result.InsertStatementBuilder;
 
+import java.util.EnumSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,7 +26,14 @@ public class InsertParser implements SQLParser<InsertStatement, InsertStatementB
      * 其中第一个括号匹配的是表名称，第二个括号匹配的是表字段，第三个括号匹配的是插入模式value或values，第四个括号匹配的是插入的数据
      */
     protected final static Pattern INSERT_PATTERN = Pattern.compile("(?<=insert into )(.*?)\\(([\\s\\S]*?)\\)\\s*(value[s]*)\\s*\\(([\\s\\S]*)\\);", Pattern.CASE_INSENSITIVE);
+    /**
+     * 只匹配 insert 语句头部的正则，第一个括号匹配的是表名称，第二个括号匹配的是表字段，第三个括号匹配的是插入模式value或values，插入的数据由扫描器在正则结束的位置开始扫描，避免正则表达式在数据量很大的时候进行回溯
+     */
+    private final static Pattern INSERT_HEAD_PATTERN = Pattern.compile("(?<=insert into )(.*?)\\(([\\s\\S]*?)\\)\\s*(value[s]*)\\s*\\(", Pattern.CASE_INSENSITIVE);
     private final static String Name = "insert";
+    private final static int INSERT_STATE = 1;
+    private final static ParseStateTable STATES = new ParseStateTable().map(InsertStatement.INSERT_WORD, INSERT_STATE);
+    private final static EnumSet<StatementPart> ALL_PARTS = EnumSet.allOf(StatementPart.class);
 
     /**
      * 获取到全局唯一的解析器对象，通过该函数，可以从管理者中获取到该解析器对象，如果管理者中不存在，该函数会在管理者中注册一个新组件。
@@ -32,8 +45,7 @@ public class InsertParser implements SQLParser<InsertStatement, InsertStatementB
     public static InsertParser getInstance() {
         SQLParser<InsertStatement, InsertStatementBuilder> sqlParserByName = SQLParserManager.getSQLParserByName(InsertParser.Name);
         if (sqlParserByName == null) {
-            sqlParserByName = new InsertParser();
-            SQLParserManager.register(sqlParserByName);
+            sqlParserByName = SQLParserManager.registerIfAbsent(new InsertParser());
         }
         return (InsertParser) sqlParserByName;
     }
@@ -56,7 +68,195 @@ public class InsertParser implements SQLParser<InsertStatement, InsertStatementB
      */
     @Override
     public InsertStatement parseSql(String sql) {
-        return parseSqlByWord(InsertStatement.builder(), 0, sql, "insert");
+        return parseSql((CharSequence) sql);
+    }
+
+    /**
+     * 开始解析一个以字符序列表示的sql语句，解析直接在字符序列上进行，不会复制sql语句，只有字符串形式的sql语句会使用解析结果缓存。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    @Override
+    public InsertStatement parseSql(CharSequence sql) {
+        sql = SQLLexer.snapshot(sql);
+        ParseProbe parseProbe = ParseProbe.start(InsertParser.Name, sql);
+        if (parseProbe == null) {
+            return parseSqlCached(sql);
+        }
+        InsertStatement statement = null;
+        try {
+            return statement = parseSqlCached(sql);
+        } finally {
+            parseProbe.end(statement);
+        }
+    }
+
+    /**
+     * 解析一个sql语句，如果启用了解析结果缓存，会优先从缓存中获取解析结果。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    private InsertStatement parseSqlCached(CharSequence sql) {
+        ParseCache parseCache = SQLParserManager.getParseCache();
+        // 子类可能修改了解析器名称或者解析结果，因此只有内置解析器自身会使用缓存
+        if (parseCache == null || !(sql instanceof String) || this.getClass() != InsertParser.class) {
+            return parseWithSession(sql, ALL_PARTS);
+        }
+        InsertStatement statement = parseCache.get(this.getName(), (String) sql);
+        if (statement == null) {
+            statement = parseWithSession(sql, ALL_PARTS);
+            parseCache.put(this.getName(), (String) sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * 部分解析一个sql语句，没有请求 DATA 的时候不会扫描插入的数据，语句对象中的sql语句会从 insert 延伸到sql语句的结尾，对于数据量很大的 insert 语句，只需要匹配语句的头部。
+     *
+     * @param sql   需要被解析的sql语句
+     * @param parts 需要被填充到语句对象中的部分
+     * @return 只包含被请求部分的sql语句对象
+     */
+    @Override
+    public InsertStatement parseSql(CharSequence sql, EnumSet<StatementPart> parts) {
+        sql = SQLLexer.snapshot(sql);
+        ParseProbe parseProbe = ParseProbe.start(InsertParser.Name, sql);
+        if (parseProbe == null) {
+            return parseWithSession(sql, parts);
+        }
+        InsertStatement statement = null;
+        try {
+            return statement = parseWithSession(sql, parts);
+        } finally {
+            parseProbe.end(statement);
+        }
+    }
+
+    /**
+     * 使用当前线程的解析会话中的建造者解析一个sql语句，解析结束之后建造者会被重置，不会继续持有sql语句。
+     *
+     * @param sql   需要被解析的sql语句
+     * @param parts 需要被填充到语句对象中的部分
+     * @return 解析之后的sql语句对象
+     */
+    private InsertStatement parseWithSession(CharSequence sql, EnumSet<StatementPart> parts) {
+        InsertStatementBuilder insertStatementBuilder = ParserSession.current().insertBuilder();
+        try {
+            return parse(insertStatementBuilder, 0, sql, "insert", parts);
+        } finally {
+            insertStatementBuilder.reset();
+        }
+    }
+
+    /**
+     * 以推送的方式解析一个sql语句，表名、每一个插入字段以及每一行数据会依次提供给监听器，不会建造任何语句对象，也不会使用解析结果缓存。
+     *
+     * @param sql      需要被解析的sql语句
+     * @param listener 接收子句的监听器
+     * @return 如果整个sql语句都被解析完毕，返回true，如果监听器提前结束了解析，返回false
+     */
+    @Override
+    public boolean parseSql(CharSequence sql, SQLListener listener) {
+        ParseProbe parseProbe = ParseProbe.start(InsertParser.Name, sql);
+        if (parseProbe == null) {
+            return pushInsert(sql, listener);
+        }
+        Boolean completed = null;
+        try {
+            return completed = pushInsert(sql, listener);
+        } finally {
+            parseProbe.end(completed);
+        }
+    }
+
+    /**
+     * 使用与 parse 相同的规则识别 insert 语句的头部，之后直接在插入数据的区间上逐行扫描
+     *
+     * @param sql      完整的sql语句
+     * @param listener 接收子句的监听器
+     * @return 监听器是否没有提前结束解析
+     */
+    private static boolean pushInsert(CharSequence sql, SQLListener listener) {
+        Matcher matcher = ParserSession.current().matcher(INSERT_HEAD_PATTERN, ParseBudget.guard(sql));
+        if (!matcher.find()) {
+            throw headError(sql);
+        }
+        // 监听器中可能会解析其它语句，从而重置线程中共用的 Matcher，因此在第一次回调之前取出所有需要的索引
+        int tableEnd = matcher.end(1);
+        int fieldsStart = matcher.start(2);
+        int fieldsEnd = matcher.end(2);
+        int headEnd = matcher.end();
+        int tableStart = SQLLexer.skipWhitespace(sql, matcher.start(1), tableEnd);
+        if (!listener.onTable(sql, tableStart, SQLLexer.trimEnd(sql, tableStart, tableEnd))) return false;
+        for (int i = fieldsStart; i < fieldsEnd; ) {
+            int fieldEnd = SQLLexer.listItemEnd(sql, i, fieldsEnd);
+            int fieldStart = SQLLexer.skipWhitespace(sql, i, fieldEnd);
+            if (fieldStart < fieldEnd && !listener.onField(sql, fieldStart, SQLLexer.trimEnd(sql, fieldStart, fieldEnd))) return false;
+            i = fieldEnd + 1;
+        }
+        int dataEnd = scanDataEnd(sql, headEnd);
+        if (dataEnd < 0) {
+            throw new SQLSyntaxException(sql, headEnd, ");");
+        }
+        int rowStart = headEnd;
+        while (rowStart >= 0) {
+            // 行中的逗号位于最外层，因此跳过所有的逗号之后才能到达该行的右括号
+            int rowEnd = rowStart;
+            while ((rowEnd = SQLLexer.listItemEnd(sql, rowEnd, dataEnd)) < dataEnd && sql.charAt(rowEnd) == ',') rowEnd++;
+            if (!listener.onInsertRow(sql, rowStart, rowEnd)) return false;
+            rowStart = nextRow(sql, rowEnd, dataEnd);
+        }
+        return true;
+    }
+
+    /**
+     * 在 insert 语句的头部无法匹配的时候，按照 {@code insert into <table> (<fields>) values (} 的顺序逐个检查，找到第一个不符合语法的位置与期望的解析词
+     *
+     * @param sql 头部无法匹配的sql语句
+     * @return 包含失败位置与期望解析词的语法异常
+     */
+    private static SQLSyntaxException headError(CharSequence sql) {
+        int end = sql.length();
+        int insertStart = SQLLexer.skipWhitespace(sql, 0, end);
+        int i = SQLLexer.wordEnd(sql, insertStart, end);
+        if (!SQLLexer.equalsIgnoreCase(sql, insertStart, i, "insert")) return new SQLSyntaxException(sql, insertStart, "insert");
+        int word = SQLLexer.skipWhitespace(sql, i, end);
+        i = SQLLexer.wordEnd(sql, word, end);
+        if (!SQLLexer.equalsIgnoreCase(sql, word, i, "into")) return new SQLSyntaxException(sql, word, "into");
+        i = SQLLexer.skipWhitespace(sql, i, end);
+        if (i == end || sql.charAt(i) == '(' || sql.charAt(i) == ';') return new SQLSyntaxException(sql, i, "<table>");
+        // 表名与字段列表之间不能换行，字段列表在第一个右括号处结束
+        while (i < end && sql.charAt(i) != '(' && sql.charAt(i) != '\n' && sql.charAt(i) != ';') i++;
+        if (i == end || sql.charAt(i) != '(') return new SQLSyntaxException(sql, i, "(");
+        i++;
+        while (i < end && sql.charAt(i) != ')') i++;
+        if (i == end) return new SQLSyntaxException(sql, i, ")");
+        word = SQLLexer.skipWhitespace(sql, i + 1, end);
+        i = SQLLexer.wordEnd(sql, word, end);
+        if (!SQLLexer.equalsIgnoreCase(sql, word, i, "value") && !SQLLexer.equalsIgnoreCase(sql, word, i, "values")) {
+            return new SQLSyntaxException(sql, word, "values");
+        }
+        i = SQLLexer.skipWhitespace(sql, i, end);
+        if (i == end || sql.charAt(i) != '(') return new SQLSyntaxException(sql, i, "(");
+        // 所有的解析词都存在，说明 insert 与 into 之间或 into 与表名之间不是一个空格
+        return new SQLSyntaxException(sql, insertStart, "insert into ");
+    }
+
+    /**
+     * @param sql     完整的sql语句
+     * @param index   当前行的右括号索引
+     * @param dataEnd 插入数据的结束索引（不包含）
+     * @return 下一行数据的起始索引，如果没有下一行，返回 -1
+     */
+    private static int nextRow(CharSequence sql, int index, int dataEnd) {
+        if (index >= dataEnd) return -1;
+        int i = SQLLexer.skipWhitespace(sql, index + 1, dataEnd);
+        if (i >= dataEnd || sql.charAt(i) != ',') return -1;
+        i = SQLLexer.skipWhitespace(sql, i + 1, dataEnd);
+        if (i >= dataEnd || sql.charAt(i) != '(') return -1;
+        return i + 1;
     }
 
     /**
@@ -70,25 +270,99 @@ public class InsertParser implements SQLParser<InsertStatement, InsertStatementB
      */
     @Override
     public InsertStatement parseSqlByWord(InsertStatementBuilder insertStatementBuilder, int startIndex, String sql, String sqlWord) {
-        if (";".equals(sqlWord)) {
-            return insertStatementBuilder.create();
-        } else if ("insert".equalsIgnoreCase(sqlWord)) {
-            Matcher matcher = INSERT_PATTERN.matcher(sql);
-            if (matcher.find()) {
-                String valueORvalues = matcher.group(3);
-                char last = valueORvalues.charAt(valueORvalues.length() - 1);
-                return parseSqlByWord(
-                        insertStatementBuilder.setSQL(matcher.group())
-                                .setTableName(matcher.group(1))
-                                .setFieldStr(matcher.group(2))
-                                .setMultiline(last == 's' || last == 'S')
-                                .setDataStr(matcher.group(4)),
-                        matcher.end(), sql, ";"
-                );
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
+        return parse(insertStatementBuilder, startIndex, sql, sqlWord, ALL_PARTS);
+    }
+
+    /**
+     * 从指定的解析词开始运行解析状态机，直到到达结束状态
+     *
+     * @param insertStatementBuilder 累计的sql语句结果的建造类
+     * @param startIndex             解析词开始出现的索引位置
+     * @param sql                    完整的sql语句
+     * @param sqlWord                需要被解析的sql解析词
+     * @param parts                  需要被填充到语句对象中的部分
+     * @return 解析之后的sql语句
+     */
+    private InsertStatement parse(InsertStatementBuilder insertStatementBuilder, int startIndex, CharSequence sql, String sqlWord, EnumSet<StatementPart> parts) {
+        int state = STATES.stateOf(sqlWord);
+        while (true) {
+            switch (state) {
+                case ParseStateTable.END:
+                    return insertStatementBuilder.create();
+                case INSERT_STATE:
+                    Matcher matcher = ParserSession.current().matcher(INSERT_HEAD_PATTERN, ParseBudget.guard(sql));
+                    if (!matcher.find()) {
+                        throw headError(sql);
+                    }
+                    insertStatementBuilder.setSource(sql)
+                            .setMultiline(SQLKeywords.indexOf(sql, matcher.start(3), matcher.end(3)) == InsertStatement.VALUES_WORD);
+                    if (parts.contains(StatementPart.TABLE)) {
+                        insertStatementBuilder.setTableName(matcher.start(1), matcher.end(1));
+                    }
+                    if (parts.contains(StatementPart.FIELD)) {
+                        insertStatementBuilder.setFieldStr(matcher.start(2), matcher.end(2));
+                    }
+                    if (!parts.contains(StatementPart.DATA)) {
+                        // 插入的数据没有被请求，不需要扫描数据就可以结束解析
+                        insertStatementBuilder.setSQL(matcher.start(), sql.length());
+                        state = ParseStateTable.END;
+                        break;
+                    }
+                    int dataEnd = scanDataEnd(sql, matcher.end());
+                    if (dataEnd < 0) {
+                        throw new SQLSyntaxException(sql, matcher.end(), ");");
+                    }
+                    insertStatementBuilder
+                            .setSQL(matcher.start(), semicolonAfter(sql, dataEnd) + 1)
+                            .setDataStr(matcher.end(), dataEnd);
+                    state = ParseStateTable.END;
+                    break;
+                default:
+                    throw new IllegalParseWordException(sql, sqlWord);
             }
         }
-        throw new RuntimeException("错误的解析词：" + sqlWord);
+    }
+
+    /**
+     * 从第一行数据的起始位置开始扫描，找到语句结尾的分号之前的最后一个右括号，引号与注释中的分号不会被视为语句的结尾。
+     *
+     * @param sql   完整的sql语句
+     * @param start 第一行数据的起始索引，位于第一个左括号之后
+     * @return 最后一个右括号的索引，也就是插入数据的结束索引（不包含），如果语句不是以右括号与分号结尾，返回 -1
+     */
+    private static int scanDataEnd(CharSequence sql, int start) {
+        final int length = sql.length();
+        int i = start;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (SQLLexer.isQuote(c)) {
+                i = SQLLexer.skipQuoted(sql, i, length);
+                if (i < 0) return -1;
+                continue;
+            }
+            int next = SQLLexer.skipComment(sql, i, length);
+            if (next != i) {
+                i = next;
+                continue;
+            }
+            if (c == ';') {
+                int end = SQLLexer.trimEnd(sql, start, i);
+                return end > start && sql.charAt(end - 1) == ')' ? end - 1 : -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * @param sql   完整的sql语句
+     * @param start 查找的起始索引
+     * @return 起始索引之后的第一个分号的索引，如果没有分号，返回 -1
+     */
+    private static int semicolonAfter(CharSequence sql, int start) {
+        for (int i = start, length = sql.length(); i < length; i++) {
+            if (sql.charAt(i) == ';') return i;
+        }
+        return -1;
     }
 }
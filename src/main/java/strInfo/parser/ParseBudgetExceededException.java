@@ -0,0 +1,34 @@
+package strInfo.parser;
+
+/**
+ * sql语句超出了解析预算时抛出的异常，可能是语句的长度超过了允许的最大长度，也可能是解析的耗时超过了截止时间。
+ * <p>
+ * The exception thrown when the SQL statement exceeds the parsing budget. It may be that the length of the statement exceeds the maximum allowed length, or the parsing time exceeds the deadline.
+ *
+ * @author zhao
+ */
+public class ParseBudgetExceededException extends SQLParseException {
+
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * @param sql         超出预算的sql语句
+     * @param errorOffset 超出预算时正在读取的字符索引，长度超出限制的时候是允许的最大长度
+     * @param expected    被超出的预算，例如 {@code length <= 1048576} 或者 {@code deadline 100 ms}
+     */
+    public ParseBudgetExceededException(CharSequence sql, int errorOffset, String expected) {
+        super(sql, errorOffset, expected);
+    }
+
+    @Override
+    protected String describe() {
+        return "sql语句超出了解析预算：";
+    }
+
+    @Override
+    public String getMessage() {
+        // 超出预算的语句可能非常长，因此异常信息中只保留语句的开头部分
+        String sql = getSql();
+        return describe() + (sql.length() > 128 ? sql.substring(0, 128) + "..." : sql) + SQLParser.ERROR + getExpected() + " (offset " + getErrorOffset() + ')';
+    }
+}
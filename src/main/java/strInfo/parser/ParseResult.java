@@ -0,0 +1,86 @@
+package strInfo.parser;
+
+/**
+ * 不抛出异常的解析结果，其中保存的是解析出来的语句对象，或者解析失败的原因，由 tryParseSql 返回。
+ * <p>
+ * The parsing result without throwing an exception, which contains the parsed statement object or the reason for the parsing failure. It is returned by tryParseSql.
+ *
+ * @param <StatementType> 解析器返回的的结果对象类型
+ * @author zhao
+ */
+public final class ParseResult<StatementType> {
+
+    private final StatementType statement;
+    private final SQLParseException error;
+
+    private ParseResult(StatementType statement, SQLParseException error) {
+        this.statement = statement;
+        this.error = error;
+    }
+
+    /**
+     * @param statement       解析出来的语句对象
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 解析成功的结果
+     */
+    public static <StatementType> ParseResult<StatementType> success(StatementType statement) {
+        return new ParseResult<>(statement, null);
+    }
+
+    /**
+     * @param error           解析失败的原因
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 解析失败的结果
+     */
+    public static <StatementType> ParseResult<StatementType> failure(SQLParseException error) {
+        return new ParseResult<>(null, error);
+    }
+
+    /**
+     * @return 如果解析成功，返回true
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return 解析出来的语句对象，解析失败的时候返回null
+     */
+    public StatementType getStatement() {
+        return statement;
+    }
+
+    /**
+     * @return 解析出来的语句对象，如果解析失败，会将失败的原因抛出
+     */
+    public StatementType getOrThrow() {
+        if (error != null) throw error;
+        return statement;
+    }
+
+    /**
+     * @return 解析失败的原因，解析成功的时候返回null
+     */
+    public SQLParseException getError() {
+        return error;
+    }
+
+    /**
+     * @return 解析失败的位置在sql语句中的索引，解析成功或无法确定位置的时候返回 -1
+     */
+    public int getErrorOffset() {
+        return error == null ? -1 : error.getErrorOffset();
+    }
+
+    /**
+     * @return 在错误的位置期望出现的解析词，解析成功的时候返回null
+     */
+    public String getExpected() {
+        return error == null ? null : error.getExpected();
+    }
+
+    @Override
+    public String toString() {
+        return error == null ? "ParseResult{statement=" + statement + '}' : "ParseResult{errorOffset=" + error.getErrorOffset() + ", expected=" + error.getExpected() + '}';
+    }
+}
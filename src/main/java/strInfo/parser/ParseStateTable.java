@@ -0,0 +1,61 @@
+package strInfo.parser;
+
+import strInfo.lexer.SQLKeywords;
+
+import java.util.Arrays;
+
+/**
+ * 解析词到解析状态的映射表，解析器的 parseSqlByWord 是一个由该表驱动的状态机：每一个状态处理完自己负责的子句之后，只需要在循环中切换到下一个状态，而不是递归调用 parseSqlByWord，因此无论语句多复杂，解析过程使用的 Java 栈深度都是固定的。
+ * <p>
+ * The mapping table from parsing words to parsing states. The parseSqlByWord of a parser is a state machine driven by this table: after each state processes the clause it is responsible for, it only needs to switch to the next state in the loop instead of recursively calling parseSqlByWord. Therefore, no matter how complex the statement is, the depth of the Java stack used by the parsing process is fixed.
+ * <p>
+ * 分号在所有的映射表中都对应结束状态 END，不属于解析器的解析词对应 -1。
+ * <p>
+ * The semicolon corresponds to the end state END in all mapping tables, and parsing words that do not belong to the parser correspond to - 1.
+ *
+ * @author zhao
+ */
+final class ParseStateTable {
+
+    /**
+     * 结束状态，处于该状态的时候解析器会建造并返回语句对象
+     */
+    final static int END = 0;
+
+    private final int[] states = new int[SQLKeywords.size()];
+
+    ParseStateTable() {
+        Arrays.fill(states, -1);
+        states[SQLKeywords.SEMICOLON] = END;
+    }
+
+    /**
+     * @param keyword 解析词编号，例如 SQLKeywords.WHERE
+     * @param state   解析词对应的状态
+     * @return 链式调用
+     */
+    ParseStateTable map(int keyword, int state) {
+        states[keyword] = state;
+        return this;
+    }
+
+    /**
+     * @param sqlWord 解析词
+     * @return 解析词对应的状态，如果解析词不属于当前解析器，返回 -1
+     */
+    int stateOf(String sqlWord) {
+        int keyword = SQLKeywords.indexOf(sqlWord);
+        return keyword < 0 ? -1 : states[keyword];
+    }
+
+    /**
+     * @param sql   包含解析词的sql语句
+     * @param start 解析词的起始索引
+     * @param end   解析词的结束索引（不包含）
+     * @return 解析词对应的状态，如果解析词不属于当前解析器，返回 -1
+     */
+    int stateOf(CharSequence sql, int start, int end) {
+        int keyword = SQLKeywords.indexOf(sql, start, end);
+        return keyword < 0 ? -1 : states[keyword];
+    }
+}
@@ -0,0 +1,157 @@
+package strInfo.parser;
+
+import strInfo.lexer.FromClauseScanner;
+import strInfo.lexer.SelectClauses;
+import strInfo.lexer.SubQuerySpans;
+import strInfo.result.AlterStatementBuilder;
+import strInfo.result.CreateStatementBuilder;
+import strInfo.result.InsertStatementBuilder;
+import strInfo.result.SelectStatement;
+import strInfo.result.SelectStatementBuilder;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 线程封闭的解析会话，其中保存了解析过程中需要的 Matcher、建造者与子句扫描结果，同一个线程中的所有解析都会复用这些对象，因此在稳定状态下解析一个语句只需要创建最终的语句对象。
+ * <p>
+ * A thread-confined parsing session, which stores the Matcher, builders and clause scanning results needed in the parsing process. All parsing in the same thread will reuse these objects, so in a steady state, parsing a statement only needs to create the final statement object.
+ * <p>
+ * select 语句的解析过程不会递归，但是解析可能在另一次解析的过程中被再次发起（例如 create ... as select），因此 select 使用的对象保存在按照进入顺序分配的栈帧中，其它解析器的解析过程中，Matcher 都是在读取完匹配结果之后才会被再次使用，因此可以按照正则表达式共享。
+ * <p>
+ * The parsing of the select statement is not recursive, but a parse may be started again during another parse (for example, create ... as select), so the objects used by select are saved in stack frames allocated in the order of entry. In the parsing process of other parsers, the Matcher will be reused only after the matching results are read, so it can be shared according to the regular expression.
+ *
+ * @author zhao
+ */
+final class ParserSession {
+
+    /**
+     * 超过该长度的sql语句不会使用缓存的 Matcher，避免线程长时间持有超长的sql语句
+     */
+    private final static int MAX_CACHED_INPUT = 1 << 14;
+    private final static ThreadLocal<ParserSession> SESSIONS = ThreadLocal.withInitial(ParserSession::new);
+
+    private final InsertStatementBuilder insertStatementBuilder = new InsertStatementBuilder();
+    private final CreateStatementBuilder createStatementBuilder = new CreateStatementBuilder();
+    private final AlterStatementBuilder alterStatementBuilder = new AlterStatementBuilder();
+    private Pattern[] patterns = new Pattern[16];
+    private Matcher[] matchers = new Matcher[16];
+    private int matcherCount;
+    private SelectFrame[] selectFrames = new SelectFrame[4];
+    private int selectDepth;
+
+    private ParserSession() {
+    }
+
+    /**
+     * @return 当前线程的解析会话
+     */
+    static ParserSession current() {
+        return SESSIONS.get();
+    }
+
+    /**
+     * 获取到指定正则表达式的 Matcher，并将其重置为匹配新的字符序列。
+     *
+     * @param pattern 正则表达式
+     * @param input   需要被匹配的字符序列
+     * @return 已经被重置的 Matcher，在下一次获取同一个正则表达式的 Matcher 之前有效
+     */
+    Matcher matcher(Pattern pattern, CharSequence input) {
+        if (input.length() > MAX_CACHED_INPUT) return pattern.matcher(input);
+        for (int i = 0; i < matcherCount; i++) {
+            if (patterns[i] == pattern) return matchers[i].reset(input);
+        }
+        if (matcherCount == patterns.length) {
+            patterns = Arrays.copyOf(patterns, matcherCount << 1);
+            matchers = Arrays.copyOf(matchers, matcherCount << 1);
+        }
+        Matcher matcher = pattern.matcher(input);
+        patterns[matcherCount] = pattern;
+        matchers[matcherCount++] = matcher;
+        return matcher;
+    }
+
+    /**
+     * @return 已经被重置的 insert 建造者，解析结束之后需要再次重置，避免建造者继续持有sql语句
+     */
+    InsertStatementBuilder insertBuilder() {
+        return insertStatementBuilder.reset();
+    }
+
+    /**
+     * @return 已经被重置的 create 建造者，解析结束之后需要再次重置，避免建造者继续持有sql语句
+     */
+    CreateStatementBuilder createBuilder() {
+        return createStatementBuilder.reset();
+    }
+
+    /**
+     * @return 已经被重置的 alter 建造者，解析结束之后需要再次重置，避免建造者继续持有sql语句
+     */
+    AlterStatementBuilder alterBuilder() {
+        return alterStatementBuilder.reset();
+    }
+
+    /**
+     * 进入下一层 select 语句的解析，必须与 exitSelect 成对调用。
+     *
+     * @return 当前嵌套深度的栈帧，其中的对象都已经被重置
+     */
+    SelectFrame enterSelect() {
+        if (selectDepth == selectFrames.length) {
+            selectFrames = Arrays.copyOf(selectFrames, selectDepth << 1);
+        }
+        SelectFrame selectFrame = selectFrames[selectDepth];
+        if (selectFrame == null) {
+            selectFrame = selectFrames[selectDepth] = new SelectFrame();
+        }
+        selectDepth++;
+        selectFrame.clauses.reset();
+        selectFrame.builder.reset();
+        return selectFrame;
+    }
+
+    /**
+     * 退出当前层 select 语句的解析，同时清除栈帧中对sql语句的引用。
+     */
+    void exitSelect() {
+        selectFrames[--selectDepth].clear();
+    }
+
+    /**
+     * 一层 select 语句解析过程中使用的对象，其中的子查询区间与子查询解析结果按照相同的编号保存。
+     */
+    final static class SelectFrame {
+        final SelectClauses clauses = new SelectClauses();
+        final SelectClauses subQueryClauses = new SelectClauses();
+        final SelectStatementBuilder builder = new SelectStatementBuilder();
+        final SubQuerySpans subQueries = new SubQuerySpans();
+        final FromClauseScanner fromClauseScanner = new FromClauseScanner();
+        SelectStatement[] subSelects = new SelectStatement[8];
+        private int subSelectCount;
+
+        /**
+         * @param size 子查询的数量
+         * @return 能够容纳指定数量的子查询解析结果的数组
+         */
+        SelectStatement[] subSelects(int size) {
+            if (subSelects.length < size) {
+                subSelects = new SelectStatement[Math.max(size, subSelects.length << 1)];
+            }
+            subSelectCount = size;
+            return subSelects;
+        }
+
+        /**
+         * 清除栈帧中对sql语句与解析结果的引用
+         */
+        private void clear() {
+            builder.reset();
+            fromClauseScanner.reset(null, 0, 0);
+            Arrays.fill(subSelects, 0, subSelectCount, null);
+            subSelectCount = 0;
+        }
+    }
+}
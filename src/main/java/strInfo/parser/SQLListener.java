@@ -0,0 +1,130 @@
+package strInfo.parser;
+
+/**
+ * 推送式解析的监听器，解析器每识别出一个子句就会立即调用对应的函数，整个过程不会建造任何语句对象，适用于只需要表名、字段或者 limit 等少量信息的场景。
+ * <p>
+ * The listener of push parsing. Every time the parser recognizes a clause, it will immediately call the corresponding function. No statement object will be built in the whole process. It is applicable to scenarios where only a small amount of information such as table names, fields or limit is required.
+ * <p>
+ * 所有的子句都以区间的形式提供，区间指向的是被解析的sql语句，需要字符串的时候可以通过 {@code sql.subSequence(start, end).toString()} 获取。所有函数的返回值代表是否继续解析，返回false的时候解析会立即停止，默认实现都会返回true，因此只需要重写关心的函数。
+ * <p>
+ * All clauses are provided in the form of intervals, which point to the SQL statement being parsed. When a string is required, it can be obtained through {@code sql.subSequence(start, end).toString()}. The return value of all functions indicates whether to continue parsing. When false is returned, parsing will stop immediately. The default implementations all return true, so you only need to override the functions you care about.
+ * <p>
+ * 一个 select 语句自身的子句会按照 字段、表名、where、group、order、limit 的顺序提供，之后才是它内部的子查询，每一个子查询的内容都位于 onSubQueryStart 与 onSubQueryEnd 之间。
+ * <p>
+ * The clauses of a select statement itself will be provided in the order of fields, table names, where, group, order and limit, followed by the sub queries inside it. The content of each sub query is between onSubQueryStart and onSubQueryEnd.
+ * <p>
+ * 监听器的函数中允许在同一个线程中解析其它sql语句（包括再次使用推送式解析），正在进行的解析不会受到影响。
+ * <p>
+ * Other SQL statements can be parsed in the same thread within the functions of the listener (including push parsing again), and the parsing in progress will not be affected.
+ *
+ * @author zhao
+ */
+public interface SQLListener {
+
+    /**
+     * @param sql   被解析的sql语句
+     * @param start 表名的起始索引，连接关键字与别名不会被当作表名
+     * @param end   表名的结束索引（不包含）
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onTable(CharSequence sql, int start, int end) {
+        return true;
+    }
+
+    /**
+     * @param sql   被解析的sql语句
+     * @param start select 语句中的一个查询字段或者 insert 语句中的一个插入字段的起始索引
+     * @param end   字段的结束索引（不包含）
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onField(CharSequence sql, int start, int end) {
+        return true;
+    }
+
+    /**
+     * @param sql   被解析的sql语句
+     * @param start where 子句的内容的起始索引
+     * @param end   where 子句的内容的结束索引（不包含）
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onWhere(CharSequence sql, int start, int end) {
+        return true;
+    }
+
+    /**
+     * @param sql   被解析的sql语句
+     * @param start group by 之后的内容的起始索引
+     * @param end   group by 之后的内容的结束索引（不包含）
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onGroupBy(CharSequence sql, int start, int end) {
+        return true;
+    }
+
+    /**
+     * @param sql   被解析的sql语句
+     * @param start order by 之后的内容的起始索引
+     * @param end   order by 之后的内容的结束索引（不包含），末尾的 asc 或 desc 不包含在区间中
+     * @param asc   是否是正序排序
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onOrderBy(CharSequence sql, int start, int end, boolean asc) {
+        return true;
+    }
+
+    /**
+     * @param sql   被解析的sql语句
+     * @param start limit 子句的内容的起始索引
+     * @param end   limit 子句的内容的结束索引（不包含）
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onLimit(CharSequence sql, int start, int end) {
+        return true;
+    }
+
+    /**
+     * @param sql  被解析的sql语句
+     * @param open 子查询的左括号的索引
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onSubQueryStart(CharSequence sql, int open) {
+        return true;
+    }
+
+    /**
+     * @param sql   被解析的sql语句
+     * @param close 子查询的右括号的索引
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onSubQueryEnd(CharSequence sql, int close) {
+        return true;
+    }
+
+    /**
+     * @param sql   被解析的sql语句
+     * @param start insert 语句中一行数据的起始索引，位于该行的左括号之后
+     * @param end   一行数据的结束索引（不包含），位于该行的右括号之前
+     * @return 是否继续解析
+     * <p>
+     * Whether to continue parsing
+     */
+    default boolean onInsertRow(CharSequence sql, int start, int end) {
+        return true;
+    }
+}
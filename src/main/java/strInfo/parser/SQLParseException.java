@@ -0,0 +1,86 @@
+package strInfo.parser;
+
+/**
+ * sql语句解析失败时抛出的异常，其中记录了发生错误的位置与期望出现的解析词。
+ * <p>
+ * The exception thrown when the SQL statement fails to be parsed, which records the location of the error and the expected parsing word.
+ * <p>
+ * 解析失败在处理任意来源的sql语句时是很常见的，因此该异常不会捕获调用栈，异常信息也会在第一次被获取的时候才拼接，抛出一个解析异常的开销与创建一个普通对象相当。
+ * <p>
+ * Parsing failures are very common when processing SQL statements from any source, so this exception will not capture the call stack, and the exception message will be spliced only when it is obtained for the first time. The cost of throwing a parsing exception is equivalent to creating an ordinary object.
+ *
+ * @author zhao
+ */
+public class SQLParseException extends RuntimeException {
+
+    private final static long serialVersionUID = 1L;
+
+    private final String sql;
+    private final int errorOffset;
+    private final String expected;
+    private volatile String message;
+
+    /**
+     * @param sql         解析失败的sql语句
+     * @param errorOffset 发生错误的位置在sql语句中的索引，无法确定位置的时候为 -1
+     * @param expected    在错误的位置期望出现的解析词
+     */
+    public SQLParseException(CharSequence sql, int errorOffset, String expected) {
+        super(null, null, false, false);
+        this.sql = sql == null ? null : sql.toString();
+        this.errorOffset = errorOffset;
+        this.expected = expected;
+    }
+
+    /**
+     * @param sql         解析失败的sql语句
+     * @param errorOffset 发生错误的位置在sql语句中的索引，无法确定位置的时候为 -1
+     * @param expected    在错误的位置期望出现的解析词
+     * @param cause       导致解析失败的异常
+     */
+    public SQLParseException(CharSequence sql, int errorOffset, String expected, Throwable cause) {
+        super(null, cause, false, false);
+        this.sql = sql == null ? null : sql.toString();
+        this.errorOffset = errorOffset;
+        this.expected = expected;
+    }
+
+    /**
+     * @return 解析失败的sql语句
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return 发生错误的位置在sql语句中的索引，无法确定位置的时候为 -1
+     */
+    public int getErrorOffset() {
+        return errorOffset;
+    }
+
+    /**
+     * @return 在错误的位置期望出现的解析词
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * @return 异常信息的前缀，由子类决定错误的种类
+     */
+    protected String describe() {
+        return "无法解析sql语句：";
+    }
+
+    @Override
+    public String getMessage() {
+        String message = this.message;
+        if (message == null) {
+            message = describe() + sql + SQLParser.ERROR + expected;
+            if (errorOffset >= 0) message += " (offset " + errorOffset + ')';
+            this.message = message;
+        }
+        return message;
+    }
+}
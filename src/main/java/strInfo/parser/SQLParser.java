@@ -1,6 +1,12 @@
 package strInfo.parser;
 
+import strInfo.lexer.SQLFingerprint;
+import strInfo.lexer.Utf8CharSequence;
 import strInfo.result.Builder;
+import strInfo.result.Statement;
+
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
 
 /**
  * SQL解析器的接口，解析器的统一父类，其中提供了针对sql语句与sql解析词的解析函数，由不同的解析器实现。
@@ -23,13 +29,147 @@ public interface SQLParser<StatementType, StatementBuilderType extends Builder<?
     String getName();
 
     /**
-     * 开始解析一个sql语句
+     * 开始解析一个sql语句，如果在管理者中启用了解析结果缓存，重复的sql语句会直接返回缓存中的语句对象。
+     * <p>
+     * Start parsing an SQL statement. If the parsing result cache is enabled in the manager, the repeated SQL statement will directly return the statement object in the cache.
      *
      * @param sql 需要被解析的sql语句
      * @return 解析之后的sql语句对象
      */
     StatementType parseSql(String sql);
 
+    /**
+     * 开始解析一个以字符序列表示的sql语句，默认实现会先将字符序列转换为字符串，内置的解析器会直接在字符序列上解析，不会复制sql语句。
+     * <p>
+     * Start parsing an SQL statement represented by a character sequence. The default implementation will first convert the character sequence to a string. The built-in parsers will parse directly on the character sequence without copying the SQL statement.
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    default StatementType parseSql(CharSequence sql) {
+        return parseSql(sql == null ? null : sql.toString());
+    }
+
+    /**
+     * 直接解析字节数组中一段 UTF-8 编码的sql语句，例如从 MySQL 协议的数据包中读取到的sql语句，只由 ASCII 字符组成的sql语句不会被解码，语句对象中的子句会在被读取的时候才解码。
+     * <p>
+     * Directly parse a UTF-8 encoded SQL statement in a byte array, such as the SQL statement read from a MySQL protocol packet. SQL statements composed only of ASCII characters will not be decoded, and the clauses in the statement object will be decoded only when they are read.
+     * <p>
+     * 语句对象会直接引用字节数组，在语句对象不再被使用之前，调用者不能修改或复用这些字节。
+     * <p>
+     * The statement object will directly reference the byte array. The caller cannot modify or reuse these bytes until the statement object is no longer used.
+     *
+     * @param sql    包含sql语句的字节数组
+     * @param offset sql语句在数组中的起始索引
+     * @param length sql语句的字节数量
+     * @return 解析之后的sql语句对象
+     */
+    default StatementType parseSql(byte[] sql, int offset, int length) {
+        return parseSql(Utf8CharSequence.of(sql, offset, length));
+    }
+
+    /**
+     * 直接解析缓冲区中从 position 到 limit 的 UTF-8 编码的sql语句，缓冲区的 position 与 limit 不会被修改。
+     * <p>
+     * Directly parse the UTF-8 encoded SQL statement from position to limit in the buffer. The position and limit of the buffer will not be modified.
+     * <p>
+     * 语句对象会直接引用缓冲区，在语句对象不再被使用之前，调用者不能修改或复用缓冲区中的这些字节。
+     * <p>
+     * The statement object will directly reference the buffer. The caller cannot modify or reuse these bytes in the buffer until the statement object is no longer used.
+     *
+     * @param sql 包含sql语句的缓冲区
+     * @return 解析之后的sql语句对象
+     */
+    default StatementType parseSql(ByteBuffer sql) {
+        return parseSql(Utf8CharSequence.of(sql));
+    }
+
+    /**
+     * 解析一个sql语句，解析失败的时候不会抛出异常，而是将失败的原因作为结果返回，适用于需要处理大量来源不可信的sql语句的场景。
+     * <p>
+     * Parse an SQL statement. When parsing fails, no exception will be thrown, but the reason for the failure will be returned as the result. It is applicable to scenarios where a large number of SQL statements from untrusted sources need to be processed.
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析结果，其中包含解析出来的语句对象或者解析失败的原因
+     */
+    default ParseResult<StatementType> tryParseSql(String sql) {
+        return tryParseSql((CharSequence) sql);
+    }
+
+    /**
+     * 解析一个以字符序列表示的sql语句，解析失败的时候不会抛出异常，而是将失败的原因作为结果返回。
+     * <p>
+     * Parse an SQL statement represented by a character sequence. When parsing fails, no exception will be thrown, but the reason for the failure will be returned as the result.
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析结果，其中包含解析出来的语句对象或者解析失败的原因
+     */
+    default ParseResult<StatementType> tryParseSql(CharSequence sql) {
+        try {
+            return ParseResult.success(parseSql(sql));
+        } catch (SQLParseException e) {
+            return ParseResult.failure(e);
+        } catch (RuntimeException e) {
+            // 基于正则表达式的解析过程在遇到残缺的语句时可能抛出其它异常，这里同样将其视为解析失败
+            return ParseResult.failure(new SQLSyntaxException(sql, -1, e.toString(), e));
+        }
+    }
+
+    /**
+     * 部分解析一个sql语句，只有被请求的部分会被填充到语句对象中，例如读写分离的路由只需要请求 TABLE，部分解析的结果不会使用解析结果缓存。
+     * <p>
+     * Partially parse an SQL statement. Only the requested parts will be filled into the statement object. For example, the routing of read-write separation only needs to request TABLE. The result of partial parsing will not use the parsing result cache.
+     * <p>
+     * 默认实现会进行完整的解析，内置的 select 与 insert 解析器会在所有被请求的部分都扫描完毕之后停止扫描，并且不会计算没有被请求的部分。
+     * <p>
+     * The default implementation will perform complete parsing. The built-in select and insert parsers will stop scanning after all the requested parts are scanned, and will not calculate the parts that are not requested.
+     *
+     * @param sql   需要被解析的sql语句
+     * @param parts 需要被填充到语句对象中的部分
+     * @return 解析之后的sql语句对象
+     */
+    default StatementType parseSql(CharSequence sql, EnumSet<StatementPart> parts) {
+        return parseSql(sql);
+    }
+
+    /**
+     * 以推送的方式解析一个sql语句，每识别出一个子句就会调用监听器中对应的函数，监听器可以通过返回false提前结束解析。
+     * <p>
+     * Parse an SQL statement in a push mode. Every time a clause is recognized, the corresponding function in the listener will be called. The listener can end the parsing early by returning false.
+     * <p>
+     * 默认实现会先建造出完整的语句对象，再将其中的表名与字段提供给监听器，内置的 select 与 insert 解析器会在扫描的过程中直接调用监听器，不会建造任何语句对象。
+     * <p>
+     * The default implementation will first build a complete statement object, and then provide the table name and fields to the listener. The built-in select and insert parsers will call the listener directly in the process of scanning without building any statement object.
+     *
+     * @param sql      需要被解析的sql语句
+     * @param listener 接收子句的监听器
+     * @return 如果整个sql语句都被解析完毕，返回true，如果监听器提前结束了解析，返回false
+     * <p>
+     * If the entire SQL statement is parsed, it returns true. If the listener ends parsing early, it returns false
+     */
+    default boolean parseSql(CharSequence sql, SQLListener listener) {
+        StatementType statement = parseSql(sql);
+        if (!(statement instanceof Statement)) return true;
+        String tableName = ((Statement) statement).getTableName();
+        if (tableName != null && !listener.onTable(tableName, 0, tableName.length())) return false;
+        for (String fieldName : ((Statement) statement).getFieldNames()) {
+            if (!listener.onField(fieldName, 0, fieldName.length())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 计算一个sql语句的指纹，其中的数字、字符串、IN 列表与空白都会被规范化，字面量不同但结构相同的sql语句会得到相同的模板与64位哈希值，可以用于按照模板缓存解析结果或者统计sql语句的结构。
+     * <p>
+     * Calculate the fingerprint of an SQL statement. The numbers, strings, IN lists and blanks will be normalized. SQL statements with different literals but the same structure will get the same template and 64 bit hash value, which can be used to cache parsing results by template or count the structure of SQL statements.
+     *
+     * @param sql 需要被计算指纹的sql语句
+     * @return sql语句的指纹对象，其中包含规范化之后的模板与模板的哈希值
+     */
+    default SQLFingerprint fingerprint(String sql) {
+        return SQLFingerprint.of(sql);
+    }
+
     /**
      * 解析一个sql语句中的指定sql解析词相关的子sql语句
      * <p>
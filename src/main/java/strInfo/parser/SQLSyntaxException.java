@@ -0,0 +1,32 @@
+package strInfo.parser;
+
+/**
+ * sql语句的语法与解析器期望的语法不一致时抛出的异常。
+ * <p>
+ * The exception thrown when the syntax of the SQL statement is inconsistent with the syntax expected by the parser.
+ *
+ * @author zhao
+ */
+public class SQLSyntaxException extends SQLParseException {
+
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * @param sql         解析失败的sql语句
+     * @param errorOffset 发生错误的位置在sql语句中的索引，无法确定位置的时候为 -1
+     * @param expected    在错误的位置期望出现的解析词
+     */
+    public SQLSyntaxException(CharSequence sql, int errorOffset, String expected) {
+        super(sql, errorOffset, expected);
+    }
+
+    /**
+     * @param sql         解析失败的sql语句
+     * @param errorOffset 发生错误的位置在sql语句中的索引，无法确定位置的时候为 -1
+     * @param expected    在错误的位置期望出现的解析词
+     * @param cause       导致解析失败的异常
+     */
+    public SQLSyntaxException(CharSequence sql, int errorOffset, String expected, Throwable cause) {
+        super(sql, errorOffset, expected, cause);
+    }
+}
@@ -1,12 +1,18 @@
 package strInfo.parser;
 
+import strInfo.lexer.FromClauseScanner;
+import strInfo.lexer.SQLKeywords;
+import strInfo.lexer.SQLLexer;
+import strInfo.lexer.SelectClauses;
+import strInfo.lexer.SelectLexer;
+import strInfo.lexer.SubQuerySpans;
+import strInfo.manager.ParseCache;
+import strInfo.manager.ParseProbe;
 import strInfo.manager.SQLParserManager;
 import strInfo.result.SelectStatement;
 import strInfo.result.SelectStatementBuilder;
-import strInfo.result.Statement;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.EnumSet;
 
 /**
  * 数据库Select语句解析器，该组件能够提供针对Select语句的解析，并将解析及如果封装起来提供给外界。
@@ -18,36 +24,20 @@ import java.util.regex.Pattern;
 public class SelectParser implements SQLParser<SelectStatement, SelectStatementBuilder> {
 
     private final static String Name = "select";
-
-    /**
-     * select 字段与表解析 第一个括号为所有字段，第二个括号为所有表，第三个括号为下一个解析词
-     */
-    private final static Pattern FIELD_AND_TABLE_RESOLUTION = Pattern.compile("select\\s*([()a-zA-Z_., 0-9+\\-*/%\\r\\n]+?)\\s*?from\\s*?([a-z_A-Z0-9\\s,]*?)(?=(\\(|where|group|order|limit|;))", Pattern.CASE_INSENSITIVE);
-
-    /**
-     * 对所有的子查询语句进行替换的静态正则
-     */
-    private final static Pattern SUB_QUERY_REPLACEMENT_PATTERN = Pattern.compile("\\(select[\\s\\S]*?;\\)", Pattern.CASE_INSENSITIVE);
-
-    /**
-     * where 子句解析，其中的第一个括号为子句的where表达式，第二个括号为下一个解析词
-     */
-    private final static Pattern WHERE_CLAUSE_PARSING = Pattern.compile("(?:on|where)\\s*([\\s\\S]+?)\\s*?(?=(group|order|limit|;))", Pattern.CASE_INSENSITIVE);
-
-    /**
-     * group 子句解析，其中第一个括号为子句的group字段，第二个括号为下一个解析词
-     */
-    private final static Pattern GROUP_CLAUSE_PARSING = Pattern.compile("group *?by\\s*([\\s\\S]+?)\\s*?(?=(order|limit|;))", Pattern.CASE_INSENSITIVE);
-
-    /**
-     * 排序 子句解析，其中第一个括号为所有需要排序的字段，第二个括号为排序方式/下一个解析词，第三个括号为下一个解析词
-     */
-    private final static Pattern ORDER_CLAUSE_PARSING = Pattern.compile("order *?by\\s*([\\s\\S]+?)( |asc|desc)\\s*?(?=(limit|;))", Pattern.CASE_INSENSITIVE);
-
-    /**
-     * 分页 子句解析，其中第一个括号为所有需要排序的字段，第二个括号为排序方式/下一个解析词，第三个括号为下一个解析词
-     */
-    private final static Pattern LIMIT_CLAUSE_PARSING = Pattern.compile("limit\\s*([\\s\\S]+?)\\s*?(?=(;))", Pattern.CASE_INSENSITIVE);
+    private final static int SELECT_STATE = 1;
+    private final static int SUB_QUERY_STATE = 2;
+    private final static int WHERE_STATE = 3;
+    private final static int GROUP_STATE = 4;
+    private final static int ORDER_STATE = 5;
+    private final static int LIMIT_STATE = 6;
+    private final static ParseStateTable STATES = new ParseStateTable()
+            .map(SelectStatement.SELECT_WORD, SELECT_STATE)
+            .map(SQLKeywords.LEFT_BRACKET, SUB_QUERY_STATE)
+            .map(SelectStatement.WHERE_WORD, WHERE_STATE)
+            .map(SelectStatement.GROUP_WORD, GROUP_STATE)
+            .map(SelectStatement.ORDER_WORD, ORDER_STATE)
+            .map(SelectStatement.LIMIT_WORD, LIMIT_STATE);
+    private final static EnumSet<StatementPart> ALL_PARTS = EnumSet.allOf(StatementPart.class);
 
     protected SelectParser() {
     }
@@ -62,8 +52,7 @@ public class SelectParser implements SQLParser<SelectStatement, SelectStatementB
     public static SelectParser getInstance() {
         SQLParser<SelectStatement, SelectStatementBuilder> sqlParserByName = SQLParserManager.getSQLParserByName(SelectParser.Name);
         if (sqlParserByName == null) {
-            sqlParserByName = new SelectParser();
-            SQLParserManager.register(sqlParserByName);
+            sqlParserByName = SQLParserManager.registerIfAbsent(new SelectParser());
         }
         return (SelectParser) sqlParserByName;
     }
@@ -81,13 +70,201 @@ public class SelectParser implements SQLParser<SelectStatement, SelectStatementB
      */
     @Override
     public SelectStatement parseSql(String sql) {
-        return parseSqlByWord(null, 0, sql, "select");
+        return parseSql((CharSequence) sql);
+    }
+
+    /**
+     * 开始解析一个以字符序列表示的sql语句，解析直接在字符序列上进行，不会复制sql语句，只有字符串形式的sql语句会使用解析结果缓存。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    @Override
+    public SelectStatement parseSql(CharSequence sql) {
+        sql = SQLLexer.snapshot(sql);
+        ParseProbe parseProbe = ParseProbe.start(SelectParser.Name, sql);
+        if (parseProbe == null) {
+            return parseSqlCached(sql);
+        }
+        SelectStatement statement = null;
+        try {
+            return statement = parseSqlCached(sql);
+        } finally {
+            parseProbe.end(statement);
+        }
+    }
+
+    /**
+     * 解析一个sql语句，如果启用了解析结果缓存，会优先从缓存中获取解析结果。
+     *
+     * @param sql 需要被解析的sql语句
+     * @return 解析之后的sql语句对象
+     */
+    private SelectStatement parseSqlCached(CharSequence sql) {
+        ParseCache parseCache = SQLParserManager.getParseCache();
+        // 子类可能修改了解析器名称或者解析结果，因此只有内置解析器自身会使用缓存
+        if (parseCache == null || !(sql instanceof String) || this.getClass() != SelectParser.class) {
+            return parseSelect(sql, 0, sql.length());
+        }
+        SelectStatement statement = parseCache.get(this.getName(), (String) sql);
+        if (statement == null) {
+            statement = parseSelect(sql, 0, sql.length());
+            parseCache.put(this.getName(), (String) sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * 部分解析一个sql语句，位于所有被请求部分之后的子句不会被扫描，没有请求 TABLE 的时候也不会扫描与解析任何子查询。
+     *
+     * @param sql   需要被解析的sql语句
+     * @param parts 需要被填充到语句对象中的部分
+     * @return 只包含被请求部分的sql语句对象
+     */
+    @Override
+    public SelectStatement parseSql(CharSequence sql, EnumSet<StatementPart> parts) {
+        sql = SQLLexer.snapshot(sql);
+        ParseProbe parseProbe = ParseProbe.start(SelectParser.Name, sql);
+        if (parseProbe == null) {
+            return parseSelect(sql, 0, sql.length(), parts);
+        }
+        SelectStatement statement = null;
+        try {
+            return statement = parseSelect(sql, 0, sql.length(), parts);
+        } finally {
+            parseProbe.end(statement);
+        }
+    }
+
+    /**
+     * 以推送的方式解析一个sql语句，扫描得到的子句会直接提供给监听器，不会建造任何语句对象，也不会使用解析结果缓存。
+     *
+     * @param sql      需要被解析的sql语句
+     * @param listener 接收子句的监听器
+     * @return 如果整个sql语句都被解析完毕，返回true，如果监听器提前结束了解析，返回false
+     */
+    @Override
+    public boolean parseSql(CharSequence sql, SQLListener listener) {
+        ParseProbe parseProbe = ParseProbe.start(SelectParser.Name, sql);
+        if (parseProbe == null) {
+            return pushSelect(sql, 0, sql.length(), listener);
+        }
+        Boolean completed = null;
+        try {
+            return completed = pushSelect(sql, 0, sql.length(), listener);
+        } finally {
+            parseProbe.end(completed);
+        }
+    }
+
+    /**
+     * 扫描一个完整的 select 语句，并按照先序将它自身以及所有子查询的子句提供给监听器，与 parseSelect 一样不会递归解析子查询。
+     *
+     * @param sql      完整的sql语句
+     * @param start    select 语句在sql语句中的起始索引
+     * @param end      select 语句在sql语句中的结束索引（不包含）
+     * @param listener 接收子句的监听器
+     * @return 如果整个sql语句都被解析完毕，返回true，如果监听器提前结束了解析，返回false
+     */
+    private static boolean pushSelect(CharSequence sql, int start, int end, SQLListener listener) {
+        ParserSession parserSession = ParserSession.current();
+        ParserSession.SelectFrame selectFrame = parserSession.enterSelect();
+        try {
+            SelectClauses clauses = selectFrame.clauses;
+            if (!SelectLexer.scan(sql, start, end, SelectClauses.SELECT, clauses)) {
+                throw new SQLSyntaxException(sql, clauses.getErrorIndex(), clauses.getExpected());
+            }
+            int subQueryStart = clauses.getSubQueryStart();
+            if (!pushClauses(sql, clauses, selectFrame.fromClauseScanner, listener)) return false;
+            if (subQueryStart < 0) return true;
+            SubQuerySpans subQueries = selectFrame.subQueries;
+            if (!SelectLexer.scanSubQueries(sql, subQueryStart, clauses.getEnd(), subQueries)) {
+                throw new SQLSyntaxException(sql, subQueries.getErrorIndex(), subQueries.getExpected());
+            }
+            if (subQueries.size() == 0) {
+                throw new SQLSyntaxException(sql, subQueryStart, "(select ...)");
+            }
+            SelectClauses subQueryClauses = selectFrame.subQueryClauses;
+            // 最内层的尚未结束的子查询编号，编号是按照先序分配的，因此只需要沿着父子查询向外结束即可
+            int current = -1;
+            for (int index = 0; index < subQueries.size(); index++) {
+                for (; current >= 0 && index >= subQueries.getNext(current); current = subQueries.getParent(current)) {
+                    if (!listener.onSubQueryEnd(sql, subQueries.getClose(current))) return false;
+                }
+                int open = subQueries.getOpen(index);
+                if (!listener.onSubQueryStart(sql, open)) return false;
+                int firstChild = index + 1 < subQueries.getNext(index) ? index + 1 : -1;
+                if (!SelectLexer.scan(sql, open + 1, subQueries.getClose(index), SelectClauses.SELECT, subQueryClauses, subQueries, firstChild)) {
+                    throw new SQLSyntaxException(sql, subQueryClauses.getErrorIndex(), subQueryClauses.getExpected());
+                }
+                if (!pushClauses(sql, subQueryClauses, selectFrame.fromClauseScanner, listener)) return false;
+                current = index;
+            }
+            for (; current >= 0; current = subQueries.getParent(current)) {
+                if (!listener.onSubQueryEnd(sql, subQueries.getClose(current))) return false;
+            }
+            return true;
+        } finally {
+            parserSession.exitSelect();
+        }
+    }
+
+    /**
+     * 将一个 select 语句自身的字段、表名以及 where group order limit 子句提供给监听器，子查询中的内容不会被提供
+     *
+     * @param sql               完整的sql语句
+     * @param clauses           扫描得到的子句边界
+     * @param fromClauseScanner 用于扫描 from 子句中的表名的扫描器
+     * @param listener          接收子句的监听器
+     * @return 监听器是否要求继续解析
+     */
+    private static boolean pushClauses(CharSequence sql, SelectClauses clauses, FromClauseScanner fromClauseScanner, SQLListener listener) {
+        int end = clauses.getEnd(SelectClauses.SELECT);
+        for (int i = clauses.getStart(SelectClauses.SELECT); i < end; ) {
+            int fieldEnd = SQLLexer.listItemEnd(sql, i, end);
+            int fieldStart = SQLLexer.skipWhitespace(sql, i, fieldEnd);
+            if (fieldStart < fieldEnd && !listener.onField(sql, fieldStart, SQLLexer.trimEnd(sql, fieldStart, fieldEnd))) return false;
+            i = fieldEnd + 1;
+        }
+        int subQueryStart = clauses.getSubQueryStart();
+        if (!pushTables(fromClauseScanner.reset(sql, clauses.getStart(SelectClauses.FROM), subQueryStart < 0 ? clauses.getEnd(SelectClauses.FROM) : subQueryStart), sql, listener)) {
+            return false;
+        }
+        if (clauses.has(SelectClauses.WHERE) && !listener.onWhere(sql, clauses.getStart(SelectClauses.WHERE), clauses.getEnd(SelectClauses.WHERE))) {
+            return false;
+        }
+        if (clauses.has(SelectClauses.GROUP) && !listener.onGroupBy(sql, clauses.getStart(SelectClauses.GROUP), clauses.getEnd(SelectClauses.GROUP))) {
+            return false;
+        }
+        if (clauses.has(SelectClauses.ORDER)) {
+            int orderStart = clauses.getStart(SelectClauses.ORDER);
+            // 以 asc 或 desc 结尾的 order 子句的区间中包含方向词之前的空白
+            if (!listener.onOrderBy(sql, orderStart, SQLLexer.trimEnd(sql, orderStart, clauses.getEnd(SelectClauses.ORDER)), clauses.isAsc())) return false;
+        }
+        return !clauses.has(SelectClauses.LIMIT) || listener.onLimit(sql, clauses.getStart(SelectClauses.LIMIT), clauses.getEnd(SelectClauses.LIMIT));
+    }
+
+    /**
+     * 将 from 子句中的每一个表名提供给监听器，规则与 SelectStatement.getTables 相同：连接关键字、连接条件以及 as 之后的别名不是表名
+     *
+     * @param fromClauseScanner 已经开始扫描 from 子句的扫描器
+     * @param sql               完整的sql语句
+     * @param listener          接收子句的监听器
+     * @return 监听器是否要求继续解析
+     */
+    private static boolean pushTables(FromClauseScanner fromClauseScanner, CharSequence sql, SQLListener listener) {
+        for (int kind = fromClauseScanner.next(); kind >= 0; kind = fromClauseScanner.next()) {
+            if (kind == FromClauseScanner.TABLE && !listener.onTable(sql, fromClauseScanner.getStart(), fromClauseScanner.getEnd())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * 解析一个sql语句中的指定sql解析词相关的子sql语句
      *
-     * @param selectStatementBuilder 正在被构建的sql语句对象建造者类
+     * @param selectStatementBuilder 正在被构建的sql语句对象建造者类，从 select 开始解析的时候会使用解析会话中的建造者，这里可以为null
      * @param startIndex             解析的sql命令的起始索引位置，该数值会作为解析的起始位置
      * @param sql                    完整的sql语句
      * @param sqlWord                需要被解析的sql解析词
@@ -95,84 +272,213 @@ public class SelectParser implements SQLParser<SelectStatement, SelectStatementB
      */
     @Override
     public SelectStatement parseSqlByWord(SelectStatementBuilder selectStatementBuilder, int startIndex, String sql, String sqlWord) {
-        if ("SUB_QUERY".equals(sql) || ";".equals(sqlWord)) {
-            return selectStatementBuilder.create();
+        int state = STATES.stateOf(sqlWord);
+        if (state == SELECT_STATE) {
+            return parseSelect(sql, startIndex, sql.length());
+        } else if (state < 0) {
+            throw new IllegalParseWordException(sql, sqlWord);
         }
-        int wordNum = Statement.getWordNum(sqlWord, SelectStatement.hashNum);
-        if (wordNum == SelectStatement.SELECT_WORD) {
-            Matcher matcher = FIELD_AND_TABLE_RESOLUTION.matcher(sql);
-            if (matcher.find(startIndex)) {
-                // 所有字段与表
-                String fields = matcher.group(1);
-                String tableName = matcher.group(2);
-
-                // 下一个解析词
-                String word = matcher.group(3);
-                return parseSqlByWord(SelectStatement.builder().setTableName(tableName).setSQL(sql).setSelectStr(fields), matcher.end(), sql, word);
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
-            }
-        } else if ("(".equals(sqlWord)) {
-            // 这种情况代表当前要解析的是子查询了
-            Matcher matcher1 = SUB_QUERY_REPLACEMENT_PATTERN.matcher(sql);
-            if (matcher1.find(startIndex)) {
-                {
-                    SelectStatement subSelect = parseSqlByWord(null, 1, matcher1.group(), "select");
-                    selectStatementBuilder
-                            .addSubSelect(subSelect)
-                            .addTableName(",")
-                            .addTableName(subSelect.getTableName());
+        ParserSession parserSession = ParserSession.current();
+        ParserSession.SelectFrame selectFrame = parserSession.enterSelect();
+        try {
+            while (true) {
+                switch (state) {
+                    case ParseStateTable.END:
+                        return selectStatementBuilder.create();
+                    case SUB_QUERY_STATE:
+                        // 这种情况代表当前要解析的是子查询了，子查询解析完毕之后继续解析之后的子句
+                        parseSubQueries(selectFrame, startIndex, sql.length(), sql, ALL_PARTS, SelectClauses.LIMIT);
+                        addSubQueries(selectStatementBuilder, selectFrame, 0, selectFrame.subQueries.size(), startIndex);
+                        state = WHERE_STATE;
+                        break;
+                    default:
+                        int clause = state == WHERE_STATE ? SelectClauses.WHERE :
+                                state == GROUP_STATE ? SelectClauses.GROUP :
+                                        state == ORDER_STATE ? SelectClauses.ORDER : SelectClauses.LIMIT;
+                        if (!SelectLexer.scan(sql, startIndex, sql.length(), clause, selectFrame.clauses)) {
+                            throw new SQLSyntaxException(sql, selectFrame.clauses.getErrorIndex(), selectFrame.clauses.getExpected());
+                        }
+                        setClauses(selectStatementBuilder, selectFrame.clauses);
+                        state = ParseStateTable.END;
                 }
-                while (matcher1.find()) {
-                    SelectStatement subSelect = parseSqlByWord(null, 1, matcher1.group(), "select");
-                    selectStatementBuilder
-                            .addSubSelect(subSelect)
-                            .addTableName(",")
-                            .addTableName(subSelect.getTableName());
-                }
-            } else {
-                throw new RuntimeException("无法解析子查询sql语句：" + sql + ERROR + sqlWord);
             }
-            // 继续解析之前的句子，这里使用的是子查询语句删除
-            return parseSqlByWord(
-                    selectStatementBuilder, startIndex, matcher1.replaceFirst("SUB_QUERY"), "where"
-            );
-        } else if (wordNum == SelectStatement.WHERE_WORD) {
-            Matcher matcher = WHERE_CLAUSE_PARSING.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(selectStatementBuilder.setWhereStr(matcher.group(1)), matcher.end(), sql, matcher.group(2));
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
+        } finally {
+            parserSession.exitSelect();
+        }
+    }
+
+    /**
+     * 解析sql语句中的一个完整的 select 语句，所有子句都以区间的形式指向完整的sql语句，不会产生子字符串。
+     * <p>
+     * 子查询不会递归解析：先一次扫描得到所有子查询区间，再按照编号从大到小的顺序逐个解析，由于编号是按照先序分配的，解析到一个子查询的时候，它内部的所有子查询都已经解析完毕，因此无论子查询嵌套多深，使用的 Java 栈深度都是固定的。
+     *
+     * @param sql   完整的sql语句
+     * @param start select 语句在sql语句中的起始索引
+     * @param end   select 语句在sql语句中的结束索引（不包含）
+     * @return 解析之后的sql语句
+     */
+    SelectStatement parseSelect(CharSequence sql, int start, int end) {
+        return parseSelect(sql, start, end, ALL_PARTS);
+    }
+
+    /**
+     * 解析sql语句中的一个 select 语句，只有被请求的部分会被设置到建造者中。
+     *
+     * @param sql   完整的sql语句
+     * @param start select 语句在sql语句中的起始索引
+     * @param end   select 语句在sql语句中的结束索引（不包含）
+     * @param parts 需要被填充到语句对象中的部分
+     * @return 解析之后的sql语句
+     */
+    private static SelectStatement parseSelect(CharSequence sql, int start, int end, EnumSet<StatementPart> parts) {
+        ParserSession parserSession = ParserSession.current();
+        ParserSession.SelectFrame selectFrame = parserSession.enterSelect();
+        try {
+            SelectClauses clauses = selectFrame.clauses;
+            int lastClause = lastClauseOf(parts);
+            // 一次扫描得到所有需要的子句的边界
+            if (!SelectLexer.scan(sql, start, end, SelectClauses.SELECT, clauses, null, -1, lastClause)) {
+                throw new SQLSyntaxException(sql, clauses.getErrorIndex(), clauses.getExpected());
             }
-        } else if (wordNum == SelectStatement.GROUP_WORD) {
-            Matcher matcher = GROUP_CLAUSE_PARSING.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(selectStatementBuilder.setGroupStr(matcher.group(1)), matcher.end(), sql, matcher.group(2));
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
+            int subQueryStart = parts.contains(StatementPart.TABLE) ? clauses.getSubQueryStart() : -1;
+            if (subQueryStart >= 0) {
+                parseSubQueries(selectFrame, subQueryStart, clauses.getEnd(), sql, parts, lastClause);
             }
-        } else if (wordNum == SelectStatement.ORDER_WORD) {
-            Matcher matcher = ORDER_CLAUSE_PARSING.matcher(sql);
-            if (matcher.find(startIndex)) {
-                String orderMode = matcher.group(2);
-                return parseSqlByWord(
-                        selectStatementBuilder
-                                .setOrderStr(matcher.group(1))
-                                .setAsc(" ".equals(orderMode) || "asc".equalsIgnoreCase(orderMode))
-                        , matcher.end(), sql, matcher.group(3)
-                );
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
+            SelectStatementBuilder selectStatementBuilder = selectFrame.builder.reset().setSQL(sql, start, end);
+            setAllClauses(selectStatementBuilder, clauses, parts);
+            if (subQueryStart >= 0) {
+                addSubQueries(selectStatementBuilder, selectFrame, 0, selectFrame.subQueries.size(), subQueryStart);
             }
-        } else if (wordNum == SelectStatement.LIMIT_WORD) {
-            Matcher matcher = LIMIT_CLAUSE_PARSING.matcher(sql);
-            if (matcher.find(startIndex)) {
-                return parseSqlByWord(selectStatementBuilder.setLimitStr(matcher.group(1)), matcher.end(), sql, matcher.group(2));
-            } else {
-                throw new RuntimeException("无法解析sql语句：" + sql + ERROR + sqlWord);
+            return selectStatementBuilder.create();
+        } finally {
+            parserSession.exitSelect();
+        }
+    }
+
+    /**
+     * @param parts 需要被填充到语句对象中的部分
+     * @return 最后一个需要被扫描的子句，from 子句的边界用于检查语句的完整性，因此总是会被扫描
+     */
+    private static int lastClauseOf(EnumSet<StatementPart> parts) {
+        if (parts.contains(StatementPart.LIMIT)) return SelectClauses.LIMIT;
+        if (parts.contains(StatementPart.ORDER)) return SelectClauses.ORDER;
+        if (parts.contains(StatementPart.GROUP)) return SelectClauses.GROUP;
+        if (parts.contains(StatementPart.WHERE)) return SelectClauses.WHERE;
+        return SelectClauses.FROM;
+    }
+
+    /**
+     * 将扫描得到的 where group order limit 子句以区间的形式设置到建造者中，区间指向的是建造者中正在被构建的sql语句
+     *
+     * @param selectStatementBuilder 正在被构建的sql语句对象建造者类
+     * @param clauses                扫描得到的子句边界
+     * @return 建造者模式的链式建造
+     */
+    private static SelectStatementBuilder setClauses(SelectStatementBuilder selectStatementBuilder, SelectClauses clauses) {
+        return setClauses(selectStatementBuilder, clauses, ALL_PARTS);
+    }
+
+    /**
+     * 将扫描得到的 select 与 from 子句以及 where group order limit 子句中被请求的部分以区间的形式设置到建造者中，表名中不包含子查询的表名，子查询需要另外添加
+     *
+     * @param selectStatementBuilder 正在被构建的sql语句对象建造者类
+     * @param clauses                扫描得到的子句边界
+     * @param parts                  需要被填充到语句对象中的部分
+     * @return 建造者模式的链式建造
+     */
+    private static SelectStatementBuilder setAllClauses(SelectStatementBuilder selectStatementBuilder, SelectClauses clauses, EnumSet<StatementPart> parts) {
+        if (parts.contains(StatementPart.FIELD)) {
+            selectStatementBuilder.setSelectStr(clauses.getStart(SelectClauses.SELECT), clauses.getEnd(SelectClauses.SELECT));
+        }
+        if (parts.contains(StatementPart.TABLE)) {
+            int subQueryStart = clauses.getSubQueryStart();
+            selectStatementBuilder.setTableName(clauses.getStart(SelectClauses.FROM), subQueryStart < 0 ? clauses.getEnd(SelectClauses.FROM) : subQueryStart);
+        }
+        return setClauses(selectStatementBuilder, clauses, parts);
+    }
+
+    /**
+     * 将扫描得到的 where group order limit 子句中被请求的部分以区间的形式设置到建造者中
+     *
+     * @param selectStatementBuilder 正在被构建的sql语句对象建造者类
+     * @param clauses                扫描得到的子句边界
+     * @param parts                  需要被填充到语句对象中的部分
+     * @return 建造者模式的链式建造
+     */
+    private static SelectStatementBuilder setClauses(SelectStatementBuilder selectStatementBuilder, SelectClauses clauses, EnumSet<StatementPart> parts) {
+        if (clauses.has(SelectClauses.WHERE) && parts.contains(StatementPart.WHERE)) {
+            selectStatementBuilder.setWhereStr(clauses.getStart(SelectClauses.WHERE), clauses.getEnd(SelectClauses.WHERE));
+        }
+        if (clauses.has(SelectClauses.GROUP) && parts.contains(StatementPart.GROUP)) {
+            selectStatementBuilder.setGroupStr(clauses.getStart(SelectClauses.GROUP), clauses.getEnd(SelectClauses.GROUP));
+        }
+        if (clauses.has(SelectClauses.ORDER) && parts.contains(StatementPart.ORDER)) {
+            selectStatementBuilder
+                    .setOrderStr(clauses.getStart(SelectClauses.ORDER), clauses.getEnd(SelectClauses.ORDER))
+                    .setAsc(clauses.isAsc());
+        }
+        if (clauses.has(SelectClauses.LIMIT) && parts.contains(StatementPart.LIMIT)) {
+            selectStatementBuilder.setLimitStr(clauses.getStart(SelectClauses.LIMIT), clauses.getEnd(SelectClauses.LIMIT));
+        }
+        return selectStatementBuilder;
+    }
+
+    /**
+     * 一次扫描得到指定区间中的所有子查询区间，并按照编号从大到小的顺序解析每一个子查询，解析结果保存在栈帧中，编号与子查询区间的编号相同
+     *
+     * @param selectFrame 当前的解析栈帧，用于接收子查询区间与解析结果
+     * @param startIndex  子查询语句开始的索引
+     * @param endIndex    扫描的结束索引（不包含）
+     * @param sql         完整的sql语句
+     * @param parts       需要被填充到每一个子查询语句对象中的部分
+     * @param lastClause  每一个子查询中最后一个需要被扫描的子句
+     */
+    private static void parseSubQueries(ParserSession.SelectFrame selectFrame, int startIndex, int endIndex, CharSequence sql, EnumSet<StatementPart> parts, int lastClause) {
+        SubQuerySpans subQueries = selectFrame.subQueries;
+        if (!SelectLexer.scanSubQueries(sql, startIndex, endIndex, subQueries)) {
+            throw new SQLSyntaxException(sql, subQueries.getErrorIndex(), subQueries.getExpected());
+        }
+        if (subQueries.size() == 0) {
+            throw new SQLSyntaxException(sql, startIndex, "(select ...)");
+        }
+        SelectStatement[] subSelects = selectFrame.subSelects(subQueries.size());
+        SelectClauses clauses = selectFrame.subQueryClauses;
+        SelectStatementBuilder selectStatementBuilder = selectFrame.builder;
+        for (int index = subQueries.size() - 1; index >= 0; index--) {
+            int open = subQueries.getOpen(index);
+            int close = subQueries.getClose(index);
+            // 内部的子查询已经解析完毕，扫描的时候直接跳过，因此所有子查询的扫描总共只需要读取一次sql语句
+            int firstChild = index + 1 < subQueries.getNext(index) ? index + 1 : -1;
+            if (!SelectLexer.scan(sql, open + 1, close, SelectClauses.SELECT, clauses, subQueries, firstChild, lastClause)) {
+                throw new SQLSyntaxException(sql, clauses.getErrorIndex(), clauses.getExpected());
+            }
+            int subQueryStart = clauses.getSubQueryStart();
+            setAllClauses(selectStatementBuilder.reset().setSQL(sql, open, close + 1), clauses, parts);
+            if (subQueryStart >= 0) {
+                addSubQueries(selectStatementBuilder, selectFrame, index + 1, subQueries.getNext(index), subQueryStart);
             }
-        } else {
-            throw new RuntimeException("错误的解析词：" + sqlWord);
+            subSelects[index] = selectStatementBuilder.create();
+        }
+    }
+
+    /**
+     * 将子查询区间中指定编号范围内的每一个直接子查询的解析结果与表名提供给建造者
+     *
+     * @param selectStatementBuilder 正在被构建的sql语句对象建造者类
+     * @param selectFrame            保存了子查询区间与解析结果的栈帧
+     * @param from                   第一个直接子查询的编号
+     * @param to                     编号范围的结束（不包含）
+     * @param startIndex             左括号位于该索引之前的子查询不会被添加
+     */
+    private static void addSubQueries(SelectStatementBuilder selectStatementBuilder, ParserSession.SelectFrame selectFrame, int from, int to, int startIndex) {
+        SubQuerySpans subQueries = selectFrame.subQueries;
+        SelectStatement[] subSelects = selectFrame.subSelects;
+        for (int index = from; index < to; index = subQueries.getNext(index)) {
+            if (subQueries.getOpen(index) < startIndex) continue;
+            selectStatementBuilder
+                    .addSubSelect(subSelects[index])
+                    .addTableName(",")
+                    .addTableName(subSelects[index].getTableName());
         }
     }
 }
@@ -0,0 +1,50 @@
+package strInfo.parser;
+
+/**
+ * 语句对象中可以被单独请求的部分，部分解析的时候解析器只会填充被请求的部分，位于所有被请求部分之后的子句会被直接跳过，不会被扫描。
+ * <p>
+ * The parts of the statement object that can be requested separately. During partial parsing, the parser will only fill in the requested parts, and the clauses after all the requested parts will be skipped directly without being scanned.
+ * <p>
+ * 没有被请求的部分在语句对象中是不存在的，例如只请求了 TABLE 的时候，select 语句对象的 getFieldNames 会返回空数组。不支持部分解析的解析器会进行完整的解析，因此语句对象中的部分可能比请求的更多。
+ * <p>
+ * The parts that are not requested do not exist in the statement object. For example, when only TABLE is requested, getFieldNames of the select statement object will return an empty array. The parser that does not support partial parsing will perform a complete parsing, so there may be more parts in the statement object than requested.
+ *
+ * @author zhao
+ */
+public enum StatementPart {
+
+    /**
+     * 语句作用的表名，select 语句中还包括 from 子句中的子查询以及子查询作用的表名
+     */
+    TABLE,
+
+    /**
+     * select 语句中的查询字段或者 insert 语句中的插入字段
+     */
+    FIELD,
+
+    /**
+     * select 语句中的 where 子句
+     */
+    WHERE,
+
+    /**
+     * select 语句中的 group by 子句
+     */
+    GROUP,
+
+    /**
+     * select 语句中的 order by 子句以及排序方向
+     */
+    ORDER,
+
+    /**
+     * select 语句中的 limit 子句
+     */
+    LIMIT,
+
+    /**
+     * insert 语句中插入的数据
+     */
+    DATA
+}
@@ -0,0 +1,27 @@
+package strInfo.parser;
+
+/**
+ * 没有能够解析sql语句的解析器时抛出的异常，期望的解析词就是语句的第一个关键字。
+ * <p>
+ * The exception thrown when there is no parser that can parse the SQL statement. The expected parsing word is the first keyword of the statement.
+ *
+ * @author zhao
+ */
+public class UnsupportedStatementException extends SQLParseException {
+
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * @param sql         解析失败的sql语句
+     * @param errorOffset 语句第一个关键字的索引
+     * @param keyword     语句的第一个关键字
+     */
+    public UnsupportedStatementException(CharSequence sql, int errorOffset, String keyword) {
+        super(sql, errorOffset, keyword);
+    }
+
+    @Override
+    protected String describe() {
+        return "无法解析sql语句，没有与语句的第一个关键字对应的解析器：";
+    }
+}
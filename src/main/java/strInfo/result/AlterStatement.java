@@ -1,5 +1,6 @@
 package strInfo.result;
 
+import strInfo.lexer.SQLKeywords;
 /**
  * sql语句对象，其中包含的就是有关sql中create语句的参数信息。
  * <p>
@@ -10,75 +11,105 @@ package strInfo.result;
 public class AlterStatement extends Statement {
 
     public final static short hashNum = 8;
-    public final static int ALTER_WORD = getWordNum("alter", hashNum);
-    public final static int ALTER_MOD_WORD = getWordNum("mod", hashNum);
-    public final static int ADD_INFO_WORD = getWordNum("addINFO", hashNum);
-    public final static int TABLE_WORD = getWordNum("table", hashNum);
-    public final static int ADD_WORD = getWordNum("add", hashNum);
-    public final static int DROP_WORD = getWordNum("drop", hashNum);
-    public final static int RENAME_WORD = getWordNum("rename", hashNum);
-    public final static int CHANGE_WORD = getWordNum("change", hashNum);
-    public final static int INDEX_WORD = getWordNum("index", hashNum);
-    public final static int PRIMARY_WORD = getWordNum("primary", hashNum);
-    public final static int UNIQUE_WORD = getWordNum("unique", hashNum);
-    public final static int FIELD_WORD = getWordNum("field", hashNum);
+    public final static int ALTER_WORD = SQLKeywords.ALTER;
+    public final static int ALTER_MOD_WORD = SQLKeywords.MOD;
+    public final static int ADD_INFO_WORD = SQLKeywords.ADD_INFO;
+    public final static int TABLE_WORD = SQLKeywords.TABLE;
+    public final static int ADD_WORD = SQLKeywords.ADD;
+    public final static int DROP_WORD = SQLKeywords.DROP;
+    public final static int RENAME_WORD = SQLKeywords.RENAME;
+    public final static int CHANGE_WORD = SQLKeywords.CHANGE;
+    public final static int INDEX_WORD = SQLKeywords.INDEX;
+    public final static int PRIMARY_WORD = SQLKeywords.PRIMARY;
+    public final static int UNIQUE_WORD = SQLKeywords.UNIQUE;
+    public final static int FIELD_WORD = SQLKeywords.FIELD;
 
-    private final String alterStr;
-    private final String addStr;
-    private final String dropStr;
-    private final String renameStr;
-    private final String changeStr;
-    private final String mod;
-    private final String addINFO;
-    private final String indexName;
-    private final String sql;
-    private final String fieldStr;
+    final static int SQL_SEGMENT = 0;
+    final static int ALTER_SEGMENT = 1;
+    final static int ADD_SEGMENT = 2;
+    final static int DROP_SEGMENT = 3;
+    final static int RENAME_SEGMENT = 4;
+    final static int CHANGE_SEGMENT = 5;
+    final static int MOD_SEGMENT = 6;
+    final static int ADD_INFO_SEGMENT = 7;
+    final static int INDEX_SEGMENT = 8;
+    final static int FIELD_SEGMENT = 9;
+    final static int TABLE_SEGMENT = 10;
+    final static int SEGMENT_COUNT = 11;
+
+    private final Segments segments;
 
     public AlterStatement(String tableName, String fieldStr, String mod, String alterStr, String addStr, String indexName, String addINFO, String dropStr, String renameStr, String changeStr, String sql) {
-        super(tableName, fieldStr == null ? new String[0] : COMMA_PATTERN.split(fieldStr));
-        this.alterStr = alterStr;
-        int wordNum = getWordNum(mod, hashNum);
+        this(build(tableName, fieldStr, mod, alterStr, addStr, indexName, addINFO, dropStr, renameStr, changeStr, sql));
+    }
+
+    /**
+     * 使用紧凑存储结构构建语句对象，所有的子句都以区间的形式保存，在被获取的时候才会物化为字符串。
+     *
+     * @param segments 所有子句的紧凑存储结构，其中与修改模式无关的子句应已经通过 normalize 函数处理
+     */
+    AlterStatement(Segments segments) {
+        this.segments = segments;
+    }
+
+    private static Segments build(String tableName, String fieldStr, String mod, String alterStr, String addStr, String indexName, String addINFO, String dropStr, String renameStr, String changeStr, String sql) {
+        SegmentBuffer segmentBuffer = new SegmentBuffer(SEGMENT_COUNT);
+        segmentBuffer.set(TABLE_SEGMENT, tableName);
+        segmentBuffer.set(FIELD_SEGMENT, fieldStr);
+        segmentBuffer.set(MOD_SEGMENT, mod);
+        segmentBuffer.set(ALTER_SEGMENT, alterStr);
+        segmentBuffer.set(ADD_SEGMENT, addStr);
+        segmentBuffer.set(INDEX_SEGMENT, indexName);
+        segmentBuffer.set(ADD_INFO_SEGMENT, addINFO);
+        segmentBuffer.set(DROP_SEGMENT, dropStr);
+        segmentBuffer.set(RENAME_SEGMENT, renameStr);
+        segmentBuffer.set(CHANGE_SEGMENT, changeStr);
+        segmentBuffer.set(SQL_SEGMENT, sql);
+        normalize(segmentBuffer, mod, addINFO);
+        return segmentBuffer.build(null);
+    }
+
+    /**
+     * 按照修改模式，将所有与修改模式无关的子句设置为 "null"。
+     * <p>
+     * According to the modification mode, set all clauses unrelated to the modification mode to "null".
+     *
+     * @param segmentBuffer 累计子句的缓冲区
+     * @param mod           修改模式
+     * @param addINFO       add 修改模式中的添加模式
+     */
+    static void normalize(SegmentBuffer segmentBuffer, String mod, String addINFO) {
+        int wordNum = SQLKeywords.indexOf(mod);
         if (wordNum == ADD_WORD) {
-            this.addStr = addStr;
-            this.dropStr = "null";
-            this.renameStr = "null";
-            this.changeStr = "null";
-            int wordNum1 = getWordNum(addINFO, hashNum);
-            if (wordNum1 == INDEX_WORD) {
-                this.indexName = indexName;
-            } else {
-                this.indexName = "null";
+            segmentBuffer.set(DROP_SEGMENT, "null");
+            segmentBuffer.set(RENAME_SEGMENT, "null");
+            segmentBuffer.set(CHANGE_SEGMENT, "null");
+            if (SQLKeywords.indexOf(addINFO) != INDEX_WORD) {
+                segmentBuffer.set(INDEX_SEGMENT, "null");
             }
-            this.addINFO = addINFO;
         } else if (wordNum == DROP_WORD) {
-            this.dropStr = dropStr;
-            this.addStr = "null";
-            this.renameStr = "null";
-            this.changeStr = "null";
-            this.indexName = "null";
-            this.addINFO = "null";
+            segmentBuffer.set(ADD_SEGMENT, "null");
+            segmentBuffer.set(RENAME_SEGMENT, "null");
+            segmentBuffer.set(CHANGE_SEGMENT, "null");
+            segmentBuffer.set(INDEX_SEGMENT, "null");
+            segmentBuffer.set(ADD_INFO_SEGMENT, "null");
         } else if (wordNum == RENAME_WORD) {
-            this.renameStr = renameStr;
-            this.dropStr = "null";
-            this.addStr = "null";
-            this.changeStr = "null";
-            this.indexName = "null";
-            this.addINFO = "null";
+            segmentBuffer.set(DROP_SEGMENT, "null");
+            segmentBuffer.set(ADD_SEGMENT, "null");
+            segmentBuffer.set(CHANGE_SEGMENT, "null");
+            segmentBuffer.set(INDEX_SEGMENT, "null");
+            segmentBuffer.set(ADD_INFO_SEGMENT, "null");
         } else if (wordNum == CHANGE_WORD) {
-            this.changeStr = changeStr;
-            this.dropStr = "null";
-            this.renameStr = "null";
-            this.addStr = "null";
-            this.indexName = "null";
-            this.addINFO = "null";
+            segmentBuffer.set(DROP_SEGMENT, "null");
+            segmentBuffer.set(RENAME_SEGMENT, "null");
+            segmentBuffer.set(ADD_SEGMENT, "null");
+            segmentBuffer.set(INDEX_SEGMENT, "null");
+            segmentBuffer.set(ADD_INFO_SEGMENT, "null");
         } else {
             throw new RuntimeException("无法解析alter语句，语句中解析词对应的句子格式错误。\n" +
                     "The alter statement cannot be parsed. The format of the sentence corresponding to the parsed word in the statement is incorrect.\n" +
                     "ERROR => " + mod);
         }
-        this.fieldStr = fieldStr;
-        this.mod = mod;
-        this.sql = sql;
     }
 
     /**
@@ -95,24 +126,33 @@ public class AlterStatement extends Statement {
     }
 
     /**
-     * 获取到解析词在sql语句中的编号数值，用于将解析词按照hash与阈值一起映射成为数值后，再进行解析词的匹配，这样的匹配性能会优秀很多，其中的编号数值阈值默认为当前语句对象的hashNum。
-     * <p>
-     * Get the number value of the parsed word in the sql statement, which is used to map the parsed word into a number by hash and threshold value, and then match the parsed word. The matching performance will be much better. The number value threshold value is the hashNum of the current statement object by default.
-     *
-     * @param sqlWord 需要被转换的sql词
-     * @return sql词对应的编号
+     * @return 获取到SQL字符串的原语句
+     */
+    @Override
+    public String getSqlStr() {
+        return this.segments.get(SQL_SEGMENT);
+    }
+
+    @Override
+    public int getClauseCount() {
+        return segments.clauseCount();
+    }
+
+    /**
+     * @return 所有发生变化的列名称
      */
     @Override
-    protected int getWordNum(String sqlWord) {
-        return getWordNum(sqlWord, hashNum);
+    protected String[] parseFieldNames() {
+        String fieldStr = this.segments.get(FIELD_SEGMENT);
+        return fieldStr == null ? new String[0] : COMMA_PATTERN.split(fieldStr);
     }
 
     /**
-     * @return 获取到SQL字符串的原语句
+     * @return 被修改的表名
      */
     @Override
-    public String getSqlStr() {
-        return this.sql;
+    protected String parseTableName() {
+        return this.segments.get(TABLE_SEGMENT);
     }
 
     /**
@@ -123,27 +163,27 @@ public class AlterStatement extends Statement {
      */
     @Override
     public String getStatementStrByWord(String sqlWord) {
-        int wordNum = getWordNum(sqlWord, hashNum);
+        int wordNum = getWordNum(sqlWord);
         if (wordNum == ALTER_WORD) {
-            return this.alterStr;
+            return this.segments.get(ALTER_SEGMENT);
         } else if (wordNum == TABLE_WORD) {
-            return this.tableName;
+            return this.getTableName();
         } else if (wordNum == ADD_WORD) {
-            return this.addStr;
+            return this.segments.get(ADD_SEGMENT);
         } else if (wordNum == DROP_WORD) {
-            return this.dropStr;
+            return this.segments.get(DROP_SEGMENT);
         } else if (wordNum == RENAME_WORD) {
-            return this.renameStr;
+            return this.segments.get(RENAME_SEGMENT);
         } else if (wordNum == CHANGE_WORD) {
-            return this.changeStr;
+            return this.segments.get(CHANGE_SEGMENT);
         } else if (wordNum == INDEX_WORD) {
-            return this.indexName;
+            return this.segments.get(INDEX_SEGMENT);
         } else if (wordNum == FIELD_WORD) {
-            return this.fieldStr;
+            return this.segments.get(FIELD_SEGMENT);
         } else if (wordNum == ALTER_MOD_WORD) {
-            return this.mod;
+            return this.segments.get(MOD_SEGMENT);
         } else if (wordNum == ADD_INFO_WORD) {
-            return this.addINFO;
+            return this.segments.get(ADD_INFO_SEGMENT);
         }
         throw new IllegalStateException("Unexpected value: " + wordNum);
     }
@@ -156,27 +196,27 @@ public class AlterStatement extends Statement {
      */
     @Override
     public String[] getStatementArrayByWord(String sqlWord) {
-        int wordNum = getWordNum(sqlWord, hashNum);
+        int wordNum = getWordNum(sqlWord);
         if (wordNum == ALTER_WORD) {
-            return new String[]{this.alterStr};
+            return new String[]{this.segments.get(ALTER_SEGMENT)};
         } else if (wordNum == TABLE_WORD) {
-            return new String[]{this.tableName};
+            return new String[]{this.getTableName()};
         } else if (wordNum == ADD_WORD) {
-            return new String[]{this.addStr};
+            return new String[]{this.segments.get(ADD_SEGMENT)};
         } else if (wordNum == DROP_WORD) {
-            return new String[]{this.dropStr};
+            return new String[]{this.segments.get(DROP_SEGMENT)};
         } else if (wordNum == RENAME_WORD) {
-            return new String[]{this.renameStr};
+            return new String[]{this.segments.get(RENAME_SEGMENT)};
         } else if (wordNum == CHANGE_WORD) {
-            return new String[]{this.changeStr};
+            return new String[]{this.segments.get(CHANGE_SEGMENT)};
         } else if (wordNum == INDEX_WORD) {
-            return new String[]{this.indexName};
+            return new String[]{this.segments.get(INDEX_SEGMENT)};
         } else if (wordNum == FIELD_WORD) {
-            return this.fieldNames;
+            return this.getFieldNames();
         } else if (wordNum == ALTER_MOD_WORD) {
-            return new String[]{this.mod};
+            return new String[]{this.segments.get(MOD_SEGMENT)};
         } else if (wordNum == ADD_INFO_WORD) {
-            return new String[]{this.addINFO};
+            return new String[]{this.segments.get(ADD_INFO_SEGMENT)};
         }
         throw new IllegalStateException("Unexpected value: " + wordNum);
     }
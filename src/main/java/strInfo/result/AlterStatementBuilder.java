@@ -5,71 +5,129 @@ package strInfo.result;
  */
 public class AlterStatementBuilder implements Builder<AlterStatement> {
 
-    private String alterStr;
-    private String addStr;
-    private String dropStr;
-    private String renameStr;
-    private String changeStr;
-    private String mod;
-    private String addINFO;
-    private String indexName;
-    private String sql;
-    private String tableName;
-    private String fieldStr;
+    private final SegmentBuffer segments = new SegmentBuffer(AlterStatement.SEGMENT_COUNT);
+    private CharSequence sql;
+
+    /**
+     * 将建造者恢复到刚被创建时的状态，以便在下一次解析中复用同一个建造者，已经建造出来的语句对象不会受到影响。
+     * <p>
+     * Restore the builder to the state when it was just created, so that the same builder can be reused in the next parsing. The statement objects that have been built will not be affected.
+     *
+     * @return 建造者模式的链式建造
+     */
+    public AlterStatementBuilder reset() {
+        this.segments.reset();
+        this.sql = null;
+        return this;
+    }
 
     public AlterStatementBuilder setAlterStr(String alterStr) {
-        this.alterStr = alterStr;
+        this.segments.set(AlterStatement.ALTER_SEGMENT, alterStr);
         return this;
     }
 
     public AlterStatementBuilder setAddStr(String addStr) {
-        this.addStr = addStr;
+        this.segments.set(AlterStatement.ADD_SEGMENT, addStr);
         return this;
     }
 
     public AlterStatementBuilder setDropStr(String dropStr) {
-        this.dropStr = dropStr;
+        this.segments.set(AlterStatement.DROP_SEGMENT, dropStr);
         return this;
     }
 
     public AlterStatementBuilder setRenameStr(String renameStr) {
-        this.renameStr = renameStr;
+        this.segments.set(AlterStatement.RENAME_SEGMENT, renameStr);
         return this;
     }
 
     public AlterStatementBuilder setChangeStr(String changeStr) {
-        this.changeStr = changeStr;
+        this.segments.set(AlterStatement.CHANGE_SEGMENT, changeStr);
         return this;
     }
 
     public AlterStatementBuilder setMod(String mod) {
-        this.mod = mod;
+        this.segments.set(AlterStatement.MOD_SEGMENT, mod);
         return this;
     }
 
     public AlterStatementBuilder setAddINFO(String addINFO) {
-        this.addINFO = addINFO;
+        this.segments.set(AlterStatement.ADD_INFO_SEGMENT, addINFO);
         return this;
     }
 
     public AlterStatementBuilder setIndexName(String indexName) {
-        this.indexName = indexName;
+        this.segments.set(AlterStatement.INDEX_SEGMENT, indexName);
         return this;
     }
 
-    public AlterStatementBuilder setSql(String sql) {
+    public AlterStatementBuilder setSql(CharSequence sql) {
         this.sql = sql;
         return this;
     }
 
 
     public AlterStatementBuilder setTableName(String tableName) {
-        this.tableName = tableName;
+        this.segments.set(AlterStatement.TABLE_SEGMENT, tableName);
         return this;
     }
 
     public AlterStatementBuilder setFieldStr(String fieldStr) {
-        this.fieldStr = fieldStr;
+        this.segments.set(AlterStatement.FIELD_SEGMENT, fieldStr);
+        return this;
+    }
+
+    /**
+     * 使用sql语句中的区间设置 alter 子句，区间指向的是 setSql 所设置的sql语句，建造时不会产生子字符串，其它以区间为参数的设置函数同理。
+     * <p>
+     * Use the interval in the SQL statement to set the alter clause. The interval points to the SQL statement set by setSql, and no substring will be generated during construction. The same applies to other setting functions with interval as parameter.
+     *
+     * @param start alter 子句在sql语句中的起始索引
+     * @param end   alter 子句在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式构造
+     */
+    public AlterStatementBuilder setAlterStr(int start, int end) {
+        this.segments.set(AlterStatement.ALTER_SEGMENT, start, end);
+        return this;
+    }
+
+    public AlterStatementBuilder setAddStr(int start, int end) {
+        this.segments.set(AlterStatement.ADD_SEGMENT, start, end);
+        return this;
+    }
+
+    public AlterStatementBuilder setDropStr(int start, int end) {
+        this.segments.set(AlterStatement.DROP_SEGMENT, start, end);
+        return this;
+    }
+
+    public AlterStatementBuilder setRenameStr(int start, int end) {
+        this.segments.set(AlterStatement.RENAME_SEGMENT, start, end);
+        return this;
+    }
+
+    public AlterStatementBuilder setChangeStr(int start, int end) {
+        this.segments.set(AlterStatement.CHANGE_SEGMENT, start, end);
+        return this;
+    }
+
+    public AlterStatementBuilder setMod(int start, int end) {
+        this.segments.set(AlterStatement.MOD_SEGMENT, start, end);
+        return this;
+    }
+
+    public AlterStatementBuilder setIndexName(int start, int end) {
+        this.segments.set(AlterStatement.INDEX_SEGMENT, start, end);
+        return this;
+    }
+
+    public AlterStatementBuilder setTableName(int start, int end) {
+        this.segments.set(AlterStatement.TABLE_SEGMENT, start, end);
+        return this;
+    }
+
+    public AlterStatementBuilder setFieldStr(int start, int end) {
+        this.segments.set(AlterStatement.FIELD_SEGMENT, start, end);
         return this;
     }
 
@@ -78,6 +136,14 @@ public class AlterStatementBuilder implements Builder<AlterStatement> {
      */
     @Override
     public AlterStatement create() {
-        return new AlterStatement(tableName, fieldStr, mod, alterStr, addStr, indexName, addINFO, dropStr, renameStr, changeStr, sql);
+        AlterStatement.normalize(
+                this.segments,
+                this.segments.get(AlterStatement.MOD_SEGMENT, this.sql),
+                this.segments.get(AlterStatement.ADD_INFO_SEGMENT, this.sql)
+        );
+        if (this.sql != null) {
+            this.segments.set(AlterStatement.SQL_SEGMENT, 0, this.sql.length());
+        }
+        return new AlterStatement(this.segments.build(this.sql));
     }
 }
@@ -1,5 +1,6 @@
 package strInfo.result;
 
+import strInfo.lexer.SQLKeywords;
 /**
  * sql语句对象，其中包含的就是有关sql中create语句的参数信息。
  * <p>
@@ -9,50 +10,69 @@ package strInfo.result;
  */
 public class CreateStatement extends Statement {
     public final static short hashNum = 6;
-    public final static int CREATE_WORD = getWordNum("create", hashNum);
-    public final static int TABLE_WORD = getWordNum("table", hashNum);
-    public final static int FIELD_WORD = getWordNum("field", hashNum);
-    public final static int OPTION_WORD = getWordNum("option", hashNum);
-    public final static int LEFT_BRACKET_WORD = getWordNum("(", hashNum);
-    public final static int RIGHT_BRACKET_WORD = getWordNum(")", hashNum);
-    public final static int LIKE_WORD = getWordNum("like", hashNum);
-    public final static int AS_WORD = getWordNum("as", hashNum);
-
-    private final String SQL;
-    private final String createStr;
-    private final String fieldStr;
-    private final String optionsStr;
+    public final static int CREATE_WORD = SQLKeywords.CREATE;
+    public final static int TABLE_WORD = SQLKeywords.TABLE;
+    public final static int FIELD_WORD = SQLKeywords.FIELD;
+    public final static int OPTION_WORD = SQLKeywords.OPTION;
+    public final static int LEFT_BRACKET_WORD = SQLKeywords.LEFT_BRACKET;
+    public final static int RIGHT_BRACKET_WORD = SQLKeywords.RIGHT_BRACKET;
+    public final static int LIKE_WORD = SQLKeywords.LIKE;
+    public final static int AS_WORD = SQLKeywords.AS;
+
+    final static int SQL_SEGMENT = 0;
+    final static int CREATE_SEGMENT = 1;
+    final static int FIELD_SEGMENT = 2;
+    final static int OPTIONS_SEGMENT = 3;
+    final static int LIKE_SEGMENT = 4;
+    final static int TABLE_SEGMENT = 5;
+    final static int SEGMENT_COUNT = 6;
+
+    private final Segments segments;
     private final boolean temporary;
-    private final String likeStr;
     private final SelectStatement selectStatement;
 
     protected CreateStatement(String tableName, String sql, String createStr, String fieldStr, String optionsStr, boolean temporary, String likeStr, SelectStatement selectStatement) {
-        super(tableName, fieldStr != null ? COMMA_PATTERN.split(fieldStr.trim()) : new String[0]);
-        this.SQL = sql;
-        this.createStr = createStr;
-        this.fieldStr = fieldStr;
-        this.optionsStr = optionsStr;
-        this.temporary = temporary;
-        this.likeStr = likeStr;
-        this.selectStatement = selectStatement;
+        this(Segments.of(sql, createStr, fieldStr, optionsStr, likeStr, tableName), temporary, selectStatement);
     }
 
 
     protected CreateStatement(String tableName, String createStr, String fieldStr, String optionsStr, boolean temporary, String likeStr, SelectStatement selectStatement) {
-        super(tableName, fieldStr == null ? new String[0] : COMMA_PATTERN.split(fieldStr.trim()));
-        this.createStr = createStr;
-        this.fieldStr = fieldStr;
-        this.optionsStr = optionsStr;
+        this(compose(tableName, createStr, fieldStr, optionsStr, likeStr), temporary, selectStatement);
+    }
+
+    /**
+     * 使用紧凑存储结构构建语句对象，所有的子句都以区间的形式保存，在被获取的时候才会物化为字符串。
+     *
+     * @param segments        所有子句的紧凑存储结构
+     * @param temporary       是否是临时表
+     * @param selectStatement create 语句中的子查询语句
+     */
+    CreateStatement(Segments segments, boolean temporary, SelectStatement selectStatement) {
+        this.segments = segments;
         this.temporary = temporary;
-        this.likeStr = likeStr;
         this.selectStatement = selectStatement;
+    }
+
+    /**
+     * 使用所有子句拼接出sql语句，同时记录每一个子句在拼接结果中的区间，没有被拼接到sql语句中的子句会直接保存字符串。
+     */
+    private static Segments compose(String tableName, String createStr, String fieldStr, String optionsStr, String likeStr) {
+        int[] bounds = Segments.emptyBounds(SEGMENT_COUNT);
+        String[] texts = new String[SEGMENT_COUNT];
         StringBuilder stringBuilder = new StringBuilder(0b1000000);
-        stringBuilder
-                .append("create ").append(createStr);
-        if (fieldStr != null) stringBuilder.append(" (").append(fieldStr).append(") ");
-        else if (likeStr != null) stringBuilder.append(" like ").append(likeStr);
-        if (optionsStr != null) stringBuilder.append(optionsStr);
-        this.SQL = stringBuilder + ";";
+        Segments.append(stringBuilder.append("create "), bounds, CREATE_SEGMENT, createStr);
+        if (fieldStr != null) {
+            Segments.append(stringBuilder.append(" ("), bounds, FIELD_SEGMENT, fieldStr).append(") ");
+            texts[LIKE_SEGMENT] = likeStr;
+        } else if (likeStr != null) {
+            Segments.append(stringBuilder.append(" like "), bounds, LIKE_SEGMENT, likeStr);
+        }
+        if (optionsStr != null) Segments.append(stringBuilder, bounds, OPTIONS_SEGMENT, optionsStr);
+        stringBuilder.append(';');
+        bounds[SQL_SEGMENT << 1] = 0;
+        bounds[(SQL_SEGMENT << 1) + 1] = stringBuilder.length();
+        texts[TABLE_SEGMENT] = tableName;
+        return new Segments(stringBuilder.toString(), bounds, texts);
     }
 
     /**
@@ -70,24 +90,33 @@ public class CreateStatement extends Statement {
 
 
     /**
-     * 获取到解析词在sql语句中的编号数值，用于将解析词按照hash与阈值一起映射成为数值后，再进行解析词的匹配，这样的匹配性能会优秀很多，其中的编号数值阈值默认为当前语句对象的hashNum。
-     * <p>
-     * Get the number value of the parsed word in the sql statement, which is used to map the parsed word into a number by hash and threshold value, and then match the parsed word. The matching performance will be much better. The number value threshold value is the hashNum of the current statement object by default.
-     *
-     * @param sqlWord 需要被转换的sql词
-     * @return sql词对应的编号
+     * @return 获取到SQL字符串的原语句
+     */
+    @Override
+    public String getSqlStr() {
+        return this.segments.get(SQL_SEGMENT);
+    }
+
+    @Override
+    public int getClauseCount() {
+        return segments.clauseCount();
+    }
+
+    /**
+     * @return 使用建表时指定的字段计算出来的所有字段
      */
     @Override
-    protected int getWordNum(String sqlWord) {
-        return getWordNum(sqlWord, hashNum);
+    protected String[] parseFieldNames() {
+        String fieldStr = this.segments.get(FIELD_SEGMENT);
+        return fieldStr != null ? COMMA_PATTERN.split(fieldStr.trim()) : new String[0];
     }
 
     /**
-     * @return 获取到SQL字符串的原语句
+     * @return 被创建的表名
      */
     @Override
-    public String getSqlStr() {
-        return this.SQL;
+    protected String parseTableName() {
+        return this.segments.get(TABLE_SEGMENT);
     }
 
     /**
@@ -107,17 +136,17 @@ public class CreateStatement extends Statement {
      */
     @Override
     public String getStatementStrByWord(String sqlWord) {
-        int wordNum = getWordNum(sqlWord, hashNum);
+        int wordNum = getWordNum(sqlWord);
         if (wordNum == CREATE_WORD) {
-            return this.createStr;
+            return this.segments.get(CREATE_SEGMENT);
         } else if (wordNum == TABLE_WORD) {
-            return this.tableName;
+            return this.getTableName();
         } else if (wordNum == FIELD_WORD) {
-            return this.fieldStr;
+            return this.segments.get(FIELD_SEGMENT);
         } else if (wordNum == OPTION_WORD) {
-            return this.optionsStr;
+            return this.segments.get(OPTIONS_SEGMENT);
         } else if (wordNum == LIKE_WORD) {
-            return this.likeStr;
+            return this.segments.get(LIKE_SEGMENT);
         } else if (wordNum == AS_WORD) {
             return this.selectStatement.getSqlStr();
         }
@@ -132,17 +161,17 @@ public class CreateStatement extends Statement {
      */
     @Override
     public String[] getStatementArrayByWord(String sqlWord) {
-        int wordNum = getWordNum(sqlWord, hashNum);
+        int wordNum = getWordNum(sqlWord);
         if (wordNum == CREATE_WORD) {
-            return this.createStr == null ? new String[0] : SPACE_PATTERN.split(this.createStr);
+            return !this.segments.has(CREATE_SEGMENT) ? new String[0] : SPACE_PATTERN.split(this.segments.get(CREATE_SEGMENT));
         } else if (wordNum == TABLE_WORD) {
-            return new String[]{this.tableName};
+            return new String[]{this.getTableName()};
         } else if (wordNum == FIELD_WORD) {
-            return this.fieldStr == null ? new String[0] : COMMA_PATTERN.split(this.fieldStr);
+            return !this.segments.has(FIELD_SEGMENT) ? new String[0] : COMMA_PATTERN.split(this.segments.get(FIELD_SEGMENT));
         } else if (wordNum == OPTION_WORD) {
-            return this.optionsStr == null ? new String[0] : SPACE_PATTERN.split(this.optionsStr);
+            return !this.segments.has(OPTIONS_SEGMENT) ? new String[0] : SPACE_PATTERN.split(this.segments.get(OPTIONS_SEGMENT));
         } else if (wordNum == LIKE_WORD) {
-            return new String[]{this.likeStr};
+            return new String[]{this.segments.get(LIKE_SEGMENT)};
         } else if (wordNum == AS_WORD) {
             return this.selectStatement == null ? new String[0] : SPACE_PATTERN.split(this.selectStatement.getSqlStr());
         }
@@ -174,19 +203,19 @@ public class CreateStatement extends Statement {
         String fieldStr = null;
         String optionStr = null;
         String likeStr = null;
-        if (this.createStr == null && createStatement.createStr != null) {
-            createStr = createStatement.createStr;
+        if (!this.segments.has(CREATE_SEGMENT) && createStatement.segments.has(CREATE_SEGMENT)) {
+            createStr = createStatement.segments.get(CREATE_SEGMENT);
         }
-        if (this.fieldStr == null && createStatement.fieldStr != null) {
-            fieldStr = createStatement.fieldStr;
+        if (!this.segments.has(FIELD_SEGMENT) && createStatement.segments.has(FIELD_SEGMENT)) {
+            fieldStr = createStatement.segments.get(FIELD_SEGMENT);
         }
-        if (this.optionsStr == null && createStatement.optionsStr != null) {
-            optionStr = createStatement.optionsStr;
+        if (!this.segments.has(OPTIONS_SEGMENT) && createStatement.segments.has(OPTIONS_SEGMENT)) {
+            optionStr = createStatement.segments.get(OPTIONS_SEGMENT);
         }
-        if (this.likeStr == null && createStatement.likeStr != null) {
-            likeStr = createStatement.likeStr;
+        if (!this.segments.has(LIKE_SEGMENT) && createStatement.segments.has(LIKE_SEGMENT)) {
+            likeStr = createStatement.segments.get(LIKE_SEGMENT);
         }
-        return new CreateStatement(this.tableName, createStr, fieldStr == null ? "----" : fieldStr, optionStr,
+        return new CreateStatement(this.getTableName(), createStr, fieldStr == null ? "----" : fieldStr, optionStr,
                 this.temporary == createStatement.temporary && this.temporary, likeStr,
                 this.selectStatement != null ? this.selectStatement.merge(createStatement.selectStatement) : createStatement.selectStatement
         );
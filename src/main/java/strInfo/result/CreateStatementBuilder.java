@@ -7,15 +7,26 @@ package strInfo.result;
  */
 public class CreateStatementBuilder implements Builder<CreateStatement> {
 
-    private String SQL;
-    private String tableName;
-    private String createStr;
-    private String fieldStr;
-    private String optionsStr;
+    private final SegmentBuffer segments = new SegmentBuffer(CreateStatement.SEGMENT_COUNT);
+    private CharSequence SQL;
     private boolean temporary;
-    private String likeStr;
     private SelectStatement selectStatement;
 
+    /**
+     * 将建造者恢复到刚被创建时的状态，以便在下一次解析中复用同一个建造者，已经建造出来的语句对象不会受到影响。
+     * <p>
+     * Restore the builder to the state when it was just created, so that the same builder can be reused in the next parsing. The statement objects that have been built will not be affected.
+     *
+     * @return 建造者模式的链式建造
+     */
+    public CreateStatementBuilder reset() {
+        this.segments.reset();
+        this.SQL = null;
+        this.temporary = false;
+        this.selectStatement = null;
+        return this;
+    }
+
     /**
      * 设置SQL的整体语句，是sql语句的全部字符串对象
      * <p>
@@ -28,7 +39,7 @@ public class CreateStatementBuilder implements Builder<CreateStatement> {
      * <p>
      * Chain structure of builder pattern
      */
-    public CreateStatementBuilder setSQL(String SQL) {
+    public CreateStatementBuilder setSQL(CharSequence SQL) {
         this.SQL = SQL;
         return this;
     }
@@ -40,22 +51,22 @@ public class CreateStatementBuilder implements Builder<CreateStatement> {
      * Chain structure of builder pattern
      */
     public CreateStatementBuilder setTableName(String tableName) {
-        this.tableName = tableName;
+        this.segments.set(CreateStatement.TABLE_SEGMENT, tableName);
         return this;
     }
 
     public CreateStatementBuilder setCreateStr(String createStr) {
-        this.createStr = createStr;
+        this.segments.set(CreateStatement.CREATE_SEGMENT, createStr);
         return this;
     }
 
     public CreateStatementBuilder setFieldStr(String fieldStr) {
-        this.fieldStr = fieldStr;
+        this.segments.set(CreateStatement.FIELD_SEGMENT, fieldStr);
         return this;
     }
 
     public CreateStatementBuilder setOptionsStr(String optionsStr) {
-        this.optionsStr = optionsStr;
+        this.segments.set(CreateStatement.OPTIONS_SEGMENT, optionsStr);
         return this;
     }
 
@@ -65,7 +76,7 @@ public class CreateStatementBuilder implements Builder<CreateStatement> {
     }
 
     public CreateStatementBuilder setLikeStr(String likeStr) {
-        this.likeStr = likeStr;
+        this.segments.set(CreateStatement.LIKE_SEGMENT, likeStr);
         return this;
     }
 
@@ -74,14 +85,54 @@ public class CreateStatementBuilder implements Builder<CreateStatement> {
         return this;
     }
 
+    /**
+     * 使用sql语句中的区间设置表名，区间指向的是 setSQL 所设置的sql语句，建造时不会产生子字符串。
+     * <p>
+     * Use the interval in the SQL statement to set the table name. The interval points to the SQL statement set by setSQL, and no substring will be generated during construction.
+     *
+     * @param start 表名在sql语句中的起始索引
+     * @param end   表名在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式构造
+     */
+    public CreateStatementBuilder setTableName(int start, int end) {
+        this.segments.set(CreateStatement.TABLE_SEGMENT, start, end);
+        return this;
+    }
+
+    public CreateStatementBuilder setCreateStr(int start, int end) {
+        this.segments.set(CreateStatement.CREATE_SEGMENT, start, end);
+        return this;
+    }
+
+    public CreateStatementBuilder setFieldStr(int start, int end) {
+        this.segments.set(CreateStatement.FIELD_SEGMENT, start, end);
+        return this;
+    }
+
+    public CreateStatementBuilder setOptionsStr(int start, int end) {
+        this.segments.set(CreateStatement.OPTIONS_SEGMENT, start, end);
+        return this;
+    }
+
+    public CreateStatementBuilder setLikeStr(int start, int end) {
+        this.segments.set(CreateStatement.LIKE_SEGMENT, start, end);
+        return this;
+    }
+
     /**
      * @return 建造者类所构造出来的数据封装对象，当调用该方法的时候意味着建造完成，将会正式的确定出被构造产品的结果数据
      */
     @Override
     public CreateStatement create() {
         if (this.SQL == null) {
-            return new CreateStatement(tableName, createStr, fieldStr, optionsStr, temporary, likeStr, selectStatement);
+            Segments segments = this.segments.build(null);
+            return new CreateStatement(
+                    segments.get(CreateStatement.TABLE_SEGMENT), segments.get(CreateStatement.CREATE_SEGMENT),
+                    segments.get(CreateStatement.FIELD_SEGMENT), segments.get(CreateStatement.OPTIONS_SEGMENT),
+                    temporary, segments.get(CreateStatement.LIKE_SEGMENT), selectStatement
+            );
         }
-        return new CreateStatement(tableName, SQL, createStr, fieldStr, optionsStr, temporary, likeStr, selectStatement);
+        this.segments.set(CreateStatement.SQL_SEGMENT, 0, this.SQL.length());
+        return new CreateStatement(this.segments.build(this.SQL), temporary, selectStatement);
     }
 }
@@ -1,5 +1,9 @@
 package strInfo.result;
 
+import strInfo.lexer.SQLKeywords;
+
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.regex.Pattern;
 
 /**
@@ -12,31 +16,53 @@ import java.util.regex.Pattern;
 public class InsertStatement extends Statement {
 
     public final static short hashNum = 4;
-    public final static int INSERT_WORD = getWordNum("insert", hashNum);
-    public final static int TABLE_WORD = getWordNum("table", hashNum);
-    public final static int VALUE_WORD = getWordNum("value", hashNum);
-    public final static int VALUES_WORD = getWordNum("values", hashNum);
+    public final static int INSERT_WORD = SQLKeywords.INSERT;
+    public final static int TABLE_WORD = SQLKeywords.TABLE;
+    public final static int VALUE_WORD = SQLKeywords.VALUE;
+    public final static int VALUES_WORD = SQLKeywords.VALUES;
     protected final static Pattern VALUE_SPLIT_PATTERN = Pattern.compile("\\)\\s*?,\\s*?\\(", Pattern.CASE_INSENSITIVE);
 
+    final static int SQL_SEGMENT = 0;
+    final static int FIELD_SEGMENT = 1;
+    final static int DATA_SEGMENT = 2;
+    final static int TABLE_SEGMENT = 3;
+    final static int SEGMENT_COUNT = 4;
+
     private final boolean Multiline;
-    private final String SQL;
-    private final String fieldStr;
-    private final String dataStr;
+    private final Segments segments;
 
     protected InsertStatement(String tableName, boolean multiline, String sql, String fieldStr, String dataStr) {
-        super(tableName, fieldStr == null ? new String[]{"null"} : COMMA_PATTERN.split(fieldStr));
-        Multiline = multiline;
-        SQL = sql;
-        this.fieldStr = fieldStr;
-        this.dataStr = dataStr;
+        this(Segments.of(sql, fieldStr, dataStr, tableName), multiline);
     }
 
     protected InsertStatement(String tableName, boolean multiline, String fieldStr, String dataStr) {
-        super(tableName, fieldStr == null ? new String[]{"null"} : COMMA_PATTERN.split(fieldStr));
-        Multiline = multiline;
-        this.fieldStr = fieldStr;
-        this.dataStr = dataStr;
-        this.SQL = "insert into " + tableName + '(' + fieldStr + ')' + (multiline ? " values " : " value ") + dataStr + ';';
+        this(compose(tableName, multiline, fieldStr, dataStr), multiline);
+    }
+
+    /**
+     * 使用紧凑存储结构构建语句对象，所有的子句都以区间的形式保存，在被获取的时候才会物化为字符串。
+     *
+     * @param segments  所有子句的紧凑存储结构
+     * @param multiline 是否是多行插入
+     */
+    InsertStatement(Segments segments, boolean multiline) {
+        this.segments = segments;
+        this.Multiline = multiline;
+    }
+
+    /**
+     * 使用所有子句拼接出sql语句，同时记录每一个子句在拼接结果中的区间。
+     */
+    private static Segments compose(String tableName, boolean multiline, String fieldStr, String dataStr) {
+        int[] bounds = Segments.emptyBounds(SEGMENT_COUNT);
+        StringBuilder stringBuilder = new StringBuilder(0b1000000);
+        Segments.append(stringBuilder.append("insert into "), bounds, TABLE_SEGMENT, tableName);
+        Segments.append(stringBuilder.append('('), bounds, FIELD_SEGMENT, fieldStr);
+        Segments.append(stringBuilder.append(')').append(multiline ? " values " : " value "), bounds, DATA_SEGMENT, dataStr);
+        stringBuilder.append(';');
+        bounds[SQL_SEGMENT << 1] = 0;
+        bounds[(SQL_SEGMENT << 1) + 1] = stringBuilder.length();
+        return new Segments(stringBuilder.toString(), bounds, null);
     }
 
     /**
@@ -53,24 +79,33 @@ public class InsertStatement extends Statement {
     }
 
     /**
-     * 获取到解析词在sql语句中的编号数值，用于将解析词按照hash与阈值一起映射成为数值后，再进行解析词的匹配，这样的匹配性能会优秀很多，其中的编号数值阈值默认为当前语句对象的hashNum。
-     * <p>
-     * Get the number value of the parsed word in the sql statement, which is used to map the parsed word into a number by hash and threshold value, and then match the parsed word. The matching performance will be much better. The number value threshold value is the hashNum of the current statement object by default.
-     *
-     * @param sqlWord 需要被转换的sql词
-     * @return sql词对应的编号
+     * @return 获取到SQL字符串的原语句
+     */
+    @Override
+    public String getSqlStr() {
+        return this.segments.get(SQL_SEGMENT);
+    }
+
+    @Override
+    public int getClauseCount() {
+        return segments.clauseCount();
+    }
+
+    /**
+     * @return 使用 insert 子句中的字段计算出来的所有字段
      */
     @Override
-    protected int getWordNum(String sqlWord) {
-        return getWordNum(sqlWord, hashNum);
+    protected String[] parseFieldNames() {
+        String fieldStr = this.segments.get(FIELD_SEGMENT);
+        return fieldStr == null ? new String[]{"null"} : COMMA_PATTERN.split(fieldStr);
     }
 
     /**
-     * @return 获取到SQL字符串的原语句
+     * @return 插入数据的目标表名
      */
     @Override
-    public String getSqlStr() {
-        return this.SQL;
+    protected String parseTableName() {
+        return this.segments.get(TABLE_SEGMENT);
     }
 
     /**
@@ -81,13 +116,13 @@ public class InsertStatement extends Statement {
      */
     @Override
     public String getStatementStrByWord(String sqlWord) {
-        int wordNum = getWordNum(sqlWord, hashNum);
+        int wordNum = getWordNum(sqlWord);
         if (wordNum == INSERT_WORD) {
-            return this.fieldStr;
+            return this.segments.get(FIELD_SEGMENT);
         } else if (wordNum == TABLE_WORD) {
-            return this.tableName;
+            return this.getTableName();
         } else if (wordNum == VALUE_WORD || wordNum == VALUES_WORD) {
-            return '(' + this.dataStr + ')';
+            return '(' + this.segments.get(DATA_SEGMENT) + ')';
         }
         throw new IllegalStateException("Unexpected value: " + wordNum);
     }
@@ -102,19 +137,34 @@ public class InsertStatement extends Statement {
         if (insertStatement == null) return this;
         String dataStr = null;
         String fieldStr = null;
-        if (this.dataStr == null && insertStatement.dataStr != null) {
-            dataStr = insertStatement.dataStr;
+        if (!this.segments.has(DATA_SEGMENT) && insertStatement.segments.has(DATA_SEGMENT)) {
+            dataStr = insertStatement.segments.get(DATA_SEGMENT);
         }
-        if (this.fieldStr == null && insertStatement.fieldStr != null) {
-            fieldStr = insertStatement.fieldStr;
+        if (!this.segments.has(FIELD_SEGMENT) && insertStatement.segments.has(FIELD_SEGMENT)) {
+            fieldStr = insertStatement.segments.get(FIELD_SEGMENT);
         }
         return new InsertStatement(
-                this.tableName,
+                this.getTableName(),
                 this.Multiline == insertStatement.Multiline && this.Multiline,
                 fieldStr, dataStr
         );
     }
 
+    /**
+     * 获取到插入数据的行迭代器，迭代器直接在原sql语句上拆分每一行数据与每一个字段，引号中的括号与逗号不会被视为分隔符，不会像 getStatementArrayByWord("values") 一样一次性构建出所有行组成的数组。
+     * <p>
+     * Get the row iterator of the inserted data. The iterator directly splits each row of data and each field on the original SQL statement. The brackets and commas in quotation marks will not be regarded as separators. It will not build an array of all rows at once like getStatementArrayByWord("values").
+     *
+     * @return 插入数据的行迭代器，迭代器会一直复用同一个行对象，如果需要保留行对象，请使用 Row.copy 函数
+     * <p>
+     * The row iterator of the inserted data. The iterator will always reuse the same row object. If you need to keep the row object, please use the Row.copy function
+     */
+    public Iterator<Row> rows() {
+        CharSequence source = this.segments.sourceOf(DATA_SEGMENT);
+        if (source == null) return Collections.emptyIterator();
+        return new RowIterator(source, this.segments.start(DATA_SEGMENT), this.segments.end(DATA_SEGMENT));
+    }
+
     /**
      * 按照SQL解析词获取到目标解析词下的sql语句
      *
@@ -123,13 +173,13 @@ public class InsertStatement extends Statement {
      */
     @Override
     public String[] getStatementArrayByWord(String sqlWord) {
-        int wordNum = getWordNum(sqlWord, hashNum);
+        int wordNum = getWordNum(sqlWord);
         if (wordNum == INSERT_WORD) {
-            return this.fieldNames;
+            return this.getFieldNames();
         } else if (wordNum == TABLE_WORD) {
-            return new String[]{this.tableName};
+            return new String[]{this.getTableName()};
         } else if (wordNum == VALUE_WORD || wordNum == VALUES_WORD) {
-            return this.dataStr != null ? VALUE_SPLIT_PATTERN.split(this.dataStr) : new String[0];
+            return this.segments.has(DATA_SEGMENT) ? VALUE_SPLIT_PATTERN.split(this.segments.get(DATA_SEGMENT)) : new String[0];
         }
         throw new IllegalStateException("Unexpected value: " + wordNum);
     }
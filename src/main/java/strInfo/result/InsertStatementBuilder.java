@@ -9,14 +9,26 @@ package strInfo.result;
  */
 public class InsertStatementBuilder implements Builder<InsertStatement> {
 
+    private final SegmentBuffer segments = new SegmentBuffer(InsertStatement.SEGMENT_COUNT);
     private boolean Multiline;
-    private String SQL;
-    private String tableName;
-    private String fieldStr;
-    private String dataStr;
+    private CharSequence source;
+
+    /**
+     * 将建造者恢复到刚被创建时的状态，以便在下一次解析中复用同一个建造者，已经建造出来的语句对象不会受到影响。
+     * <p>
+     * Restore the builder to the state when it was just created, so that the same builder can be reused in the next parsing. The statement objects that have been built will not be affected.
+     *
+     * @return 建造者模式的链式建造
+     */
+    public InsertStatementBuilder reset() {
+        this.segments.reset();
+        this.Multiline = false;
+        this.source = null;
+        return this;
+    }
 
     public InsertStatementBuilder setSQL(String SQL) {
-        this.SQL = SQL;
+        this.segments.set(InsertStatement.SQL_SEGMENT, SQL);
         return this;
     }
 
@@ -26,17 +38,70 @@ public class InsertStatementBuilder implements Builder<InsertStatement> {
     }
 
     public InsertStatementBuilder setTableName(String tableName) {
-        this.tableName = tableName;
+        this.segments.set(InsertStatement.TABLE_SEGMENT, tableName);
         return this;
     }
 
     public InsertStatementBuilder setFieldStr(String fieldStr) {
-        this.fieldStr = fieldStr;
+        this.segments.set(InsertStatement.FIELD_SEGMENT, fieldStr);
         return this;
     }
 
     public InsertStatementBuilder setDataStr(String dataStr) {
-        this.dataStr = dataStr;
+        this.segments.set(InsertStatement.DATA_SEGMENT, dataStr);
+        return this;
+    }
+
+    /**
+     * 设置所有区间所指向的原sql语句，通过区间设置的子句在建造时不会产生子字符串。
+     * <p>
+     * Set the original SQL statement pointed to by all intervals. The clause set by interval will not generate substrings during construction.
+     *
+     * @param source 原sql语句
+     * @return 建造者模式的链式构造
+     */
+    public InsertStatementBuilder setSource(CharSequence source) {
+        this.source = source;
+        return this;
+    }
+
+    /**
+     * @param start 被解析的sql语句在原sql语句中的起始索引
+     * @param end   被解析的sql语句在原sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式构造
+     */
+    public InsertStatementBuilder setSQL(int start, int end) {
+        this.segments.set(InsertStatement.SQL_SEGMENT, start, end);
+        return this;
+    }
+
+    /**
+     * @param start 表名在原sql语句中的起始索引
+     * @param end   表名在原sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式构造
+     */
+    public InsertStatementBuilder setTableName(int start, int end) {
+        this.segments.set(InsertStatement.TABLE_SEGMENT, start, end);
+        return this;
+    }
+
+    /**
+     * @param start 字段在原sql语句中的起始索引
+     * @param end   字段在原sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式构造
+     */
+    public InsertStatementBuilder setFieldStr(int start, int end) {
+        this.segments.set(InsertStatement.FIELD_SEGMENT, start, end);
+        return this;
+    }
+
+    /**
+     * @param start 插入的数据在原sql语句中的起始索引
+     * @param end   插入的数据在原sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式构造
+     */
+    public InsertStatementBuilder setDataStr(int start, int end) {
+        this.segments.set(InsertStatement.DATA_SEGMENT, start, end);
         return this;
     }
 
@@ -45,6 +110,6 @@ public class InsertStatementBuilder implements Builder<InsertStatement> {
      */
     @Override
     public InsertStatement create() {
-        return new InsertStatement(tableName, Multiline, this.SQL, fieldStr, dataStr);
+        return new InsertStatement(this.segments.build(this.source), Multiline);
     }
 }
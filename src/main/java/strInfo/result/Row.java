@@ -0,0 +1,276 @@
+package strInfo.result;
+
+import strInfo.expression.RowAccessor;
+import strInfo.lexer.SQLLexer;
+
+/**
+ * insert 语句中的一行数据，其中只记录了每一个字段在原sql语句中的区间，字段只有在被获取的时候才会被物化为字符串。
+ * <p>
+ * A row of data in the insert statement, in which only the interval of each field in the original SQL statement is recorded. The field will be materialized as a string only when it is obtained.
+ * <p>
+ * 行迭代器在迭代的过程中会一直复用同一个行对象，因此行对象只在下一次调用迭代器的 next 函数之前有效，如果需要保留行对象，请使用 copy 函数。
+ * <p>
+ * The row iterator will always reuse the same row object during iteration, so the row object is only valid until the next call to the next function of the iterator. If you need to keep the row object, please use the copy function.
+ * <p>
+ * 行对象同时也是一个 RowAccessor，因此可以直接使用编译之后的 where 谓词过滤 insert 语句中的数据。
+ * <p>
+ * The row object is also a RowAccessor, so the compiled where predicate can be used directly to filter the data in the insert statement.
+ *
+ * @author zhao
+ */
+public final class Row implements RowAccessor {
+
+    private final CharSequence source;
+    private int[] bounds;
+    private int size;
+    private int index;
+    private Text[] texts;
+
+    Row(CharSequence source, int capacity) {
+        this.source = source;
+        this.bounds = new int[Math.max(capacity, 1) << 1];
+    }
+
+    /**
+     * 开始记录新的一行数据。
+     */
+    void reset(int index) {
+        this.index = index;
+        this.size = 0;
+    }
+
+    /**
+     * 添加一个字段的区间，区间的两端已经去除了空白。
+     */
+    void add(int start, int end) {
+        if (size << 1 == bounds.length) {
+            int[] newBounds = new int[bounds.length << 1];
+            System.arraycopy(bounds, 0, newBounds, 0, bounds.length);
+            bounds = newBounds;
+        }
+        bounds[size << 1] = start;
+        bounds[(size << 1) + 1] = end;
+        size++;
+    }
+
+    /**
+     * @return 当前行在 insert 语句中的行号，从0开始
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return 当前行中的字段数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 所有字段区间所指向的字符序列
+     */
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /**
+     * @param field 字段的索引
+     * @return 字段在字符序列中的起始索引
+     */
+    public int getStart(int field) {
+        return bounds[checkField(field) << 1];
+    }
+
+    /**
+     * @param field 字段的索引
+     * @return 字段在字符序列中的结束索引（不包含）
+     */
+    public int getEnd(int field) {
+        return bounds[(checkField(field) << 1) + 1];
+    }
+
+    /**
+     * @param field 字段的索引
+     * @return 字段在sql语句中的原始文本，字符串字段会保留引号
+     * <p>
+     * The original text of the field in the SQL statement. String fields will retain quotation marks
+     */
+    public String getText(int field) {
+        return source.subSequence(getStart(field), getEnd(field)).toString();
+    }
+
+    /**
+     * @param field 字段的索引
+     * @return 如果字段是被引号包裹的字符串，返回true
+     */
+    public boolean isQuoted(int field) {
+        int start = getStart(field);
+        if (getEnd(field) - start < 2) return false;
+        char c = source.charAt(start);
+        return c == '\'' || c == '"';
+    }
+
+    /**
+     * @param field 字段的索引
+     * @return 如果字段是没有被引号包裹的 NULL，返回true
+     */
+    @Override
+    public boolean isNull(int field) {
+        return SQLLexer.equalsIgnoreCase(source, getStart(field), getEnd(field), "null");
+    }
+
+    /**
+     * 获取到字段的值，字符串字段会去除两端的引号并处理转义字符。
+     * <p>
+     * Get the value of the field. The string field will remove the quotation marks at both ends and process the escape characters.
+     *
+     * @param field 字段的索引
+     * @return 字段的值，如果字段是 NULL，返回null
+     */
+    public String getString(int field) {
+        int start = getStart(field);
+        int end = getEnd(field);
+        if (!isQuoted(field)) {
+            return SQLLexer.equalsIgnoreCase(source, start, end, "null") ? null : source.subSequence(start, end).toString();
+        }
+        char quote = source.charAt(start);
+        StringBuilder stringBuilder = new StringBuilder(end - start - 2);
+        for (int i = start + 1, last = end - 1; i < last; i++) {
+            char c = source.charAt(i);
+            if (c == '\\' && i + 1 < last) {
+                c = SQLLexer.unescape(source.charAt(++i));
+            } else if (c == quote && i + 1 < last && source.charAt(i + 1) == quote) {
+                i++;
+            }
+            stringBuilder.append(c);
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * @param field 字段的索引
+     * @return 字段的数值，被引号包裹的数字也可以被解析，解析过程不会产生新对象
+     * @throws NumberFormatException 字段不是一个数字
+     */
+    @Override
+    public double getDouble(int field) {
+        int start = getStart(field);
+        int end = getEnd(field);
+        if (isQuoted(field)) {
+            start++;
+            end--;
+        }
+        return SQLLexer.parseDouble(source, start, end);
+    }
+
+    /**
+     * @param field 字段的索引
+     * @return 如果字段是没有被引号包裹的数字，返回true
+     */
+    @Override
+    public boolean isNumber(int field) {
+        if (isQuoted(field)) return false;
+        try {
+            SQLLexer.parseDouble(source, getStart(field), getEnd(field));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param field 字段的索引
+     * @return 字段的值组成的字符序列视图，每一个字段的视图都会被复用，只在迭代器切换到下一行之前有效，只有包含转义字符的字符串字段才会产生新的字符串
+     * <p>
+     * A view of the character sequence composed of the values of the field. The view of each field will be reused and is only valid until the iterator switches to the next row. Only string fields containing escape characters will produce new strings
+     */
+    @Override
+    public CharSequence getCharSequence(int field) {
+        int start = getStart(field);
+        int end = getEnd(field);
+        if (isQuoted(field)) {
+            char quote = source.charAt(start);
+            for (int i = ++start, last = --end; i < last; i++) {
+                char c = source.charAt(i);
+                if (c == '\\' || c == quote) return getString(field);
+            }
+        }
+        if (texts == null || texts.length < size) {
+            Text[] newTexts = new Text[bounds.length >> 1];
+            if (texts != null) System.arraycopy(texts, 0, newTexts, 0, texts.length);
+            texts = newTexts;
+        }
+        Text text = texts[field];
+        if (text == null) {
+            text = new Text(source);
+            texts[field] = text;
+        }
+        text.start = start;
+        text.end = end;
+        return text;
+    }
+
+    /**
+     * @return 当前行对象的副本，副本不会随着迭代器的迭代而改变
+     * <p>
+     * A copy of the current row object. The copy will not change with the iteration of the iterator
+     */
+    public Row copy() {
+        Row row = new Row(source, size);
+        System.arraycopy(bounds, 0, row.bounds, 0, size << 1);
+        row.size = size;
+        row.index = index;
+        return row;
+    }
+
+    private int checkField(int field) {
+        if (field < 0 || field >= size) {
+            throw new IndexOutOfBoundsException("Field: " + field + ", Size: " + size);
+        }
+        return field;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder().append('(');
+        for (int i = 0; i < size; i++) {
+            if (i != 0) stringBuilder.append(", ");
+            stringBuilder.append(source, bounds[i << 1], bounds[(i << 1) + 1]);
+        }
+        return stringBuilder.append(')').toString();
+    }
+
+    /**
+     * 原sql语句中一个区间的可复用字符序列视图。
+     */
+    private final static class Text implements CharSequence {
+        private final CharSequence source;
+        private int start;
+        private int end;
+
+        Text(CharSequence source) {
+            this.source = source;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return source.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return source.subSequence(this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            return source.subSequence(start, end).toString();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package strInfo.result;
+
+import strInfo.lexer.SQLLexer;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * insert 语句中数据行的迭代器，直接在原sql语句上按照括号与逗号拆分每一行以及每一个字段，引号中的括号与逗号会被正确的跳过，迭代过程中不会产生任何中间数组与子字符串。
+ * <p>
+ * The iterator of data rows in the insert statement directly splits each row and each field on the original SQL statement according to brackets and commas. Brackets and commas in quotation marks will be skipped correctly, and no intermediate arrays and substrings will be generated during the iteration.
+ *
+ * @author zhao
+ */
+final class RowIterator implements Iterator<Row> {
+
+    private final CharSequence source;
+    private final int end;
+    private final Row row;
+    private int position;
+    private int index;
+
+    /**
+     * @param source 包含数据的字符序列
+     * @param start  第一行数据的起始索引，位于第一个左括号之后
+     * @param end    最后一行数据的结束索引，位于最后一个右括号之前
+     */
+    RowIterator(CharSequence source, int start, int end) {
+        this.source = source;
+        this.end = end;
+        this.position = start;
+        this.row = new Row(source, 8);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position >= 0;
+    }
+
+    @Override
+    public Row next() {
+        if (position < 0) throw new NoSuchElementException();
+        row.reset(index++);
+        int depth = 0;
+        int i = position;
+        int fieldStart = SQLLexer.skipWhitespace(source, i, end);
+        boolean separated = false;
+        while (i < end) {
+            char c = source.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                int next = SQLLexer.skipQuoted(source, i, end);
+                i = next < 0 ? end : next;
+                continue;
+            }
+            int next = SQLLexer.skipComment(source, i, end);
+            if (next != i) {
+                i = next;
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0) break;
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                row.add(fieldStart, SQLLexer.trimEnd(source, fieldStart, i));
+                fieldStart = SQLLexer.skipWhitespace(source, i + 1, end);
+                separated = true;
+            }
+            i++;
+        }
+        int fieldEnd = SQLLexer.trimEnd(source, fieldStart, i);
+        if (separated || fieldEnd > fieldStart) {
+            row.add(fieldStart, fieldEnd);
+        }
+        position = nextRow(i);
+        return row;
+    }
+
+    /**
+     * @param index 当前行的右括号索引
+     * @return 下一行数据的起始索引，如果没有下一行，返回 -1
+     */
+    private int nextRow(int index) {
+        if (index >= end) return -1;
+        int i = SQLLexer.skipWhitespace(source, index + 1, end);
+        if (i >= end || source.charAt(i) != ',') return -1;
+        i = SQLLexer.skipWhitespace(source, i + 1, end);
+        if (i >= end || source.charAt(i) != '(') return -1;
+        return i + 1;
+    }
+}
@@ -0,0 +1,95 @@
+package strInfo.result;
+
+import strInfo.lexer.SQLLexer;
+
+/**
+ * 建造者中用于累计子句的缓冲区，子句可以是原sql语句中的一个区间，也可以是一个字符串，在建造结束时会被转换为不可变的 Segments 对象。
+ * <p>
+ * The buffer used to accumulate clauses in the builder. The clause can be an interval in the original SQL statement or a string. It will be converted into an immutable Segments object at the end of construction.
+ *
+ * @author zhao
+ */
+final class SegmentBuffer {
+
+    private final int[] bounds;
+    private final String[] texts;
+    private int textCount;
+
+    SegmentBuffer(int count) {
+        this.bounds = Segments.emptyBounds(count);
+        this.texts = new String[count];
+    }
+
+    /**
+     * 清空缓冲区中的所有子句
+     */
+    void reset() {
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = -1;
+        }
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = null;
+        }
+        textCount = 0;
+    }
+
+    /**
+     * @param index 子句编号
+     * @param text  子句的字符串
+     */
+    void set(int index, String text) {
+        if (texts[index] == null) {
+            if (text != null) textCount++;
+        } else if (text == null) {
+            textCount--;
+        }
+        texts[index] = text;
+        bounds[index << 1] = -1;
+    }
+
+    /**
+     * @param index 子句编号
+     * @param start 子句在原sql语句中的起始索引
+     * @param end   子句在原sql语句中的结束索引（不包含）
+     */
+    void set(int index, int start, int end) {
+        if (texts[index] != null) {
+            texts[index] = null;
+            textCount--;
+        }
+        bounds[index << 1] = start;
+        bounds[(index << 1) + 1] = end;
+    }
+
+    /**
+     * @param index  子句编号
+     * @param source 子句区间所指向的原sql语句
+     * @return 子句当前对应的字符串，如果子句不存在返回null
+     */
+    String get(int index, CharSequence source) {
+        String text = texts[index];
+        if (text != null) return text;
+        int start = bounds[index << 1];
+        return start < 0 ? null : source.subSequence(start, bounds[(index << 1) + 1]).toString();
+    }
+
+    /**
+     * 在子句的末尾追加字符串，追加之后的子句将以字符串的形式保存。
+     *
+     * @param index  子句编号
+     * @param source 子句区间所指向的原sql语句
+     * @param text   需要追加的字符串
+     */
+    void append(int index, CharSequence source, String text) {
+        String current = get(index, source);
+        set(index, current == null ? text : current + text);
+    }
+
+    /**
+     * @param source 子句区间所指向的原sql语句，解析器已经在入口处通过 SQLLexer.snapshot 得到了不可变的副本，这里只会为直接使用建造者的调用者复制可变的字符序列
+     * @return 由当前缓冲区中的数据构建出来的不可变存储结构
+     */
+    Segments build(CharSequence source) {
+        return new Segments(source == null ? null : SQLLexer.snapshot(source), bounds.clone(), textCount == 0 ? null : texts.clone());
+    }
+}
@@ -0,0 +1,126 @@
+package strInfo.result;
+
+/**
+ * 语句对象中所有子句的紧凑存储结构，每一个子句只使用两个int记录其在原sql语句中的起始与结束索引，只有在获取子句的时候才会将子句物化为字符串。
+ * <p>
+ * The compact storage structure of all clauses in the statement object. Each clause only uses two ints to record its start and end index in the original SQL statement. The clause will be materialized as a string only when the clause is obtained.
+ * <p>
+ * 对于那些不是从原sql语句中截取出来的子句（例如由建造者直接设置的字符串），会直接保存字符串对象的引用。
+ * <p>
+ * For clauses that are not intercepted from the original SQL statement (for example, strings directly set by the builder), the reference of the string object will be saved directly.
+ *
+ * @author zhao
+ */
+final class Segments {
+
+    private final CharSequence source;
+    private final int[] bounds;
+    private final String[] texts;
+
+    /**
+     * @param source 所有区间索引指向的原sql语句
+     * @param bounds 每两个元素代表一个子句的起始与结束索引，起始索引为 -1 代表子句不存在
+     * @param texts  直接保存的子句字符串，如果所有子句都来自原sql语句，这里可以为null
+     */
+    Segments(CharSequence source, int[] bounds, String[] texts) {
+        this.source = source;
+        this.bounds = bounds;
+        this.texts = texts;
+    }
+
+    /**
+     * 使用字符串直接构建一个紧凑存储结构，用于兼容通过字符串构建语句对象的方式。
+     *
+     * @param texts 每一个子句的字符串
+     * @return 所有子句都直接保存字符串引用的存储结构
+     */
+    static Segments of(String... texts) {
+        return new Segments(null, emptyBounds(texts.length), texts);
+    }
+
+    /**
+     * @param count 子句的数量
+     * @return 所有子句都不存在的区间数组
+     */
+    static int[] emptyBounds(int count) {
+        int[] bounds = new int[count << 1];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = -1;
+        }
+        return bounds;
+    }
+
+    /**
+     * 将一个子句追加到正在拼接的sql语句中，同时记录子句在拼接结果中的区间，子句为null的时候会追加 "null" 但不记录区间。
+     *
+     * @param stringBuilder 正在拼接的sql语句
+     * @param bounds        记录子句区间的数组
+     * @param index         子句编号
+     * @param text          需要被追加的子句
+     * @return 正在拼接的sql语句
+     */
+    static StringBuilder append(StringBuilder stringBuilder, int[] bounds, int index, String text) {
+        if (text != null) {
+            bounds[index << 1] = stringBuilder.length();
+            stringBuilder.append(text);
+            bounds[(index << 1) + 1] = stringBuilder.length();
+        } else {
+            stringBuilder.append((String) null);
+        }
+        return stringBuilder;
+    }
+
+    /**
+     * @param index 子句编号
+     * @return 子句对应的字符串，如果子句不存在返回null，每一次调用都会重新物化字符串
+     */
+    String get(int index) {
+        if (texts != null && texts[index] != null) return texts[index];
+        int start = bounds[index << 1];
+        return start < 0 ? null : source.subSequence(start, bounds[(index << 1) + 1]).toString();
+    }
+
+    /**
+     * @param index 子句编号
+     * @return 包含子句的字符序列，如果子句是直接保存的字符串，返回的就是该字符串，否则返回原sql语句，子句不存在时返回null
+     */
+    CharSequence sourceOf(int index) {
+        if (texts != null && texts[index] != null) return texts[index];
+        return bounds[index << 1] < 0 ? null : source;
+    }
+
+    /**
+     * @param index 子句编号
+     * @return 子句在 sourceOf 返回的字符序列中的起始索引
+     */
+    int start(int index) {
+        return texts != null && texts[index] != null ? 0 : bounds[index << 1];
+    }
+
+    /**
+     * @param index 子句编号
+     * @return 子句在 sourceOf 返回的字符序列中的结束索引（不包含）
+     */
+    int end(int index) {
+        return texts != null && texts[index] != null ? texts[index].length() : bounds[(index << 1) + 1];
+    }
+
+    /**
+     * @param index 子句编号
+     * @return 如果子句存在，返回true
+     */
+    boolean has(int index) {
+        return (texts != null && texts[index] != null) || bounds[index << 1] >= 0;
+    }
+
+    /**
+     * @return 除了完整的sql语句（编号为0的子句）之外，存在的子句数量
+     */
+    int clauseCount() {
+        int count = 0;
+        for (int index = 1, size = bounds.length >> 1; index < size; index++) {
+            if (has(index)) count++;
+        }
+        return count;
+    }
+}
@@ -1,6 +1,14 @@
 package strInfo.result;
 
+import strInfo.expression.WhereExpression;
+import strInfo.lexer.FromClauseScanner;
+import strInfo.lexer.SQLKeywords;
+import strInfo.lexer.SQLLexer;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * sql语句对象，其中包含的就是有关sql中的Select语句的参数信息。
@@ -11,55 +19,66 @@ import java.util.ArrayList;
  */
 public class SelectStatement extends Statement {
     public final static short hashNum = 4;
-    public final static int SELECT_WORD = getWordNum("select", hashNum);
-    public final static int FROM_WORD = getWordNum("from", hashNum);
-    public final static int WHERE_WORD = getWordNum("where", hashNum);
-    public final static int GROUP_WORD = getWordNum("group", hashNum);
-    public final static int ORDER_WORD = getWordNum("order", hashNum);
-    public final static int LIMIT_WORD = getWordNum("limit", hashNum);
-
-    private final boolean useAlias;
+    public final static int SELECT_WORD = SQLKeywords.SELECT;
+    public final static int FROM_WORD = SQLKeywords.FROM;
+    public final static int WHERE_WORD = SQLKeywords.WHERE;
+    public final static int GROUP_WORD = SQLKeywords.GROUP;
+    public final static int ORDER_WORD = SQLKeywords.ORDER;
+    public final static int LIMIT_WORD = SQLKeywords.LIMIT;
+
+    final static int SQL_SEGMENT = 0;
+    final static int SELECT_SEGMENT = 1;
+    final static int WHERE_SEGMENT = 2;
+    final static int GROUP_SEGMENT = 3;
+    final static int ORDER_SEGMENT = 4;
+    final static int LIMIT_SEGMENT = 5;
+    final static int TABLE_SEGMENT = 6;
+    final static int SEGMENT_COUNT = 7;
+
     private final ArrayList<SelectStatement> SubQueryList;
-    private final String SQL;
-    private final String selectStr;
-    private final String whereStr;
-    private final String groupStr;
+    private final Segments segments;
     private final boolean asc;
-    private final String orderStr;
-    private final String limitStr;
+    private volatile TableRefs tableRefs;
+    private volatile List<String> whereList;
+    private volatile WhereExpression whereExpression;
 
     protected SelectStatement(String tableName, String sql, String selectStr, String whereStr, String groupStr, String orderStr, boolean asc, String limitStr, ArrayList<SelectStatement> SubQueryList) {
-        super(tableName.toLowerCase(), COMMA_PATTERN.split(selectStr));
-        this.SQL = sql;
-        this.selectStr = selectStr;
-        this.whereStr = whereStr;
-        this.groupStr = groupStr;
-        this.asc = asc;
-        this.orderStr = orderStr;
-        this.limitStr = limitStr;
-        this.SubQueryList = SubQueryList;
-        this.useAlias = this.tableName.contains("as");
+        this(Segments.of(sql, selectStr, whereStr, groupStr, orderStr, limitStr, tableName), asc, SubQueryList);
     }
 
     protected SelectStatement(String tableName, String selectStr, String whereStr, String groupStr, String orderStr, boolean asc, String limitStr, ArrayList<SelectStatement> SubQueryList) {
-        super(tableName.toLowerCase(), COMMA_PATTERN.split(selectStr));
-        this.selectStr = selectStr;
-        this.whereStr = whereStr;
-        this.groupStr = groupStr;
-        this.orderStr = orderStr;
+        this(compose(tableName, selectStr, whereStr, groupStr, orderStr, limitStr), asc, SubQueryList);
+    }
+
+    /**
+     * 使用紧凑存储结构构建语句对象，所有的子句都以区间的形式保存，在被获取的时候才会物化为字符串。
+     *
+     * @param segments     所有子句的紧凑存储结构
+     * @param asc          是否是正序排序
+     * @param SubQueryList 所有的子查询语句
+     */
+    SelectStatement(Segments segments, boolean asc, ArrayList<SelectStatement> SubQueryList) {
+        this.segments = segments;
         this.asc = asc;
-        this.limitStr = limitStr;
+        this.SubQueryList = new ArrayList<>(SubQueryList);
+    }
+
+    /**
+     * 使用所有子句拼接出sql语句，同时记录每一个子句在拼接结果中的区间。
+     */
+    private static Segments compose(String tableName, String selectStr, String whereStr, String groupStr, String orderStr, String limitStr) {
+        int[] bounds = Segments.emptyBounds(SEGMENT_COUNT);
         StringBuilder stringBuilder = new StringBuilder(0b1000000);
-        stringBuilder
-                .append("select ").append(selectStr)
-                .append(" from ").append(tableName);
-        if (whereStr != null) stringBuilder.append(" where ").append(whereStr);
-        if (groupStr != null) stringBuilder.append(" group  by ").append(groupStr);
-        if (orderStr != null) stringBuilder.append(" order by ").append(orderStr);
-        if (limitStr != null) stringBuilder.append(" limit ").append(limitStr);
-        this.SQL = stringBuilder + ";";
-        this.SubQueryList = SubQueryList;
-        this.useAlias = this.tableName.contains("as");
+        Segments.append(stringBuilder.append("select "), bounds, SELECT_SEGMENT, selectStr);
+        Segments.append(stringBuilder.append(" from "), bounds, TABLE_SEGMENT, tableName);
+        if (whereStr != null) Segments.append(stringBuilder.append(" where "), bounds, WHERE_SEGMENT, whereStr);
+        if (groupStr != null) Segments.append(stringBuilder.append(" group  by "), bounds, GROUP_SEGMENT, groupStr);
+        if (orderStr != null) Segments.append(stringBuilder.append(" order by "), bounds, ORDER_SEGMENT, orderStr);
+        if (limitStr != null) Segments.append(stringBuilder.append(" limit "), bounds, LIMIT_SEGMENT, limitStr);
+        stringBuilder.append(';');
+        bounds[SQL_SEGMENT << 1] = 0;
+        bounds[(SQL_SEGMENT << 1) + 1] = stringBuilder.length();
+        return new Segments(stringBuilder.toString(), bounds, null);
     }
 
     /**
@@ -81,55 +100,29 @@ public class SelectStatement extends Statement {
      * If the alias is used in the query statement, true will be returned here. If the alias is not used, false will be returned here
      */
     public boolean isUseAlias() {
-        return this.useAlias;
+        return this.tableRefs().aliases.length != 0;
     }
 
     /**
-     * 获取到本次查询涉及到的所有表名组成的数组数据。
+     * 获取到本次查询涉及到的所有表名组成的数组数据，连接关键字以及 as 之后的别名不会出现在数组中。
      * <p>
-     * Get the array data composed of all table names involved in this query.
+     * Get the array data composed of all table names involved in this query. Join keywords and aliases after "as" will not appear in the array.
      *
      * @return 将tableName数据按照一定的格式进行分组，获取到包含所有表名的一个新数组。
      * <p>
      * Group tableName data in a certain format to obtain a new array containing all table names.
      */
     public String[] getTables() {
-        ArrayList<String> arrayList = new ArrayList<>();
-        String tableName = this.tableName;
-        StringBuilder backStr = new StringBuilder();
-        for (int i = 0, length = tableName.length(); i < length; i++) {
-            char c = tableName.charAt(i);
-            if (c != ' ' && c != ',') {
-                backStr.append(c);
-            } else {
-                int length1 = backStr.length();
-                if (length1 == 5) {
-                    String s1 = backStr.toString();
-                    if (s1.equalsIgnoreCase("right") || s1.equalsIgnoreCase("inner") || s1.equalsIgnoreCase("cross")) {
-                        backStr.delete(0, 5);
-                    } else {
-                        arrayList.add(s1);
-                    }
-                } else if (length1 == 4) {
-                    String s1 = backStr.toString();
-                    if ("join".equalsIgnoreCase(s1) || "left".equalsIgnoreCase(s1) || "full".equalsIgnoreCase(s1)) {
-                        backStr.delete(0, 4);
-                    } else {
-                        arrayList.add(s1);
-                    }
-                } else {
-                    int length2 = backStr.length();
-                    if (length2 != 0) {
-                        arrayList.add(backStr.toString());
-                        backStr.delete(0, length2);
-                    }
-                }
-            }
-        }
-        if (backStr.length() != 0) {
-            arrayList.add(backStr.toString());
-        }
-        return arrayList.toArray(new String[0]);
+        return this.tableRefs().tables.clone();
+    }
+
+    /**
+     * @return 所有表名组成的不可修改列表，列表只会在第一次被获取的时候计算，之后的获取不会产生任何新对象
+     * <p>
+     * An unmodifiable list of all table names. The list will only be calculated when it is obtained for the first time, and subsequent acquisitions will not produce any new objects
+     */
+    public List<String> getTableList() {
+        return this.tableRefs().tableList;
     }
 
     /**
@@ -142,32 +135,16 @@ public class SelectStatement extends Statement {
      * A string array composed of aliases of all tables related to this query.
      */
     public String[] getTablesByAlias() {
-        ArrayList<String> arrayList = new ArrayList<>();
-        StringBuilder tempWordName = new StringBuilder();
-        boolean isAs = false;
-        for (int i = 0, length = tableName.length(); i < length; i++) {
-            char c = tableName.charAt(i);
-            if (c != ' ' && c != ',') {
-                tempWordName.append(c);
-            } else {
-                if (isAs) {
-                    arrayList.add(tempWordName.toString());
-                    tempWordName.delete(0, tempWordName.length());
-                    isAs = false;
-                } else {
-                    String s = tempWordName.toString();
-                    if ("as".equalsIgnoreCase(s)) {
-                        // 发现下一个词是别名，在这里打上标记
-                        isAs = true;
-                    }
-                    tempWordName.delete(0, s.length());
-                }
-            }
-        }
-        if (isAs && tempWordName.length() != 0) {
-            arrayList.add(tempWordName.toString());
-        }
-        return arrayList.toArray(new String[0]);
+        return this.tableRefs().aliases.clone();
+    }
+
+    /**
+     * @return 所有表别名组成的不可修改列表，顺序与 getRealNameList 一一对应
+     * <p>
+     * An unmodifiable list of all table aliases, in one-to-one correspondence with getRealNameList
+     */
+    public List<String> getAliasList() {
+        return this.tableRefs().aliasList;
     }
 
     /**
@@ -180,40 +157,28 @@ public class SelectStatement extends Statement {
      * A string array composed of RealName of all tables related to this query.
      */
     public String[] getTablesByRealName() {
-        ArrayList<String> arrayList = new ArrayList<>();
-        String backWordName = "null";
-        StringBuilder tempWordName = new StringBuilder();
-        for (int i = 0, length = tableName.length(); i < length; i++) {
-            char c = tableName.charAt(i);
-            if (c != ' ' && c != ',') {
-                tempWordName.append(c);
-            } else {
-                String s = tempWordName.toString();
-                if ("as".equalsIgnoreCase(s)) {
-                    // 发现下一个词是别名，在这里添加上一个的表名
-                    arrayList.add(backWordName);
-                } else {
-                    // 如果不是就将当前词作为上一次词
-                    backWordName = s;
-                }
-                tempWordName.delete(0, s.length());
-            }
-        }
-
-        return arrayList.toArray(new String[0]);
+        return this.tableRefs().realNames.clone();
     }
 
     /**
-     * 获取到解析词在sql语句中的编号数值，用于将解析词按照hash与阈值一起映射成为数值后，再进行解析词的匹配，这样的匹配性能会优秀很多，其中的编号数值阈值默认为当前语句对象的hashNum。
+     * @return 所有使用了别名的表的真名组成的不可修改列表，顺序与 getAliasList 一一对应
      * <p>
-     * Get the number value of the parsed word in the sql statement, which is used to map the parsed word into a number by hash and threshold value, and then match the parsed word. The matching performance will be much better. The number value threshold value is the hashNum of the current statement object by default.
-     *
-     * @param sqlWord 需要被转换的sql词
-     * @return sql词对应的编号
+     * An unmodifiable list of the real names of all tables using aliases, in one-to-one correspondence with getAliasList
      */
-    @Override
-    protected int getWordNum(String sqlWord) {
-        return getWordNum(sqlWord, hashNum);
+    public List<String> getRealNameList() {
+        return this.tableRefs().realNameList;
+    }
+
+    /**
+     * @return 表名、别名与真名的计算结果，只会在第一次被获取的时候使用一次扫描计算出来
+     */
+    private TableRefs tableRefs() {
+        TableRefs tableRefs = this.tableRefs;
+        if (tableRefs == null) {
+            tableRefs = new TableRefs(this.getTableName());
+            this.tableRefs = tableRefs;
+        }
+        return tableRefs;
     }
 
     /**
@@ -221,7 +186,30 @@ public class SelectStatement extends Statement {
      */
     @Override
     public String getSqlStr() {
-        return this.SQL;
+        return this.segments.get(SQL_SEGMENT);
+    }
+
+    @Override
+    public int getClauseCount() {
+        return segments.clauseCount();
+    }
+
+    /**
+     * @return 使用 select 子句计算出来的所有字段，部分解析时没有请求字段的语句返回空数组
+     */
+    @Override
+    protected String[] parseFieldNames() {
+        String selectStr = this.segments.get(SELECT_SEGMENT);
+        return selectStr == null ? new String[0] : COMMA_PATTERN.split(selectStr);
+    }
+
+    /**
+     * @return 使用 from 子句与子查询的表名计算出来的小写表名，部分解析时没有请求表名的语句返回null
+     */
+    @Override
+    protected String parseTableName() {
+        String tableName = this.segments.get(TABLE_SEGMENT);
+        return tableName == null ? null : tableName.toLowerCase();
     }
 
     /**
@@ -230,7 +218,7 @@ public class SelectStatement extends Statement {
      * If 1 is returned, it represents a positive ordering clause; if - 1 is returned, it represents a reverse ordering clause; if 0 is returned, it represents no sorting operation
      */
     public int isAsc() {
-        return orderStr == null ? 0 : asc ? 1 : -1;
+        return !this.segments.has(ORDER_SEGMENT) ? 0 : asc ? 1 : -1;
     }
 
     /**
@@ -241,19 +229,19 @@ public class SelectStatement extends Statement {
      */
     @Override
     public String getStatementStrByWord(String sqlWord) {
-        int wordNum = getWordNum(sqlWord, hashNum);
+        int wordNum = getWordNum(sqlWord);
         if (wordNum == SELECT_WORD) {
-            return this.selectStr;
+            return this.segments.get(SELECT_SEGMENT);
         } else if (wordNum == FROM_WORD) {
-            return this.tableName;
+            return this.getTableName();
         } else if (wordNum == WHERE_WORD) {
-            return this.whereStr;
+            return this.segments.get(WHERE_SEGMENT);
         } else if (wordNum == GROUP_WORD) {
-            return this.groupStr;
+            return this.segments.get(GROUP_SEGMENT);
         } else if (wordNum == ORDER_WORD) {
-            return this.orderStr;
+            return this.segments.get(ORDER_SEGMENT);
         } else if (wordNum == LIMIT_WORD) {
-            return this.limitStr;
+            return this.segments.get(LIMIT_SEGMENT);
         }
         throw new IllegalStateException("Unexpected value: " + wordNum);
     }
@@ -266,71 +254,118 @@ public class SelectStatement extends Statement {
      */
     @Override
     public String[] getStatementArrayByWord(String sqlWord) {
-        int wordNum = getWordNum(sqlWord, hashNum);
+        int wordNum = getWordNum(sqlWord);
         if (wordNum == SELECT_WORD) {
-            return this.fieldNames;
+            return this.getFieldNames();
         } else if (wordNum == FROM_WORD) {
-            return this.tableName == null ? new String[0] : getTables();
+            return this.getTableName() == null ? new String[0] : getTables();
         } else if (wordNum == WHERE_WORD) {
-            return this.whereStr == null ? new String[0] : getWhereArray();
+            return !this.segments.has(WHERE_SEGMENT) ? new String[0] : getWhereArray();
         } else if (wordNum == GROUP_WORD) {
-            return this.groupStr == null ? new String[0] : COMMA_PATTERN.split(this.groupStr);
+            return !this.segments.has(GROUP_SEGMENT) ? new String[0] : COMMA_PATTERN.split(this.segments.get(GROUP_SEGMENT));
         } else if (wordNum == ORDER_WORD) {
-            return this.orderStr == null ? new String[0] : COMMA_PATTERN.split(this.orderStr);
+            return !this.segments.has(ORDER_SEGMENT) ? new String[0] : COMMA_PATTERN.split(this.segments.get(ORDER_SEGMENT));
         } else if (wordNum == LIMIT_WORD) {
-            return this.limitStr == null ? new String[0] : COMMA_PATTERN.split(this.limitStr);
+            return !this.segments.has(LIMIT_SEGMENT) ? new String[0] : COMMA_PATTERN.split(this.segments.get(LIMIT_SEGMENT));
         }
         throw new IllegalStateException("Unexpected value: " + wordNum);
     }
 
     /**
-     * 返回本次解析到的 where 子句中的条件数组，其中偶数位是子句的条件表达式。
+     * 返回本次解析到的 where 子句中的条件数组，其中偶数位是子句的条件表达式，奇数位是连接条件的 and 或 or，引号与括号中的 and 或 or 不会被拆分。
+     * <p>
+     * Returns the condition array in the where clause parsed this time, in which the even bits are the conditional expressions of the clause and the odd bits are the "and" or "or" connecting the conditions. The "and" or "or" in quotation marks and brackets will not be split.
      *
      * @return where子句的条件数组。
      */
     public String[] getWhereArray() {
-        if (this.whereStr == null) return new String[0];
+        return this.getWhereList().toArray(new String[0]);
+    }
+
+    /**
+     * @return where 子句的条件组成的不可修改列表，列表只会在第一次被获取的时候计算，之后的获取不会产生任何新对象
+     * <p>
+     * An unmodifiable list of the conditions of the where clause. The list will only be calculated when it is obtained for the first time, and subsequent acquisitions will not produce any new objects
+     */
+    public List<String> getWhereList() {
+        List<String> whereList = this.whereList;
+        if (whereList == null) {
+            whereList = splitWhere(this.segments.sourceOf(WHERE_SEGMENT), this.segments.start(WHERE_SEGMENT), this.segments.end(WHERE_SEGMENT));
+            this.whereList = whereList;
+        }
+        return whereList;
+    }
+
+    /**
+     * 获取到 where 子句的表达式树，表达式树中保留了括号与运算符的优先级，且节点直接指向原sql语句中的区间，只会在第一次被获取的时候解析。
+     * <p>
+     * Get the expression tree of the where clause. The expression tree retains the priority of brackets and operators, and the nodes directly point to the interval in the original SQL statement. It will only be parsed when it is obtained for the first time.
+     *
+     * @return where 子句的表达式树，如果语句中没有 where 子句，返回的表达式树中没有任何节点
+     */
+    public WhereExpression getWhereExpression() {
+        WhereExpression whereExpression = this.whereExpression;
+        if (whereExpression == null) {
+            CharSequence source = this.segments.sourceOf(WHERE_SEGMENT);
+            whereExpression = source == null ? WhereExpression.parse("") : WhereExpression.parse(source, this.segments.start(WHERE_SEGMENT), this.segments.end(WHERE_SEGMENT));
+            this.whereExpression = whereExpression;
+        }
+        return whereExpression;
+    }
+
+    /**
+     * 直接在原sql语句的 where 子句区间上进行一次扫描，按照最外层的 and 与 or 将条件拆分出来。
+     */
+    private static List<String> splitWhere(CharSequence sql, int start, int end) {
+        if (sql == null) return Collections.emptyList();
         ArrayList<String> arrayList = new ArrayList<>();
-        StringBuilder stringBuilder = new StringBuilder();
-        StringBuilder backStr = new StringBuilder();
-        for (int i = 0, length = this.whereStr.length(); i < length; i++) {
-            char c = this.whereStr.charAt(i);
-            if (c != ' ') {
-                stringBuilder.append(c);
-            } else {
-                String s = stringBuilder.toString();
-                int length1 = s.length();
-                if ("or".equalsIgnoreCase(s) || "and".equalsIgnoreCase(s)) {
-                    arrayList.add(backStr.toString());
-                    arrayList.add(s);
-                    backStr.delete(0, backStr.length());
-                } else {
-                    backStr.append(c).append(stringBuilder);
+        int conditionStart = SQLLexer.skipWhitespace(sql, start, end);
+        int depth = 0;
+        int i = conditionStart;
+        while (i < end) {
+            char c = sql.charAt(i);
+            if (SQLLexer.isQuote(c)) {
+                int next = SQLLexer.skipQuoted(sql, i, end);
+                i = next < 0 ? end : next;
+            } else if (c == '(') {
+                depth++;
+                i++;
+            } else if (c == ')') {
+                depth--;
+                i++;
+            } else if (SQLLexer.isWordChar(c)) {
+                int wordEnd = SQLLexer.wordEnd(sql, i, end);
+                if (depth == 0 && i > conditionStart && SQLLexer.isWhitespace(sql.charAt(i - 1)) && (wordEnd == end || !SQLLexer.isWordChar(sql.charAt(wordEnd)))) {
+                    int word = SQLKeywords.indexOf(sql, i, wordEnd);
+                    if (word == SQLKeywords.AND || word == SQLKeywords.OR) {
+                        arrayList.add(sql.subSequence(conditionStart, SQLLexer.trimEnd(sql, conditionStart, i)).toString());
+                        arrayList.add(sql.subSequence(i, wordEnd).toString());
+                        conditionStart = SQLLexer.skipWhitespace(sql, wordEnd, end);
+                        i = conditionStart;
+                        continue;
+                    }
                 }
-                stringBuilder.delete(0, length1);
+                i = wordEnd;
+            } else {
+                i++;
             }
         }
-        if (backStr.length() != 0) {
-            if (stringBuilder.length() != 0) {
-                String s = stringBuilder.toString();
-                if (!("or".equalsIgnoreCase(s) || "and".equalsIgnoreCase(s))) {
-                    backStr.append(s);
-                }
-            }
-            arrayList.add(backStr.toString());
+        int conditionEnd = SQLLexer.trimEnd(sql, conditionStart, end);
+        if (conditionEnd > conditionStart) {
+            arrayList.add(sql.subSequence(conditionStart, conditionEnd).toString());
         }
-        return arrayList.toArray(new String[0]);
+        return Collections.unmodifiableList(Arrays.asList(arrayList.toArray(new String[0])));
     }
 
     /**
      * 获取到本次解析到的所有子查询语句
      *
-     * @return 每一个子查询语句的sql解析结果对象组成的列表，值得注意的是，该列表是源数据，在外界的修改会影响到本类中的数据。
+     * @return 每一个子查询语句的sql解析结果对象组成的列表，该列表是一个副本，在外界的修改不会影响到本类中的数据。
      * <p>
-     * The list of SQL parsing result objects of each sub query statement. It is worth noting that this list is source data, and external modifications will affect the data in this class.
+     * The list of SQL parsing result objects of each sub query statement. This list is a copy, and external modifications will not affect the data in this class.
      */
     public ArrayList<SelectStatement> getSubQueryList() {
-        return SubQueryList;
+        return new ArrayList<>(SubQueryList);
     }
 
     /**
@@ -347,30 +382,70 @@ public class SelectStatement extends Statement {
         String orderStr = null;
         boolean asc = this.asc;
         String limitStr = null;
-        if (this.selectStr == null && selectStatement.selectStr != null) {
-            selectStr = selectStatement.selectStr;
+        if (!this.segments.has(SELECT_SEGMENT) && selectStatement.segments.has(SELECT_SEGMENT)) {
+            selectStr = selectStatement.segments.get(SELECT_SEGMENT);
         }
-        if (this.whereStr == null && selectStatement.whereStr != null) {
-            whereStr = selectStatement.whereStr;
+        if (!this.segments.has(WHERE_SEGMENT) && selectStatement.segments.has(WHERE_SEGMENT)) {
+            whereStr = selectStatement.segments.get(WHERE_SEGMENT);
         }
-        if (this.groupStr == null && selectStatement.groupStr != null) {
-            groupStr = selectStatement.groupStr;
+        if (!this.segments.has(GROUP_SEGMENT) && selectStatement.segments.has(GROUP_SEGMENT)) {
+            groupStr = selectStatement.segments.get(GROUP_SEGMENT);
         }
-        if (this.orderStr == null && selectStatement.orderStr != null) {
-            orderStr = selectStatement.orderStr;
+        if (!this.segments.has(ORDER_SEGMENT) && selectStatement.segments.has(ORDER_SEGMENT)) {
+            orderStr = selectStatement.segments.get(ORDER_SEGMENT);
             asc = selectStatement.asc;
         }
-        if (this.limitStr == null && selectStatement.limitStr != null) {
-            limitStr = selectStatement.limitStr;
+        if (!this.segments.has(LIMIT_SEGMENT) && selectStatement.segments.has(LIMIT_SEGMENT)) {
+            limitStr = selectStatement.segments.get(LIMIT_SEGMENT);
         }
         ArrayList<SelectStatement> arrayList = new ArrayList<>(this.SubQueryList.size() + selectStatement.SubQueryList.size() + 16);
         arrayList.addAll(this.SubQueryList);
         arrayList.addAll(selectStatement.SubQueryList);
-        return new SelectStatement(this.tableName, selectStr, whereStr, groupStr, orderStr, this.asc == selectStatement.asc && asc, limitStr, arrayList);
+        return new SelectStatement(this.getTableName(), selectStr, whereStr, groupStr, orderStr, this.asc == selectStatement.asc && asc, limitStr, arrayList);
     }
 
     @Override
     public String toString() {
         return this.getSqlStr();
     }
+
+    /**
+     * from 子句中的表名、别名与真名，三者在同一次扫描中计算出来，计算完成之后不会再改变。
+     * <p>
+     * The table name, alias and real name in the from clause. The three are calculated in the same scan and will not change after the calculation.
+     */
+    private final static class TableRefs {
+        private final String[] tables;
+        private final String[] aliases;
+        private final String[] realNames;
+        private final List<String> tableList;
+        private final List<String> aliasList;
+        private final List<String> realNameList;
+
+        TableRefs(String tableName) {
+            ArrayList<String> tables = new ArrayList<>();
+            ArrayList<String> aliases = new ArrayList<>();
+            ArrayList<String> realNames = new ArrayList<>();
+            if (tableName != null) {
+                String lastTable = "null";
+                FromClauseScanner fromClauseScanner = new FromClauseScanner().reset(tableName, 0, tableName.length());
+                for (int kind = fromClauseScanner.next(); kind >= 0; kind = fromClauseScanner.next()) {
+                    String word = tableName.substring(fromClauseScanner.getStart(), fromClauseScanner.getEnd());
+                    if (kind == FromClauseScanner.ALIAS) {
+                        aliases.add(word);
+                        realNames.add(lastTable);
+                    } else {
+                        lastTable = word;
+                        tables.add(lastTable);
+                    }
+                }
+            }
+            this.tables = tables.toArray(new String[0]);
+            this.aliases = aliases.toArray(new String[0]);
+            this.realNames = realNames.toArray(new String[0]);
+            this.tableList = Collections.unmodifiableList(Arrays.asList(this.tables));
+            this.aliasList = Collections.unmodifiableList(Arrays.asList(this.aliases));
+            this.realNameList = Collections.unmodifiableList(Arrays.asList(this.realNames));
+        }
+    }
 }
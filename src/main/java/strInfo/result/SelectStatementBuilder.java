@@ -11,48 +11,82 @@ import java.util.ArrayList;
  */
 public class SelectStatementBuilder implements Builder<SelectStatement> {
     private final ArrayList<SelectStatement> SubQueryList = new ArrayList<>(8);
-    private String SQL;
-    private StringBuilder tableName;
-    private String selectStr;
-    private String whereStr;
-    private String groupStr;
-    private String orderStr;
+    private final SegmentBuffer segments = new SegmentBuffer(SelectStatement.SEGMENT_COUNT);
+    private CharSequence SQL;
+    private int sqlStart;
+    private int sqlEnd = -1;
     private boolean asc;
-    private String limitStr;
     private boolean isSub;
 
+    /**
+     * 将建造者恢复到刚被创建时的状态，以便在下一次解析中复用同一个建造者，已经建造出来的语句对象不会受到影响。
+     * <p>
+     * Restore the builder to the state when it was just created, so that the same builder can be reused in the next parsing. The statement objects that have been built will not be affected.
+     *
+     * @return 建造者模式的链式建造
+     */
+    public SelectStatementBuilder reset() {
+        this.SubQueryList.clear();
+        this.segments.reset();
+        this.SQL = null;
+        this.sqlStart = 0;
+        this.sqlEnd = -1;
+        this.asc = false;
+        this.isSub = false;
+        return this;
+    }
+
     public SelectStatementBuilder addTableName(String tableName) {
-        this.tableName.append(tableName);
+        this.segments.append(SelectStatement.TABLE_SEGMENT, this.SQL, tableName);
         return this;
     }
 
-    public SelectStatementBuilder setSQL(String SQL) {
+    public SelectStatementBuilder setSQL(CharSequence SQL) {
+        this.SQL = SQL;
+        this.sqlStart = 0;
+        this.sqlEnd = -1;
+        return this;
+    }
+
+    /**
+     * 设置子句区间所指向的sql语句，同时指定当前语句在其中所占的区间，子查询通过这种方式与外层语句共享同一个sql字符串，建造时不会产生子字符串。
+     * <p>
+     * Set the SQL statement pointed to by the clause interval, and specify the interval occupied by the current statement in it. Sub queries share the same SQL string with the outer statement in this way, and no substring will be generated during construction.
+     *
+     * @param SQL   完整的sql语句
+     * @param start 当前语句在sql语句中的起始索引
+     * @param end   当前语句在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式建造
+     */
+    public SelectStatementBuilder setSQL(CharSequence SQL, int start, int end) {
         this.SQL = SQL;
+        this.sqlStart = start;
+        this.sqlEnd = end;
         return this;
     }
 
     public SelectStatementBuilder setTableName(String tableName) {
-        this.tableName = new StringBuilder(tableName);
+        this.segments.set(SelectStatement.TABLE_SEGMENT, tableName);
         return this;
     }
 
     public SelectStatementBuilder setSelectStr(String selectStr) {
-        this.selectStr = selectStr;
+        this.segments.set(SelectStatement.SELECT_SEGMENT, selectStr);
         return this;
     }
 
     public SelectStatementBuilder setWhereStr(String whereStr) {
-        this.whereStr = whereStr;
+        this.segments.set(SelectStatement.WHERE_SEGMENT, whereStr);
         return this;
     }
 
     public SelectStatementBuilder setGroupStr(String groupStr) {
-        this.groupStr = groupStr;
+        this.segments.set(SelectStatement.GROUP_SEGMENT, groupStr);
         return this;
     }
 
     public SelectStatementBuilder setOrderStr(String orderStr) {
-        this.orderStr = orderStr;
+        this.segments.set(SelectStatement.ORDER_SEGMENT, orderStr);
         return this;
     }
 
@@ -62,7 +96,71 @@ public class SelectStatementBuilder implements Builder<SelectStatement> {
     }
 
     public SelectStatementBuilder setLimitStr(String limitStr) {
-        this.limitStr = limitStr;
+        this.segments.set(SelectStatement.LIMIT_SEGMENT, limitStr);
+        return this;
+    }
+
+    /**
+     * 使用sql语句中的区间设置表名，区间指向的是 setSQL 所设置的sql语句，建造时不会产生子字符串。
+     * <p>
+     * Use the interval in the SQL statement to set the table name. The interval points to the SQL statement set by setSQL, and no substring will be generated during construction.
+     *
+     * @param start 表名在sql语句中的起始索引
+     * @param end   表名在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式建造
+     */
+    public SelectStatementBuilder setTableName(int start, int end) {
+        this.segments.set(SelectStatement.TABLE_SEGMENT, start, end);
+        return this;
+    }
+
+    /**
+     * @param start select 子句在sql语句中的起始索引
+     * @param end   select 子句在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式建造
+     */
+    public SelectStatementBuilder setSelectStr(int start, int end) {
+        this.segments.set(SelectStatement.SELECT_SEGMENT, start, end);
+        return this;
+    }
+
+    /**
+     * @param start where 子句在sql语句中的起始索引
+     * @param end   where 子句在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式建造
+     */
+    public SelectStatementBuilder setWhereStr(int start, int end) {
+        this.segments.set(SelectStatement.WHERE_SEGMENT, start, end);
+        return this;
+    }
+
+    /**
+     * @param start group 子句在sql语句中的起始索引
+     * @param end   group 子句在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式建造
+     */
+    public SelectStatementBuilder setGroupStr(int start, int end) {
+        this.segments.set(SelectStatement.GROUP_SEGMENT, start, end);
+        return this;
+    }
+
+    /**
+     * @param start order 子句在sql语句中的起始索引
+     * @param end   order 子句在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式建造
+     */
+    public SelectStatementBuilder setOrderStr(int start, int end) {
+        this.segments.set(SelectStatement.ORDER_SEGMENT, start, end);
+        return this;
+    }
+
+    /**
+     * @param start limit 子句在sql语句中的起始索引
+     * @param end   limit 子句在sql语句中的结束索引（不包含）
+     * @return 建造者模式的链式建造
+     */
+    public SelectStatementBuilder setLimitStr(int start, int end) {
+        this.segments.set(SelectStatement.LIMIT_SEGMENT, start, end);
         return this;
     }
 
@@ -92,8 +190,14 @@ public class SelectStatementBuilder implements Builder<SelectStatement> {
     @Override
     public SelectStatement create() {
         if (this.SQL == null) {
-            return new SelectStatement(tableName.toString(), selectStr, whereStr, groupStr, orderStr, asc, limitStr, SubQueryList);
+            Segments segments = this.segments.build(null);
+            return new SelectStatement(
+                    segments.get(SelectStatement.TABLE_SEGMENT), segments.get(SelectStatement.SELECT_SEGMENT),
+                    segments.get(SelectStatement.WHERE_SEGMENT), segments.get(SelectStatement.GROUP_SEGMENT),
+                    segments.get(SelectStatement.ORDER_SEGMENT), asc, segments.get(SelectStatement.LIMIT_SEGMENT), SubQueryList
+            );
         }
-        return new SelectStatement(tableName.toString(), this.SQL, selectStr, whereStr, groupStr, orderStr, asc, limitStr, SubQueryList);
+        this.segments.set(SelectStatement.SQL_SEGMENT, sqlStart, sqlEnd < 0 ? this.SQL.length() : sqlEnd);
+        return new SelectStatement(this.segments.build(this.SQL), asc, SubQueryList);
     }
 }
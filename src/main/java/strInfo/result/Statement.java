@@ -1,12 +1,31 @@
 package strInfo.result;
 
+import strInfo.lexer.SQLKeywords;
+
 import java.util.regex.Pattern;
 
+/**
+ * 所有sql语句解析结果对象的父类，语句对象在建造完成之后是不可变的，因此可以在多个线程之间共享，也可以被解析结果缓存复用。
+ * <p>
+ * The parent class of all SQL statement parsing result objects. The statement object is immutable after construction, so it can be shared among multiple threads and reused by the parsing result cache.
+ *
+ * @author zhao
+ */
 public abstract class Statement {
     protected final static Pattern COMMA_PATTERN = Pattern.compile("\\s*,\\s*");
     protected final static Pattern SPACE_PATTERN = Pattern.compile(" +");
-    protected final String tableName;
-    protected final String[] fieldNames;
+    /**
+     * 语句作用的表名，使用延迟计算的构造函数时会在第一次调用 getTableName 的时候被赋值，因此子类应当优先使用 getTableName
+     * <p>
+     * The table name used by the statement. When the lazy constructor is used, it is assigned the first time getTableName is called, so subclasses should prefer getTableName
+     */
+    protected volatile String tableName;
+    /**
+     * 语句作用的所有字段，使用延迟计算的构造函数时会在第一次调用 getFieldNames 的时候被赋值，因此子类应当优先使用 getFieldNames
+     * <p>
+     * All fields used by the statement. When the lazy constructor is used, it is assigned the first time getFieldNames is called, so subclasses should prefer getFieldNames
+     */
+    protected volatile String[] fieldNames;
 
     protected Statement(String tableName, String[] fieldNames) {
         this.tableName = tableName;
@@ -14,16 +33,24 @@ public abstract class Statement {
     }
 
     /**
-     * 获取到词对应的解析词hash编号
+     * 延迟计算表名与字段的构造函数，表名与字段会在第一次被获取的时候分别由 parseTableName 与 parseFieldNames 计算出来。
+     * <p>
+     * Constructor for lazy calculation of table name and fields. The table name and field will be calculated by parseTableName and parseFieldNames respectively when they are obtained for the first time.
+     */
+    protected Statement() {
+    }
+
+    /**
+     * 获取到词对应的解析词编号，编号由 SQLKeywords 中的完美哈希表分配，不区分大小写，且不同的解析词之间不会发生冲突。
+     * <p>
+     * Get the parsing word number corresponding to the word. The number is assigned by the perfect hash table in SQLKeywords. It is case insensitive, and there is no conflict between different parsing words.
      *
-     * @param sqlWord 需要被计算为hash编号的解析词
-     * @param hashNum hash编号阈值，阈值越大，越能避免hash冲突
-     * @return 借此词对应的hash编号数值
+     * @param sqlWord 需要被计算为编号的解析词
+     * @param hashNum 已不再使用，保留该参数只是为了兼容旧的调用方式
+     * @return 解析词对应的编号，如果不是解析词，返回 -1
      */
     public static int getWordNum(String sqlWord, int hashNum) {
-        if (sqlWord == null) return -1;
-        int i = sqlWord.hashCode();
-        return Math.abs(i - (i >> hashNum << hashNum));
+        return SQLKeywords.indexOf(sqlWord);
     }
 
 
@@ -32,6 +59,15 @@ public abstract class Statement {
      */
     public abstract String getSqlStr();
 
+    /**
+     * @return 语句中解析出来的子句数量，例如 select 语句中的字段、表、where、group by、order by 与 limit 子句，主要用于诊断与性能分析，默认实现返回0
+     * <p>
+     * The number of clauses parsed in the statement, such as fields, tables, where, group by, order by and limit clauses in the select statement, which is mainly used for diagnosis and performance analysis. The default implementation returns 0
+     */
+    public int getClauseCount() {
+        return 0;
+    }
+
     /**
      * 按照SQL解析词获取到目标解析词下的sql语句
      *
@@ -44,24 +80,54 @@ public abstract class Statement {
      * @return 语句作用的table表名
      */
     public final String getTableName() {
-        return this.tableName;
+        String tableName = this.tableName;
+        if (tableName == null) {
+            tableName = parseTableName();
+            this.tableName = tableName;
+        }
+        return tableName;
     }
 
     /**
-     * @return 语句作用的所有字段组成的数组，每一个数组都是一个字段
+     * @return 语句作用的所有字段组成的数组，每一个数组都是一个字段，返回的是副本，对数组的修改不会影响语句对象
+     * <p>
+     * An array of all fields used by the statement. Each element is a field. A copy is returned, and modifications to the array will not affect the statement object
      */
     public final String[] getFieldNames() {
-        return this.fieldNames;
+        String[] fieldNames = this.fieldNames;
+        if (fieldNames == null) {
+            fieldNames = parseFieldNames();
+            this.fieldNames = fieldNames;
+        }
+        return fieldNames.clone();
+    }
+
+    /**
+     * @return 从语句中计算出来的表名，在第一次调用 getTableName 的时候被调用
+     * <p>
+     * The table name calculated from the statement is called when getTableName is called for the first time
+     */
+    protected String parseTableName() {
+        return null;
+    }
+
+    /**
+     * @return 从语句中计算出来的所有字段，在第一次调用 getFieldNames 的时候被调用
+     * <p>
+     * All fields calculated from the statement are called when getFieldNames is called for the first time
+     */
+    protected String[] parseFieldNames() {
+        return new String[0];
     }
 
     /**
-     * 获取到解析词在sql语句中的编号数值，用于将解析词按照hash与阈值一起映射成为数值后，再进行解析词的匹配，这样的匹配性能会优秀很多，其中的编号数值阈值默认为4，
+     * 获取到解析词在sql语句中的编号数值，解析词会先被映射成为编号，再进行解析词的匹配，这样的匹配性能会优秀很多。
      *
      * @param sqlWord 需要被转换的sql词
-     * @return sql词对应的编号
+     * @return sql词对应的编号，如果不是解析词，返回 -1
      */
     protected int getWordNum(String sqlWord) {
-        return getWordNum(sqlWord, 4);
+        return SQLKeywords.indexOf(sqlWord);
     }
 
     /**
@@ -0,0 +1,388 @@
+package strInfo.script;
+
+import strInfo.lexer.SQLLexer;
+import strInfo.manager.SQLParserManager;
+import strInfo.parser.SQLParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * sql脚本文件的流式读取器，使用内存映射的方式按照固定大小的窗口读取文件，并按照分号将文件拆分为一个个sql语句，引号、注释与括号中的分号不会被视为语句的结束。
+ * <p>
+ * Streaming reader of SQL script files. It uses memory mapping to read files according to fixed size windows, and splits the files into SQL statements according to semicolons. Semicolons in quotation marks, comments and brackets will not be regarded as the end of statements.
+ * <p>
+ * 读取过程中只会将当前的语句解码为字符串，因此无论文件有多大，占用的堆内存都只与最长的语句有关。所有被返回的语句都以分号结尾，最后一个没有分号的语句会被补充分号，从而满足解析器的要求。
+ * <p>
+ * Only the current statement will be decoded as a string during reading, so no matter how large the file is, the heap memory occupied is only related to the longest statement. All returned statements end with a semicolon. The last statement without a semicolon will be supplemented with a semicolon to meet the requirements of the parser.
+ * <p>
+ * 拆分语句的时候是直接在字节上进行扫描的，因此文件的字符集必须兼容ASCII，例如 UTF-8、GBK 与 ISO-8859-1。
+ * <p>
+ * The statement is split by scanning directly on bytes, so the character set of the file must be ASCII compatible, such as UTF-8, GBK and ISO-8859-1.
+ *
+ * @author zhao
+ */
+public final class SQLScriptReader implements Iterable<String>, Closeable {
+
+    /**
+     * 默认的内存映射窗口大小
+     */
+    public final static int DEFAULT_WINDOW_SIZE = 1 << 26;
+
+    private final FileChannel fileChannel;
+    private final Charset charset;
+    private final int windowSize;
+    private final long size;
+
+    /**
+     * 使用 UTF-8 字符集与默认的窗口大小打开一个sql脚本文件。
+     *
+     * @param path sql脚本文件的路径
+     * @throws IOException 文件无法打开的时候抛出的异常
+     */
+    public SQLScriptReader(Path path) throws IOException {
+        this(path, StandardCharsets.UTF_8, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * 使用指定的字符集与默认的窗口大小打开一个sql脚本文件。
+     *
+     * @param path    sql脚本文件的路径
+     * @param charset 文件的字符集，必须兼容ASCII
+     * @throws IOException 文件无法打开的时候抛出的异常
+     */
+    public SQLScriptReader(Path path, Charset charset) throws IOException {
+        this(path, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * 打开一个sql脚本文件。
+     * <p>
+     * Open an SQL script file.
+     *
+     * @param path       sql脚本文件的路径
+     * @param charset    文件的字符集，必须兼容ASCII
+     * @param windowSize 每一次内存映射的字节数量，如果某一个语句比窗口更长，会为该语句临时映射一个更大的窗口
+     * @throws IOException 文件无法打开的时候抛出的异常
+     */
+    public SQLScriptReader(Path path, Charset charset, int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new RuntimeException("内存映射窗口的大小必须大于0。\nThe size of the memory mapped window must be greater than 0.\nERROR => " + windowSize);
+        }
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        this.charset = charset;
+        this.windowSize = windowSize;
+        this.size = fileChannel.size();
+    }
+
+    /**
+     * @return 按照文件中的顺序依次返回每一个sql语句的迭代器，每一次调用都会从文件的开头重新开始读取
+     * <p>
+     * An iterator that returns each SQL statement in turn in the order in the file. Each call will restart reading from the beginning of the file
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new StatementIterator();
+    }
+
+    @Override
+    public Spliterator<String> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return 文件中所有sql语句组成的顺序流，流中的元素是在被消费的时候才读取的
+     * <p>
+     * A sequential stream of all SQL statements in the file. The elements in the stream are read when they are consumed
+     */
+    public Stream<String> sqlStream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * 获取到按照文件中的顺序依次返回每一个语句解析结果的迭代器，每一个语句都会按照第一个关键字交由对应的解析器解析，没有对应解析器的语句（例如 SET、LOCK 等语句）会被跳过。
+     * <p>
+     * Get the iterator that returns the parsing results of each statement in turn according to the order in the file. Each statement will be parsed by the corresponding parser according to the first keyword. Statements without a corresponding parser (such as SET, LOCK, etc.) will be skipped.
+     *
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 每一个语句解析结果的迭代器，语句是在迭代的时候才会被读取与解析的
+     */
+    public <StatementType> Iterator<StatementType> parsedIterator() {
+        return new ParsedIterator<>(iterator(), null);
+    }
+
+    /**
+     * 获取到使用指定解析器依次解析每一个语句的迭代器，名称与语句的第一个关键字不同的语句会被跳过。
+     * <p>
+     * Get the iterator that uses the specified parser to parse each statement in turn. Statements whose name is different from the first keyword of the statement will be skipped.
+     *
+     * @param sqlParser       用于解析语句的解析器
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 每一个语句解析结果的迭代器，语句是在迭代的时候才会被读取与解析的
+     */
+    public <StatementType> Iterator<StatementType> parsedIterator(SQLParser<StatementType, ?> sqlParser) {
+        return new ParsedIterator<>(iterator(), sqlParser);
+    }
+
+    /**
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 文件中所有能够被解析的语句的解析结果组成的顺序流
+     */
+    public <StatementType> Stream<StatementType> parsedStream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.<StatementType>parsedIterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @param sqlParser       用于解析语句的解析器
+     * @param <StatementType> 解析器返回的的结果对象类型
+     * @return 文件中所有能够被指定解析器解析的语句的解析结果组成的顺序流
+     */
+    public <StatementType> Stream<StatementType> parsedStream(SQLParser<StatementType, ?> sqlParser) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parsedIterator(sqlParser), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @return 脚本文件的字节数量
+     */
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+
+    /**
+     * 在文件中按照语句进行拆分的迭代器，每一个迭代器都有自己的映射窗口，因此多个迭代器之间互不影响。
+     */
+    private final class StatementIterator implements Iterator<String> {
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long windowEnd;
+        private long position;
+        private String next;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = readStatement();
+                } catch (IOException e) {
+                    throw new RuntimeException("读取sql脚本文件时发生错误。\nAn error occurred while reading the SQL script file.", e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            String sql = next;
+            next = null;
+            return sql;
+        }
+
+        /**
+         * @return 文件中下一个不为空的语句，如果已经读取到文件末尾，返回null
+         */
+        private String readStatement() throws IOException {
+            while (true) {
+                long start = skipBlank(position);
+                if (start >= size) {
+                    position = size;
+                    return null;
+                }
+                long end = scanStatement(start);
+                position = end;
+                if (byteAt(end - 1) == ';') {
+                    // 跳过只有分号的空语句，例如 mysqldump 中注释之后的分号
+                    if (end - 1 == start) continue;
+                    return decode(start, end, false);
+                }
+                return decode(start, trimEnd(start, end), true);
+            }
+        }
+
+        /**
+         * @return 从指定位置开始跳过所有空白与注释之后的位置
+         */
+        private long skipBlank(long index) throws IOException {
+            while (index < size) {
+                byte b = byteAt(index);
+                if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B) {
+                    index++;
+                } else {
+                    long next = skipComment(index);
+                    if (next == index) return index;
+                    index = next;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * @return 从语句的起始位置开始扫描到语句结束之后的位置，如果语句以分号结尾，返回分号之后的位置
+         */
+        private long scanStatement(long index) throws IOException {
+            int depth = 0;
+            while (index < size) {
+                byte b = byteAt(index);
+                if (b == '\'' || b == '"' || b == '`') {
+                    index = skipQuoted(index, b);
+                    continue;
+                }
+                long next = skipComment(index);
+                if (next != index) {
+                    index = next;
+                    continue;
+                }
+                if (b == '(') {
+                    depth++;
+                } else if (b == ')') {
+                    if (depth > 0) depth--;
+                } else if (b == ';' && depth == 0) {
+                    return index + 1;
+                }
+                index++;
+            }
+            return size;
+        }
+
+        private long skipQuoted(long index, byte quote) throws IOException {
+            long i = index + 1;
+            while (i < size) {
+                byte b = byteAt(i);
+                if (b == '\\' && quote != '`') {
+                    i += 2;
+                } else if (b == quote) {
+                    if (i + 1 < size && byteAt(i + 1) == quote) {
+                        i += 2;
+                    } else {
+                        return i + 1;
+                    }
+                } else {
+                    i++;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * @return 如果指定位置是注释的开始，返回注释结束之后的位置，否则原样返回位置，注释的规则与 SQLLexer 一致
+         */
+        private long skipComment(long index) throws IOException {
+            byte b = byteAt(index);
+            if (b == '#' || (b == '-' && index + 1 < size && byteAt(index + 1) == '-' && (index + 2 == size || (byteAt(index + 2) & 0xFF) <= ' '))) {
+                long i = index + 1;
+                while (i < size && byteAt(i) != '\n') i++;
+                return i;
+            }
+            if (b == '/' && index + 1 < size && byteAt(index + 1) == '*') {
+                for (long i = index + 2; i + 1 < size; i++) {
+                    if (byteAt(i) == '*' && byteAt(i + 1) == '/') return i + 2;
+                }
+                return size;
+            }
+            return index;
+        }
+
+        private long trimEnd(long start, long end) throws IOException {
+            while (end > start) {
+                byte b = byteAt(end - 1);
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t' && b != '\f' && b != 0x0B) break;
+                end--;
+            }
+            return end;
+        }
+
+        /**
+         * 将文件中的一段字节解码为字符串，必要时会重新映射一个能够容纳整个区间的窗口。
+         */
+        private String decode(long start, long end, boolean appendSemicolon) throws IOException {
+            long length = end - start;
+            if (length > Integer.MAX_VALUE - 1) {
+                throw new RuntimeException("sql语句的长度超过了字符串的最大长度。\nThe length of the SQL statement exceeds the maximum length of the string.\nERROR => " + length);
+            }
+            if (start < windowStart || end > windowEnd) {
+                map(start, (int) length);
+            }
+            MappedByteBuffer buffer = window;
+            byte[] bytes = new byte[(int) length];
+            // 通过 Buffer 调用 position，Java 9 之后 MappedByteBuffer 中重写的同名函数在 Java 8 中不存在
+            ((Buffer) buffer).position((int) (start - windowStart));
+            buffer.get(bytes);
+            String sql = new String(bytes, charset);
+            return appendSemicolon ? sql + ';' : sql;
+        }
+
+        private byte byteAt(long index) throws IOException {
+            if (index < windowStart || index >= windowEnd) {
+                map(index, 1);
+            }
+            return window.get((int) (index - windowStart));
+        }
+
+        /**
+         * 从指定位置开始映射一个新的窗口，窗口至少能够容纳指定数量的字节。
+         */
+        private void map(long start, int minimumSize) throws IOException {
+            long length = Math.min(Math.max((long) windowSize, minimumSize), size - start);
+            window = fileChannel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            windowStart = start;
+            windowEnd = start + length;
+        }
+    }
+
+    /**
+     * 在语句迭代器的基础上解析每一个语句的迭代器，没有对应解析器的语句会被跳过。
+     */
+    private final static class ParsedIterator<StatementType> implements Iterator<StatementType> {
+
+        private final Iterator<String> sqlIterator;
+        private final SQLParser<StatementType, ?> sqlParser;
+        private StatementType next;
+
+        ParsedIterator(Iterator<String> sqlIterator, SQLParser<StatementType, ?> sqlParser) {
+            this.sqlIterator = sqlIterator;
+            this.sqlParser = sqlParser;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (next == null && sqlIterator.hasNext()) {
+                String sql = sqlIterator.next();
+                if (sqlParser == null) {
+                    SQLParser<?, ?> route = SQLParserManager.getSQLParserBySql(sql);
+                    if (route != null) next = (StatementType) route.parseSql(sql);
+                } else if (SQLLexer.equalsIgnoreCase(sql, 0, SQLLexer.wordEnd(sql, 0, sql.length()), sqlParser.getName())) {
+                    next = sqlParser.parseSql(sql);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public StatementType next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            StatementType statement = next;
+            next = null;
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package strInfo.manager;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次 parseSql 调用的 JFR 事件，事件的持续时间就是解析的耗时。
+ * <p>
+ * The JFR event of a parseSql call. The duration of the event is the time spent parsing.
+ *
+ * @author zhao
+ */
+@Name("strInfo.Parse")
+@Label("SQL Parse")
+@Category({"SQLStringInFo"})
+@Description("A call of SQLParser.parseSql")
+@StackTrace(false)
+final class ParseEvent extends Event {
+
+    @Label("Parser Name")
+    String parserName;
+
+    @Label("SQL Length")
+    @Description("Number of characters in the SQL statement")
+    int sqlLength;
+
+    @Label("Clause Count")
+    int clauseCount;
+
+    @Label("Sub Query Depth")
+    int subQueryDepth;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,51 @@
+package strInfo.manager;
+
+import strInfo.result.Statement;
+
+/**
+ * 解析过程的 Java Flight Recorder 事件入口，这是多版本 jar 中 Java 11 及以上版本使用的实现，在 JFR 没有启用 strInfo.Parse 事件的时候不会创建任何事件对象。
+ * <p>
+ * The Java Flight Recorder event entry of the parsing process. This is the implementation used by Java 11 and above in the multi release jar. When JFR does not enable the strInfo.Parse event, no event object will be created.
+ *
+ * @author zhao
+ */
+final class ParseEvents {
+
+    /**
+     * 只用于读取事件启用标记的事件对象，不会被提交
+     */
+    private final static ParseEvent PROBE = new ParseEvent();
+
+    private ParseEvents() {
+    }
+
+    /**
+     * @return 开始计时的事件对象，如果 JFR 没有在记录解析事件，返回null
+     */
+    static Object begin() {
+        if (!PROBE.isEnabled()) return null;
+        ParseEvent parseEvent = new ParseEvent();
+        parseEvent.begin();
+        return parseEvent;
+    }
+
+    /**
+     * 结束计时并提交事件，只有耗时超过了事件阈值的时候才会计算子句数量与子查询深度。
+     *
+     * @param parseEvent 由 begin 返回的事件对象
+     * @param parserName 执行解析的解析器名称
+     * @param sql        被解析的sql语句
+     * @param statement  解析结果，解析失败的时候为null
+     */
+    static void commit(Object parseEvent, String parserName, CharSequence sql, Object statement) {
+        ParseEvent event = (ParseEvent) parseEvent;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.parserName = parserName;
+        event.sqlLength = sql == null ? 0 : sql.length();
+        event.clauseCount = statement instanceof Statement ? ((Statement) statement).getClauseCount() : 0;
+        event.subQueryDepth = ParseProbe.subQueryDepth(statement);
+        event.success = statement != null;
+        event.commit();
+    }
+}